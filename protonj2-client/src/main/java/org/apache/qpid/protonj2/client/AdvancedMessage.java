@@ -16,14 +16,18 @@
  */
 package org.apache.qpid.protonj2.client;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
 import org.apache.qpid.protonj2.client.impl.ClientMessage;
+import org.apache.qpid.protonj2.types.Binary;
 import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.Data;
 import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
 import org.apache.qpid.protonj2.types.messaging.Footer;
 import org.apache.qpid.protonj2.types.messaging.Header;
@@ -255,6 +259,35 @@ public interface AdvancedMessage<E> extends Message<E> {
      */
     AdvancedMessage<E> forEachBodySection(Consumer<Section<?>> consumer) throws ClientException;
 
+    /**
+     * Returns a read-only view of the bytes carried in the first body section of this message when that
+     * section is a {@link Data} section.  Unlike {@link #body()} the bytes are not copied into a new array
+     * where that can be avoided, for a message read from a {@link Delivery} the view can share memory with
+     * the payload the message was decoded from.  That payload is copied off any pooled I/O buffers when the
+     * message is obtained from the {@link Delivery} so the view remains valid after the delivery is settled
+     * for as long as it is referenced.
+     *
+     * @return a read-only {@link ByteBuffer} view of the first {@link Data} section or null if there is no such section.
+     *
+     * @throws ClientException if an error occurs while retrieving the message data.
+     */
+    default ByteBuffer bodyBuffer() throws ClientException {
+        final Iterator<Section<?>> sections = bodySections().iterator();
+
+        if (sections.hasNext()) {
+            final Section<?> section = sections.next();
+
+            if (section instanceof Data) {
+                final Binary binary = ((Data) section).getBinary();
+                final ByteBuffer view = binary != null ? binary.asByteBuffer() : null;
+
+                return view != null ? view.asReadOnlyBuffer() : null;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Clears all current body {@link Section} elements from the {@link AdvancedMessage}.
      *
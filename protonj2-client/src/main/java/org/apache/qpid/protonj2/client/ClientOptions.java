@@ -21,8 +21,14 @@ package org.apache.qpid.protonj2.client;
  */
 public class ClientOptions {
 
+    /**
+     * Default number of shared I/O threads, zero indicates each connection runs its own I/O thread.
+     */
+    public static final int DEFAULT_SHARED_IO_THREADS = 0;
+
     private String id;
     private String futureType;
+    private int sharedIOThreads = DEFAULT_SHARED_IO_THREADS;
 
     /**
      * Create a new ClientOptions instance with defaults set for all options.
@@ -83,6 +89,37 @@ public class ClientOptions {
         return this;
     }
 
+    /**
+     * @return the number of I/O threads shared by all connections of the client or zero if not shared.
+     */
+    public int sharedIOThreads() {
+        return sharedIOThreads;
+    }
+
+    /**
+     * Configures the client to run the I/O of all its connections on a single shared group of
+     * I/O threads of the given size instead of creating a new I/O thread for each connection.
+     * Each connection is pinned to one thread of the shared group when it is created so that all
+     * work for a given connection continues to be performed by a single thread.  The native I/O
+     * layer used by the shared group is selected using the transport options of the first
+     * connection created by the client.  A value of zero (the default) disables sharing.
+     *
+     * @param sharedIOThreads
+     *      The number of I/O threads to share amongst all connections or zero to disable sharing.
+     *
+     * @return this options object for chaining.
+     *
+     * @throws IllegalArgumentException if the given value is negative.
+     */
+    public ClientOptions sharedIOThreads(int sharedIOThreads) {
+        if (sharedIOThreads < 0) {
+            throw new IllegalArgumentException("The number of shared I/O threads cannot be negative");
+        }
+
+        this.sharedIOThreads = sharedIOThreads;
+        return this;
+    }
+
     @Override
     public ClientOptions clone() {
         return copyInto(new ClientOptions());
@@ -100,6 +137,7 @@ public class ClientOptions {
     public ClientOptions copyInto(ClientOptions other) {
         other.id(id);
         other.futureType(futureType);
+        other.sharedIOThreads(sharedIOThreads);
 
         return this;
     }
@@ -42,9 +42,21 @@ public interface Delivery {
      * send the incoming delivery annotations, the sender must include them in the
      * {@link Sender#send(Message, Map)} call if they are to be forwarded onto the next recipient.
      * <p>
+     * The sections of the returned message are decoded from the payload when first accessed and
+     * when the message is sent any section that has not been accessed or replaced is sent exactly
+     * as it was received, so forwarding a message after reading or updating only its header or
+     * annotations does not decode or encode the rest of the message.
+     * <p>
      * Calling this message claims the payload of the delivery for the returned {@link Message} and
      * excludes use of the {@link #rawInputStream()} method of the {@link Delivery} object.  Calling
      * the {@link #rawInputStream()} method after calling this method throws {@link ClientIllegalStateException}.
+     * <p>
+     * The payload may be held in the I/O buffers the delivery was read from until this method or the
+     * {@link #rawInputStream()} method is called, at which point it is copied out of them and the returned
+     * {@link Message} remains readable for as long as it is referenced.  The I/O buffers of a delivery that
+     * is settled before its payload was accessed are released and the payload can then no longer be read.
+     * A delivery that was auto accepted and settled by the {@link Receiver} before it was returned remains
+     * readable.
      *
      * @return a {@link Message} instance that wraps the decoded payload.
      *
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+/**
+ * Controls when the transport flushes the output written to it by the connection.
+ */
+public enum FlushPolicy {
+
+    /**
+     * Each write that requests a flush is flushed to the network immediately which keeps
+     * latency to a minimum at the cost of a system call for every frame written.
+     */
+    LATENCY,
+
+    /**
+     * Flushes are deferred until the I/O thread completes its current task, or sooner if the
+     * configured number of writes or bytes are pending, which allows many frames to be written
+     * to the network with a single system call at the cost of some added latency.
+     */
+    THROUGHPUT
+
+}
@@ -30,6 +30,14 @@ import org.apache.qpid.protonj2.types.messaging.Section;
 
 /**
  * Message object that provides a high level abstraction to raw AMQP types
+ * <p>
+ * A message is encoded anew each time it is sent, so a message may be modified between sends,
+ * including modifying its body value or section objects in place, and the same unmodified message
+ * may be sent from more than one thread at a time.  A {@link Sender} created with
+ * {@link SenderOptions#cacheMessageEncodings(boolean)} enabled instead keeps the encoding of each
+ * section within the message for later sends.  A message sent from such a {@link Sender} must only
+ * be sent from one thread at a time and must only be modified through this API once it has been
+ * sent, a body value or section object modified in place is not seen by later sends.
  *
  * @param <E> The type of the message body that this message carries
  */
@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.client;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -253,6 +255,44 @@ public interface Receiver extends AutoCloseable {
      */
     Delivery receive(long timeout, TimeUnit unit) throws ClientException;
 
+    /**
+     * Blocking receive method that waits the given time interval for the remote to provide at least
+     * one {@link Delivery} and then returns it along with any other deliveries that are already available
+     * locally, up to the given maximum.  The timeout follows the same rules as {@link #receive(long, TimeUnit)}.
+     * <p>
+     * The default implementation waits for the first {@link Delivery} with {@link #receive(long, TimeUnit)}
+     * and then calls {@link #tryReceive()} until the maximum is reached or no more deliveries are available.
+     * A client implementation may instead take the available deliveries from its queue in one pass and when
+     * auto accept is enabled apply the dispositions for all of them and any resulting credit top-up together
+     * rather than once per {@link Delivery}.
+     *
+     * @param maxDeliveries
+     *      The maximum number of deliveries to return, must be greater than zero.
+     * @param timeout
+     *      The timeout value used to control how long the receive method waits for the first {@link Delivery}.
+     * @param unit
+     *      The unit of time that the given timeout represents.
+     *
+     * @return a {@link List} of the deliveries received from the remote, empty if none arrived in time.
+     *
+     * @throws ClientException if the {@link Receiver} or its parent is closed when the call to receive is made.
+     */
+    default List<Delivery> receive(int maxDeliveries, long timeout, TimeUnit unit) throws ClientException {
+        if (maxDeliveries <= 0) {
+            throw new IllegalArgumentException("The maximum number of deliveries to receive must be greater than zero");
+        }
+
+        final List<Delivery> deliveries = new ArrayList<>();
+
+        Delivery delivery = receive(timeout, unit);
+        while (delivery != null) {
+            deliveries.add(delivery);
+            delivery = deliveries.size() < maxDeliveries ? tryReceive() : null;
+        }
+
+        return deliveries;
+    }
+
     /**
      * Non-blocking receive method that either returns a message is one is immediately available or
      * returns null if none is currently at hand.
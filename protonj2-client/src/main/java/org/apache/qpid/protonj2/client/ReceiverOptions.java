@@ -19,9 +19,13 @@ package org.apache.qpid.protonj2.client;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
+import org.apache.qpid.protonj2.client.util.DeliveryQueueFactory;
+import org.apache.qpid.protonj2.client.util.LatencyHistogram;
 
 /**
  * Options that control the behavior of the {@link Receiver} created from them.
@@ -38,6 +42,10 @@ public class ReceiverOptions {
     private DeliveryMode deliveryMode = DeliveryMode.AT_LEAST_ONCE;
     private int creditWindow = 10;
     private String linkName;
+    private Consumer<Delivery> deliveryHandler;
+    private Executor deliveryHandlerExecutor;
+    private String deliveryQueueType;
+    private LatencyHistogram settlementLatencyHistogram;
 
     private final SourceOptions source = new SourceOptions();
     private final TargetOptions target = new TargetOptions();
@@ -172,6 +180,103 @@ public class ReceiverOptions {
         return this;
     }
 
+    /**
+     * @return the handler that is notified of each incoming {@link Delivery} or null if none is configured.
+     */
+    public Consumer<Delivery> deliveryHandler() {
+        return deliveryHandler;
+    }
+
+    /**
+     * Configures a handler that the created {@link Receiver} will invoke with each complete {@link Delivery}
+     * as it arrives instead of queuing it for the {@link Receiver#receive()} methods, which will fail if called
+     * on a {@link Receiver} that has a handler configured.  Unless a {@link #deliveryHandlerExecutor(Executor)}
+     * is configured the handler runs on the connection's event loop and must not block.
+     * <p>
+     * When auto accept is enabled a delivery that the handler did not settle or assign a state to is accepted
+     * once the handler returns, or released if the handler throws.  When a credit window is configured credit
+     * is replenished as handlers complete.  The payload of a delivery that is settled when the handler returns
+     * is released at that point, so its message must be obtained within the handler although it can then be
+     * handed off and read elsewhere.  Stream receivers do not support a delivery handler.
+     *
+     * @param deliveryHandler
+     *      The handler to notify of incoming deliveries or null to use the receive methods.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions deliveryHandler(Consumer<Delivery> deliveryHandler) {
+        this.deliveryHandler = deliveryHandler;
+        return this;
+    }
+
+    /**
+     * @return the {@link Executor} used to run the delivery handler or null if it runs on the connection event loop.
+     */
+    public Executor deliveryHandlerExecutor() {
+        return deliveryHandlerExecutor;
+    }
+
+    /**
+     * Configures an {@link Executor} on which the {@link #deliveryHandler()} is invoked.  Deliveries are only
+     * handed to the handler in arrival order if the given {@link Executor} runs tasks in submission order.
+     *
+     * @param deliveryHandlerExecutor
+     *      The {@link Executor} that runs the delivery handler or null to run it on the connection event loop.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions deliveryHandlerExecutor(Executor deliveryHandlerExecutor) {
+        this.deliveryHandlerExecutor = deliveryHandlerExecutor;
+        return this;
+    }
+
+    /**
+     * @return the type of delivery queue that buffers incoming deliveries or null to use the default.
+     */
+    public String deliveryQueueType() {
+        return deliveryQueueType;
+    }
+
+    /**
+     * Configures the type of delivery queue the created {@link Receiver} uses to buffer incoming deliveries
+     * until they are read.  The default {@link DeliveryQueueFactory#FIFO} queue guards each operation with
+     * a lock while the {@link DeliveryQueueFactory#RING} queue uses a lock-free ring buffer and a spin then
+     * wait strategy which reduces contention between the connection and a busy consumer at the cost of some
+     * additional CPU use while waiting.
+     *
+     * @param deliveryQueueType
+     *      The name of the delivery queue type to use or null to use the default.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions deliveryQueueType(String deliveryQueueType) {
+        this.deliveryQueueType = deliveryQueueType;
+        return this;
+    }
+
+    /**
+     * @return the histogram that records the time from arrival to local settlement of deliveries or null.
+     */
+    public LatencyHistogram settlementLatencyHistogram() {
+        return settlementLatencyHistogram;
+    }
+
+    /**
+     * Configures a histogram that the created {@link Receiver} uses to record the time from a complete
+     * delivery arriving until it is settled locally.  Deliveries that arrive already settled by the sender
+     * are not recorded.  The same histogram may be given to more than one {@link Receiver} in order to
+     * record the combined latency of all of them.
+     *
+     * @param settlementLatencyHistogram
+     *      The histogram to record settlement latency in or null to disable recording.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions settlementLatencyHistogram(LatencyHistogram settlementLatencyHistogram) {
+        this.settlementLatencyHistogram = settlementLatencyHistogram;
+        return this;
+    }
+
     /**
      * @return the timeout used when awaiting a response from the remote when a {@link Receiver} is closed.
      */
@@ -408,6 +513,10 @@ public class ReceiverOptions {
         other.openTimeout(openTimeout);
         other.drainTimeout(drainTimeout);
         other.requestTimeout(requestTimeout);
+        other.deliveryHandler(deliveryHandler);
+        other.deliveryHandlerExecutor(deliveryHandlerExecutor);
+        other.deliveryQueueType(deliveryQueueType);
+        other.settlementLatencyHistogram(settlementLatencyHistogram);
 
         if (offeredCapabilities != null) {
             other.offeredCapabilities(Arrays.copyOf(offeredCapabilities, offeredCapabilities.length));
@@ -16,6 +16,9 @@
  */
 package org.apache.qpid.protonj2.client;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
 
@@ -253,4 +256,30 @@ public interface Sender extends AutoCloseable {
      */
     Tracker trySend(Message<?> message, Map<String, Object> deliveryAnnotations) throws ClientException;
 
+    /**
+     * Sends each of the given messages in iteration order.  Messages that cannot be sent immediately
+     * wait for credit in the same way as {@link #send(Message)} and this method blocks until every
+     * message has been sent.
+     * <p>
+     * The default implementation calls {@link #send(Message)} for each message in turn, a client
+     * implementation may instead encode all of them up front and write as many as the link credit
+     * allows in a single pass with one flush of the connection.
+     *
+     * @param messages
+     *      the {@link Message} instances to send.
+     *
+     * @return the {@link Tracker} for each message delivery in the order the messages were given.
+     *
+     * @throws ClientException if an error occurs while initiating the send operation.
+     */
+    default List<Tracker> send(Collection<? extends Message<?>> messages) throws ClientException {
+        final List<Tracker> trackers = new ArrayList<>(messages.size());
+
+        for (Message<?> message : messages) {
+            trackers.add(send(message));
+        }
+
+        return trackers;
+    }
+
 }
@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.exceptions.ClientSendTimedOutException;
+import org.apache.qpid.protonj2.client.util.LatencyHistogram;
 
 /**
  * Options that control the behavior of a {@link Sender} created from them.
@@ -37,6 +38,8 @@ public class SenderOptions {
     private String linkName;
     private boolean autoSettle = true;
     private DeliveryMode deliveryMode = DeliveryMode.AT_LEAST_ONCE;
+    private LatencyHistogram settlementLatencyHistogram;
+    private boolean cacheMessageEncodings;
 
     private final SourceOptions source = new SourceOptions();
     private final TargetOptions target = new TargetOptions();
@@ -132,6 +135,58 @@ public class SenderOptions {
         return deliveryMode;
     }
 
+    /**
+     * @return the histogram that records the time from send to remote settlement of deliveries or null.
+     */
+    public LatencyHistogram settlementLatencyHistogram() {
+        return settlementLatencyHistogram;
+    }
+
+    /**
+     * Configures a histogram that the created {@link Sender} uses to record the time from a delivery
+     * being written until the remote settles it.  Deliveries that are sent presettled are not recorded.
+     * The same histogram may be given to more than one {@link Sender} in order to record the combined
+     * latency of all of them.
+     *
+     * @param settlementLatencyHistogram
+     *      The histogram to record settlement latency in or null to disable recording.
+     *
+     * @return this {@link SenderOptions} instance.
+     */
+    public SenderOptions settlementLatencyHistogram(LatencyHistogram settlementLatencyHistogram) {
+        this.settlementLatencyHistogram = settlementLatencyHistogram;
+        return this;
+    }
+
+    /**
+     * @return whether the {@link Sender} keeps the encoding of each section of the messages it sends.
+     *
+     * @see #cacheMessageEncodings(boolean)
+     */
+    public boolean cacheMessageEncodings() {
+        return cacheMessageEncodings;
+    }
+
+    /**
+     * Configures whether the created {@link Sender} keeps the encoding of each section of a message
+     * it sends within that message so that the next send of the same message, from this or any other
+     * {@link Sender}, writes the kept bytes instead of encoding the section again.  Only a section that
+     * is modified through the {@link Message} API is encoded again.  This only suits an application
+     * that sends the same message many times, and such a message must not be sent from more than one
+     * thread at a time and the section objects or body value given to it or read from it must not be
+     * modified in place once it has been sent, as the next send would carry the stale kept encoding.
+     * False by default.
+     *
+     * @param cacheMessageEncodings
+     *      Whether section encodings of sent messages are kept for later sends.
+     *
+     * @return this {@link SenderOptions} instance.
+     */
+    public SenderOptions cacheMessageEncodings(boolean cacheMessageEncodings) {
+        this.cacheMessageEncodings = cacheMessageEncodings;
+        return this;
+    }
+
     /**
      * @return the timeout used when awaiting a response from the remote when a {@link Sender} is closed.
      */
@@ -372,6 +427,8 @@ public class SenderOptions {
         other.openTimeout(openTimeout);
         other.sendTimeout(sendTimeout);
         other.requestTimeout(requestTimeout);
+        other.settlementLatencyHistogram(settlementLatencyHistogram);
+        other.cacheMessageEncodings(cacheMessageEncodings);
 
         if (offeredCapabilities != null) {
             other.offeredCapabilities(Arrays.copyOf(offeredCapabilities, offeredCapabilities.length));
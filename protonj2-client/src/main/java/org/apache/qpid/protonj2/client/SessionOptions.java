@@ -47,6 +47,7 @@ public class SessionOptions {
 
     private int incomingCapacity = DEFAULT_SESSION_INCOMING_CAPACITY;
     private int outgoingCapacity = DEFAULT_SESSION_OUTGOING_CAPACITY;
+    private int dispositionBatchLimit;
 
     private String[] offeredCapabilities;
     private String[] desiredCapabilities;
@@ -92,6 +93,7 @@ public class SessionOptions {
         other.requestTimeout(requestTimeout);
         other.incomingCapacity(incomingCapacity);
         other.outgoingCapacity(outgoingCapacity);
+        other.dispositionBatchLimit(dispositionBatchLimit);
 
         if (offeredCapabilities != null) {
             other.offeredCapabilities(Arrays.copyOf(offeredCapabilities, offeredCapabilities.length));
@@ -398,4 +400,31 @@ public class SessionOptions {
         this.outgoingCapacity = outgoingCapacity;
         return this;
     }
+
+    /**
+     * @return the maximum number of dispositions a {@link Session} created with these options coalesces into one frame.
+     */
+    public int dispositionBatchLimit() {
+        return dispositionBatchLimit;
+    }
+
+    /**
+     * Sets the maximum number of dispositions that a {@link Session} created with these options will
+     * coalesce into a single ranged disposition frame.  When enabled, the dispositions that the client
+     * applies in one pass, such as those of a batch receive with auto accept enabled, to contiguous
+     * deliveries with the same outcome are written to the remote as one frame instead of one frame per
+     * delivery.  A value of zero or one (the default) disables batching.
+     * <p>
+     * This is an advanced option and in most cases the client defaults should be left in place unless
+     * a specific issue needs to be addressed.
+     *
+     * @param dispositionBatchLimit
+     *      the maximum number of dispositions that will be coalesced into one frame.
+     *
+     * @return this {@link SessionOptions} instance.
+     */
+    public SessionOptions dispositionBatchLimit(int dispositionBatchLimit) {
+        this.dispositionBatchLimit = dispositionBatchLimit;
+        return this;
+    }
 }
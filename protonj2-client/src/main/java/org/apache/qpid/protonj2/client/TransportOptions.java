@@ -39,6 +39,9 @@ public class TransportOptions implements Cloneable {
     public static final boolean DEFAULT_USE_WEBSOCKETS = false;
     public static final int DEFAULT_WEBSOCKET_MAX_FRAME_SIZE = 65535;
     public static final String[] DEFAULT_NATIVEIO_PREFERENCES = { "EPOLL", "KQUEUE" };
+    public static final FlushPolicy DEFAULT_FLUSH_POLICY = FlushPolicy.LATENCY;
+    public static final int DEFAULT_FLUSH_PENDING_WRITES_LIMIT = 64;
+    public static final int DEFAULT_FLUSH_PENDING_BYTES_LIMIT = DEFAULT_SEND_BUFFER_SIZE;
 
     private int sendBufferSize = DEFAULT_SEND_BUFFER_SIZE;
     private int receiveBufferSize = DEFAULT_RECEIVE_BUFFER_SIZE;
@@ -57,6 +60,9 @@ public class TransportOptions implements Cloneable {
     private boolean useWebSockets = DEFAULT_USE_WEBSOCKETS;
     private String webSocketPath;
     private int webSocketMaxFrameSize = DEFAULT_WEBSOCKET_MAX_FRAME_SIZE;
+    private FlushPolicy flushPolicy = DEFAULT_FLUSH_POLICY;
+    private int flushPendingWritesLimit = DEFAULT_FLUSH_PENDING_WRITES_LIMIT;
+    private int flushPendingBytesLimit = DEFAULT_FLUSH_PENDING_BYTES_LIMIT;
 
     private final Map<String, String> webSocketHeaders = new HashMap<>();
 
@@ -449,6 +455,87 @@ public class TransportOptions implements Cloneable {
         return this;
     }
 
+    /**
+     * @return the configured policy that controls when written output is flushed to the network.
+     */
+    public FlushPolicy flushPolicy() {
+        return flushPolicy;
+    }
+
+    /**
+     * Configures when the transport flushes output written by the connection, the default
+     * {@link FlushPolicy#LATENCY} policy flushes each write immediately while the
+     * {@link FlushPolicy#THROUGHPUT} policy consolidates the flushes requested during a single
+     * I/O thread task into one.
+     *
+     * @param flushPolicy
+     * 		the {@link FlushPolicy} that the transport should apply.
+     *
+     * @return this {@link TransportOptions} instance.
+     */
+    public TransportOptions flushPolicy(FlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy == null ? DEFAULT_FLUSH_POLICY : flushPolicy;
+        return this;
+    }
+
+    /**
+     * @return the number of writes that may await a deferred flush before one is forced.
+     */
+    public int flushPendingWritesLimit() {
+        return flushPendingWritesLimit;
+    }
+
+    /**
+     * Sets the number of writes that may be pending before the transport flushes regardless of
+     * whether the current I/O task has completed, only applies to the {@link FlushPolicy#THROUGHPUT}
+     * flush policy.  The value must be greater than zero or an {@link IllegalArgumentException} will
+     * be thrown.
+     *
+     * @param flushPendingWritesLimit
+     * 		the number of writes that forces a flush.
+     *
+     * @return this {@link TransportOptions} instance.
+     *
+     * @throws IllegalArgumentException if the value given is not in the valid range.
+     */
+    public TransportOptions flushPendingWritesLimit(int flushPendingWritesLimit) {
+        if (flushPendingWritesLimit <= 0) {
+            throw new IllegalArgumentException("The flush pending writes limit must be > 0");
+        }
+
+        this.flushPendingWritesLimit = flushPendingWritesLimit;
+        return this;
+    }
+
+    /**
+     * @return the number of bytes that may await a deferred flush before one is forced.
+     */
+    public int flushPendingBytesLimit() {
+        return flushPendingBytesLimit;
+    }
+
+    /**
+     * Sets the number of written bytes that may be pending before the transport flushes regardless
+     * of whether the current I/O task has completed, only applies to the {@link FlushPolicy#THROUGHPUT}
+     * flush policy.  The value must be greater than zero or an {@link IllegalArgumentException} will
+     * be thrown.
+     *
+     * @param flushPendingBytesLimit
+     * 		the number of pending bytes that forces a flush.
+     *
+     * @return this {@link TransportOptions} instance.
+     *
+     * @throws IllegalArgumentException if the value given is not in the valid range.
+     */
+    public TransportOptions flushPendingBytesLimit(int flushPendingBytesLimit) {
+        if (flushPendingBytesLimit <= 0) {
+            throw new IllegalArgumentException("The flush pending bytes limit must be > 0");
+        }
+
+        this.flushPendingBytesLimit = flushPendingBytesLimit;
+        return this;
+    }
+
     /**
      * Copy all configuration into the given {@link TransportOptions} from this instance.
      *
@@ -476,6 +563,9 @@ public class TransportOptions implements Cloneable {
         other.webSocketPath(webSocketPath());
         other.webSocketHeaders().putAll(webSocketHeaders);
         other.webSocketMaxFrameSize(webSocketMaxFrameSize());
+        other.flushPolicy(flushPolicy());
+        other.flushPendingWritesLimit(flushPendingWritesLimit());
+        other.flushPendingBytesLimit(flushPendingBytesLimit());
 
         return other;
     }
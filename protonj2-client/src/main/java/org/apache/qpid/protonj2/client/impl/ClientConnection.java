@@ -110,6 +110,7 @@ public class ClientConnection implements Connection {
     private ClientSender connectionSender;
     private Transport transport;
     private boolean autoFlush = true;
+    private int flushDeferrals;
     private ClientFuture<Connection> openFuture;
     private ClientFuture<Connection> closeFuture;
     private volatile int closed;
@@ -139,9 +140,9 @@ public class ClientConnection implements Connection {
         this.openFuture = futureFactory.createFuture();
         this.closeFuture = futureFactory.createFuture();
         this.sessionBuilder = new ClientSessionBuilder(this);
-        this.ioContext = new NettyIOContext(options.transportOptions(),
-                                            options.sslOptions(),
-                                            "ClientConnection :(" + connectionId + "): I/O Thread");
+        this.ioContext = client.createIOContext(options.transportOptions(),
+                                                options.sslOptions(),
+                                                "ClientConnection :(" + connectionId + "): I/O Thread");
         this.executor = ioContext.eventLoop();
 
         // This executor can be used for dispatching asynchronous tasks that might block or result
@@ -149,6 +150,7 @@ public class ClientConnection implements Connection {
         notifications = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(),
             new TrackableThreadFactory("protonj2 Client Connection Executor: " + getId(), true));
         notifications.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
+        notifications.allowCoreThreadTimeOut(true);
 
         reconnectPool.add(new ReconnectLocation(host, port));
         reconnectPool.addAll(options.reconnectOptions().reconnectLocations());
@@ -608,11 +610,34 @@ public class ClientConnection implements Connection {
     }
 
     void flush() {
-        try {
-            transport.flush();
-        } catch (IOException e) {
-            LOG.debug("Error while flushing engine output to transport: ", e.getMessage());
-            throw new UncheckedIOException(e);
+        if (flushDeferrals == 0) {
+            try {
+                transport.flush();
+            } catch (IOException e) {
+                LOG.debug("Error while flushing engine output to transport: ", e.getMessage());
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /*
+     * Holds back explicit flushes until the matching resumeFlushes call so that a batch of
+     * writes performed within one event loop task is pushed to the transport with one flush,
+     * the engine packs the small frames written in that window into shared output buffers.
+     */
+    void deferFlushes() {
+        if (flushDeferrals++ == 0) {
+            engine.beginWriteBatch();
+        }
+    }
+
+    void resumeFlushes() {
+        if (--flushDeferrals == 0) {
+            try {
+                engine.endWriteBatch();
+            } finally {
+                flush();
+            }
         }
     }
 
@@ -864,6 +889,11 @@ public class ClientConnection implements Connection {
             engine = EngineFactory.PROTON.createNonSaslEngine();
         }
 
+        // Frames written in response to each read from the transport are packed into shared buffers
+        engine.configuration().setIngestWriteBatching(true);
+        // Deliveries release the I/O buffers their payloads arrived in once settled or read
+        engine.configuration().setRetainIncomingPayloads(true);
+
         if (options.traceFrames()) {
             engine.configuration().setTraceFrames(true);
             if (!engine.configuration().isTraceFrames()) {
@@ -961,6 +991,7 @@ public class ClientConnection implements Connection {
     private void attemptConnection(ReconnectLocation location) {
         try {
             reconnectAttempts++;
+            ClientEvents.connectionAttempt(getId(), location.getHost(), location.getPort(), reconnectAttempts);
             transport = ioContext.newTransport();
             LOG.trace("Connection {} Attempting connection to remote {}:{}", getId(), location.getHost(), location.getPort());
             transport.connect(location.getHost(), location.getPort(), new ClientTransportListener(engine));
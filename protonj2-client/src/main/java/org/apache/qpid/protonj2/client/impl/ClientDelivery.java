@@ -21,6 +21,7 @@ import java.util.Map;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonBufferInputStream;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
 import org.apache.qpid.protonj2.client.Delivery;
 import org.apache.qpid.protonj2.client.DeliveryState;
 import org.apache.qpid.protonj2.client.Message;
@@ -43,10 +44,12 @@ public final class ClientDelivery implements Delivery {
 
     private final ClientReceiver receiver;
     private final IncomingDelivery delivery;
-    private final ProtonBuffer payload;
+    private final long receivedTime;
 
-    private DeliveryAnnotations deliveryAnnotations;
-    private Message<?> cachedMessage;
+    private ProtonBuffer payload;
+    private boolean payloadReleased;
+
+    private ClientLazyMessage<?> cachedMessage;
     private InputStream rawInputStream;
 
     /**
@@ -63,6 +66,7 @@ public final class ClientDelivery implements Delivery {
         this.delivery = delivery;
         this.delivery.setLinkedResource(this);
         this.payload = delivery.readAll();
+        this.receivedTime = receiver.settlementLatency() != null ? System.nanoTime() : 0;
     }
 
     @SuppressWarnings("unchecked")
@@ -73,8 +77,13 @@ public final class ClientDelivery implements Delivery {
         }
 
         Message<E> message = (Message<E>) cachedMessage;
-        if (message == null && payload.isReadable()) {
-            message = (Message<E>)(cachedMessage = ClientMessageSupport.decodeMessage(payload, this::deliveryAnnotations));
+        if (message == null) {
+            final ProtonBuffer payload = readablePayload();
+
+            if (payload.isReadable()) {
+                message = (Message<E>)(cachedMessage = ClientLazyMessage.create(payload));
+                cachedMessage.messageFormat(delivery.getMessageFormat());
+            }
         }
 
         return message;
@@ -87,7 +96,7 @@ public final class ClientDelivery implements Delivery {
         }
 
         if (rawInputStream == null) {
-            rawInputStream = new ProtonBufferInputStream(payload);
+            rawInputStream = new ProtonBufferInputStream(readablePayload());
         }
 
         return rawInputStream;
@@ -95,7 +104,7 @@ public final class ClientDelivery implements Delivery {
 
     @Override
     public Map<String, Object> annotations() throws ClientException {
-        message();
+        final DeliveryAnnotations deliveryAnnotations = message() != null ? cachedMessage.deliveryAnnotations() : null;
 
         if (deliveryAnnotations != null && deliveryAnnotations.getValue() != null) {
             return StringUtils.toStringKeyedMap(deliveryAnnotations.getValue());
@@ -106,37 +115,63 @@ public final class ClientDelivery implements Delivery {
 
     @Override
     public Delivery accept() throws ClientException {
-        receiver.disposition(delivery, Accepted.getInstance(), true);
+        try {
+            receiver.disposition(delivery, Accepted.getInstance(), true);
+        } finally {
+            releasePayload();
+        }
         return this;
     }
 
     @Override
     public Delivery release() throws ClientException {
-        receiver.disposition(delivery, Released.getInstance(), true);
+        try {
+            receiver.disposition(delivery, Released.getInstance(), true);
+        } finally {
+            releasePayload();
+        }
         return this;
     }
 
     @Override
     public Delivery reject(String condition, String description) throws ClientException {
-        receiver.disposition(delivery, new Rejected().setError(new ErrorCondition(condition, description)), true);
+        try {
+            receiver.disposition(delivery, new Rejected().setError(new ErrorCondition(condition, description)), true);
+        } finally {
+            releasePayload();
+        }
         return this;
     }
 
     @Override
     public Delivery modified(boolean deliveryFailed, boolean undeliverableHere) throws ClientException {
-        receiver.disposition(delivery, new Modified().setDeliveryFailed(deliveryFailed).setUndeliverableHere(undeliverableHere), true);
+        try {
+            receiver.disposition(delivery, new Modified().setDeliveryFailed(deliveryFailed).setUndeliverableHere(undeliverableHere), true);
+        } finally {
+            releasePayload();
+        }
         return this;
     }
 
     @Override
     public Delivery disposition(DeliveryState state, boolean settle) throws ClientException {
-        receiver.disposition(delivery, ClientDeliveryState.asProtonType(state), settle);
+        try {
+            receiver.disposition(delivery, ClientDeliveryState.asProtonType(state), settle);
+        } finally {
+            if (settle) {
+                releasePayload();
+            }
+        }
         return this;
     }
 
     @Override
     public Delivery settle() throws ClientException {
-        receiver.disposition(delivery, null, true);
+        try {
+            receiver.disposition(delivery, null, true);
+        } finally {
+            releasePayload();
+        }
         return this;
     }
 
@@ -176,7 +211,44 @@ public final class ClientDelivery implements Delivery {
         return delivery;
     }
 
-    void deliveryAnnotations(DeliveryAnnotations deliveryAnnotations) {
-        this.deliveryAnnotations = deliveryAnnotations;
+    /*
+     * Copies a payload backed by pooled I/O buffers to the heap and lets the pooled buffers go, used when the
+     * delivery is handed to the application already settled and so will not be settled by it later and before
+     * the payload is handed to a message or stream whose lifetime is not tied to that of the delivery.
+     */
+    synchronized void detachPayload() {
+        if (payload != null && payload.isReferenceCounted() && !payloadReleased) {
+            final ProtonBuffer copy = ProtonByteBufferAllocator.DEFAULT.allocate(payload.getReadableBytes(), payload.getReadableBytes());
+
+            copy.writeBytes(payload);
+            payload.release();
+            payload = copy;
+        }
+    }
+
+    /*
+     * Lets go of a payload backed by pooled I/O buffers once the delivery is settled by the application or
+     * can no longer be read because it was discarded or its receiver closed.  A payload that was already
+     * detached to the heap is left for any message or stream reading it.
+     */
+    synchronized void releasePayload() {
+        if (payload != null && payload.isReferenceCounted() && !payloadReleased) {
+            payloadReleased = true;
+            payload.release();
+        }
+    }
+
+    long receivedTime() {
+        return receivedTime;
+    }
+
+    private synchronized ProtonBuffer readablePayload() throws ClientIllegalStateException {
+        if (payloadReleased) {
+            throw new ClientIllegalStateException("Cannot read a Delivery that was settled or discarded before it was read");
+        }
+
+        detachPayload();
+
+        return payload;
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import org.apache.qpid.protonj2.types.messaging.Target;
+import org.apache.qpid.protonj2.types.messaging.Terminus;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events emitted by the client.
+ * <p>
+ * All events are disabled by default and must be enabled in the recording settings using their
+ * names, for example {@code org.apache.qpid.protonj2.client.ConnectionAttempt#enabled=true}.  When
+ * an event is not enabled or the JDK has no flight recorder the emitting code does no real work.
+ */
+final class ClientEvents {
+
+    static final String EVENT_PREFIX = "org.apache.qpid.protonj2.client.";
+    static final String CATEGORY = "Apache Qpid ProtonJ2";
+
+    static final String SEND_DISPATCHED = "Dispatched";
+    static final String SEND_TIMED_OUT = "Timed Out";
+    static final String SEND_FAILED = "Failed";
+
+    static final boolean FLIGHT_RECORDER_AVAILABLE = isFlightRecorderAvailable();
+
+    private ClientEvents() {
+    }
+
+    static void connectionAttempt(String connectionId, String host, int port, long attempt) {
+        if (FLIGHT_RECORDER_AVAILABLE && ConnectionAttempt.TYPE.isEnabled()) {
+            final ConnectionAttempt event = new ConnectionAttempt();
+            event.connectionId = connectionId;
+            event.host = host;
+            event.port = port;
+            event.attempt = attempt;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts timing a send that is waiting for the sender to have credit.
+     *
+     * @return an event to pass to {@link #senderUnblocked(Object, String)} or null if not enabled.
+     */
+    static Object senderBlocked(ClientSender sender) {
+        if (FLIGHT_RECORDER_AVAILABLE && SenderBlocked.TYPE.isEnabled()) {
+            final SenderBlocked event = new SenderBlocked();
+            final Terminus target = sender.getProtonSender().getTarget();
+
+            event.senderId = sender.getId();
+            event.linkName = sender.getProtonSender().getName();
+            event.address = target instanceof Target ? ((Target) target).getAddress() : null;
+            event.begin();
+            return event;
+        }
+
+        return null;
+    }
+
+    /**
+     * Ends the timing of a send that was waiting for credit and commits the event.
+     *
+     * @param blockedEvent
+     *      The event returned from {@link #senderBlocked(ClientSender)}.
+     * @param outcome
+     *      How the wait ended, one of {@link #SEND_DISPATCHED}, {@link #SEND_TIMED_OUT} or {@link #SEND_FAILED}.
+     */
+    static void senderUnblocked(Object blockedEvent, String outcome) {
+        final SenderBlocked event = (SenderBlocked) blockedEvent;
+
+        event.outcome = outcome;
+        event.commit();
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, ClientEvents.class.getClassLoader());
+            return FlightRecorder.isAvailable();
+        } catch (Throwable error) {
+            return false;
+        }
+    }
+
+    //----- Event types
+
+    @Name(EVENT_PREFIX + "ConnectionAttempt")
+    @Label("Connection Attempt")
+    @Description("A client connection is attempting to connect or reconnect to a remote peer")
+    @Category({ CATEGORY, "Client" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class ConnectionAttempt extends Event {
+
+        static final EventType TYPE = EventType.getEventType(ConnectionAttempt.class);
+
+        @Label("Connection Id")
+        String connectionId;
+
+        @Label("Host")
+        String host;
+
+        @Label("Port")
+        int port;
+
+        @Label("Attempt")
+        @Description("The number of attempts made since the connection was last established")
+        long attempt;
+
+    }
+
+    @Name(EVENT_PREFIX + "SenderBlocked")
+    @Label("Sender Blocked")
+    @Description("A send had to wait for link credit, the duration spans until the send was dispatched, timed out or failed")
+    @Category({ CATEGORY, "Client" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SenderBlocked extends Event {
+
+        static final EventType TYPE = EventType.getEventType(SenderBlocked.class);
+
+        @Label("Sender Id")
+        String senderId;
+
+        @Label("Link Name")
+        String linkName;
+
+        @Label("Address")
+        String address;
+
+        @Label("Outcome")
+        @Description("Whether the send was dispatched, timed out or failed when the link closed")
+        String outcome;
+
+    }
+}
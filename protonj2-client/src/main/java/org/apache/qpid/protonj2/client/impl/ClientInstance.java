@@ -29,10 +29,13 @@ import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.ClientOptions;
 import org.apache.qpid.protonj2.client.Connection;
 import org.apache.qpid.protonj2.client.ConnectionOptions;
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.TransportOptions;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
 import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
 import org.apache.qpid.protonj2.client.futures.ClientFutureFactory;
+import org.apache.qpid.protonj2.client.transport.NettyIOContext;
 import org.apache.qpid.protonj2.client.util.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +58,7 @@ public final class ClientInstance implements Client {
     private final String clientUniqueId = CONTAINER_ID_GENERATOR.generateId();
     private final ClientFuture<Client> closedFuture = FUTURES.createFuture();
 
+    private volatile NettyIOContext sharedIOContext;
     private volatile boolean closed;
 
     /**
@@ -141,6 +145,7 @@ public final class ClientInstance implements Client {
             closed = true;
 
             if (connections.isEmpty()) {
+                shutdownSharedIOContext();
                 closedFuture.complete(this);
             } else {
                 List<Connection> connectionsView = new ArrayList<>(connections.values());
@@ -171,6 +176,31 @@ public final class ClientInstance implements Client {
         return getClientUniqueId() + ":" + CONNECTION_COUNTER.incrementAndGet();
     }
 
+    /*
+     * Creates the IO context for a new connection, when the client is configured to share I/O threads
+     * the context is pinned to one event loop of the shared group which is created on first use.
+     */
+    synchronized NettyIOContext createIOContext(TransportOptions transportOptions, SslOptions sslOptions, String ioThreadName) {
+        if (options.sharedIOThreads() > 0) {
+            if (sharedIOContext == null) {
+                sharedIOContext = new NettyIOContext(transportOptions, sslOptions,
+                    "ClientInstance :(" + clientUniqueId + "): Shared I/O Thread", options.sharedIOThreads());
+            }
+
+            return sharedIOContext.pinnedContext(transportOptions, sslOptions);
+        } else {
+            return new NettyIOContext(transportOptions, sslOptions, ioThreadName);
+        }
+    }
+
+    // Can be called from a shared I/O thread so we cannot wait on the shutdown to complete.
+    private void shutdownSharedIOContext() {
+        final NettyIOContext ioContext = sharedIOContext;
+        if (ioContext != null) {
+            ioContext.shutdownAsync();
+        }
+    }
+
     private ClientConnection addConnection(ClientConnection connection) {
         connections.put(connection.getId(), connection);
         return connection;
@@ -180,6 +210,7 @@ public final class ClientInstance implements Client {
         synchronized (connections) {
             connections.remove(connection.getId());
             if (closed && connections.isEmpty()) {
+                shutdownSharedIOContext();
                 closedFuture.complete(this);
             }
         }
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.client.Message;
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.codec.DecodeException;
+import org.apache.qpid.protonj2.codec.TypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderFactory;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
+import org.apache.qpid.protonj2.types.messaging.AmqpSequence;
+import org.apache.qpid.protonj2.types.messaging.AmqpValue;
+import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.Data;
+import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Footer;
+import org.apache.qpid.protonj2.types.messaging.Header;
+import org.apache.qpid.protonj2.types.messaging.MessageAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Properties;
+import org.apache.qpid.protonj2.types.messaging.Section;
+import org.apache.qpid.protonj2.types.messaging.Section.SectionType;
+
+/**
+ * {@link ClientMessage} that is backed by the encoded bytes of a received message and which
+ * only decodes a message section when it is first accessed.
+ * <p>
+ * On creation the encoded message is scanned once to find where each section starts, which
+ * validates the section boundaries without decoding any section contents.  Each section is then
+ * held as a slice of the encoded bytes, a section that is never read is never decoded, so reading
+ * a single header or property value does not pay for decoding the application properties map or
+ * the body.  Any section that is replaced is simply no longer read from the encoded bytes.  An error
+ * in the encoding of a section that is only found when the section is decoded is thrown from the
+ * accessor as a {@link ClientException} whose cause is the {@link DecodeException}.
+ * <p>
+ * When the message is sent, for instance to forward a received message to another address, any
+ * section that was not modified is written from the original encoded bytes as is and only the
+ * sections that were modified are encoded again.  Delivery annotations are not carried over, as
+ * with any other message they are those given when the message is sent.
+ * <p>
+ * Binary values and Data sections are decoded as slices of the encoded message which must not
+ * be modified or released while the message is in use.
+ *
+ * @param <E> the body type that the {@link Message} carries
+ */
+final class ClientLazyMessage<E> extends ClientMessage<E> {
+
+    private static final ProtonDecoder DECODER = ProtonDecoderFactory.create();
+
+    private ProtonBuffer encodedDeliveryAnnotations;
+    private DeliveryAnnotations deliveryAnnotations;
+
+    private ClientLazyMessage() {
+    }
+
+    /**
+     * Scans the encoded message for the location of each section, the given buffer is owned by
+     * the returned message from this point on.
+     *
+     * @param encoded
+     *      The buffer containing the complete encoded message.
+     *
+     * @return a new {@link ClientLazyMessage} that decodes its sections from the encoded bytes.
+     *
+     * @throws ClientException if the message sections could not be located.
+     */
+    static ClientLazyMessage<?> create(ProtonBuffer encoded) throws ClientException {
+        final ClientLazyMessage<?> message = new ClientLazyMessage<>();
+        final ProtonDecoderState decoderState = DECODER.newDecoderState().setSlicingBinaryValues(true);
+
+        int bodyOffset = -1;
+        int bodyLimit = -1;
+
+        // Some other section was found between the first and last body sections.
+        boolean bodyInterleaved = false;
+
+        while (encoded.isReadable()) {
+            final int offset = encoded.getReadIndex();
+            final TypeDecoder<?> typeDecoder;
+
+            try {
+                typeDecoder = DECODER.readNextTypeDecoder(encoded, decoderState);
+                typeDecoder.skipValue(encoded, decoderState);
+            } catch (Exception e) {
+                throw ClientExceptionSupport.createNonFatalOrPassthrough(e);
+            }
+
+            final Class<?> sectionType = typeDecoder.getTypeClass();
+            final int limit = encoded.getReadIndex();
+
+            if (sectionType == Header.class) {
+                message.encodedSection(SectionType.Header, encoded.slice(offset, limit - offset));
+            } else if (sectionType == DeliveryAnnotations.class) {
+                message.encodedDeliveryAnnotations = encoded.slice(offset, limit - offset);
+            } else if (sectionType == MessageAnnotations.class) {
+                message.encodedSection(SectionType.MessageAnnotations, encoded.slice(offset, limit - offset));
+            } else if (sectionType == Properties.class) {
+                message.encodedSection(SectionType.Properties, encoded.slice(offset, limit - offset));
+            } else if (sectionType == ApplicationProperties.class) {
+                message.encodedSection(SectionType.ApplicationProperties, encoded.slice(offset, limit - offset));
+            } else if (sectionType == Data.class || sectionType == AmqpSequence.class || sectionType == AmqpValue.class) {
+                if (bodyOffset < 0) {
+                    bodyOffset = offset;
+                } else if (bodyLimit != offset) {
+                    bodyInterleaved = true;
+                }
+                bodyLimit = limit;
+            } else if (sectionType == Footer.class) {
+                message.encodedSection(SectionType.Footer, encoded.slice(offset, limit - offset));
+            } else {
+                throw new ClientException("Unknown Message Section forced decode abort.");
+            }
+        }
+
+        if (bodyInterleaved) {
+            // The body is not in one piece so it is decoded now and encoded again when sent.
+            try {
+                encoded.setReadIndex(bodyOffset);
+                while (encoded.getReadIndex() < bodyLimit) {
+                    final Section<?> section = (Section<?>) DECODER.readObject(encoded, decoderState);
+
+                    switch (section.getType()) {
+                        case Data:
+                        case AmqpSequence:
+                        case AmqpValue:
+                            message.addBodySection(section);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } catch (Exception e) {
+                throw ClientExceptionSupport.createNonFatalOrPassthrough(e);
+            }
+        } else if (bodyOffset >= 0) {
+            message.encodedSection(SectionType.Data, encoded.slice(bodyOffset, bodyLimit - bodyOffset));
+        }
+
+        return message;
+    }
+
+    /**
+     * @return the {@link DeliveryAnnotations} that were sent with the message or null if none were.
+     *
+     * @throws ClientException if an error occurs while decoding the delivery annotations.
+     */
+    DeliveryAnnotations deliveryAnnotations() throws ClientException {
+        if (encodedDeliveryAnnotations != null) {
+            try {
+                deliveryAnnotations = (DeliveryAnnotations) decodeSection(encodedDeliveryAnnotations);
+            } catch (Exception e) {
+                throw ClientExceptionSupport.createNonFatalOrPassthrough(e);
+            }
+
+            encodedDeliveryAnnotations = null;
+        }
+
+        return deliveryAnnotations;
+    }
+}
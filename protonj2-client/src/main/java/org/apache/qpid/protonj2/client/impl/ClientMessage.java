@@ -29,12 +29,23 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
 import org.apache.qpid.protonj2.client.AdvancedMessage;
 import org.apache.qpid.protonj2.client.Message;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.codec.CodecFactory;
+import org.apache.qpid.protonj2.codec.DecodeException;
+import org.apache.qpid.protonj2.codec.Encoder;
+import org.apache.qpid.protonj2.codec.EncoderState;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderFactory;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
+import org.apache.qpid.protonj2.engine.util.StringUtils;
 import org.apache.qpid.protonj2.types.Binary;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
 import org.apache.qpid.protonj2.types.messaging.Footer;
 import org.apache.qpid.protonj2.types.messaging.Header;
 import org.apache.qpid.protonj2.types.messaging.MessageAnnotations;
@@ -46,11 +57,24 @@ import org.apache.qpid.protonj2.types.messaging.Section.SectionType;
  * Client provided {@link AdvancedMessage} implementation that is used when sending messages
  * from a {@link ClientSender} or when decoding an AMQP Transfer for which all frames have
  * arrived.
+ * <p>
+ * A sender configured to cache message encodings keeps the encoding of each section when it
+ * sends the message and later encodes write the kept bytes again as is.  Modifying the message
+ * through its API drops only the kept encoding of the section that was modified, and reading a
+ * section object or the body drops the kept encoding of that section as it could be modified in
+ * place, but a section object or body value that was given to or read from the message before it
+ * was last sent must not be modified in place.  Other encodes only read the message, they write
+ * any kept encodings but never keep new ones.
  *
  * @param <E> the body type that the {@link Message} carries
  */
 public class ClientMessage<E> implements AdvancedMessage<E> {
 
+    private static final int ENCODED_SIZE_ESTIMATE = 1024;
+
+    private static final Encoder ENCODER = CodecFactory.getDefaultEncoder();
+    private static final ProtonDecoder DECODER = ProtonDecoderFactory.create();
+
     private Header header;
     private MessageAnnotations messageAnnotations;
     private Properties properties;
@@ -59,6 +83,18 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     private List<Section<?>> bodySections;
     private Footer footer;
 
+    // The encoding of each section as of the last encode that kept encodings or as received, dropped
+    // when the section is modified or handed out to be read where it could be modified.  A section
+    // that has an encoding but no value has not been decoded yet.
+    private ProtonBuffer encodedHeader;
+    private ProtonBuffer encodedMessageAnnotations;
+    private ProtonBuffer encodedProperties;
+    private ProtonBuffer encodedApplicationProperties;
+    private ProtonBuffer encodedBody;
+    private ProtonBuffer encodedFooter;
+
+    private ProtonDecoderState decoderState;
+
     private int messageFormat;
 
     /**
@@ -129,56 +165,56 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     //----- Message Header API
 
     @Override
-    public boolean durable() {
-        return header == null ? Header.DEFAULT_DURABILITY : header.isDurable();
+    public boolean durable() throws ClientException {
+        return readHeader() == null ? Header.DEFAULT_DURABILITY : readHeader().isDurable();
     }
 
     @Override
-    public ClientMessage<E> durable(boolean durable) {
+    public ClientMessage<E> durable(boolean durable) throws ClientException {
         lazyCreateHeader().setDurable(durable);
         return this;
     }
 
     @Override
-    public byte priority() {
-        return header == null ? Header.DEFAULT_PRIORITY : header.getPriority();
+    public byte priority() throws ClientException {
+        return readHeader() == null ? Header.DEFAULT_PRIORITY : readHeader().getPriority();
     }
 
     @Override
-    public ClientMessage<E> priority(byte priority) {
+    public ClientMessage<E> priority(byte priority) throws ClientException {
         lazyCreateHeader().setPriority(priority);
         return this;
     }
 
     @Override
-    public long timeToLive() {
-        return header == null ? Header.DEFAULT_TIME_TO_LIVE : header.getTimeToLive();
+    public long timeToLive() throws ClientException {
+        return readHeader() == null ? Header.DEFAULT_TIME_TO_LIVE : readHeader().getTimeToLive();
     }
 
     @Override
-    public ClientMessage<E> timeToLive(long timeToLive) {
+    public ClientMessage<E> timeToLive(long timeToLive) throws ClientException {
         lazyCreateHeader().setTimeToLive(timeToLive);
         return this;
     }
 
     @Override
-    public boolean firstAcquirer() {
-        return header == null ? Header.DEFAULT_FIRST_ACQUIRER : header.isFirstAcquirer();
+    public boolean firstAcquirer() throws ClientException {
+        return readHeader() == null ? Header.DEFAULT_FIRST_ACQUIRER : readHeader().isFirstAcquirer();
     }
 
     @Override
-    public ClientMessage<E> firstAcquirer(boolean firstAcquirer) {
+    public ClientMessage<E> firstAcquirer(boolean firstAcquirer) throws ClientException {
         lazyCreateHeader().setFirstAcquirer(firstAcquirer);
         return this;
     }
 
     @Override
-    public long deliveryCount() {
-        return header == null ? Header.DEFAULT_DELIVERY_COUNT : header.getDeliveryCount();
+    public long deliveryCount() throws ClientException {
+        return readHeader() == null ? Header.DEFAULT_DELIVERY_COUNT : readHeader().getDeliveryCount();
     }
 
     @Override
-    public ClientMessage<E> deliveryCount(long deliveryCount) {
+    public ClientMessage<E> deliveryCount(long deliveryCount) throws ClientException {
         lazyCreateHeader().setDeliveryCount(deliveryCount);
         return this;
     }
@@ -186,149 +222,149 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     //----- Message Properties access
 
     @Override
-    public Object messageId() {
-        return properties != null ? properties.getMessageId() : null;
+    public Object messageId() throws ClientException {
+        return readProperties() != null ? readProperties().getMessageId() : null;
     }
 
     @Override
-    public Message<E> messageId(Object messageId) {
+    public Message<E> messageId(Object messageId) throws ClientException {
         lazyCreateProperties().setMessageId(messageId);
         return this;
     }
 
     @Override
-    public byte[] userId() {
+    public byte[] userId() throws ClientException {
         byte[] copyOfUserId = null;
-        if (properties != null && properties.getUserId() != null) {
-            copyOfUserId = properties.getUserId().arrayCopy();
+        if (readProperties() != null && readProperties().getUserId() != null) {
+            copyOfUserId = readProperties().getUserId().arrayCopy();
         }
 
         return copyOfUserId;
     }
 
     @Override
-    public Message<E> userId(byte[] userId) {
+    public Message<E> userId(byte[] userId) throws ClientException {
         lazyCreateProperties().setUserId(new Binary(Arrays.copyOf(userId, userId.length)));
         return this;
     }
 
     @Override
-    public String to() {
-        return properties != null ? properties.getTo() : null;
+    public String to() throws ClientException {
+        return readProperties() != null ? readProperties().getTo() : null;
     }
 
     @Override
-    public Message<E> to(String to) {
+    public Message<E> to(String to) throws ClientException {
         lazyCreateProperties().setTo(to);
         return this;
     }
 
     @Override
-    public String subject() {
-        return properties != null ? properties.getSubject() : null;
+    public String subject() throws ClientException {
+        return readProperties() != null ? readProperties().getSubject() : null;
     }
 
     @Override
-    public Message<E> subject(String subject) {
+    public Message<E> subject(String subject) throws ClientException {
         lazyCreateProperties().setSubject(subject);
         return this;
     }
 
     @Override
-    public String replyTo() {
-        return properties != null ? properties.getReplyTo() : null;
+    public String replyTo() throws ClientException {
+        return readProperties() != null ? readProperties().getReplyTo() : null;
     }
 
     @Override
-    public Message<E> replyTo(String replyTo) {
+    public Message<E> replyTo(String replyTo) throws ClientException {
         lazyCreateProperties().setReplyTo(replyTo);
         return this;
     }
 
     @Override
-    public Object correlationId() {
-        return properties != null ? properties.getCorrelationId() : null;
+    public Object correlationId() throws ClientException {
+        return readProperties() != null ? readProperties().getCorrelationId() : null;
     }
 
     @Override
-    public Message<E> correlationId(Object correlationId) {
+    public Message<E> correlationId(Object correlationId) throws ClientException {
         lazyCreateProperties().setCorrelationId(correlationId);
         return this;
     }
 
     @Override
-    public String contentType() {
-        return properties != null ? properties.getContentType() : null;
+    public String contentType() throws ClientException {
+        return readProperties() != null ? readProperties().getContentType() : null;
     }
 
     @Override
-    public Message<E> contentType(String contentType) {
+    public Message<E> contentType(String contentType) throws ClientException {
         lazyCreateProperties().setContentType(contentType);
         return this;
     }
 
     @Override
-    public String contentEncoding() {
-        return properties != null ? properties.getContentEncoding() : null;
+    public String contentEncoding() throws ClientException {
+        return readProperties() != null ? readProperties().getContentEncoding() : null;
     }
 
     @Override
-    public Message<E> contentEncoding(String contentEncoding) {
+    public Message<E> contentEncoding(String contentEncoding) throws ClientException {
         lazyCreateProperties().setContentEncoding(contentEncoding);
         return this;
     }
 
     @Override
-    public long absoluteExpiryTime() {
-        return properties != null ? properties.getAbsoluteExpiryTime() : 0;
+    public long absoluteExpiryTime() throws ClientException {
+        return readProperties() != null ? readProperties().getAbsoluteExpiryTime() : 0;
     }
 
     @Override
-    public Message<E> absoluteExpiryTime(long expiryTime) {
+    public Message<E> absoluteExpiryTime(long expiryTime) throws ClientException {
         lazyCreateProperties().setAbsoluteExpiryTime(expiryTime);
         return this;
     }
 
     @Override
-    public long creationTime() {
-        return properties != null ? properties.getCreationTime() : 0;
+    public long creationTime() throws ClientException {
+        return readProperties() != null ? readProperties().getCreationTime() : 0;
     }
 
     @Override
-    public Message<E> creationTime(long createTime) {
+    public Message<E> creationTime(long createTime) throws ClientException {
         lazyCreateProperties().setCreationTime(createTime);
         return this;
     }
 
     @Override
-    public String groupId() {
-        return properties != null ? properties.getGroupId() : null;
+    public String groupId() throws ClientException {
+        return readProperties() != null ? readProperties().getGroupId() : null;
     }
 
     @Override
-    public Message<E> groupId(String groupId) {
+    public Message<E> groupId(String groupId) throws ClientException {
         lazyCreateProperties().setGroupId(groupId);
         return this;
     }
 
     @Override
-    public int groupSequence() {
-        return properties != null ? (int) properties.getGroupSequence() : 0;
+    public int groupSequence() throws ClientException {
+        return readProperties() != null ? (int) readProperties().getGroupSequence() : 0;
     }
 
     @Override
-    public Message<E> groupSequence(int groupSequence) {
+    public Message<E> groupSequence(int groupSequence) throws ClientException {
         lazyCreateProperties().setGroupSequence(groupSequence);
         return this;
     }
 
     @Override
-    public String replyToGroupId() {
-        return properties != null ? properties.getReplyToGroupId() : null;
+    public String replyToGroupId() throws ClientException {
+        return readProperties() != null ? readProperties().getReplyToGroupId() : null;
     }
 
     @Override
-    public Message<E> replyToGroupId(String replyToGroupId) {
+    public Message<E> replyToGroupId(String replyToGroupId) throws ClientException {
         lazyCreateProperties().setReplyToGroupId(replyToGroupId);
         return this;
     }
@@ -336,43 +372,44 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     //----- Message Annotations Access
 
     @Override
-    public Object annotation(String key) {
+    public Object annotation(String key) throws ClientException {
         if (hasAnnotations()) {
-            return messageAnnotations.getValue().get(Symbol.valueOf(key));
+            return readAnnotations().getValue().get(Symbol.valueOf(key));
         } else {
             return null;
         }
     }
 
     @Override
-    public boolean hasAnnotation(String key) {
+    public boolean hasAnnotation(String key) throws ClientException {
         if (hasAnnotations()) {
-            return messageAnnotations.getValue().containsKey(Symbol.valueOf(key));
+            return readAnnotations().getValue().containsKey(Symbol.valueOf(key));
         } else {
             return false;
         }
     }
 
     @Override
-    public boolean hasAnnotations() {
-        return messageAnnotations != null &&
-               messageAnnotations.getValue() != null &&
-               messageAnnotations.getValue().size() > 0;
+    public boolean hasAnnotations() throws ClientException {
+        return readAnnotations() != null &&
+               readAnnotations().getValue() != null &&
+               readAnnotations().getValue().size() > 0;
     }
 
     @Override
-    public Object removeAnnotation(String key) {
+    public Object removeAnnotation(String key) throws ClientException {
         if (hasAnnotations()) {
-            return messageAnnotations.getValue().remove(Symbol.valueOf(key));
+            encodedMessageAnnotations = null;
+            return readAnnotations().getValue().remove(Symbol.valueOf(key));
         } else {
             return null;
         }
      }
 
     @Override
-    public Message<E> forEachAnnotation(BiConsumer<String, Object> action) {
+    public Message<E> forEachAnnotation(BiConsumer<String, Object> action) throws ClientException {
         if (hasAnnotations()) {
-            messageAnnotations.getValue().forEach((key, value) -> {
+            readAnnotations().getValue().forEach((key, value) -> {
                 action.accept(key.toString(), value);
             });
         }
@@ -381,7 +418,7 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     }
 
     @Override
-    public ClientMessage<E> annotation(String key, Object value) {
+    public ClientMessage<E> annotation(String key, Object value) throws ClientException {
         lazyCreateMessageAnnotations().getValue().put(Symbol.valueOf(key),value);
         return this;
     }
@@ -389,50 +426,51 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     //----- Application Properties Access
 
     @Override
-    public Object property(String key) {
+    public Object property(String key) throws ClientException {
         if (hasProperties()) {
-            return applicationProperties.getValue().get(key);
+            return readApplicationProperties().getValue().get(key);
         } else {
             return null;
         }
     }
 
     @Override
-    public boolean hasProperty(String key) {
+    public boolean hasProperty(String key) throws ClientException {
         if (hasProperties()) {
-            return applicationProperties.getValue().containsKey(key);
+            return readApplicationProperties().getValue().containsKey(key);
         } else {
             return false;
         }
     }
 
     @Override
-    public boolean hasProperties() {
-        return applicationProperties != null &&
-               applicationProperties.getValue() != null &&
-               applicationProperties.getValue().size() > 0;
+    public boolean hasProperties() throws ClientException {
+        return readApplicationProperties() != null &&
+               readApplicationProperties().getValue() != null &&
+               readApplicationProperties().getValue().size() > 0;
     }
 
     @Override
-    public Object removeProperty(String key) {
+    public Object removeProperty(String key) throws ClientException {
         if (hasProperties()) {
-            return applicationProperties.getValue().remove(key);
+            encodedApplicationProperties = null;
+            return readApplicationProperties().getValue().remove(key);
         } else {
             return null;
         }
      }
 
     @Override
-    public Message<E> forEachProperty(BiConsumer<String, Object> action) {
+    public Message<E> forEachProperty(BiConsumer<String, Object> action) throws ClientException {
         if (hasProperties()) {
-            applicationProperties.getValue().forEach(action);
+            readApplicationProperties().getValue().forEach(action);
         }
 
         return this;
     }
 
     @Override
-    public ClientMessage<E> property(String key, Object value) {
+    public ClientMessage<E> property(String key, Object value) throws ClientException {
         lazyCreateApplicationProperties().getValue().put(key,value);
         return this;
     }
@@ -440,43 +478,44 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     //----- Footer Access
 
     @Override
-    public Object footer(String key) {
+    public Object footer(String key) throws ClientException {
         if (hasFooters()) {
-            return footer.getValue().get(Symbol.valueOf(key));
+            return readFooter().getValue().get(Symbol.valueOf(key));
         } else {
             return null;
         }
     }
 
     @Override
-    public boolean hasFooter(String key) {
+    public boolean hasFooter(String key) throws ClientException {
         if (hasFooters()) {
-            return footer.getValue().containsKey(Symbol.valueOf(key));
+            return readFooter().getValue().containsKey(Symbol.valueOf(key));
         } else {
             return false;
         }
     }
 
     @Override
-    public boolean hasFooters() {
-        return footer != null &&
-               footer.getValue() != null &&
-               footer.getValue().size() > 0;
+    public boolean hasFooters() throws ClientException {
+        return readFooter() != null &&
+               readFooter().getValue() != null &&
+               readFooter().getValue().size() > 0;
     }
 
     @Override
-    public Object removeFooter(String key) {
+    public Object removeFooter(String key) throws ClientException {
         if (hasFooters()) {
-            return footer.getValue().remove(Symbol.valueOf(key));
+            encodedFooter = null;
+            return readFooter().getValue().remove(Symbol.valueOf(key));
         } else {
             return null;
         }
      }
 
     @Override
-    public Message<E> forEachFooter(BiConsumer<String, Object> action) {
+    public Message<E> forEachFooter(BiConsumer<String, Object> action) throws ClientException {
         if (hasFooters()) {
-            footer.getValue().forEach((key, value) -> {
+            readFooter().getValue().forEach((key, value) -> {
                 action.accept(key.toString(), value);
             });
         }
@@ -485,7 +524,7 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     }
 
     @Override
-    public ClientMessage<E> footer(String key, Object value) {
+    public ClientMessage<E> footer(String key, Object value) throws ClientException {
         lazyCreateFooter().getValue().put(Symbol.valueOf(key),value);
         return this;
     }
@@ -494,7 +533,10 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
 
     @SuppressWarnings("unchecked")
     @Override
-    public E body() {
+    public E body() throws ClientException {
+        decodeBody();
+        encodedBody = null;
+
         Section<E> section = body;
 
         if (bodySections != null) {
@@ -514,100 +556,239 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
 
     //----- Internal API
 
-    private Header lazyCreateHeader() {
-        if (header == null) {
+    private Header lazyCreateHeader() throws ClientException {
+        if (readHeader() == null) {
             header = new Header();
         }
 
+        encodedHeader = null;
+
         return header;
     }
 
-    private Properties lazyCreateProperties() {
-        if (properties == null) {
+    private Properties lazyCreateProperties() throws ClientException {
+        if (readProperties() == null) {
             properties = new Properties();
         }
 
+        encodedProperties = null;
+
         return properties;
     }
 
-    private ApplicationProperties lazyCreateApplicationProperties() {
-        if (applicationProperties == null) {
+    private ApplicationProperties lazyCreateApplicationProperties() throws ClientException {
+        if (readApplicationProperties() == null) {
             applicationProperties = new ApplicationProperties(new LinkedHashMap<>());
         }
 
+        encodedApplicationProperties = null;
+
         return applicationProperties;
     }
 
-    private MessageAnnotations lazyCreateMessageAnnotations() {
-        if (messageAnnotations == null) {
+    private MessageAnnotations lazyCreateMessageAnnotations() throws ClientException {
+        if (readAnnotations() == null) {
             messageAnnotations = new MessageAnnotations(new LinkedHashMap<>());
         }
 
+        encodedMessageAnnotations = null;
+
         return messageAnnotations;
     }
 
-    private Footer lazyCreateFooter() {
-        if (footer == null) {
+    private Footer lazyCreateFooter() throws ClientException {
+        if (readFooter() == null) {
             footer = new Footer(new LinkedHashMap<>());
         }
 
+        encodedFooter = null;
+
         return footer;
     }
 
+    // The section reads used by the message API which don't hand out the section for modification
+    // and so leave any cached encoding of it in place.
+
+    private Header readHeader() throws ClientException {
+        if (header == null && encodedHeader != null) {
+            header = (Header) decodeSection(encodedHeader);
+        }
+
+        return header;
+    }
+
+    private MessageAnnotations readAnnotations() throws ClientException {
+        if (messageAnnotations == null && encodedMessageAnnotations != null) {
+            messageAnnotations = (MessageAnnotations) decodeSection(encodedMessageAnnotations);
+        }
+
+        return messageAnnotations;
+    }
+
+    private Properties readProperties() throws ClientException {
+        if (properties == null && encodedProperties != null) {
+            properties = (Properties) decodeSection(encodedProperties);
+        }
+
+        return properties;
+    }
+
+    private ApplicationProperties readApplicationProperties() throws ClientException {
+        if (applicationProperties == null && encodedApplicationProperties != null) {
+            applicationProperties = (ApplicationProperties) decodeSection(encodedApplicationProperties);
+        }
+
+        return applicationProperties;
+    }
+
+    private Footer readFooter() throws ClientException {
+        if (footer == null && encodedFooter != null) {
+            footer = (Footer) decodeSection(encodedFooter);
+        }
+
+        return footer;
+    }
+
+    private void decodeBody() throws ClientException {
+        if (body == null && bodySections == null && encodedBody != null) {
+            final int readIndex = encodedBody.getReadIndex();
+
+            try {
+                while (encodedBody.isReadable()) {
+                    appendBodySection((Section<?>) DECODER.readObject(encodedBody, decoderState()));
+                }
+            } catch (DecodeException e) {
+                throw ClientExceptionSupport.createNonFatalOrPassthrough(e);
+            } finally {
+                encodedBody.setReadIndex(readIndex);
+            }
+        }
+    }
+
+    /*
+     * Decodes a section from an encoding of it which is left as it was so it can still be written,
+     * an error in the encoding is reported as a ClientException to the accessor that read it.
+     */
+    Section<?> decodeSection(ProtonBuffer encoding) throws ClientException {
+        final int readIndex = encoding.getReadIndex();
+
+        try {
+            return (Section<?>) DECODER.readObject(encoding, decoderState());
+        } catch (DecodeException e) {
+            throw ClientExceptionSupport.createNonFatalOrPassthrough(e);
+        } finally {
+            encoding.setReadIndex(readIndex);
+        }
+    }
+
+    private ProtonDecoderState decoderState() {
+        if (decoderState == null) {
+            decoderState = DECODER.newDecoderState().setSlicingBinaryValues(true);
+        }
+
+        return decoderState;
+    }
+
+    /*
+     * Assigns the encoding of a section that has not been decoded yet, the section is decoded from
+     * it when first read and until it is modified it is written from the encoding as is.
+     */
+    void encodedSection(SectionType type, ProtonBuffer encoding) {
+        switch (type) {
+            case Header:
+                encodedHeader = encoding;
+                break;
+            case MessageAnnotations:
+                encodedMessageAnnotations = encoding;
+                break;
+            case Properties:
+                encodedProperties = encoding;
+                break;
+            case ApplicationProperties:
+                encodedApplicationProperties = encoding;
+                break;
+            case AmqpSequence:
+            case AmqpValue:
+            case Data:
+                encodedBody = encoding;
+                break;
+            case Footer:
+                encodedFooter = encoding;
+                break;
+            default:
+                throw new IllegalArgumentException("Cannot assign an encoding to section type: " + type);
+        }
+    }
+
     //----- AdvancedMessage interface implementation
 
     @Override
-    public Header header() {
-        return header;
+    public Header header() throws ClientException {
+        final Header section = readHeader();
+        encodedHeader = null;
+        return section;
     }
 
     @Override
     public ClientMessage<E> header(Header header) {
         this.header = header;
+        this.encodedHeader = null;
         return this;
     }
 
     @Override
-    public MessageAnnotations annotations() {
-        return messageAnnotations;
+    public MessageAnnotations annotations() throws ClientException {
+        final MessageAnnotations section = readAnnotations();
+        encodedMessageAnnotations = null;
+        return section;
     }
 
     @Override
     public ClientMessage<E> annotations(MessageAnnotations messageAnnotations) {
         this.messageAnnotations = messageAnnotations;
+        this.encodedMessageAnnotations = null;
         return this;
     }
 
     @Override
-    public Properties properties() {
-        return properties;
+    public Properties properties() throws ClientException {
+        final Properties section = readProperties();
+        encodedProperties = null;
+        return section;
     }
 
     @Override
     public ClientMessage<E> properties(Properties properties) {
         this.properties = properties;
+        this.encodedProperties = null;
         return this;
     }
 
     @Override
-    public ApplicationProperties applicationProperties() {
-        return applicationProperties;
+    public ApplicationProperties applicationProperties() throws ClientException {
+        final ApplicationProperties section = readApplicationProperties();
+        encodedApplicationProperties = null;
+        return section;
     }
 
     @Override
     public ClientMessage<E> applicationProperties(ApplicationProperties applicationProperties) {
         this.applicationProperties = applicationProperties;
+        this.encodedApplicationProperties = null;
         return this;
     }
 
     @Override
-    public Footer footer() {
-        return footer;
+    public Footer footer() throws ClientException {
+        final Footer section = readFooter();
+        encodedFooter = null;
+        return section;
     }
 
     @Override
     public ClientMessage<E> footer(Footer footer) {
         this.footer = footer;
+        this.encodedFooter = null;
         return this;
     }
 
@@ -624,14 +805,157 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
 
     @Override
     public ProtonBuffer encode(Map<String, Object> deliveryAnnotations) throws ClientException {
-        return ClientMessageSupport.encodeMessage(this, deliveryAnnotations);
+        return encode(deliveryAnnotations, ProtonByteBufferAllocator.DEFAULT, 0, false);
+    }
+
+    /*
+     * Encodes the message into an output buffer created by the given allocator leaving the
+     * requested number of bytes unused ahead of the encoded bytes.  The buffer is created with
+     * the exact size of the encoding when that can be computed up front so that large messages
+     * are not copied as the buffer grows.  The caller owns the returned buffer and is responsible
+     * for releasing it once the encoded bytes have been written.  When asked to keep encodings the
+     * encoding of each section is kept for the next encode, otherwise the message is only read.
+     */
+    ProtonBuffer encode(Map<String, Object> deliveryAnnotations, ProtonBufferAllocator allocator, int headroom, boolean keepEncodings) throws ClientException {
+        final EncoderState encoderState = ENCODER.newEncoderState();
+        final DeliveryAnnotations annotations =
+            deliveryAnnotations != null ? new DeliveryAnnotations(StringUtils.toSymbolKeyedMap(deliveryAnnotations)) : null;
+        final int encodedSize = getEncodedSize(encoderState, annotations);
+        final ProtonBuffer buffer = allocator.outputBuffer(headroom + (encodedSize < 0 ? ENCODED_SIZE_ESTIMATE : encodedSize));
+
+        buffer.setIndex(headroom, headroom);
+
+        try {
+            return encode(encoderState, annotations, buffer, keepEncodings);
+        } catch (RuntimeException error) {
+            buffer.release();
+            throw error;
+        }
+    }
+
+    private ProtonBuffer encode(EncoderState encoderState, DeliveryAnnotations deliveryAnnotations, ProtonBuffer buffer, boolean keepEncodings) {
+        final ProtonBuffer headerEncoding = writeSection(buffer, encoderState, header, encodedHeader, keepEncodings);
+        if (deliveryAnnotations != null) {
+            ENCODER.writeObject(buffer, encoderState, deliveryAnnotations);
+        }
+        final ProtonBuffer messageAnnotationsEncoding =
+            writeSection(buffer, encoderState, messageAnnotations, encodedMessageAnnotations, keepEncodings);
+        final ProtonBuffer propertiesEncoding = writeSection(buffer, encoderState, properties, encodedProperties, keepEncodings);
+        final ProtonBuffer applicationPropertiesEncoding =
+            writeSection(buffer, encoderState, applicationProperties, encodedApplicationProperties, keepEncodings);
+
+        ProtonBuffer bodyEncoding = encodedBody;
+
+        if (encodedBody != null) {
+            buffer.writeBytes(encodedBody, encodedBody.getReadIndex(), encodedBody.getReadableBytes());
+        } else if (body != null || bodySections != null) {
+            final int start = buffer.getWriteIndex();
+
+            if (bodySections != null) {
+                bodySections.forEach(section -> ENCODER.writeObject(buffer, encoderState, section));
+            } else {
+                ENCODER.writeObject(buffer, encoderState, body);
+            }
+
+            bodyEncoding = keepEncodings ? copyEncoding(buffer, start) : null;
+        }
+
+        final ProtonBuffer footerEncoding = writeSection(buffer, encoderState, footer, encodedFooter, keepEncodings);
+
+        // The message is left untouched unless asked to keep encodings so that encoding the same
+        // message from more than one thread at a time remains safe by default.
+        if (keepEncodings) {
+            encodedHeader = headerEncoding;
+            encodedMessageAnnotations = messageAnnotationsEncoding;
+            encodedProperties = propertiesEncoding;
+            encodedApplicationProperties = applicationPropertiesEncoding;
+            encodedBody = bodyEncoding;
+            encodedFooter = footerEncoding;
+        }
+
+        return buffer;
+    }
+
+    /*
+     * Computes the size of the encoded message from the encoded size of each section or from the
+     * kept encoding of a section, returns -1 if the size of any section cannot be computed.
+     */
+    private int getEncodedSize(EncoderState encoderState, DeliveryAnnotations deliveryAnnotations) {
+        final int headerSize = getEncodedSize(encoderState, header, encodedHeader);
+        final int deliveryAnnotationsSize = getEncodedSize(encoderState, deliveryAnnotations, null);
+        final int messageAnnotationsSize = getEncodedSize(encoderState, messageAnnotations, encodedMessageAnnotations);
+        final int propertiesSize = getEncodedSize(encoderState, properties, encodedProperties);
+        final int applicationPropertiesSize = getEncodedSize(encoderState, applicationProperties, encodedApplicationProperties);
+        final int footerSize = getEncodedSize(encoderState, footer, encodedFooter);
+
+        int bodySize = 0;
+
+        if (encodedBody != null) {
+            bodySize = encodedBody.getReadableBytes();
+        } else if (bodySections != null) {
+            for (Section<?> section : bodySections) {
+                final int sectionSize = getEncodedSize(encoderState, section, null);
+
+                if (sectionSize < 0) {
+                    return -1;
+                }
+
+                bodySize += sectionSize;
+            }
+        } else {
+            bodySize = getEncodedSize(encoderState, body, null);
+        }
+
+        if (headerSize < 0 || deliveryAnnotationsSize < 0 || messageAnnotationsSize < 0 || propertiesSize < 0 ||
+            applicationPropertiesSize < 0 || bodySize < 0 || footerSize < 0) {
+            return -1;
+        }
+
+        return headerSize + deliveryAnnotationsSize + messageAnnotationsSize + propertiesSize +
+               applicationPropertiesSize + bodySize + footerSize;
+    }
+
+    private static int getEncodedSize(EncoderState encoderState, Section<?> section, ProtonBuffer encoding) {
+        if (encoding != null) {
+            return encoding.getReadableBytes();
+        } else if (section != null) {
+            return ENCODER.getEncodedSize(encoderState, section);
+        } else {
+            return 0;
+        }
+    }
+
+    private ProtonBuffer writeSection(ProtonBuffer buffer, EncoderState encoderState, Section<?> section, ProtonBuffer encoding, boolean keepEncoding) {
+        if (encoding != null) {
+            buffer.writeBytes(encoding, encoding.getReadIndex(), encoding.getReadableBytes());
+            return encoding;
+        } else if (section != null) {
+            final int start = buffer.getWriteIndex();
+            ENCODER.writeObject(buffer, encoderState, section);
+            return keepEncoding ? copyEncoding(buffer, start) : null;
+        } else {
+            return null;
+        }
+    }
+
+    private static ProtonBuffer copyEncoding(ProtonBuffer buffer, int start) {
+        final int length = buffer.getWriteIndex() - start;
+        return ProtonByteBufferAllocator.DEFAULT.allocate(length, length).writeBytes(buffer, start, length);
     }
 
-    @SuppressWarnings({ "unchecked" })
     @Override
-    public ClientMessage<E> addBodySection(Section<?> bodySection) {
+    public ClientMessage<E> addBodySection(Section<?> bodySection) throws ClientException {
         Objects.requireNonNull(bodySection, "Additional Body Section cannot be null");
 
+        decodeBody();
+        encodedBody = null;
+        appendBodySection(bodySection);
+
+        return this;
+    }
+
+    @SuppressWarnings({ "unchecked" })
+    private void appendBodySection(Section<?> bodySection) {
         if (body == null && bodySections == null) {
             body = (Section<E>) bodySection;
         } else {
@@ -647,12 +971,12 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
 
             bodySections.add(validateBodySections(messageFormat, bodySections, bodySection));
         }
-
-        return this;
     }
 
     @Override
     public ClientMessage<E> bodySections(Collection<Section<?>> sections) {
+        encodedBody = null;
+
         if (sections == null || sections.isEmpty()) {
             bodySections = null;
             body = null;
@@ -667,7 +991,10 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
 
     @SuppressWarnings("unchecked")
     @Override
-    public Collection<Section<?>> bodySections() {
+    public Collection<Section<?>> bodySections() throws ClientException {
+        decodeBody();
+        encodedBody = null;
+
         if (bodySections == null && body == null) {
             return Collections.EMPTY_LIST;
         } else if (body != null) {
@@ -680,7 +1007,10 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     }
 
     @Override
-    public ClientMessage<E> forEachBodySection(Consumer<Section<?>> consumer) {
+    public ClientMessage<E> forEachBodySection(Consumer<Section<?>> consumer) throws ClientException {
+        decodeBody();
+        encodedBody = null;
+
         if (bodySections != null) {
             bodySections.forEach(section -> {
                 consumer.accept(section);
@@ -699,6 +1029,7 @@ public class ClientMessage<E> implements AdvancedMessage<E> {
     public ClientMessage<E> clearBodySections() {
         bodySections = null;
         body = null;
+        encodedBody = null;
 
         return this;
     }
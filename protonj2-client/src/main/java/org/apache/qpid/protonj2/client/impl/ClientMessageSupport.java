@@ -96,12 +96,56 @@ public abstract class ClientMessageSupport {
     }
 
     public static ProtonBuffer encodeMessage(Encoder encoder, ProtonBufferAllocator allocator, AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations) throws ClientException {
-        return encodeMessage(encoder, encoder.newEncoderState(), ProtonByteBufferAllocator.DEFAULT, message, deliveryAnnotations);
+        return encodeMessage(encoder, encoder.newEncoderState(), allocator, message, deliveryAnnotations);
     }
 
     public static ProtonBuffer encodeMessage(Encoder encoder, EncoderState encoderState, ProtonBufferAllocator allocator, AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations) throws ClientException {
-        ProtonBuffer buffer = allocator.allocate();
+        final DeliveryAnnotations annotations =
+            deliveryAnnotations != null ? new DeliveryAnnotations(StringUtils.toSymbolKeyedMap(deliveryAnnotations)) : null;
+        final int encodedSize = getEncodedSize(encoder, encoderState, message, annotations);
 
+        // Allocate exactly what is needed when possible so the buffer is not copied as it grows.
+        final ProtonBuffer buffer = encodedSize < 0 ? allocator.allocate() : allocator.allocate(encodedSize);
+
+        return encodeMessage(encoder, encoderState, buffer, message, annotations);
+    }
+
+    public static ProtonBuffer encodeMessage(AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations, ProtonBuffer buffer) throws ClientException {
+        return encodeMessage(DEFAULT_ENCODER, DEFAULT_ENCODER.newEncoderState(), buffer, message, deliveryAnnotations);
+    }
+
+    public static ProtonBuffer encodeMessage(Encoder encoder, EncoderState encoderState, ProtonBuffer buffer, AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations) throws ClientException {
+        final DeliveryAnnotations annotations =
+            deliveryAnnotations != null ? new DeliveryAnnotations(StringUtils.toSymbolKeyedMap(deliveryAnnotations)) : null;
+
+        return encodeMessage(encoder, encoderState, buffer, message, annotations);
+    }
+
+    /*
+     * Computes the number of bytes the given message encodes to, returns -1 if the size of any
+     * section cannot be computed without encoding it.
+     */
+    private static int getEncodedSize(Encoder encoder, EncoderState encoderState, AdvancedMessage<?> message, DeliveryAnnotations deliveryAnnotations) throws ClientException {
+        final int[] encodedSize = { 0 };
+        final Consumer<Object> sectionSize = section -> {
+            if (section != null && encodedSize[0] >= 0) {
+                final int size = encoder.getEncodedSize(encoderState, section);
+                encodedSize[0] = size < 0 ? -1 : encodedSize[0] + size;
+            }
+        };
+
+        sectionSize.accept(message.header());
+        sectionSize.accept(deliveryAnnotations);
+        sectionSize.accept(message.annotations());
+        sectionSize.accept(message.properties());
+        sectionSize.accept(message.applicationProperties());
+        message.forEachBodySection(sectionSize::accept);
+        sectionSize.accept(message.footer());
+
+        return encodedSize[0];
+    }
+
+    private static ProtonBuffer encodeMessage(Encoder encoder, EncoderState encoderState, ProtonBuffer buffer, AdvancedMessage<?> message, DeliveryAnnotations deliveryAnnotations) throws ClientException {
         Header header = message.header();
         MessageAnnotations messageAnnotations = message.annotations();
         Properties properties = message.properties();
@@ -112,7 +156,7 @@ public abstract class ClientMessageSupport {
             encoder.writeObject(buffer, encoderState, header);
         }
         if (deliveryAnnotations != null) {
-            encoder.writeObject(buffer, encoderState, new DeliveryAnnotations(StringUtils.toSymbolKeyedMap(deliveryAnnotations)));
+            encoder.writeObject(buffer, encoderState, deliveryAnnotations);
         }
         if (messageAnnotations != null) {
             encoder.writeObject(buffer, encoderState, messageAnnotations);
@@ -41,7 +41,10 @@ public class ClientOutgoingEnvelope {
     private final int messageFormat;
 
     private boolean aborted;
+    private boolean frameHeaderReserved;
+    private boolean payloadReleased;
     private ScheduledFuture<?> sendTimeout;
+    private Object blockedEvent;
     private OutgoingDelivery delivery;
 
     /**
@@ -129,6 +132,23 @@ public class ClientOutgoingEnvelope {
         this.sendTimeout = sendTimeout;
     }
 
+    /**
+     * @return the flight recorder event timing how long this send waited for credit, or null.
+     */
+    Object blockedEvent() {
+        return blockedEvent;
+    }
+
+    /**
+     * Sets the flight recorder event timing how long this send waited for credit.
+     *
+     * @param blockedEvent
+     * 		The event that is committed once the send is dispatched.
+     */
+    void blockedEvent(Object blockedEvent) {
+        this.blockedEvent = blockedEvent;
+    }
+
     public ProtonBuffer payload() {
         return payload;
     }
@@ -137,6 +157,27 @@ public class ClientOutgoingEnvelope {
         return delivery;
     }
 
+    /**
+     * Marks the payload as a buffer encoded by the sender with {@link OutgoingDelivery#RESERVED_FRAME_HEADER_SIZE}
+     * bytes left unused ahead of it.  The envelope owns the payload buffer and releases it once the send is done.
+     *
+     * @return this {@link ClientOutgoingEnvelope} instance.
+     */
+    public ClientOutgoingEnvelope frameHeaderReserved() {
+        this.frameHeaderReserved = true;
+        return this;
+    }
+
+    /**
+     * Releases the payload buffer if it is owned by this envelope, otherwise does nothing.
+     */
+    public void releasePayload() {
+        if (frameHeaderReserved && !payloadReleased) {
+            payloadReleased = true;
+            payload.release();
+        }
+    }
+
     public ClientOutgoingEnvelope abort() {
         this.aborted = true;
         return this;
@@ -156,6 +197,8 @@ public class ClientOutgoingEnvelope {
             sendTimeout = null;
         }
 
+        releasePayload();
+
         if (delivery != null) {
             ClientTracker tracker = delivery.getLinkedResource();
             if (tracker != null) {
@@ -174,6 +217,8 @@ public class ClientOutgoingEnvelope {
             sendTimeout.cancel(true);
         }
 
+        releasePayload();
+
         request.complete(delivery.getLinkedResource());
 
         return this;
@@ -184,6 +229,8 @@ public class ClientOutgoingEnvelope {
             sendTimeout.cancel(true);
         }
 
+        releasePayload();
+
         request.failed(exception);
 
         return this;
@@ -197,6 +244,7 @@ public class ClientOutgoingEnvelope {
 
         if (delivery.getTransferCount() == 0) {
             delivery.setMessageFormat(messageFormat);
+            delivery.setFrameHeaderReserved(frameHeaderReserved);
             delivery.disposition(state, settled);
         }
 
@@ -16,10 +16,15 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -37,10 +42,13 @@ import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.exceptions.ClientResourceRemotelyClosedException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
-import org.apache.qpid.protonj2.client.util.FifoDeliveryQueue;
+import org.apache.qpid.protonj2.client.util.DeliveryQueue;
+import org.apache.qpid.protonj2.client.util.DeliveryQueueFactory;
+import org.apache.qpid.protonj2.client.util.LatencyHistogram;
 import org.apache.qpid.protonj2.engine.Connection;
 import org.apache.qpid.protonj2.engine.Engine;
 import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
 import org.apache.qpid.protonj2.types.messaging.Released;
 import org.apache.qpid.protonj2.types.transport.DeliveryState;
 import org.slf4j.Logger;
@@ -65,10 +73,16 @@ public final class ClientReceiver implements Receiver {
     private final ClientSession session;
     private final ScheduledExecutorService executor;
     private final String receiverId;
-    private final FifoDeliveryQueue messageQueue;
+    private final DeliveryQueue messageQueue;
+    private final LatencyHistogram settlementLatency;
     private volatile int closed;
     private ClientException failureCause;
 
+    // Tracks deliveries handed to the delivery handler executor that have not yet completed
+    // and the event loop thread while it is running the delivery handler directly.
+    private int pendingHandlerDispatches;
+    private Thread handlerDispatchThread;
+
     private org.apache.qpid.protonj2.engine.Receiver protonReceiver;
 
     private volatile Source remoteSource;
@@ -82,12 +96,13 @@ public final class ClientReceiver implements Receiver {
         this.openFuture = session.getFutureFactory().createFuture();
         this.closeFuture = session.getFutureFactory().createFuture();
         this.protonReceiver = receiver.setLinkedResource(this);
+        this.settlementLatency = options.settlementLatencyHistogram();
 
         if (options.creditWindow() > 0) {
             protonReceiver.addCredit(options.creditWindow());
         }
 
-        messageQueue = new FifoDeliveryQueue(options.creditWindow());
+        messageQueue = DeliveryQueueFactory.create(options.deliveryQueueType(), options.creditWindow());
         messageQueue.start();
     }
 
@@ -141,10 +156,13 @@ public final class ClientReceiver implements Receiver {
     @Override
     public Delivery receive(long timeout, TimeUnit units) throws ClientException {
         checkClosedOrFailed();
+        checkNoDeliveryHandler();
 
         try {
             ClientDelivery delivery = messageQueue.dequeue(units.toMillis(timeout));
             if (delivery != null) {
+                detachPayloadIfSettledOnReceipt(delivery);
+
                 if (options.autoAccept()) {
                     delivery.disposition(org.apache.qpid.protonj2.client.DeliveryState.accepted(), options.autoSettle());
                 } else {
@@ -163,12 +181,46 @@ public final class ClientReceiver implements Receiver {
         }
     }
 
+    @Override
+    public List<Delivery> receive(int maxDeliveries, long timeout, TimeUnit units) throws ClientException {
+        checkClosedOrFailed();
+        checkNoDeliveryHandler();
+
+        if (maxDeliveries <= 0) {
+            throw new IllegalArgumentException("The maximum number of deliveries to receive must be greater than zero");
+        }
+
+        try {
+            final List<ClientDelivery> deliveries = new ArrayList<>(Math.min(maxDeliveries, Math.max(1, options.creditWindow())));
+
+            if (messageQueue.dequeue(deliveries, maxDeliveries, units.toMillis(timeout)) > 0) {
+                deliveries.forEach(this::detachPayloadIfSettledOnReceipt);
+
+                if (options.autoAccept()) {
+                    asyncApplyDisposition(deliveries, Accepted.getInstance(), options.autoSettle());
+                } else {
+                    asyncReplenishCreditIfNeeded();
+                }
+            } else {
+                checkClosedOrFailed();
+            }
+
+            return Collections.unmodifiableList(deliveries);
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            throw new ClientException("Receive wait interrupted", e);
+        }
+    }
+
     @Override
     public Delivery tryReceive() throws ClientException {
         checkClosedOrFailed();
+        checkNoDeliveryHandler();
 
-        Delivery delivery = messageQueue.dequeueNoWait();
+        ClientDelivery delivery = messageQueue.dequeueNoWait();
         if (delivery != null) {
+            detachPayloadIfSettledOnReceipt(delivery);
+
             if (options.autoAccept()) {
                 delivery.disposition(org.apache.qpid.protonj2.client.DeliveryState.accepted(), options.autoSettle());
             } else {
@@ -350,7 +402,13 @@ public final class ClientReceiver implements Receiver {
 
     void disposition(IncomingDelivery delivery, DeliveryState state, boolean settle) throws ClientException {
         checkClosedOrFailed();
-        asyncApplyDisposition(delivery, state, settle);
+
+        // A delivery handler running on the event loop can apply the disposition directly.
+        if (handlerDispatchThread == Thread.currentThread()) {
+            applyDisposition(delivery, state, settle);
+        } else {
+            asyncApplyDisposition(delivery, state, settle);
+        }
     }
 
     ClientReceiver open() {
@@ -391,6 +449,10 @@ public final class ClientReceiver implements Receiver {
         return closed > 0;
     }
 
+    LatencyHistogram settlementLatency() {
+        return settlementLatency;
+    }
+
     boolean isDynamic() {
         return protonReceiver.getSource() != null && protonReceiver.getSource().isDynamic();
     }
@@ -477,7 +539,7 @@ public final class ClientReceiver implements Receiver {
         if (!isDynamic() && !session.getConnection().getEngine().isShutdown()) {
             int previousCredit = protonReceiver.getCredit() + messageQueue.size();
 
-            messageQueue.clear();  // Prefetched messages should be discarded.
+            releaseDeliveryPayloads();  // Prefetched messages should be discarded.
 
             if (drainingFuture != null) {
                 drainingFuture.complete(this);
@@ -523,7 +585,11 @@ public final class ClientReceiver implements Receiver {
 
         if (!delivery.isPartial()) {
             LOG.trace("{} has incoming Message(s).", this);
-            messageQueue.enqueue(new ClientDelivery(this, delivery));
+            if (options.deliveryHandler() != null) {
+                dispatchToDeliveryHandler(new ClientDelivery(this, delivery));
+            } else {
+                messageQueue.enqueue(new ClientDelivery(this, delivery));
+            }
         } else {
             delivery.claimAvailableBytes();
         }
@@ -555,19 +621,152 @@ public final class ClientReceiver implements Receiver {
 
     //----- Private implementation details
 
+    private void dispatchToDeliveryHandler(ClientDelivery delivery) {
+        final Executor handlerExecutor = options.deliveryHandlerExecutor();
+
+        if (handlerExecutor == null) {
+            final boolean handled;
+
+            handlerDispatchThread = Thread.currentThread();
+            try {
+                handled = invokeDeliveryHandler(delivery);
+            } finally {
+                handlerDispatchThread = null;
+            }
+
+            completeDeliveryHandlerDispatch(delivery, handled);
+        } else {
+            pendingHandlerDispatches++;
+            try {
+                handlerExecutor.execute(() -> {
+                    final boolean handled = invokeDeliveryHandler(delivery);
+                    try {
+                        executor.execute(() -> {
+                            pendingHandlerDispatches--;
+                            completeDeliveryHandlerDispatch(delivery, handled);
+                        });
+                    } catch (RejectedExecutionException ignore) {
+                        // Connection was closed while the handler was running.
+                        delivery.releasePayload();
+                    }
+                });
+            } catch (RejectedExecutionException ree) {
+                LOG.warn("Delivery handler executor rejected delivery: {}", delivery, ree);
+                pendingHandlerDispatches--;
+                completeDeliveryHandlerDispatch(delivery, false);
+            }
+        }
+    }
+
+    private boolean invokeDeliveryHandler(ClientDelivery delivery) {
+        try {
+            options.deliveryHandler().accept(delivery);
+            return true;
+        } catch (Throwable error) {
+            LOG.warn("Delivery handler threw an error while processing delivery: {}", delivery, error);
+            return false;
+        }
+    }
+
+    private void completeDeliveryHandlerDispatch(ClientDelivery delivery, boolean handled) {
+        final IncomingDelivery protonDelivery = delivery.protonDelivery();
+
+        if (options.autoAccept() && !isClosed() && failureCause == null &&
+            !protonDelivery.isSettled() && protonDelivery.getState() == null) {
+
+            try {
+                if (handled) {
+                    applyDisposition(protonDelivery, Accepted.getInstance(), options.autoSettle());
+                } else {
+                    applyDisposition(protonDelivery, Released.getInstance(), true);
+                }
+            } catch (Exception ex) {
+                LOG.debug("Error caught applying disposition after delivery handler completed", ex);
+            }
+        }
+
+        if (!handled || protonDelivery.isSettled() || protonDelivery.isRemotelySettled()) {
+            delivery.releasePayload();
+        }
+
+        replenishCreditIfNeeded();
+    }
+
+    private void checkNoDeliveryHandler() throws ClientException {
+        if (options.deliveryHandler() != null) {
+            throw new ClientIllegalStateException("Cannot receive from a Receiver that has a delivery handler configured");
+        }
+    }
+
+    private void applyDisposition(IncomingDelivery delivery, DeliveryState state, boolean settle) {
+        final boolean wasSettled = delivery.isSettled();
+
+        session.getTransactionContext().disposition(delivery, state, settle);
+
+        if (settlementLatency != null && !wasSettled && delivery.isSettled() && !delivery.isRemotelySettled()) {
+            settlementLatency.recordSince(delivery.<ClientDelivery>getLinkedResource().receivedTime());
+        }
+    }
+
     private void asyncApplyDisposition(IncomingDelivery delivery, DeliveryState state, boolean settle) {
         executor.execute(() -> {
-            session.getTransactionContext().disposition(delivery, state, settle);
-            replenishCreditIfNeeded();
+            connection().deferFlushes();
+            try {
+                applyDisposition(delivery, state, settle);
+                replenishCreditIfNeeded();
+            } finally {
+                connection().resumeFlushes();
+            }
+        });
+    }
+
+    private void asyncApplyDisposition(List<ClientDelivery> deliveries, DeliveryState state, boolean settle) {
+        // With a session disposition batch limit configured the dispositions applied here to
+        // contiguous deliveries are coalesced and written as ranged frames when the batch closes
+        executor.execute(() -> {
+            connection().deferFlushes();
+            try {
+                for (ClientDelivery delivery : deliveries) {
+                    applyDisposition(delivery.protonDelivery(), state, settle);
+                }
+                replenishCreditIfNeeded();
+            } finally {
+                connection().resumeFlushes();
+            }
         });
     }
 
+    /*
+     * A delivery that is already settled when handed to the application will not be settled by it
+     * later, so its payload is taken off any pooled I/O buffers rather than pinning them indefinitely.
+     */
+    private void detachPayloadIfSettledOnReceipt(ClientDelivery delivery) {
+        if (delivery.remoteSettled() || (options.autoAccept() && options.autoSettle())) {
+            delivery.detachPayload();
+        }
+    }
+
+    /*
+     * Queued deliveries and those handed out but never settled can no longer be settled through this
+     * link, so any pooled I/O buffers they hold are released.
+     */
+    private void releaseDeliveryPayloads() {
+        messageQueue.clear(ClientDelivery::releasePayload);
+
+        for (IncomingDelivery delivery : protonReceiver.unsettled()) {
+            final ClientDelivery clientDelivery = delivery.getLinkedResource();
+            if (clientDelivery != null) {
+                clientDelivery.releasePayload();
+            }
+        }
+    }
+
     private void replenishCreditIfNeeded() {
         int creditWindow = options.creditWindow();
         if (creditWindow > 0) {
             int currentCredit = protonReceiver.getCredit();
             if (currentCredit <= creditWindow * 0.5) {
-                int potentialPrefetch = currentCredit + messageQueue.size();
+                int potentialPrefetch = currentCredit + messageQueue.size() + pendingHandlerDispatches;
 
                 if (potentialPrefetch <= creditWindow * 0.7) {
                     int additionalCredit = creditWindow - potentialPrefetch;
@@ -630,6 +829,8 @@ public final class ClientReceiver implements Receiver {
             this.failureCause = failureCause;
         }
 
+        releaseDeliveryPayloads();
+
         try {
             if (protonReceiver.isRemotelyDetached()) {
                 protonReceiver.detach();
@@ -17,10 +17,14 @@
 package org.apache.qpid.protonj2.client.impl;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -267,6 +271,13 @@ class ClientSender implements Sender {
         return sendMessage(ClientMessageSupport.convertMessage(message), deliveryAnnotations, false);
     }
 
+    @Override
+    public List<Tracker> send(Collection<? extends Message<?>> messages) throws ClientException {
+        checkClosedOrFailed();
+        Objects.requireNonNull(messages, "The collection of messages to send cannot be null");
+        return sendMessages(messages);
+    }
+
     //----- Internal API
 
     SenderOptions options() {
@@ -504,6 +515,7 @@ class ClientSender implements Sender {
                         held.failed(ClientExceptionSupport.createNonFatalOrPassthrough(error));
                     } finally {
                         blocked.poll();
+                        endBlockedEvent(held, ClientEvents.SEND_DISPATCHED);
                     }
                 } else {
                     break;
@@ -574,46 +586,152 @@ class ClientSender implements Sender {
     protected final void addToTailOfBlockedQueue(ClientOutgoingEnvelope send) {
         if (options.sendTimeout() > 0 && send.sendTimeout() == null) {
             send.sendTimeout(executor.schedule(() -> {
-                send.failed(send.createSendTimedOutException());
+                handleSendTimedOut(send);
             }, options.sendTimeout(), TimeUnit.MILLISECONDS));
         }
 
+        if (send.blockedEvent() == null) {
+            send.blockedEvent(ClientEvents.senderBlocked(this));
+        }
+
         blocked.addLast(send);
     }
 
     protected final void addToHeadOfBlockedQueue(ClientOutgoingEnvelope send) {
         if (options.sendTimeout() > 0 && send.sendTimeout() == null) {
             send.sendTimeout(executor.schedule(() -> {
-                send.failed(send.createSendTimedOutException());
+                handleSendTimedOut(send);
             }, options.sendTimeout(), TimeUnit.MILLISECONDS));
         }
 
+        if (send.blockedEvent() == null) {
+            send.blockedEvent(ClientEvents.senderBlocked(this));
+        }
+
         blocked.addFirst(send);
     }
 
+    /*
+     * Fails a send whose timeout expired while it waited for credit and drops it from the blocked
+     * queue, a partially written delivery is aborted so the sends queued behind it can proceed.
+     */
+    private void handleSendTimedOut(ClientOutgoingEnvelope send) {
+        if (blocked.remove(send) && send.delivery() != null && send.delivery() == protonSender.current()) {
+            try {
+                send.delivery().abort();
+            } catch (Exception ignore) {}
+        }
+
+        endBlockedEvent(send, ClientEvents.SEND_TIMED_OUT);
+        send.failed(send.createSendTimedOutException());
+    }
+
+    private static void endBlockedEvent(ClientOutgoingEnvelope send, String outcome) {
+        if (send.blockedEvent() != null) {
+            ClientEvents.senderUnblocked(send.blockedEvent(), outcome);
+            send.blockedEvent(null);
+        }
+    }
+
     protected Tracker sendMessage(AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations, boolean waitForCredit) throws ClientException {
         final ClientFuture<Tracker> operation = session.getFutureFactory().createFuture();
-        final ProtonBuffer buffer = message.encode(deliveryAnnotations);
+        final ClientOutgoingEnvelope envelope = createEnvelope(message, deliveryAnnotations, operation);
 
-        executor.execute(() -> {
-            if (notClosedOrFailed(operation)) {
-                try {
-                    final ClientOutgoingEnvelope envelope = new ClientOutgoingEnvelope(this, message.messageFormat(), buffer, operation);
+        try {
+            executor.execute(() -> sendOrQueue(envelope, operation, waitForCredit));
+        } catch (RejectedExecutionException rejected) {
+            // The connection event loop is gone and will never write or release the pooled payload
+            envelope.releasePayload();
+            operation.failed(createSendRejectedException(rejected));
+        }
 
-                    if (protonSender.isSendable() && protonSender.current() == null) {
-                        session.getTransactionContext().send(envelope, null, protonSender.getSenderSettleMode() == SenderSettleMode.SETTLED);
-                    } else if (waitForCredit) {
-                        addToTailOfBlockedQueue(envelope);
-                    } else {
-                        operation.complete(null);
+        return session.request(this, operation);
+    }
+
+    protected List<Tracker> sendMessages(Collection<? extends Message<?>> messages) throws ClientException {
+        final List<ClientFuture<Tracker>> operations = new ArrayList<>(messages.size());
+        final List<ClientOutgoingEnvelope> envelopes = new ArrayList<>(messages.size());
+
+        try {
+            for (Message<?> message : messages) {
+                final ClientFuture<Tracker> operation = session.getFutureFactory().createFuture();
+
+                envelopes.add(createEnvelope(ClientMessageSupport.convertMessage(message), null, operation));
+                operations.add(operation);
+            }
+        } catch (ClientException | RuntimeException error) {
+            envelopes.forEach(ClientOutgoingEnvelope::releasePayload);
+            throw error;
+        }
+
+        try {
+            executor.execute(() -> {
+                connection().deferFlushes();
+                try {
+                    for (int i = 0; i < envelopes.size(); ++i) {
+                        sendOrQueue(envelopes.get(i), operations.get(i), true);
                     }
-                } catch (Exception error) {
-                    operation.failed(ClientExceptionSupport.createNonFatalOrPassthrough(error));
+                } finally {
+                    connection().resumeFlushes();
                 }
-            }
-        });
+            });
+        } catch (RejectedExecutionException rejected) {
+            final ClientException error = createSendRejectedException(rejected);
 
-        return session.request(this, operation);
+            envelopes.forEach(ClientOutgoingEnvelope::releasePayload);
+            operations.forEach(operation -> operation.failed(error));
+        }
+
+        final List<Tracker> trackers = new ArrayList<>(operations.size());
+        for (ClientFuture<Tracker> operation : operations) {
+            trackers.add(session.request(this, operation));
+        }
+
+        return trackers;
+    }
+
+    private ClientOutgoingEnvelope createEnvelope(AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations, ClientFuture<Tracker> operation) throws ClientException {
+        // Messages we know how to encode are written directly into a transport buffer with room
+        // left ahead of the encoding for the frame header so that the engine can avoid copying
+        // the payload into a separate frame buffer when it fits within a single frame.
+        if (message instanceof ClientMessage) {
+            final ProtonBuffer buffer = ((ClientMessage<?>) message).encode(
+                deliveryAnnotations, connection().getEngine().configuration().getBufferAllocator(), OutgoingDelivery.RESERVED_FRAME_HEADER_SIZE,
+                options.cacheMessageEncodings());
+            return new ClientOutgoingEnvelope(this, message.messageFormat(), buffer, operation).frameHeaderReserved();
+        } else {
+            return new ClientOutgoingEnvelope(this, message.messageFormat(), message.encode(deliveryAnnotations), operation);
+        }
+    }
+
+    private ClientException createSendRejectedException(RejectedExecutionException cause) {
+        if (failureCause != null) {
+            return failureCause;
+        } else {
+            return new ClientIllegalStateException("The Sender cannot send as the connection is closed", cause);
+        }
+    }
+
+    private void sendOrQueue(ClientOutgoingEnvelope envelope, ClientFuture<Tracker> operation, boolean waitForCredit) {
+        if (notClosedOrFailed(operation)) {
+            try {
+                if (protonSender.isSendable() && protonSender.current() == null) {
+                    session.getTransactionContext().send(envelope, null, protonSender.getSenderSettleMode() == SenderSettleMode.SETTLED);
+                } else if (waitForCredit) {
+                    addToTailOfBlockedQueue(envelope);
+                } else {
+                    envelope.releasePayload();
+                    operation.complete(null);
+                }
+            } catch (Exception error) {
+                if (!blocked.contains(envelope)) {
+                    envelope.releasePayload();
+                }
+                operation.failed(ClientExceptionSupport.createNonFatalOrPassthrough(error));
+            }
+        } else {
+            envelope.releasePayload();
+        }
     }
 
     protected Tracker createTracker(OutgoingDelivery delivery) {
@@ -693,6 +811,7 @@ class ClientSender implements Sender {
 
         // Cancel all blocked sends passing an appropriate error to the future
         blocked.removeIf((held) -> {
+            endBlockedEvent(held, ClientEvents.SEND_FAILED);
             held.failed(cause);
             return true;
         });
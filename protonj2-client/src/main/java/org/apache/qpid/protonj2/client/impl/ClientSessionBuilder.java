@@ -54,11 +54,13 @@ final class ClientSessionBuilder {
     }
 
     private static Session createSession(Connection connection, SessionOptions options) {
-        return connection.session().setIncomingCapacity(options.incomingCapacity()).setOutgoingCapacity(options.outgoingCapacity());
+        return connection.session().setIncomingCapacity(options.incomingCapacity())
+                                   .setOutgoingCapacity(options.outgoingCapacity())
+                                   .setDispositionBatchLimit(options.dispositionBatchLimit());
     }
 
     public static Session recreateSession(ClientConnection connection, Session previousSession, SessionOptions options) {
-        return connection.getProtonConnection().session().setIncomingCapacity(options.incomingCapacity()).setOutgoingCapacity(options.outgoingCapacity());
+        return createSession(connection.getProtonConnection(), options);
     }
 
     /*
@@ -24,6 +24,7 @@ import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonCompositeBuffer;
 import org.apache.qpid.protonj2.client.DeliveryState;
 import org.apache.qpid.protonj2.client.StreamDelivery;
@@ -233,7 +234,10 @@ public final class ClientStreamDelivery implements StreamDelivery {
                         // and to potentially open the session window to allow for fully reading
                         // and discarding any inbound bytes that remain.
                         try {
-                            protonDelivery.readAll();
+                            final ProtonBuffer discarded = protonDelivery.readAll();
+                            if (discarded != null) {
+                                discarded.release();
+                            }
                         } catch (EngineFailedException efe) {
                             // Ignore as engine is down and we cannot read any more
                         }
@@ -408,7 +412,10 @@ public final class ClientStreamDelivery implements StreamDelivery {
         private void handleDeliveryRead(IncomingDelivery delivery) {
             if (closed.get()) {
                 // Clear any pending data to expand session window if not yet complete
-                delivery.readAll();
+                final ProtonBuffer discarded = delivery.readAll();
+                if (discarded != null) {
+                    discarded.release();
+                }
             } else {
                 // An input stream is awaiting some more incoming bytes, check to see if
                 // the delivery had a non-empty transfer frame and provide them.
@@ -590,8 +590,13 @@ public final class ClientStreamReceiver implements StreamReceiver {
 
     private void asyncApplyDisposition(IncomingDelivery delivery, DeliveryState state, boolean settle) throws ClientException {
         executor.execute(() -> {
-            session.getTransactionContext().disposition(delivery, state, settle);
-            replenishCreditIfNeeded();
+            connection().deferFlushes();
+            try {
+                session.getTransactionContext().disposition(delivery, state, settle);
+                replenishCreditIfNeeded();
+            } finally {
+                connection().resumeFlushes();
+            }
         });
     }
 
@@ -27,6 +27,7 @@ import org.apache.qpid.protonj2.client.exceptions.ClientDeliveryStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
+import org.apache.qpid.protonj2.client.util.LatencyHistogram;
 import org.apache.qpid.protonj2.engine.OutgoingDelivery;
 
 /**
@@ -38,6 +39,8 @@ class ClientTracker implements Tracker {
     private final OutgoingDelivery delivery;
 
     private final ClientFuture<Tracker> remoteSettlementFuture;
+    private final LatencyHistogram settlementLatency;
+    private final long sentTime;
 
     private volatile boolean remotelySetted;
     private volatile DeliveryState remoteDeliveryState;
@@ -55,6 +58,8 @@ class ClientTracker implements Tracker {
         this.delivery = delivery;
         this.delivery.deliveryStateUpdatedHandler(this::processDeliveryUpdated);
         this.remoteSettlementFuture = sender.session().getFutureFactory().createFuture();
+        this.settlementLatency = sender.options().settlementLatencyHistogram();
+        this.sentTime = settlementLatency != null ? System.nanoTime() : 0;
     }
 
     OutgoingDelivery delivery() {
@@ -200,6 +205,10 @@ class ClientTracker implements Tracker {
     //----- Internal Event hooks for delivery updates
 
     private void processDeliveryUpdated(OutgoingDelivery delivery) {
+        if (settlementLatency != null && !remotelySetted && delivery.isRemotelySettled()) {
+            settlementLatency.recordSince(sentTime);
+        }
+
         remotelySetted = delivery.isRemotelySettled();
         remoteDeliveryState = ClientDeliveryState.fromProtonType(delivery.getRemoteState());
 
@@ -48,14 +48,49 @@ public final class NettyIOContext {
     private final TransportOptions options;
     private final SslOptions sslOptions;
     private final ThreadFactory threadFactory;
-
+    private final boolean ownsGroup;
+
+    /**
+     * Creates a new IO context that owns a single threaded event loop group which is used for
+     * all I/O of the transports created from it.
+     *
+     * @param options
+     *      The transport options used to configure the created transports.
+     * @param ssl
+     *      The SSL options used to configure the created transports.
+     * @param ioThreadName
+     *      The name assigned to the I/O thread of this context.
+     */
     public NettyIOContext(TransportOptions options, SslOptions ssl, String ioThreadName) {
+        this(options, ssl, ioThreadName, 1);
+    }
+
+    /**
+     * Creates a new IO context that owns an event loop group with the given number of threads, such
+     * a context is intended to be shared by creating per connection contexts from it using the
+     * {@link #pinnedContext(TransportOptions, SslOptions)} method.
+     *
+     * @param options
+     *      The transport options used to select the native I/O layer to use.
+     * @param ssl
+     *      The SSL options used to configure the created transports.
+     * @param ioThreadName
+     *      The name assigned to the I/O threads of this context.
+     * @param ioThreads
+     *      The number of I/O threads the event loop group of this context will run.
+     */
+    public NettyIOContext(TransportOptions options, SslOptions ssl, String ioThreadName, int ioThreads) {
         Objects.requireNonNull(options, "Transport Options cannot be null");
         Objects.requireNonNull(ssl, "Transport SSL Options cannot be null");
 
+        if (ioThreads <= 0) {
+            throw new IllegalArgumentException("The number of I/O threads must be greater than zero");
+        }
+
         this.options = options;
         this.sslOptions = ssl;
         this.threadFactory = new TrackableThreadFactory(ioThreadName, true);
+        this.ownsGroup = true;
 
         final String[] nativeIOPreference = options.nativeIOPeference();
 
@@ -67,21 +102,21 @@ public final class NettyIOContext {
                 if (EpollSupport.NAME.equalsIgnoreCase(nativeID)) {
                     if (EpollSupport.isAvailable(options)) {
                         LOG.trace("Netty Transports will be using Epoll mode");
-                        selectedGroup = EpollSupport.createGroup(1, threadFactory);
+                        selectedGroup = EpollSupport.createGroup(ioThreads, threadFactory);
                         selectedChannelClass = EpollSupport.getChannelClass();
                         break;
                     }
                 } else if (IOUringSupport.NAME.equalsIgnoreCase(nativeID)) {
                     if (IOUringSupport.isAvailable(options)) {
                         LOG.trace("Netty Transports will be using IO-Uring mode");
-                        selectedGroup = IOUringSupport.createGroup(1, threadFactory);
+                        selectedGroup = IOUringSupport.createGroup(ioThreads, threadFactory);
                         selectedChannelClass = IOUringSupport.getChannelClass();
                         break;
                     }
                 } else if (KQueueSupport.NAME.equalsIgnoreCase(nativeID)) {
                     if (KQueueSupport.isAvailable(options)) {
                         LOG.trace("Netty Transports will be using KQueue mode");
-                        selectedGroup = KQueueSupport.createGroup(1, threadFactory);
+                        selectedGroup = KQueueSupport.createGroup(ioThreads, threadFactory);
                         selectedChannelClass = KQueueSupport.getChannelClass();
                         break;
                     }
@@ -94,7 +129,7 @@ public final class NettyIOContext {
 
         if (selectedGroup == null) {
             LOG.trace("Netty Transports will be using NIO mode");
-            selectedGroup = new NioEventLoopGroup(1, threadFactory);
+            selectedGroup = new NioEventLoopGroup(ioThreads, threadFactory);
             selectedChannelClass = NioSocketChannel.class;
         }
 
@@ -102,8 +137,48 @@ public final class NettyIOContext {
         this.channelClass = selectedChannelClass;
     }
 
+    private NettyIOContext(NettyIOContext parent, TransportOptions options, SslOptions ssl) {
+        Objects.requireNonNull(options, "Transport Options cannot be null");
+        Objects.requireNonNull(ssl, "Transport SSL Options cannot be null");
+
+        this.options = options;
+        this.sslOptions = ssl;
+        this.threadFactory = parent.threadFactory;
+        this.channelClass = parent.channelClass;
+        this.group = parent.group.next();
+        this.ownsGroup = false;
+    }
+
+    /**
+     * Creates a new IO context that is pinned to one event loop of the group owned by this context,
+     * all transports created from the returned context perform their I/O on that single event loop.
+     * The returned context does not own the event loop and its {@link #shutdown()} method does not
+     * affect it, the owner of this context is responsible for shutting down the shared group.
+     * <p>
+     * The native I/O layer of the returned context is the one selected when this context was created
+     * regardless of the native I/O settings in the given transport options.
+     *
+     * @param options
+     *      The transport options used to configure the created transports.
+     * @param ssl
+     *      The SSL options used to configure the created transports.
+     *
+     * @return a new IO context that performs I/O on one event loop of this context.
+     */
+    public NettyIOContext pinnedContext(TransportOptions options, SslOptions ssl) {
+        if (isShutdown()) {
+            throw new IllegalStateException("Cannot create a pinned IO context from a shutdown IO context");
+        }
+
+        return new NettyIOContext(this, options, ssl);
+    }
+
+    /**
+     * Shuts down the event loop group of this context if this context owns it, the caller is
+     * blocked for a short time to allow the shutdown to complete.
+     */
     public void shutdown() {
-        if (!group.isShutdown()) {
+        if (ownsGroup && !group.isShutdown()) {
             Future<?> fut = group.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
             if (!fut.awaitUninterruptibly(2 * SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
                 LOG.trace("Connection IO Event Loop shutdown failed to complete in allotted time");
@@ -111,12 +186,29 @@ public final class NettyIOContext {
         }
     }
 
+    /**
+     * Initiates shutdown of the event loop group of this context if this context owns it but
+     * does not wait for it to complete which allows it to be called from an event loop thread.
+     */
+    public void shutdownAsync() {
+        if (ownsGroup && !group.isShuttingDown()) {
+            group.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return true if the event loop used by this context has been shutdown or is shutting down.
+     */
+    public boolean isShutdown() {
+        return group.isShutdown() || group.isShuttingDown() || group.isTerminated();
+    }
+
     public EventLoopGroup eventLoop() {
         return group;
     }
 
     public TcpTransport newTransport() {
-        if (group.isShutdown() || group.isShuttingDown() || group.isTerminated()) {
+        if (isShutdown()) {
             throw new IllegalStateException("Cannot create a Transport from a shutdown IO context");
         }
 
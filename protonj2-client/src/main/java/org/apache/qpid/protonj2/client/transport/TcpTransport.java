@@ -20,13 +20,17 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.Principal;
+import java.util.ArrayDeque;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonCompositeBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonNettyByteBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonNettyByteBufferAllocator;
+import org.apache.qpid.protonj2.client.FlushPolicy;
 import org.apache.qpid.protonj2.client.SslOptions;
 import org.apache.qpid.protonj2.client.TransportOptions;
 import org.apache.qpid.protonj2.client.util.IOExceptionSupport;
@@ -35,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -42,6 +47,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.FixedRecvByteBufAllocator;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.logging.LoggingHandler;
@@ -70,6 +76,22 @@ public class TcpTransport implements Transport {
     protected int port;
     protected TransportListener listener;
 
+    // Flush consolidation state, only accessed from the channel event loop
+    private final Runnable flushDeferredTask = this::flushDeferred;
+    private final Runnable flushWritesTask = this::flushWrites;
+    private boolean flushScheduled;
+    private int pendingFlushWrites;
+    private long pendingFlushBytes;
+
+    // Separates the write completions signaled by one flush from those queued after it
+    private static final Runnable FLUSH_MARK = () -> {};
+
+    // Write completion state, only accessed from the channel event loop
+    private final ArrayDeque<Runnable> pendingWriteCompletions = new ArrayDeque<>();
+    private final GenericFutureListener<Future<? super Void>> writesFlushedListener = this::handleWritesFlushed;
+    private int unmarkedWriteCompletions;
+    private Object heldWrite;
+
     /**
      * Create a new {@link TcpTransport} instance with the given configuration.
      *
@@ -219,19 +241,7 @@ public class TcpTransport implements Transport {
     public TcpTransport write(ProtonBuffer output, Runnable onComplete) throws IOException {
         checkConnected(output);
         LOG.trace("Attempted write of buffer: {}", output);
-        if (onComplete == null) {
-            channel.write(toOutputBuffer(output), channel.voidPromise());
-        } else {
-            channel.write(toOutputBuffer(output), channel.newPromise().addListener(new GenericFutureListener<Future<? super Void>>() {
-
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    if (future.isSuccess()) {
-                        onComplete.run();
-                    }
-                }
-            }));
-        }
+        queueWrite(toOutputBuffer(output), onComplete);
         return this;
     }
 
@@ -243,19 +253,15 @@ public class TcpTransport implements Transport {
     @Override
     public TcpTransport writeAndFlush(ProtonBuffer output, Runnable onComplete) throws IOException {
         checkConnected(output);
-        LOG.trace("Attempted write and flush of buffer: {}", output);
-        if (onComplete == null) {
-            channel.writeAndFlush(toOutputBuffer(output), channel.voidPromise());
+        if (isFlushDeferrable()) {
+            LOG.trace("Attempted write with deferred flush of buffer: {}", output);
+            final int outputSize = output.getReadableBytes();
+            queueWrite(toOutputBuffer(output), onComplete);
+            deferFlush(outputSize);
         } else {
-            channel.writeAndFlush(toOutputBuffer(output), channel.newPromise().addListener(new GenericFutureListener<Future<? super Void>>() {
-
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    if (future.isSuccess()) {
-                        onComplete.run();
-                    }
-                }
-            }));
+            LOG.trace("Attempted write and flush of buffer: {}", output);
+            queueWrite(toOutputBuffer(output), onComplete);
+            flushWrites();
         }
         return this;
     }
@@ -264,7 +270,7 @@ public class TcpTransport implements Transport {
     public TcpTransport flush() throws IOException {
         checkConnected();
         LOG.trace("Attempted flush of pending writes");
-        channel.flush();
+        flushWrites();
         return this;
     }
 
@@ -300,15 +306,156 @@ public class TcpTransport implements Transport {
 
         if (output instanceof ProtonNettyByteBuffer) {
             nettyBuf = (ByteBuf) output.unwrap();
+        } else if (output instanceof ProtonCompositeBuffer && isGatherable((ProtonCompositeBuffer) output)) {
+            // Hand each segment to Netty as a component of one composite buffer, ownership of the
+            // segments passes to the composite which Netty releases once written.
+            final ProtonCompositeBuffer composite = (ProtonCompositeBuffer) output;
+            final CompositeByteBuf gathered = channel.alloc().compositeBuffer(composite.numberOfBuffers());
+
+            composite.foreachInternalBuffer((segment) -> gathered.addComponent(true, toOutputSegment(segment)));
+
+            nettyBuf = gathered;
         } else {
             ProtonNettyByteBuffer wrapped = new ProtonNettyByteBuffer(channel.alloc().ioBuffer(output.getReadableBytes()));
             wrapped.writeBytes(output);
+            output.release();
             nettyBuf = wrapped.unwrap();
         }
 
         return nettyBuf;
     }
 
+    private ByteBuf toOutputSegment(ProtonBuffer segment) {
+        if (segment instanceof ProtonNettyByteBuffer) {
+            return (ByteBuf) segment.unwrap();
+        } else {
+            final ByteBuf copy = channel.alloc().ioBuffer(segment.getReadableBytes());
+            copy.writeBytes(segment.toByteBuffer());
+            segment.release();
+            return copy;
+        }
+    }
+
+    protected final boolean isFlushDeferrable() {
+        return options.flushPolicy() == FlushPolicy.THROUGHPUT && channel.eventLoop().inEventLoop();
+    }
+
+    /*
+     * Writes never get their own promise.  The latest write is held back until the next write or flush so
+     * that a flush can attach the one promise it needs to a real write, as Netty completes writes in order
+     * its completion signals every write queued before it.  Writes from other threads are handed to the
+     * event loop so that they are queued behind any write held there.
+     */
+    protected final void queueWrite(Object output, Runnable onComplete) throws IOException {
+        if (channel.eventLoop().inEventLoop()) {
+            holdWrite(output, onComplete);
+        } else {
+            try {
+                channel.eventLoop().execute(() -> holdWrite(output, onComplete));
+            } catch (RejectedExecutionException ree) {
+                ReferenceCountUtil.release(output);
+                throw new IOException("Cannot write to a transport whose event loop has shut down", ree);
+            }
+        }
+    }
+
+    /*
+     * Holds the flush requested by a write until the current event loop task completes unless the
+     * configured pending write or byte limits are reached first, the completion callbacks of writes
+     * held here only run once the deferred flush has written them.
+     */
+    protected final void deferFlush(int outputSize) {
+        pendingFlushWrites++;
+        pendingFlushBytes += outputSize;
+
+        if (pendingFlushWrites >= options.flushPendingWritesLimit() || pendingFlushBytes >= options.flushPendingBytesLimit()) {
+            flushWrites();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            channel.eventLoop().execute(flushDeferredTask);
+        }
+    }
+
+    /*
+     * Flushes all pending writes, the held write is written with a promise if any write completions are
+     * waiting on this flush.
+     */
+    protected final void flushWrites() {
+        if (channel.eventLoop().inEventLoop()) {
+            pendingFlushWrites = 0;
+            pendingFlushBytes = 0;
+
+            if (heldWrite != null) {
+                final Object output = heldWrite;
+
+                heldWrite = null;
+                channel.write(output, flushPromise());
+            }
+
+            channel.flush();
+        } else {
+            channel.eventLoop().execute(flushWritesTask);
+        }
+    }
+
+    private void flushDeferred() {
+        flushScheduled = false;
+
+        if (pendingFlushWrites > 0) {
+            flushWrites();
+        }
+    }
+
+    private void holdWrite(Object output, Runnable onComplete) {
+        if (!channel.isActive()) {
+            // Closed while the write was handed over from another thread, nothing will write it now
+            ReferenceCountUtil.release(output);
+            return;
+        }
+
+        if (heldWrite != null) {
+            channel.write(heldWrite, channel.voidPromise());
+        }
+
+        heldWrite = output;
+
+        if (onComplete != null) {
+            pendingWriteCompletions.add(onComplete);
+            unmarkedWriteCompletions++;
+        }
+    }
+
+    private ChannelPromise flushPromise() {
+        if (unmarkedWriteCompletions == 0) {
+            return channel.voidPromise();
+        }
+
+        unmarkedWriteCompletions = 0;
+        pendingWriteCompletions.add(FLUSH_MARK);
+
+        return channel.newPromise().addListener(writesFlushedListener);
+    }
+
+    private void handleWritesFlushed(Future<? super Void> future) {
+        Runnable completion;
+        while ((completion = pendingWriteCompletions.poll()) != null && completion != FLUSH_MARK) {
+            if (future.isSuccess()) {
+                completion.run();
+            }
+        }
+    }
+
+    private void releaseHeldWrite() {
+        if (heldWrite != null) {
+            ReferenceCountUtil.release(heldWrite);
+            heldWrite = null;
+        }
+    }
+
+    private static boolean isGatherable(ProtonCompositeBuffer composite) {
+        return composite.getReadIndex() == 0 && composite.getWriteIndex() == composite.capacity();
+    }
+
     //----- Internal implementation details, can be overridden as needed -----//
 
     protected void addAdditionalHandlers(ChannelPipeline pipeline) {
@@ -452,6 +599,7 @@ public class TcpTransport implements Transport {
 
         @Override
         public void channelInactive(ChannelHandlerContext context) throws Exception {
+            releaseHeldWrite();
             handleTransportFailure(context.channel(), new IOException("Remote closed connection unexpectedly"));
         }
 
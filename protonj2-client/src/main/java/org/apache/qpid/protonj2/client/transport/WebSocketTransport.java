@@ -48,8 +48,6 @@ import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
-import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.concurrent.ScheduledFuture;
 
 /**
@@ -87,19 +85,7 @@ public class WebSocketTransport extends TcpTransport {
 
         LOG.trace("Attempted write of: {} bytes", length);
 
-        if (onComplete == null) {
-            channel.write(new BinaryWebSocketFrame(toOutputBuffer(output)), channel.voidPromise());
-        } else {
-            channel.write(new BinaryWebSocketFrame(toOutputBuffer(output)), channel.newPromise().addListener(new GenericFutureListener<Future<? super Void>>() {
-
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    if (future.isSuccess()) {
-                        onComplete.run();
-                    }
-                }
-            }));
-        }
+        queueWrite(new BinaryWebSocketFrame(toOutputBuffer(output)), onComplete);
 
         return this;
     }
@@ -112,20 +98,14 @@ public class WebSocketTransport extends TcpTransport {
             return this;
         }
 
-        LOG.trace("Attempted write and flush of: {} bytes", length);
-
-        if (onComplete == null) {
-            channel.writeAndFlush(new BinaryWebSocketFrame(toOutputBuffer(output)), channel.voidPromise());
+        if (isFlushDeferrable()) {
+            LOG.trace("Attempted write with deferred flush of: {} bytes", length);
+            queueWrite(new BinaryWebSocketFrame(toOutputBuffer(output)), onComplete);
+            deferFlush(length);
         } else {
-            channel.writeAndFlush(new BinaryWebSocketFrame(toOutputBuffer(output)), channel.newPromise().addListener(new GenericFutureListener<Future<? super Void>>() {
-
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    if (future.isSuccess()) {
-                        onComplete.run();
-                    }
-                }
-            }));
+            LOG.trace("Attempted write and flush of: {} bytes", length);
+            queueWrite(new BinaryWebSocketFrame(toOutputBuffer(output)), onComplete);
+            flushWrites();
         }
 
         return this;
@@ -16,6 +16,9 @@
  */
 package org.apache.qpid.protonj2.client.util;
 
+import java.util.Collection;
+import java.util.function.Consumer;
+
 import org.apache.qpid.protonj2.client.Delivery;
 import org.apache.qpid.protonj2.client.Receiver;
 import org.apache.qpid.protonj2.client.impl.ClientDelivery;
@@ -70,6 +73,24 @@ public interface DeliveryQueue {
      */
     ClientDelivery dequeue(long timeout) throws InterruptedException;
 
+    /**
+     * Waits for a {@link Delivery} following the same timeout rules as {@link #dequeue(long)} and then
+     * transfers it along with any other queued deliveries, up to the given maximum, into the target
+     * collection without releasing the queue between each one.
+     *
+     * @param target
+     *      The collection that the dequeued deliveries are added to.
+     * @param maxDeliveries
+     *      The maximum number of deliveries to dequeue.
+     * @param timeout
+     *      The amount of time to wait for an entry to be added before returning.
+     *
+     * @return the number of deliveries added to the target collection.
+     *
+     * @throws InterruptedException if the wait is interrupted.
+     */
+    int dequeue(Collection<? super ClientDelivery> target, int maxDeliveries, long timeout) throws InterruptedException;
+
     /**
      * Used to get an enqueued {@link Delivery} if on exists, otherwise returns null.
      *
@@ -124,4 +145,13 @@ public interface DeliveryQueue {
      */
     void clear();
 
+    /**
+     * Clears the Queue of any queued {@link Delivery} values handing each one that is removed
+     * to the given consumer.
+     *
+     * @param discarded
+     *      The consumer that is given each {@link Delivery} removed from the Queue.
+     */
+    void clear(Consumer<ClientDelivery> discarded);
+
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+/**
+ * Factory for {@link DeliveryQueue} instances that will create specific versions based on
+ * configuration.
+ */
+public final class DeliveryQueueFactory {
+
+    /**
+     * Names a delivery queue that guards a simple FIFO queue with a lock.
+     */
+    public static final String FIFO = "fifo";
+
+    /**
+     * Names a delivery queue built on a lock-free ring buffer that spins before waiting.
+     */
+    public static final String RING = "ring";
+
+    private DeliveryQueueFactory() {
+        // No instances allowed.
+    }
+
+    /**
+     * Create a new {@link DeliveryQueue} instance based on the given type name.
+     *
+     * @param queueType
+     * 		the delivery queue type to create or null to create the default {@link #FIFO} type.
+     * @param queueDepth
+     * 		the expected depth of the created delivery queue.
+     *
+     * @return a new {@link DeliveryQueue} of the requested type.
+     */
+    public static DeliveryQueue create(String queueType, int queueDepth) {
+        if (queueType == null || queueType.isEmpty()) {
+            return new FifoDeliveryQueue(queueDepth);
+        }
+
+        switch (queueType.toLowerCase()) {
+            case FIFO:
+                return new FifoDeliveryQueue(queueDepth);
+            case RING:
+                return new RingDeliveryQueue(queueDepth);
+            default:
+                throw new IllegalArgumentException(
+                    "No DeliveryQueue implementation with name " + queueType + " found");
+        }
+    }
+}
@@ -17,11 +17,13 @@
 package org.apache.qpid.protonj2.client.util;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.apache.qpid.protonj2.client.Delivery;
 import org.apache.qpid.protonj2.client.impl.ClientDelivery;
@@ -103,6 +105,37 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
         }
     }
 
+    @Override
+    public int dequeue(Collection<? super ClientDelivery> target, int maxDeliveries, long timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            // Wait until the receiver is ready to deliver messages.
+            while (timeout != 0 && isRunning() && queue.isEmpty()) {
+                if (timeout == -1) {
+                    condition.await();
+                } else {
+                    long start = System.currentTimeMillis();
+                    condition.await(timeout, TimeUnit.MILLISECONDS);
+                    timeout = Math.max(timeout + start - System.currentTimeMillis(), 0);
+                }
+            }
+
+            if (!isRunning()) {
+                return 0;
+            }
+
+            int count = 0;
+            while (count < maxDeliveries && !queue.isEmpty()) {
+                target.add(queue.pollFirst());
+                count++;
+            }
+
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public ClientDelivery dequeueNoWait() {
         lock.lock();
@@ -193,6 +226,19 @@ public final class FifoDeliveryQueue implements DeliveryQueue {
         }
     }
 
+    @Override
+    public void clear(Consumer<ClientDelivery> discarded) {
+        lock.lock();
+        try {
+            ClientDelivery delivery;
+            while ((delivery = queue.pollFirst()) != null) {
+                discarded.accept(delivery);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     @Override
     public String toString() {
         lock.lock();
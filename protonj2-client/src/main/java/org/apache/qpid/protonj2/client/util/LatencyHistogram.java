@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size histogram of latency values recorded in nanoseconds.
+ * <p>
+ * Values are counted in log-linear buckets, every power of two range is split into sixteen equal
+ * buckets so any recorded value is reported with a relative error of no more than one part in
+ * sixteen (6.25%) across the full range of positive long values.  Recording a value is lock free,
+ * does not allocate and can be done from any number of threads concurrently.  The recorded values
+ * are read by taking a {@link Snapshot} which provides the count, minimum, maximum, mean and the
+ * value at any percentile.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKET_COUNT = SUB_BUCKET_COUNT << 1;
+    private static final int LINEAR_BUCKET_BITS = SUB_BUCKET_BITS + 1;
+    private static final int BUCKET_COUNT = LINEAR_BUCKET_COUNT + (Long.SIZE - 1 - LINEAR_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a single latency value, negative values are recorded as zero.
+     *
+     * @param nanos
+     *      The latency value in nanoseconds.
+     */
+    public void record(long nanos) {
+        final long value = Math.max(0, nanos);
+
+        buckets.incrementAndGet(bucketIndex(value));
+        total.addAndGet(value);
+
+        long current;
+        while (value < (current = min.get()) && !min.compareAndSet(current, value));
+        while (value > (current = max.get()) && !max.compareAndSet(current, value));
+    }
+
+    /**
+     * Records the time elapsed since the given start time which was read from {@link System#nanoTime()}.
+     *
+     * @param startNanos
+     *      The start time of the operation that has now completed.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Clears all recorded values.  Values recorded concurrently with a reset may be partially retained.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            buckets.set(i, 0);
+        }
+
+        total.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+
+    /**
+     * Takes a point in time copy of the values recorded by this histogram.  Values recorded while the
+     * snapshot is being taken may or may not be reflected in the result.
+     *
+     * @return a new {@link Snapshot} of the recorded values.
+     */
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+
+        long count = 0;
+        int lowest = -1;
+        int highest = -1;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            count += counts[i] = buckets.get(i);
+            if (counts[i] != 0) {
+                lowest = lowest < 0 ? i : lowest;
+                highest = i;
+            }
+        }
+
+        if (count == 0) {
+            return new Snapshot(counts, 0, 0, 0, 0);
+        }
+
+        // A value is counted in its bucket before min and max are updated, so a concurrent record
+        // or reset can leave them unset or outside the buckets that hold the lowest and highest
+        // values, in which case the bounds of those buckets are used instead.
+        long min = this.min.get();
+        if (min < bucketLowerBound(lowest) || min > bucketUpperBound(lowest)) {
+            min = bucketLowerBound(lowest);
+        }
+
+        long max = this.max.get();
+        if (max < bucketLowerBound(highest) || max > bucketUpperBound(highest)) {
+            max = bucketUpperBound(highest);
+        }
+
+        return new Snapshot(counts, count, total.get(), min, max);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+
+        return LINEAR_BUCKET_COUNT + (exponent - LINEAR_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        return index == 0 ? 0 : bucketUpperBound(index - 1) + 1;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int offset = index - LINEAR_BUCKET_COUNT;
+        final int shift = offset / SUB_BUCKET_COUNT + LINEAR_BUCKET_BITS - SUB_BUCKET_BITS;
+        final long subBucket = SUB_BUCKET_COUNT + offset % SUB_BUCKET_COUNT;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * An immutable copy of the values recorded by a {@link LatencyHistogram} at some point in time.
+     * All values are in nanoseconds unless a {@link TimeUnit} is given.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long total;
+        private final long min;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long total, long min, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * @return the number of values recorded.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the smallest value recorded or zero if no values were recorded.
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         * @return the largest value recorded or zero if no values were recorded.
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return the mean of the recorded values or zero if no values were recorded.
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        /**
+         * Returns the value at the given percentile, that is a value that is equal to or greater than
+         * the given percentage of the recorded values within the precision of the histogram.
+         *
+         * @param percentile
+         *      The percentile in the range [0, 100].
+         *
+         * @return the value at the given percentile or zero if no values were recorded.
+         *
+         * @throws IllegalArgumentException if the percentile is not in the range [0, 100].
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100 || Double.isNaN(percentile)) {
+                throw new IllegalArgumentException("Percentile must be in the range [0, 100]: " + percentile);
+            }
+
+            if (count == 0) {
+                return 0;
+            }
+
+            final long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.max(min, Math.min(max, bucketUpperBound(i)));
+                }
+            }
+
+            return max;
+        }
+
+        /**
+         * Returns the value at the given percentile converted to the given time unit.
+         *
+         * @param percentile
+         *      The percentile in the range [0, 100].
+         * @param unit
+         *      The time unit that the value should be returned in.
+         *
+         * @return the value at the given percentile in the given units.
+         *
+         * @see #getValueAtPercentile(double)
+         */
+        public long getValueAtPercentile(double percentile, TimeUnit unit) {
+            return unit.convert(getValueAtPercentile(percentile), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "LatencyHistogram.Snapshot{count=" + count +
+                   ", min=" + min +
+                   ", mean=" + (long) getMean() +
+                   ", p50=" + getValueAtPercentile(50) +
+                   ", p90=" + getValueAtPercentile(90) +
+                   ", p99=" + getValueAtPercentile(99) +
+                   ", p999=" + getValueAtPercentile(99.9) +
+                   ", max=" + max + "}";
+        }
+    }
+}
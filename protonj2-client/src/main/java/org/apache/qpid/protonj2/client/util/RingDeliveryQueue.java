@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.apache.qpid.protonj2.client.Delivery;
+import org.apache.qpid.protonj2.client.impl.ClientDelivery;
+
+/**
+ * First in / first out {@link Delivery} Queue built on a bounded lock-free ring buffer.
+ * <p>
+ * Enqueue and dequeue operations never take a lock, consumers waiting on an empty queue
+ * spin and then yield before finally parking which means the producer only needs to
+ * signal when a consumer has actually parked.  Deliveries that arrive when the ring is
+ * full, for instance because credit was granted beyond the configured credit window, are
+ * held in an unbounded overflow queue until the ring has been drained.
+ */
+public final class RingDeliveryQueue implements DeliveryQueue {
+
+    private static final AtomicIntegerFieldUpdater<RingDeliveryQueue> STATE_FIELD_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(RingDeliveryQueue.class, "state");
+    private static final AtomicLongFieldUpdater<RingDeliveryQueue> HEAD_FIELD_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(RingDeliveryQueue.class, "head");
+    private static final AtomicLongFieldUpdater<RingDeliveryQueue> TAIL_FIELD_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(RingDeliveryQueue.class, "tail");
+
+    private static final int CLOSED = 0;
+    private static final int STOPPED = 1;
+    private static final int RUNNING = 2;
+
+    private static final int MIN_CAPACITY = 16;
+
+    // Using a progressive wait strategy helps to avoid parking the consumer when
+    // a delivery arrives shortly after the queue was found to be empty
+    private static final int SPIN_COUNT = 10;
+    private static final int YIELD_COUNT = 100;
+
+    private volatile int state = STOPPED;
+    private volatile int waiting;
+    private volatile long head;
+    private volatile long tail;
+
+    private final int mask;
+    private final AtomicReferenceArray<ClientDelivery> slots;
+    private final AtomicLongArray sequences;
+
+    private final Deque<ClientDelivery> requeued = new ConcurrentLinkedDeque<>();
+    private final Deque<ClientDelivery> overflow = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Creates a new ring buffer based message queue whose ring can hold at least the given
+     * queue depth before deliveries are placed in the overflow queue.
+     *
+     * @param queueDepth
+     * 		The Queue depth to configure for this ring buffer Message Queue.
+     */
+    public RingDeliveryQueue(int queueDepth) {
+        final int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, queueDepth) - 1) << 1);
+
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+
+        for (int i = 0; i < capacity; ++i) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public void enqueueFirst(ClientDelivery delivery) {
+        requeued.addFirst(delivery);
+        signalWaiter();
+    }
+
+    @Override
+    public void enqueue(ClientDelivery delivery) {
+        // Once anything has overflowed new arrivals must queue behind it to preserve ordering.
+        if (!overflow.isEmpty() || !offer(delivery)) {
+            overflow.addLast(delivery);
+        }
+
+        signalWaiter();
+    }
+
+    @Override
+    public ClientDelivery dequeue(long timeout) throws InterruptedException {
+        return awaitDelivery(timeout);
+    }
+
+    @Override
+    public int dequeue(Collection<? super ClientDelivery> target, int maxDeliveries, long timeout) throws InterruptedException {
+        ClientDelivery delivery = awaitDelivery(timeout);
+
+        int count = 0;
+        while (count < maxDeliveries && delivery != null) {
+            target.add(delivery);
+            if (++count < maxDeliveries) {
+                delivery = poll();
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public ClientDelivery dequeueNoWait() {
+        if (!isRunning()) {
+            return null;
+        }
+
+        return poll();
+    }
+
+    @Override
+    public void start() {
+        if (STATE_FIELD_UPDATER.compareAndSet(this, STOPPED, RUNNING)) {
+            signalAllWaiters();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (STATE_FIELD_UPDATER.compareAndSet(this, RUNNING, STOPPED)) {
+            signalAllWaiters();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (STATE_FIELD_UPDATER.getAndSet(this, CLOSED) > CLOSED) {
+            signalAllWaiters();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return state == RUNNING;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return state == CLOSED;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tail == head && requeued.isEmpty() && overflow.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        int size = (int) (tail - head);
+
+        if (!requeued.isEmpty()) {
+            size += requeued.size();
+        }
+        if (!overflow.isEmpty()) {
+            size += overflow.size();
+        }
+
+        return Math.max(0, size);
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+        }
+    }
+
+    @Override
+    public void clear(Consumer<ClientDelivery> discarded) {
+        ClientDelivery delivery;
+        while ((delivery = poll()) != null) {
+            discarded.accept(delivery);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RingDeliveryQueue { size = " + size() + " }";
+    }
+
+    //----- Internal ring buffer and wait strategy implementation
+
+    private ClientDelivery awaitDelivery(long timeout) throws InterruptedException {
+        final long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+        int idleCount = 0;
+
+        ClientDelivery delivery = null;
+
+        // A producer may have claimed a slot without yet publishing it so the queue can appear
+        // non-empty while nothing can be polled, keep trying until the wait runs out.
+        while (isRunning() && (delivery = poll()) == null && timeout != 0) {
+            final long remaining = timeout > 0 ? deadline - System.nanoTime() : -1;
+
+            if (timeout > 0 && remaining <= 0) {
+                break;
+            } else if (idleCount < SPIN_COUNT) {
+                idleCount++;
+            } else if (idleCount < YIELD_COUNT) {
+                Thread.yield();
+                idleCount++;
+            } else {
+                synchronized (this) {
+                    waiting++;
+                    try {
+                        // The producer reads the waiting count after publishing so one
+                        // of us is guaranteed to see the other's update.
+                        if (isRunning() && isEmpty()) {
+                            if (timeout < 0) {
+                                wait();
+                            } else {
+                                wait(remaining / 1000000, (int) (remaining % 1000000));
+                            }
+                        }
+                    } finally {
+                        waiting--;
+                    }
+                }
+            }
+        }
+
+        return delivery;
+    }
+
+    private void signalWaiter() {
+        if (waiting > 0) {
+            synchronized (this) {
+                notify();
+            }
+        }
+    }
+
+    private void signalAllWaiters() {
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    private ClientDelivery poll() {
+        ClientDelivery delivery = requeued.pollFirst();
+
+        if (delivery == null) {
+            delivery = pollRing();
+        }
+        if (delivery == null) {
+            delivery = overflow.pollFirst();
+        }
+
+        return delivery;
+    }
+
+    private boolean offer(ClientDelivery delivery) {
+        long position = tail;
+
+        for (;;) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (TAIL_FIELD_UPDATER.compareAndSet(this, position, position + 1)) {
+                    slots.lazySet(index, delivery);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+
+            position = tail;
+        }
+    }
+
+    private ClientDelivery pollRing() {
+        long position = head;
+
+        for (;;) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (HEAD_FIELD_UPDATER.compareAndSet(this, position, position + 1)) {
+                    final ClientDelivery delivery = slots.get(index);
+                    slots.lazySet(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return delivery;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+
+            position = head;
+        }
+    }
+}
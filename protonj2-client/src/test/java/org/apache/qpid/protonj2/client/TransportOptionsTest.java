@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -49,6 +50,9 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
     public static final String TEST_WEBSOCKET_HEADER_KEY = "compression";
     public static final String TEST_WEBSOCKET_HEADER_VALUE = "gzip";
     public static final int TEST_WEBSOCKET_MAX_FRAME_SIZE = TransportOptions.DEFAULT_WEBSOCKET_MAX_FRAME_SIZE + 1024;
+    public static final FlushPolicy TEST_FLUSH_POLICY = FlushPolicy.THROUGHPUT;
+    public static final int TEST_FLUSH_PENDING_WRITES_LIMIT = 16;
+    public static final int TEST_FLUSH_PENDING_BYTES_LIMIT = 8192;
 
     @Test
     public void testCreate() {
@@ -59,6 +63,9 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         assertTrue(options.allowNativeIO());
         assertFalse(options.useWebSockets());
         assertNull(options.webSocketPath());
+        assertEquals(TransportOptions.DEFAULT_FLUSH_POLICY, options.flushPolicy());
+        assertEquals(TransportOptions.DEFAULT_FLUSH_PENDING_WRITES_LIMIT, options.flushPendingWritesLimit());
+        assertEquals(TransportOptions.DEFAULT_FLUSH_PENDING_BYTES_LIMIT, options.flushPendingBytesLimit());
     }
 
     @Test
@@ -98,6 +105,20 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         assertEquals(TEST_WEBSOCKET_PATH, options.webSocketPath());
         assertEquals(TEST_WEBSOCKET_HEADER_VALUE, options.webSocketHeaders().get(TEST_WEBSOCKET_HEADER_KEY));
         assertEquals(TEST_WEBSOCKET_MAX_FRAME_SIZE, options.webSocketMaxFrameSize());
+        assertEquals(TEST_FLUSH_POLICY, options.flushPolicy());
+        assertEquals(TEST_FLUSH_PENDING_WRITES_LIMIT, options.flushPendingWritesLimit());
+        assertEquals(TEST_FLUSH_PENDING_BYTES_LIMIT, options.flushPendingBytesLimit());
+    }
+
+    @Test
+    public void testFlushPendingLimitsValidation() {
+        TransportOptions options = new TransportOptions();
+
+        assertThrows(IllegalArgumentException.class, () -> options.flushPendingWritesLimit(0));
+        assertThrows(IllegalArgumentException.class, () -> options.flushPendingBytesLimit(-1));
+
+        options.flushPolicy(null);
+        assertEquals(TransportOptions.DEFAULT_FLUSH_POLICY, options.flushPolicy());
     }
 
     @Test
@@ -204,6 +225,9 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         options.webSocketPath(TEST_WEBSOCKET_PATH);
         options.addWebSocketHeader(TEST_WEBSOCKET_HEADER_KEY, TEST_WEBSOCKET_HEADER_VALUE);
         options.webSocketMaxFrameSize(TEST_WEBSOCKET_MAX_FRAME_SIZE);
+        options.flushPolicy(TEST_FLUSH_POLICY);
+        options.flushPendingWritesLimit(TEST_FLUSH_PENDING_WRITES_LIMIT);
+        options.flushPendingBytesLimit(TEST_FLUSH_PENDING_BYTES_LIMIT);
 
         return options;
     }
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonNettyByteBuffer;
+import org.apache.qpid.protonj2.client.AdvancedMessage;
+import org.apache.qpid.protonj2.client.Client;
+import org.apache.qpid.protonj2.client.Connection;
+import org.apache.qpid.protonj2.client.Message;
+import org.apache.qpid.protonj2.client.ReceiverOptions;
+import org.apache.qpid.protonj2.client.Session;
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
+import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.apache.qpid.protonj2.test.driver.ProtonTestServer;
+import org.apache.qpid.protonj2.types.transport.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Test the handling of inbound payloads held in pooled I/O buffers by {@link ClientDelivery}
+ */
+@Timeout(20)
+public class ClientDeliveryTest extends ImperativeClientTestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClientDeliveryTest.class);
+
+    @Test
+    public void testPooledPayloadReleasedWhenMessageRead() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            final ClientReceiver receiver = openReceiver(peer);
+            final ByteBuf pooled = createPooledPayload("test");
+            final ClientDelivery delivery = new ClientDelivery(receiver, createIncomingDelivery(pooled));
+
+            assertEquals(1, pooled.refCnt());
+
+            final Message<String> message = delivery.message();
+
+            assertEquals(0, pooled.refCnt());
+
+            delivery.accept();
+
+            assertEquals("test", message.body());
+
+            closeReceiver(peer, receiver);
+        }
+    }
+
+    @Test
+    public void testMessageReadableAfterPooledPayloadOfDeliveryDiscarded() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            final ClientReceiver receiver = openReceiver(peer);
+            final ByteBuf pooled = createPooledPayload("test");
+            final ClientDelivery delivery = new ClientDelivery(receiver, createIncomingDelivery(pooled));
+
+            final Message<String> message = delivery.message();
+
+            delivery.releasePayload();
+
+            assertEquals(0, pooled.refCnt());
+            assertEquals("test", message.body());
+            assertSame(message, delivery.message());
+
+            closeReceiver(peer, receiver);
+        }
+    }
+
+    @Test
+    public void testBodyBufferReadableAfterDeliveryAccepted() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            final ClientReceiver receiver = openReceiver(peer);
+            final ByteBuf pooled = createPooledPayload(new byte[] { 1, 2, 3 });
+            final ClientDelivery delivery = new ClientDelivery(receiver, createIncomingDelivery(pooled));
+
+            final AdvancedMessage<byte[]> message = delivery.<byte[]>message().toAdvancedMessage();
+
+            delivery.accept();
+
+            assertEquals(0, pooled.refCnt());
+
+            final ByteBuffer body = message.bodyBuffer();
+
+            assertEquals(3, body.remaining());
+            assertEquals(1, body.get(0));
+            assertEquals(3, body.get(2));
+
+            closeReceiver(peer, receiver);
+        }
+    }
+
+    @Test
+    public void testPooledPayloadReleasedWhenRawStreamRequested() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            final ClientReceiver receiver = openReceiver(peer);
+            final ByteBuf pooled = createPooledPayload("test");
+            final ClientDelivery delivery = new ClientDelivery(receiver, createIncomingDelivery(pooled));
+            final int expected = pooled.readableBytes();
+
+            final InputStream stream = delivery.rawInputStream();
+
+            assertEquals(0, pooled.refCnt());
+
+            delivery.accept();
+
+            assertEquals(expected, stream.readAllBytes().length);
+
+            closeReceiver(peer, receiver);
+        }
+    }
+
+    @Test
+    public void testPooledPayloadReleasedWhenDeliverySettledUnread() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            final ClientReceiver receiver = openReceiver(peer);
+            final ByteBuf pooled = createPooledPayload("test");
+            final ClientDelivery delivery = new ClientDelivery(receiver, createIncomingDelivery(pooled));
+
+            delivery.settle();
+
+            assertEquals(0, pooled.refCnt());
+            assertThrows(ClientIllegalStateException.class, () -> delivery.message());
+            assertThrows(ClientIllegalStateException.class, () -> delivery.rawInputStream());
+
+            closeReceiver(peer, receiver);
+        }
+    }
+
+    @Test
+    public void testPooledPayloadReleasedOnceWhenDiscardedAfterSettlement() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            final ClientReceiver receiver = openReceiver(peer);
+            final ByteBuf pooled = createPooledPayload("test");
+            final ClientDelivery delivery = new ClientDelivery(receiver, createIncomingDelivery(pooled));
+
+            delivery.release();
+            delivery.releasePayload();
+
+            assertEquals(0, pooled.refCnt());
+
+            closeReceiver(peer, receiver);
+        }
+    }
+
+    @Test
+    public void testPooledPayloadCopiedForDeliveryHandedOutSettled() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            final ClientReceiver receiver = openReceiver(peer);
+            final ByteBuf pooled = createPooledPayload("test");
+            final ClientDelivery delivery = new ClientDelivery(receiver, createIncomingDelivery(pooled));
+
+            delivery.detachPayload();
+
+            assertEquals(0, pooled.refCnt());
+
+            delivery.settle();
+
+            assertEquals("test", delivery.message().body());
+
+            closeReceiver(peer, receiver);
+        }
+    }
+
+    @Test
+    public void testPooledPayloadOfUnsettledDeliveryReleasedWhenDiscarded() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            final ClientReceiver receiver = openReceiver(peer);
+            final ByteBuf pooled = createPooledPayload("test");
+            final ClientDelivery delivery = new ClientDelivery(receiver, createIncomingDelivery(pooled));
+
+            delivery.releasePayload();
+
+            assertEquals(0, pooled.refCnt());
+            assertThrows(ClientIllegalStateException.class, () -> delivery.message());
+
+            closeReceiver(peer, receiver);
+        }
+    }
+
+    private ClientReceiver openReceiver(ProtonTestServer peer) throws Exception {
+        peer.expectSASLAnonymousConnect();
+        peer.expectOpen().respond();
+        peer.expectBegin().respond();
+        peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+        peer.start();
+
+        URI remoteURI = peer.getServerURI();
+
+        LOG.info("Test started, peer listening on: {}", remoteURI);
+
+        Client container = Client.create();
+        Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+        Session session = connection.openSession();
+
+        ClientReceiver receiver = (ClientReceiver) session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0).autoAccept(false));
+        receiver.openFuture().get(10, TimeUnit.SECONDS);
+
+        peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+        return receiver;
+    }
+
+    private void closeReceiver(ProtonTestServer peer, ClientReceiver receiver) throws Exception {
+        peer.expectDetach().respond();
+        peer.expectClose().respond();
+
+        receiver.closeAsync();
+        receiver.connection().closeAsync().get(10, TimeUnit.SECONDS);
+
+        peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+    }
+
+    private static ByteBuf createPooledPayload(Object body) throws ClientException {
+        final ProtonBuffer encoded = ClientMessage.create().body(body).encode(null);
+        final ByteBuf pooled = PooledByteBufAllocator.DEFAULT.directBuffer(encoded.getReadableBytes());
+
+        while (encoded.isReadable()) {
+            pooled.writeByte(encoded.readByte());
+        }
+
+        return pooled;
+    }
+
+    private static IncomingDelivery createIncomingDelivery(ByteBuf payload) {
+        final IncomingDelivery delivery = mock(IncomingDelivery.class);
+
+        when(delivery.readAll()).thenReturn(new ProtonNettyByteBuffer(payload));
+
+        return delivery;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.codec.CodecFactory;
+import org.apache.qpid.protonj2.codec.DecodeException;
+import org.apache.qpid.protonj2.codec.Encoder;
+import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.Data;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the on demand section decoding of {@link ClientLazyMessage}
+ */
+class ClientLazyMessageTest {
+
+    @Test
+    public void testAllSectionsDecodedOnAccess() throws ClientException {
+        ClientMessage<byte[]> source = createFullMessage();
+
+        ClientLazyMessage<?> message = ClientLazyMessage.create(source.encode(Collections.singletonMap("da", "value")));
+
+        assertTrue(message.durable());
+        assertEquals(7, message.priority());
+        assertEquals("ma-value", message.annotation("ma"));
+        assertEquals("queue", message.to());
+        assertEquals("ap-value", message.property("ap"));
+        assertEquals("ft-value", message.footer("ft"));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) message.body());
+        assertEquals("value", message.deliveryAnnotations().getValue().get(Symbol.valueOf("da")));
+
+        assertEquals(source.encode(Collections.singletonMap("da", "value")), message.encode(Collections.singletonMap("da", "value")));
+    }
+
+    @Test
+    public void testEmptyMessage() throws ClientException {
+        ClientLazyMessage<?> message = ClientLazyMessage.create(ProtonByteBufferAllocator.DEFAULT.allocate());
+
+        assertNull(message.header());
+        assertNull(message.properties());
+        assertNull(message.body());
+        assertTrue(message.bodySections().isEmpty());
+        assertNull(message.deliveryAnnotations());
+        assertFalse(message.hasProperties());
+    }
+
+    @Test
+    public void testSectionsAreNotDecodedUntilAccessed() throws ClientException {
+        ProtonBuffer encoded = createFullMessage().encode(null);
+
+        // Break the value encoding inside the application properties without changing its size
+        // so only decoding that section can find the problem.
+        final int valueIndex = indexOf(encoded, "ap-value".getBytes(StandardCharsets.UTF_8));
+        encoded.setByte(valueIndex - 2, (byte) 0xFF);
+
+        ClientLazyMessage<?> message = ClientLazyMessage.create(encoded);
+
+        assertTrue(message.durable());
+        assertEquals("queue", message.to());
+        assertEquals("ma-value", message.annotation("ma"));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) message.body());
+        assertEquals("ft-value", message.footer("ft"));
+
+        ClientException error = assertThrows(ClientException.class, () -> message.property("ap"));
+        assertTrue(error.getCause() instanceof DecodeException);
+    }
+
+    @Test
+    public void testReplacedSectionIsNeverDecoded() throws ClientException {
+        ProtonBuffer encoded = createFullMessage().encode(null);
+
+        final int valueIndex = indexOf(encoded, "ap-value".getBytes(StandardCharsets.UTF_8));
+        encoded.setByte(valueIndex - 2, (byte) 0xFF);
+
+        ClientLazyMessage<?> message = ClientLazyMessage.create(encoded);
+
+        message.applicationProperties(new ApplicationProperties(new LinkedHashMap<>()));
+        message.property("replaced", true);
+
+        assertEquals(true, message.property("replaced"));
+        assertFalse(message.hasProperty("ap"));
+    }
+
+    @Test
+    public void testPropertyAddedToEncodedSectionKeepsExistingValues() throws ClientException {
+        ClientLazyMessage<?> message = ClientLazyMessage.create(createFullMessage().encode(null));
+
+        message.property("added", 1);
+        message.deliveryCount(2);
+
+        assertEquals("ap-value", message.property("ap"));
+        assertEquals(1, message.property("added"));
+        assertTrue(message.durable());
+        assertEquals(7, message.priority());
+        assertEquals(2, message.deliveryCount());
+    }
+
+    @Test
+    public void testBodyWithMultipleDataSections() throws ClientException {
+        ClientMessage<byte[]> source = ClientMessage.create();
+
+        source.addBodySection(new Data(new byte[] { 1 }));
+        source.addBodySection(new Data(new byte[] { 2 }));
+        source.footer("ft", "ft-value");
+
+        ClientLazyMessage<?> message = ClientLazyMessage.create(source.encode(null));
+
+        assertEquals(2, message.bodySections().size());
+        assertArrayEquals(new byte[] { 1 }, (byte[]) message.body());
+
+        message.addBodySection(new Data(new byte[] { 3 }));
+
+        assertEquals(3, message.bodySections().size());
+        assertEquals("ft-value", message.footer("ft"));
+    }
+
+    @Test
+    public void testClearedBodyIsNotDecoded() throws ClientException {
+        ClientMessage<byte[]> source = createFullMessage();
+
+        ClientLazyMessage<?> message = ClientLazyMessage.create(source.encode(null));
+
+        message.clearBodySections();
+
+        assertNull(message.body());
+        assertTrue(message.bodySections().isEmpty());
+    }
+
+    @Test
+    public void testUnknownSectionFailsCreate() throws ClientException {
+        ProtonBuffer encoded = ProtonByteBufferAllocator.DEFAULT.allocate();
+        Encoder encoder = CodecFactory.getDefaultEncoder();
+
+        encoder.writeObject(encoded, encoder.newEncoderState(), Accepted.getInstance());
+
+        assertThrows(ClientException.class, () -> ClientLazyMessage.create(encoded));
+    }
+
+    @Test
+    public void testUntouchedMessageEncodesToReceivedBytes() throws ClientException {
+        ProtonBuffer encoded = createFullMessage().encode(null);
+        ProtonBuffer expected = encoded.copy();
+
+        ClientLazyMessage<?> message = ClientLazyMessage.create(encoded);
+
+        assertEquals(expected, message.encode(null));
+    }
+
+    @Test
+    public void testForwardWithUpdatedHeaderAndAnnotationsCopiesOtherSections() throws ClientException {
+        ProtonBuffer encoded = createFullMessage().encode(Collections.singletonMap("da", "value"));
+
+        // Break the encoding inside the application properties without changing its size, forwarding
+        // must copy the section without decoding it.
+        encoded.setByte(indexOf(encoded, "ap-value".getBytes(StandardCharsets.UTF_8)) - 2, (byte) 0xFF);
+
+        ClientLazyMessage<?> message = ClientLazyMessage.create(encoded);
+
+        message.deliveryCount(message.deliveryCount() + 1);
+        message.annotation("forwarded", true);
+
+        ProtonBuffer forwarded = message.encode(Collections.singletonMap("hop", 1));
+        ClientLazyMessage<?> received = ClientLazyMessage.create(forwarded);
+
+        assertEquals(1, received.deliveryCount());
+        assertEquals(7, received.priority());
+        assertEquals(true, received.annotation("forwarded"));
+        assertEquals("ma-value", received.annotation("ma"));
+        assertEquals(1, received.deliveryAnnotations().getValue().get(Symbol.valueOf("hop")));
+        assertEquals(1, received.deliveryAnnotations().getValue().size());
+        assertEquals("queue", received.to());
+        assertEquals("ft-value", received.footer("ft"));
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) received.body());
+
+        ClientException error = assertThrows(ClientException.class, () -> received.property("ap"));
+        assertTrue(error.getCause() instanceof DecodeException);
+    }
+
+    @Test
+    public void testForwardWithReplacedBody() throws ClientException {
+        ClientLazyMessage<byte[]> message = (ClientLazyMessage<byte[]>) ClientLazyMessage.create(createFullMessage().encode(null));
+
+        message.body(new byte[] { 4, 5 });
+
+        ClientLazyMessage<?> received = ClientLazyMessage.create(message.encode(null));
+
+        assertArrayEquals(new byte[] { 4, 5 }, (byte[]) received.body());
+        assertEquals(1, received.bodySections().size());
+        assertEquals("ap-value", received.property("ap"));
+        assertEquals("ft-value", received.footer("ft"));
+    }
+
+    private static ClientMessage<byte[]> createFullMessage() throws ClientException {
+        ClientMessage<byte[]> message = ClientMessage.create();
+
+        message.durable(true);
+        message.priority((byte) 7);
+        message.annotation("ma", "ma-value");
+        message.to("queue");
+        message.property("ap", "ap-value");
+        message.body(new byte[] { 1, 2, 3 });
+        message.footer("ft", "ft-value");
+
+        return message;
+    }
+
+    private static int indexOf(ProtonBuffer buffer, byte[] target) {
+        for (int i = buffer.getReadIndex(); i <= buffer.getWriteIndex() - target.length; ++i) {
+            boolean found = true;
+            for (int j = 0; j < target.length && found; ++j) {
+                found = buffer.getByte(i + j) == target[j];
+            }
+
+            if (found) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
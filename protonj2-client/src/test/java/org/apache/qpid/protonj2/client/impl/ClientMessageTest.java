@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -36,6 +37,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
 import org.apache.qpid.protonj2.client.AdvancedMessage;
 import org.apache.qpid.protonj2.client.Message;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
@@ -56,7 +59,7 @@ import org.junit.jupiter.api.Test;
 class ClientMessageTest {
 
     @Test
-    public void testCreateEmpty() {
+    public void testCreateEmpty() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertNull(message.body());
@@ -105,7 +108,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testCreateWithBody() {
+    public void testCreateWithBody() throws ClientException {
         ClientMessage<String> message = ClientMessage.create(new AmqpValue<>("test"));
 
         assertNotNull(message.body());
@@ -144,7 +147,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testSetGetHeaderFields() {
+    public void testSetGetHeaderFields() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertEquals(Header.DEFAULT_DURABILITY, message.durable());
@@ -167,7 +170,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testSetGetMessagePropertiesFields() {
+    public void testSetGetMessagePropertiesFields() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertNull(message.messageId());
@@ -215,7 +218,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testBodySetGet() {
+    public void testBodySetGet() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertNull(message.body());
@@ -243,7 +246,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testForEachMethodsOnEmptyMessage() {
+    public void testForEachMethodsOnEmptyMessage() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertFalse(message.hasProperties());
@@ -272,7 +275,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testSetMultipleBodySections() {
+    public void testSetMultipleBodySections() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         List<Section<?>> expected = new ArrayList<>();
@@ -322,7 +325,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testSetMultipleBodySectionsWithNullClearsOldSingleBodySection() {
+    public void testSetMultipleBodySectionsWithNullClearsOldSingleBodySection() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertNull(message.body());
@@ -344,7 +347,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testAddMultipleBodySectionsPreservesOriginal() {
+    public void testAddMultipleBodySectionsPreservesOriginal() throws ClientException {
         ClientMessage<byte[]> message = ClientMessage.create();
 
         List<Data> expected = new ArrayList<>();
@@ -371,7 +374,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testAddMultipleBodySections() {
+    public void testAddMultipleBodySections() throws ClientException {
         ClientMessage<byte[]> message = ClientMessage.create();
 
         List<Data> expected = new ArrayList<>();
@@ -437,7 +440,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testMixSingleAndMultipleSectionAccess() {
+    public void testMixSingleAndMultipleSectionAccess() throws ClientException {
         ClientMessage<byte[]> message = ClientMessage.create();
 
         List<Data> expected = new ArrayList<>();
@@ -480,7 +483,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testSetMultipleBodySectionsValidatesDefaultFormat() {
+    public void testSetMultipleBodySectionsValidatesDefaultFormat() throws ClientException {
         ClientMessage<Object> message = ClientMessage.create();
 
         List<Section<?>> expected = new ArrayList<>();
@@ -492,7 +495,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testAddMultipleBodySectionsValidatesDefaultFormat() {
+    public void testAddMultipleBodySectionsValidatesDefaultFormat() throws ClientException {
         ClientMessage<Object> message = ClientMessage.create();
 
         final List<Section<?>> expected1 = new ArrayList<>();
@@ -500,7 +503,11 @@ class ClientMessageTest {
         expected1.add(new AmqpValue<>("test"));
         expected1.add(new AmqpSequence<>(new ArrayList<>()));
 
-        assertThrows(IllegalArgumentException.class, () -> expected1.forEach(section -> message.addBodySection(section)));
+        assertThrows(IllegalArgumentException.class, () -> {
+            for (Section<?> section : expected1) {
+                message.addBodySection(section);
+            }
+        });
 
         message.clearBodySections();
 
@@ -509,7 +516,11 @@ class ClientMessageTest {
         expected2.add(new Data(new byte[] { 0 }));
         expected2.add(new AmqpValue<>("test"));
 
-        assertThrows(IllegalArgumentException.class, () -> expected2.forEach(section -> message.addBodySection(section)));
+        assertThrows(IllegalArgumentException.class, () -> {
+            for (Section<?> section : expected2) {
+                message.addBodySection(section);
+            }
+        });
 
         message.clearBodySections();
 
@@ -518,11 +529,15 @@ class ClientMessageTest {
         expected3.add(new AmqpSequence<>(new ArrayList<>()));
         expected3.add(new Data(new byte[] { 0 }));
 
-        assertThrows(IllegalArgumentException.class, () -> expected3.forEach(section -> message.addBodySection(section)));
+        assertThrows(IllegalArgumentException.class, () -> {
+            for (Section<?> section : expected3) {
+                message.addBodySection(section);
+            }
+        });
     }
 
     @Test
-    public void testReplaceOriginalWithSetBodySectionDoesNotThrowValidationErrorIfValid() {
+    public void testReplaceOriginalWithSetBodySectionDoesNotThrowValidationErrorIfValid() throws ClientException {
         ClientMessage<Object> message = ClientMessage.create();
 
         message.body("string");  // AmqpValue
@@ -534,7 +549,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testReplaceOriginalWithSetBodySectionDoesThrowValidationErrorIfInValid() {
+    public void testReplaceOriginalWithSetBodySectionDoesThrowValidationErrorIfInValid() throws ClientException {
         ClientMessage<Object> message = ClientMessage.create();
 
         message.body("string");  // AmqpValue
@@ -548,7 +563,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testAddAdditionalBodySectionsValidatesDefaultFormat() {
+    public void testAddAdditionalBodySectionsValidatesDefaultFormat() throws ClientException {
         ClientMessage<Object> message = ClientMessage.create();
 
         message.body("string");  // AmqpValue
@@ -557,7 +572,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testSetMultipleBodySectionsWithNonDefaultMessageFormat() {
+    public void testSetMultipleBodySectionsWithNonDefaultMessageFormat() throws ClientException {
         ClientMessage<Object> message = ClientMessage.create().messageFormat(1);
 
         List<Section<?>> expected = new ArrayList<>();
@@ -577,7 +592,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testAddMultipleBodySectionsWithNonDefaultMessageFormat() {
+    public void testAddMultipleBodySectionsWithNonDefaultMessageFormat() throws ClientException {
         ClientMessage<Object> message = ClientMessage.create().messageFormat(1);
 
         List<Section<?>> expected = new ArrayList<>();
@@ -597,7 +612,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testMessageAnnotation() {
+    public void testMessageAnnotation() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         final Map<String, String> expectations = new HashMap<>();
@@ -641,7 +656,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testApplicationProperty() {
+    public void testApplicationProperty() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         final Map<String, String> expectations = new HashMap<>();
@@ -685,7 +700,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testFooter() {
+    public void testFooter() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         final Map<String, String> expectations = new HashMap<>();
@@ -729,7 +744,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testGetUserIdHandlesNullPropertiesOrNullUserIDInProperties() {
+    public void testGetUserIdHandlesNullPropertiesOrNullUserIDInProperties() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertNull(message.properties());
@@ -741,7 +756,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testApplicationPropertiesAccessorHandlerNullMapOrEmptyMap() {
+    public void testApplicationPropertiesAccessorHandlerNullMapOrEmptyMap() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertNull(message.applicationProperties());
@@ -758,7 +773,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testFooterAccessorHandlerNullMapOrEmptyMap() {
+    public void testFooterAccessorHandlerNullMapOrEmptyMap() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertNull(message.footer());
@@ -775,7 +790,7 @@ class ClientMessageTest {
     }
 
     @Test
-    public void testMessageAnnotationsAccessorHandlerNullMapOrEmptyMap() {
+    public void testMessageAnnotationsAccessorHandlerNullMapOrEmptyMap() throws ClientException {
         ClientMessage<String> message = ClientMessage.create();
 
         assertNull(message.annotations());
@@ -790,4 +805,181 @@ class ClientMessageTest {
         assertFalse(message.hasAnnotation("test"));
         assertFalse(message.hasAnnotations());
     }
+
+    @Test
+    public void testBodyBufferIsViewOfFirstDataSection() throws ClientException {
+        ClientMessage<byte[]> message = ClientMessage.create();
+
+        assertNull(message.bodyBuffer());
+
+        message.addBodySection(new Data(new byte[] { 1, 2, 3 }));
+        message.addBodySection(new Data(new byte[] { 4, 5 }));
+
+        ByteBuffer view = message.bodyBuffer();
+
+        assertTrue(view.isReadOnly());
+        assertEquals(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), view);
+
+        assertNull(ClientMessage.create(new AmqpValue<>("test")).bodyBuffer());
+    }
+
+    @Test
+    public void testBodyBufferSharesPayloadWhenDecodedWithSlicing() throws ClientException {
+        ClientMessage<byte[]> message = ClientMessage.create();
+
+        message.header(new Header().setDurable(true));
+        message.body(new byte[] { 1, 2, 3 });
+
+        ProtonBuffer encoded = message.encode(null);
+        AdvancedMessage<?> decoded = ClientLazyMessage.create(encoded);
+
+        ByteBuffer view = decoded.bodyBuffer();
+
+        assertEquals(ByteBuffer.wrap(new byte[] { 1, 2, 3 }), view);
+
+        // The view is backed by the encoded payload and not by a copy of it.
+        encoded.setByte(encoded.getWriteIndex() - 3, (byte) 9);
+
+        assertEquals(9, view.get(0));
+    }
+
+    @Test
+    public void testRepeatedEncodeProducesSameBytes() throws ClientException {
+        ClientMessage<String> message = ClientMessage.create();
+
+        message.durable(true);
+        message.annotation("ma", "value");
+        message.to("queue");
+        message.property("ap", 1);
+        message.body("body");
+        message.footer("ft", "value");
+
+        ProtonBuffer first = message.encode(null);
+
+        assertEquals(first, encodeKeepingEncodings(message));
+        assertEquals(first, encodeKeepingEncodings(message));
+        assertEquals(first, message.encode(null));
+        assertEquals(ClientMessageSupport.encodeMessage(message, Collections.singletonMap("da", 1)),
+                     message.encode(Collections.singletonMap("da", 1)));
+    }
+
+    @Test
+    public void testEncodeAllocatesBufferOfExactEncodedSize() throws ClientException {
+        ClientMessage<String> message = ClientMessage.create();
+
+        message.durable(true);
+        message.annotation("ma", "value");
+        message.messageId("ID:1");
+        message.to("queue");
+        message.property("ap", 1);
+        message.body(new String(new char[512]).replace('\0', 'a'));
+        message.footer("ft", "value");
+
+        ProtonBuffer encoded = message.encode(Collections.singletonMap("da", 1));
+
+        assertEquals(encoded.getReadableBytes(), encoded.capacity());
+
+        encodeKeepingEncodings(message);
+
+        // This encode writes the kept section encodings
+        encoded = message.encode(null);
+
+        assertEquals(encoded.getReadableBytes(), encoded.capacity());
+
+        encoded = ClientMessageSupport.encodeMessage(message, Collections.singletonMap("da", 1));
+
+        assertEquals(encoded.getReadableBytes(), encoded.capacity());
+    }
+
+    @Test
+    public void testEncodeSeesSectionModifiedInPlaceByDefault() throws ClientException {
+        ClientMessage<List<String>> message = ClientMessage.create();
+
+        message.to("queue");
+
+        Properties properties = message.properties();
+        List<String> body = new ArrayList<>(Collections.singletonList("one"));
+
+        message.body(body);
+        message.encode(null);
+        message.encode(null);
+
+        properties.setTo("other");
+        body.add("two");
+
+        ClientMessage<?> received = (ClientMessage<?>) ClientMessageSupport.decodeMessage(message.encode(null), null);
+
+        assertEquals("other", received.to());
+        assertEquals(List.of("one", "two"), received.body());
+    }
+
+    @Test
+    public void testKeptEncodingsAreWrittenAgain() throws ClientException {
+        ClientMessage<String> message = ClientMessage.create();
+
+        message.to("queue");
+
+        Properties properties = message.properties();
+
+        message.body("body");
+        ProtonBuffer expected = encodeKeepingEncodings(message);
+
+        // Modifying a section read before the encodings were kept is not seen by the message.
+        properties.setTo("other");
+
+        assertEquals(expected, message.encode(null));
+        assertEquals(expected, encodeKeepingEncodings(message));
+    }
+
+    @Test
+    public void testModificationReencodesOnlyThatSection() throws ClientException {
+        ClientMessage<String> message = ClientMessage.create();
+
+        message.to("queue");
+
+        Properties properties = message.properties();
+
+        message.body("body");
+        encodeKeepingEncodings(message);
+
+        properties.setTo("other");
+        message.property("ap", 1);
+
+        ClientMessage<?> received = (ClientMessage<?>) ClientMessageSupport.decodeMessage(message.encode(null), null);
+
+        assertEquals("queue", received.to());
+        assertEquals(1, received.property("ap"));
+        assertEquals("body", received.body());
+
+        message.to("updated");
+        message.body("updated-body");
+        message.removeProperty("ap");
+
+        received = (ClientMessage<?>) ClientMessageSupport.decodeMessage(message.encode(null), null);
+
+        assertEquals("updated", received.to());
+        assertFalse(received.hasProperties());
+        assertEquals("updated-body", received.body());
+    }
+
+    @Test
+    public void testReadSectionIsEncodedAgain() throws ClientException {
+        ClientMessage<List<String>> message = ClientMessage.create();
+
+        message.header(new Header().setPriority((byte) 1));
+        message.body(new ArrayList<>(Collections.singletonList("one")));
+        encodeKeepingEncodings(message);
+
+        message.header().setPriority((byte) 2);
+        message.body().add("two");
+
+        ClientMessage<?> received = (ClientMessage<?>) ClientMessageSupport.decodeMessage(message.encode(null), null);
+
+        assertEquals(2, received.priority());
+        assertEquals(List.of("one", "two"), received.body());
+    }
+
+    private static ProtonBuffer encodeKeepingEncodings(ClientMessage<?> message) throws ClientException {
+        return message.encode(null, ProtonByteBufferAllocator.DEFAULT, 0, true);
+    }
 }
@@ -17,12 +17,16 @@
 package org.apache.qpid.protonj2.client.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.net.URI;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.qpid.protonj2.client.Client;
@@ -32,6 +36,7 @@ import org.apache.qpid.protonj2.client.ConnectionOptions;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
 import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.client.test.Wait;
 import org.apache.qpid.protonj2.test.driver.ProtonTestServer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -147,4 +152,57 @@ public class ClientTest extends ImperativeClientTestCase {
             secondPeer.waitForScriptToComplete();
         }
     }
+
+    @Test
+    public void testConnectionsShareConfiguredIOThreads() throws Exception {
+        try (ProtonTestServer firstPeer = new ProtonTestServer();
+             ProtonTestServer secondPeer = new ProtonTestServer()) {
+
+            firstPeer.expectSASLAnonymousConnect();
+            firstPeer.expectOpen().respond();
+            firstPeer.start();
+
+            secondPeer.expectSASLAnonymousConnect();
+            secondPeer.expectOpen().respond();
+            secondPeer.start();
+
+            final URI firstURI = firstPeer.getServerURI();
+            final URI secondURI = secondPeer.getServerURI();
+
+            ClientOptions options = new ClientOptions();
+            options.id(UUID.randomUUID().toString());
+            options.sharedIOThreads(1);
+
+            Client container = Client.create(options);
+            ClientConnection connection1 = (ClientConnection) container.connect(firstURI.getHost(), firstURI.getPort());
+            ClientConnection connection2 = (ClientConnection) container.connect(secondURI.getHost(), secondURI.getPort());
+
+            connection1.openFuture().get();
+            connection2.openFuture().get();
+
+            firstPeer.waitForScriptToComplete();
+            secondPeer.waitForScriptToComplete();
+
+            assertSame(connection1.getScheduler(), connection2.getScheduler());
+
+            firstPeer.expectClose().respond();
+            secondPeer.expectClose().respond();
+
+            connection1.close();
+
+            assertFalse(connection2.getScheduler().isShutdown());
+
+            container.closeAsync().get(5, TimeUnit.SECONDS);
+
+            firstPeer.waitForScriptToComplete();
+            secondPeer.waitForScriptToComplete();
+
+            assertTrue(Wait.waitFor(() -> connection2.getScheduler().isShutdown()));
+        }
+    }
+
+    @Test
+    public void testCreateWithNegativeSharedIOThreadsFails() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientOptions().sharedIOThreads(-1));
+    }
 }
@@ -27,20 +27,28 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.client.AdvancedMessage;
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.Connection;
@@ -55,6 +63,7 @@ import org.apache.qpid.protonj2.client.ExpiryPolicy;
 import org.apache.qpid.protonj2.client.Message;
 import org.apache.qpid.protonj2.client.Receiver;
 import org.apache.qpid.protonj2.client.ReceiverOptions;
+import org.apache.qpid.protonj2.client.Sender;
 import org.apache.qpid.protonj2.client.Session;
 import org.apache.qpid.protonj2.client.SessionOptions;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionRemotelyClosedException;
@@ -64,6 +73,9 @@ import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientLinkRemotelyClosedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.client.test.Wait;
+import org.apache.qpid.protonj2.client.util.DeliveryQueueFactory;
+import org.apache.qpid.protonj2.client.util.LatencyHistogram;
 import org.apache.qpid.protonj2.test.driver.ProtonTestServer;
 import org.apache.qpid.protonj2.test.driver.codec.messaging.Modified;
 import org.apache.qpid.protonj2.test.driver.codec.messaging.Released;
@@ -2632,4 +2644,531 @@ public class ReceiverTest extends ImperativeClientTestCase {
             peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
         }
     }
+
+    @Test
+    public void testDeliveryHandlerInvokedOnEventLoopAutoAcceptsDelivery() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.expectDisposition().withSettled(true).withState().accepted();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            final CountDownLatch delivered = new CountDownLatch(1);
+            final List<String> bodies = Collections.synchronizedList(new ArrayList<>());
+            final ReceiverOptions options = new ReceiverOptions().deliveryHandler((delivery) -> {
+                try {
+                    bodies.add((String) delivery.message().body());
+                } catch (ClientException e) {
+                    fail("Should be able to read the message in the handler");
+                }
+                delivered.countDown();
+            });
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue", options);
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("Hello World"), bodies);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            try {
+                receiver.tryReceive();
+                fail("Should not be able to receive when a delivery handler is configured");
+            } catch (ClientIllegalStateException cliEx) {
+                // Expected
+            }
+
+            receiver.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testDeliveryHandlerOnExecutorReplenishesCreditAsHandlersComplete() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+        final ExecutorService handlerExecutor = Executors.newSingleThreadExecutor();
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(1);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.expectDisposition().withFirst(0).withSettled(true).withState().accepted();
+            peer.expectFlow().withLinkCredit(1);
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            final CountDownLatch delivered = new CountDownLatch(1);
+            final ReceiverOptions options = new ReceiverOptions().creditWindow(1)
+                                                                 .deliveryHandlerExecutor(handlerExecutor)
+                                                                 .deliveryHandler((delivery) -> delivered.countDown());
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue", options);
+
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        } finally {
+            handlerExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDeliveryHandlerThatThrowsReleasesDelivery() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.expectDisposition().withSettled(true).withState().released();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            final ReceiverOptions options = new ReceiverOptions().deliveryHandler((delivery) -> {
+                throw new IllegalStateException("Handler failed");
+            });
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue", options);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testReceiveBatchDrainsQueuedDeliveriesAndAcceptsThem() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            for (int i = 0; i < 3; ++i) {
+                peer.remoteTransfer().withHandle(0)
+                                     .withDeliveryId(i)
+                                     .withDeliveryTag(new byte[] { (byte) i })
+                                     .withMore(false)
+                                     .withMessageFormat(0)
+                                     .withPayload(payload).queue();
+            }
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue");
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertTrue(Wait.waitFor(() -> receiver.queuedDeliveries() == 3));
+
+            peer.expectDisposition().withFirst(0).withSettled(true).withState().accepted();
+            peer.expectDisposition().withFirst(1).withSettled(true).withState().accepted();
+
+            List<Delivery> deliveries = receiver.receive(2, 5, TimeUnit.SECONDS);
+            assertEquals(2, deliveries.size());
+            assertEquals(1, receiver.queuedDeliveries());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(2).withSettled(true).withState().accepted();
+
+            deliveries = receiver.receive(10, 5, TimeUnit.SECONDS);
+            assertEquals(1, deliveries.size());
+            assertEquals("Hello World", deliveries.get(0).message().body());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertTrue(receiver.receive(10, 10, TimeUnit.MILLISECONDS).isEmpty());
+
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testReceiveBatchAcceptsDeliveriesWithOneRangedDispositionWhenSessionBatchesThem() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            for (int i = 0; i < 3; ++i) {
+                peer.remoteTransfer().withHandle(0)
+                                     .withDeliveryId(i)
+                                     .withDeliveryTag(new byte[] { (byte) i })
+                                     .withMore(false)
+                                     .withMessageFormat(0)
+                                     .withPayload(payload).queue();
+            }
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession(new SessionOptions().dispositionBatchLimit(16));
+            Receiver receiver = session.openReceiver("test-queue");
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertTrue(Wait.waitFor(() -> receiver.queuedDeliveries() == 3));
+
+            peer.expectDisposition().withFirst(0).withLast(2).withSettled(true).withState().accepted();
+
+            List<Delivery> deliveries = receiver.receive(3, 5, TimeUnit.SECONDS);
+            assertEquals(3, deliveries.size());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSettlementLatencyRecordedOnlyForDeliveriesSettledLocally() throws Exception {
+        final byte[] payload = createEncodedMessage(new AmqpValue<>("Hello World"));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 0 })
+                                 .withMore(false)
+                                 .withSettled(true)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(1)
+                                 .withDeliveryTag(new byte[] { 1 })
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            LatencyHistogram histogram = new LatencyHistogram();
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().settlementLatencyHistogram(histogram));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDisposition().withFirst(1).withSettled(true).withState().accepted();
+
+            assertNotNull(receiver.receive(5, TimeUnit.SECONDS));
+            assertNotNull(receiver.receive(5, TimeUnit.SECONDS));
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertTrue(Wait.waitFor(() -> histogram.snapshot().getCount() == 1));
+
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            assertEquals(1, histogram.snapshot().getCount());
+        }
+    }
+
+    @Test
+    public void testReceivedMessageBodyBufferViewOfDataSection() throws Exception {
+        final byte[] body = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        final byte[] payload = createEncodedMessage(new Data(body));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 0 })
+                                 .withMore(false)
+                                 .withSettled(true)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("test-queue");
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            Delivery delivery = receiver.receive(5, TimeUnit.SECONDS);
+            assertNotNull(delivery);
+
+            AdvancedMessage<byte[]> message = (AdvancedMessage<byte[]>) delivery.<byte[]>message();
+            ByteBuffer view = message.bodyBuffer();
+
+            assertNotNull(view);
+            assertTrue(view.isReadOnly());
+            assertEquals(body.length, view.remaining());
+            assertThrows(ReadOnlyBufferException.class, () -> view.put(0, (byte) 1));
+
+            final byte[] viewed = new byte[view.remaining()];
+            view.get(viewed);
+
+            assertArrayEquals(body, viewed);
+            assertArrayEquals(body, message.body());
+
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testForwardReceivedMessageWithUpdatedHeader() throws Exception {
+        final ClientMessage<String> source = ClientMessage.create();
+        source.durable(true);
+        source.annotation("ma", "value");
+        source.property("ap", "value");
+        source.body("Hello World");
+
+        final byte[] payload = toByteArray(source.encode(Collections.singletonMap("da", "value")));
+        final byte[] forwarded = toByteArray(source.deliveryCount(1).encode(null));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofReceiver().respond();
+            peer.expectFlow().withLinkCredit(10);
+            peer.remoteTransfer().withHandle(0)
+                                 .withDeliveryId(0)
+                                 .withDeliveryTag(new byte[] { 0 })
+                                 .withMore(false)
+                                 .withSettled(true)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Receiver receiver = session.openReceiver("source-queue");
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0)
+                             .withLinkCredit(1)
+                             .withIncomingWindow(1024)
+                             .withOutgoingWindow(10)
+                             .withNextIncomingId(0)
+                             .withNextOutgoingId(1)
+                             .withHandle(1).queue();
+
+            Sender sender = session.openSender("target-queue");
+
+            sender.openFuture().get(5, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withHandle(1).withPayload(forwarded);
+
+            Delivery delivery = receiver.receive(5, TimeUnit.SECONDS);
+            assertNotNull(delivery);
+
+            Message<String> message = delivery.message();
+            message.deliveryCount(message.deliveryCount() + 1);
+
+            sender.send(message);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectDetach().respond();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync();
+            sender.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static byte[] toByteArray(ProtonBuffer buffer) {
+        final byte[] result = new byte[buffer.getReadableBytes()];
+        buffer.readBytes(result);
+        return result;
+    }
+
+    @Test
+    public void testRingDeliveryQueueDeliversInOrderWhenCreditExceedsRingCapacity() throws Exception {
+        final int deliveryCount = 20;
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            ReceiverOptions options = new ReceiverOptions().creditWindow(0)
+                                                           .autoAccept(false)
+                                                           .deliveryQueueType(DeliveryQueueFactory.RING);
+            Receiver receiver = session.openReceiver("test-queue", options);
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            final ExecutorService consumer = Executors.newSingleThreadExecutor();
+            try {
+                // The consumer should end up parked waiting for the first delivery
+                final Future<Delivery> first = consumer.submit(() -> receiver.receive(10, TimeUnit.SECONDS));
+
+                peer.expectFlow().withLinkCredit(deliveryCount);
+                for (int i = 0; i < deliveryCount; ++i) {
+                    peer.remoteTransfer().withHandle(0)
+                                         .withDeliveryId(i)
+                                         .withDeliveryTag(new byte[] { (byte) i })
+                                         .withMore(false)
+                                         .withSettled(true)
+                                         .withMessageFormat(0)
+                                         .withPayload(createEncodedMessage(new AmqpValue<>("Message " + i))).queue();
+                }
+
+                receiver.addCredit(deliveryCount);
+
+                peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+                assertEquals("Message 0", first.get(5, TimeUnit.SECONDS).message().body());
+                for (int i = 1; i < deliveryCount; ++i) {
+                    Delivery delivery = receiver.receive(5, TimeUnit.SECONDS);
+                    assertNotNull(delivery);
+                    assertEquals("Message " + i, delivery.message().body());
+                }
+
+                assertNull(receiver.tryReceive());
+                assertEquals(0, receiver.queuedDeliveries());
+            } finally {
+                consumer.shutdownNow();
+            }
+
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            receiver.closeAsync();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
 }
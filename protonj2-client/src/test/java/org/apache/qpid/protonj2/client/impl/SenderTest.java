@@ -23,7 +23,9 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -39,6 +41,9 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonNettyByteBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonNettyByteBufferAllocator;
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.Connection;
 import org.apache.qpid.protonj2.client.ConnectionOptions;
@@ -67,6 +72,7 @@ import org.apache.qpid.protonj2.client.exceptions.ClientResourceRemotelyClosedEx
 import org.apache.qpid.protonj2.client.exceptions.ClientSendTimedOutException;
 import org.apache.qpid.protonj2.client.exceptions.ClientUnsupportedOperationException;
 import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
+import org.apache.qpid.protonj2.client.util.LatencyHistogram;
 import org.apache.qpid.protonj2.test.driver.ProtonTestServer;
 import org.apache.qpid.protonj2.test.driver.codec.messaging.Released;
 import org.apache.qpid.protonj2.test.driver.codec.messaging.TerminusDurability;
@@ -85,6 +91,9 @@ import org.junit.jupiter.api.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 @Timeout(20)
 public class SenderTest extends ImperativeClientTestCase {
 
@@ -606,6 +615,61 @@ public class SenderTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testSendThatTimedOutIsNotSentWhenCreditIsOffered() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions options = new ConnectionOptions();
+            options.sendTimeout(200);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), options);
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            try {
+                sender.send(Message.create("Timed Out"));
+                fail("Should throw a send timed out exception");
+            } catch (ClientSendTimedOutException ex) {
+                // Expected error, ignore
+            }
+
+            // The single credit must go to the second send and not the one that timed out
+            peer.expectTransfer().withNonNullPayload();
+            peer.remoteFlow().withDeliveryCount(0)
+                             .withLinkCredit(1)
+                             .withIncomingWindow(1024)
+                             .withOutgoingWindow(10)
+                             .withNextIncomingId(0)
+                             .withNextOutgoingId(1).later(30);
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            try {
+                sender.send(Message.create("Hello World"));
+            } catch (ClientSendTimedOutException ex) {
+                fail("Should not throw a send timed out exception");
+            }
+
+            sender.closeAsync().get(10, TimeUnit.SECONDS);
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testSendWhenCreditIsAvailable() throws Exception {
         doTestSendWhenCreditIsAvailable(false, false);
@@ -854,6 +918,54 @@ public class SenderTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testSettlementLatencyRecordedWhenRemoteSettles() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            LatencyHistogram histogram = new LatencyHistogram();
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue", new SenderOptions().settlementLatencyHistogram(histogram));
+            sender.openFuture().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withNonNullPayload()
+                                 .respond()
+                                 .withSettled(true).withState().accepted();
+            peer.expectTransfer().withNonNullPayload()
+                                 .respond()
+                                 .withSettled(true).withState().accepted();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            sender.send(Message.create("Hello World")).awaitSettlement(5, TimeUnit.SECONDS);
+            sender.send(Message.create("Hello World")).awaitSettlement(5, TimeUnit.SECONDS);
+
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+            assertEquals(2, snapshot.getCount());
+            assertTrue(snapshot.getMax() > 0);
+            assertTrue(snapshot.getValueAtPercentile(50) <= snapshot.getMax());
+
+            sender.closeAsync();
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testSendDoesNotAutoSettlesOnceRemoteSettlesIfAutoSettleOff() throws Exception {
         doTestSentMessageNotAutoSettledAfterRemtoeSettles(false);
@@ -1039,6 +1151,111 @@ public class SenderTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testSendSameMessageRepeatedlyWithUpdateBetweenSends() throws Exception {
+        final Message<String> message = Message.<String>create("Hello World").to("test").property("sequence", 1);
+        final byte[] firstPayload = encodedPayload(message);
+        final byte[] secondPayload = encodedPayload(Message.<String>create("Hello World").to("test").property("sequence", 2));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort()).openFuture().get();
+
+            Session session = connection.openSession().openFuture().get();
+            Sender sender = session.openSender("test-queue", new SenderOptions().cacheMessageEncodings(true)).openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withPayload(firstPayload).accept();
+            peer.expectTransfer().withPayload(firstPayload).accept();
+            peer.expectTransfer().withPayload(firstPayload).accept();
+            peer.expectTransfer().withPayload(secondPayload).accept();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            sender.send(message).awaitSettlement(10, TimeUnit.SECONDS);
+            sender.send(message).awaitSettlement(10, TimeUnit.SECONDS);
+            sender.send(message).awaitSettlement(10, TimeUnit.SECONDS);
+
+            message.property("sequence", 2);
+
+            sender.send(message).awaitSettlement(10, TimeUnit.SECONDS);
+
+            sender.closeAsync().get(10, TimeUnit.SECONDS);
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendSameMessageRepeatedlyWithBodyModifiedInPlaceBetweenSends() throws Exception {
+        final List<String> body = new ArrayList<>(Arrays.asList("one"));
+        final Message<List<String>> message = Message.create(body);
+        final byte[] firstPayload = encodedPayload(Message.create(Arrays.asList("one")));
+        final byte[] secondPayload = encodedPayload(Message.create(Arrays.asList("one", "two")));
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort()).openFuture().get();
+
+            Session session = connection.openSession().openFuture().get();
+            Sender sender = session.openSender("test-queue").openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withPayload(firstPayload).accept();
+            peer.expectTransfer().withPayload(firstPayload).accept();
+            peer.expectTransfer().withPayload(secondPayload).accept();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            sender.send(message).awaitSettlement(10, TimeUnit.SECONDS);
+            sender.send(message).awaitSettlement(10, TimeUnit.SECONDS);
+
+            // Without cached encodings the body value may be modified in place between sends
+            body.add("two");
+
+            sender.send(message).awaitSettlement(10, TimeUnit.SECONDS);
+
+            sender.closeAsync().get(10, TimeUnit.SECONDS);
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static <E> byte[] encodedPayload(Message<E> message) throws ClientException {
+        final ProtonBuffer encoded = ClientMessageSupport.encodeMessage(message.toAdvancedMessage(), null);
+        final byte[] payload = new byte[encoded.getReadableBytes()];
+
+        encoded.readBytes(payload);
+
+        return payload;
+    }
+
     @Test
     public void testSenderSendsSettledInAtLeastOnceMode() throws Exception {
         try (ProtonTestServer peer = new ProtonTestServer()) {
@@ -1569,6 +1786,117 @@ public class SenderTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testSendBatchOfMessagesWaitsForCreditForThoseThatDoNotFit() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(2).queue();
+            peer.expectAttach().ofReceiver().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get();
+
+            // This ensures that the flow to sender is processed before we try-send
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            for (int i = 0; i < 2; ++i) {
+                peer.expectTransfer().withDeliveryId(i)
+                                     .withNonNullPayload()
+                                     .withSettled(false)
+                                     .respond()
+                                     .withSettled(true)
+                                     .withState().accepted();
+            }
+            peer.remoteFlow().withHandle(0).withDeliveryCount(2).withLinkCredit(1).queue();
+            peer.expectTransfer().withDeliveryId(2)
+                                 .withNonNullPayload()
+                                 .withSettled(false)
+                                 .respond()
+                                 .withSettled(true)
+                                 .withState().accepted();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            final List<Message<String>> messages = new ArrayList<>();
+            for (int i = 0; i < 3; ++i) {
+                messages.add(Message.create("Hello World " + i));
+            }
+
+            final List<Tracker> trackers = sender.send(messages);
+
+            assertEquals(3, trackers.size());
+            for (Tracker tracker : trackers) {
+                assertNotNull(tracker);
+                assertSame(tracker, tracker.settlementFuture().get(5, TimeUnit.SECONDS));
+                assertTrue(tracker.remoteSettled());
+            }
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendRejectedByStoppedEventLoopReleasesEncodedPayloads() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ClientConnection connection = (ClientConnection) container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            final List<ByteBuf> encoded = new ArrayList<>();
+            connection.getEngine().configuration().setBufferAllocator(new ProtonNettyByteBufferAllocator() {
+
+                @Override
+                public ProtonBuffer outputBuffer(int initialCapacity) {
+                    final ByteBuf buffer = Unpooled.directBuffer(initialCapacity);
+                    encoded.add(buffer);
+                    return new ProtonNettyByteBuffer(buffer);
+                }
+            });
+
+            // Nothing will ever run the send tasks or write and release their payloads
+            connection.getScheduler().shutdown();
+
+            assertThrows(ClientException.class, () -> sender.send(Message.create("Hello World")));
+            assertThrows(ClientException.class, () -> sender.send(Arrays.asList(Message.create("Hello"), Message.create("World"))));
+
+            assertEquals(3, encoded.size());
+            for (ByteBuf buffer : encoded) {
+                assertEquals(0, buffer.refCnt());
+            }
+        }
+    }
+
     @Test
     public void testSendBlockedForCreditFailsWhenLinkRemotelyClosed() throws Exception {
         try (ProtonTestServer peer = new ProtonTestServer()) {
@@ -18,6 +18,7 @@ package org.apache.qpid.protonj2.client.transport;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -25,6 +26,8 @@ import org.apache.qpid.protonj2.client.SslOptions;
 import org.apache.qpid.protonj2.client.TransportOptions;
 import org.junit.jupiter.api.Test;
 
+import io.netty.channel.EventLoop;
+
 class NettyIOContextTest {
 
     @Test
@@ -47,4 +50,32 @@ class NettyIOContextTest {
 
         assertTrue(context.eventLoop().isShutdown());
     }
+
+    @Test
+    void testPinnedContextUsesSingleEventLoopOfSharedGroup() {
+        NettyIOContext shared = new NettyIOContext(new TransportOptions(), new SslOptions(), "test", 2);
+        NettyIOContext pinned = shared.pinnedContext(new TransportOptions(), new SslOptions());
+
+        assertNotNull(pinned.eventLoop());
+        assertTrue(pinned.eventLoop() instanceof EventLoop);
+        assertSame(pinned.eventLoop(), pinned.eventLoop().next());
+
+        // Pinned context does not own the shared group
+        pinned.shutdown();
+
+        assertFalse(pinned.eventLoop().isShutdown());
+        assertFalse(shared.eventLoop().isShutdown());
+        assertNotNull(pinned.newTransport());
+
+        shared.shutdown();
+
+        assertTrue(pinned.eventLoop().isShutdown());
+        assertThrows(IllegalStateException.class, () -> pinned.newTransport());
+        assertThrows(IllegalStateException.class, () -> shared.pinnedContext(new TransportOptions(), new SslOptions()));
+    }
+
+    @Test
+    void testCreateWithInvalidThreadCount() {
+        assertThrows(IllegalArgumentException.class, () -> new NettyIOContext(new TransportOptions(), new SslOptions(), "test", 0));
+    }
 }
@@ -30,12 +30,17 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonCompositeBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonNettyByteBuffer;
+import org.apache.qpid.protonj2.client.FlushPolicy;
 import org.apache.qpid.protonj2.client.SslOptions;
 import org.apache.qpid.protonj2.client.TransportOptions;
 import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
@@ -578,6 +583,210 @@ public class TcpTransportTest extends ImperativeClientTestCase {
         assertTrue(exceptions.isEmpty());
     }
 
+    @Test
+    public void testCompositeDataSentWithWriteAndFlushIsReceived() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            Transport transport = createTransport(createTransportOptions(), createSSLOptions());
+            try {
+                transport.connect(HOSTNAME, port, testListener).awaitConnect();
+                LOG.info("Connected to server:{}:{} as expected.", HOSTNAME, port);
+            } catch (Exception e) {
+                fail("Should not have failed to connect to the server at " + HOSTNAME + ":" + port + " but got exception: " + e);
+            }
+
+            assertTrue(transport.isConnected());
+
+            final ProtonBuffer header = transport.getBufferAllocator().outputBuffer(8);
+            final ProtonBuffer payload = transport.getBufferAllocator().outputBuffer(SEND_BYTE_COUNT);
+            for (int i = 0; i < 8; ++i) {
+                header.writeByte('H');
+            }
+            for (int i = 0; i < SEND_BYTE_COUNT; ++i) {
+                payload.writeByte('A');
+            }
+
+            final ProtonCompositeBuffer sendBuffer = new ProtonCompositeBuffer();
+            sendBuffer.append(header).append(payload.retainedSlice(0, SEND_BYTE_COUNT)).append(new byte[] { 'F' });
+
+            final CountDownLatch written = new CountDownLatch(1);
+
+            transport.writeAndFlush(sendBuffer, written::countDown);
+
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            assertTrue(Wait.waitFor(() -> data.stream().mapToInt(ProtonBuffer::getReadableBytes).sum() == SEND_BYTE_COUNT + 9, 10000, 50));
+
+            // Netty releases the gathered header and the retained payload slice once written
+            assertEquals(0, ((ByteBuf) header.unwrap()).refCnt());
+            assertEquals(1, ((ByteBuf) payload.unwrap()).refCnt());
+            payload.release();
+
+            transport.close();
+        }
+
+        assertTrue(!transportErrored);  // Normal shutdown does not trigger the event.
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testThroughputFlushPolicyDefersFlushToEndOfEventLoopTask() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            Transport transport = createTransport(createTransportOptions().flushPolicy(FlushPolicy.THROUGHPUT), createSSLOptions());
+            try {
+                transport.connect(HOSTNAME, port, testListener).awaitConnect();
+                LOG.info("Connected to server:{}:{} as expected.", HOSTNAME, port);
+            } catch (Exception e) {
+                fail("Should not have failed to connect to the server at " + HOSTNAME + ":" + port + " but got exception: " + e);
+            }
+
+            assertTrue(transport.isConnected());
+
+            final int writeCount = 3;
+            final CountDownLatch written = new CountDownLatch(writeCount);
+            final AtomicInteger completedBeforeTaskEnd = new AtomicInteger(-1);
+
+            context.eventLoop().next().submit(() -> {
+                for (int i = 0; i < writeCount; ++i) {
+                    final ProtonBuffer sendBuffer = transport.getBufferAllocator().outputBuffer(SEND_BYTE_COUNT);
+                    for (int j = 0; j < SEND_BYTE_COUNT; ++j) {
+                        sendBuffer.writeByte('A');
+                    }
+
+                    transport.writeAndFlush(sendBuffer, written::countDown);
+                }
+
+                completedBeforeTaskEnd.set((int) (writeCount - written.getCount()));
+
+                return null;
+            }).get(10, TimeUnit.SECONDS);
+
+            // Nothing was flushed while the writing task was still running
+            assertEquals(0, completedBeforeTaskEnd.get());
+
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            assertTrue(Wait.waitFor(() -> data.stream().mapToInt(ProtonBuffer::getReadableBytes).sum() == SEND_BYTE_COUNT * writeCount, 10000, 50));
+
+            transport.close();
+        }
+
+        assertTrue(!transportErrored);  // Normal shutdown does not trigger the event.
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testWriteCompletionsFromEventLoopSignaledInOrderByFlush() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            Transport transport = createTransport(createTransportOptions(), createSSLOptions());
+            try {
+                transport.connect(HOSTNAME, port, testListener).awaitConnect();
+                LOG.info("Connected to server:{}:{} as expected.", HOSTNAME, port);
+            } catch (Exception e) {
+                fail("Should not have failed to connect to the server at " + HOSTNAME + ":" + port + " but got exception: " + e);
+            }
+
+            assertTrue(transport.isConnected());
+
+            final int writeCount = 5;
+            final CountDownLatch written = new CountDownLatch(writeCount);
+            final List<Integer> completionOrder = Collections.synchronizedList(new ArrayList<>());
+
+            context.eventLoop().next().submit(() -> {
+                for (int i = 0; i < writeCount; ++i) {
+                    final int writeNumber = i;
+                    final ProtonBuffer sendBuffer = transport.getBufferAllocator().outputBuffer(SEND_BYTE_COUNT);
+                    for (int j = 0; j < SEND_BYTE_COUNT; ++j) {
+                        sendBuffer.writeByte('A');
+                    }
+
+                    transport.write(sendBuffer, () -> {
+                        completionOrder.add(writeNumber);
+                        written.countDown();
+                    });
+                }
+
+                // Nothing signaled until the writes are flushed
+                assertEquals(writeCount, written.getCount());
+
+                transport.flush();
+
+                return null;
+            }).get(10, TimeUnit.SECONDS);
+
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4), completionOrder);
+            assertTrue(Wait.waitFor(() -> data.stream().mapToInt(ProtonBuffer::getReadableBytes).sum() == SEND_BYTE_COUNT * writeCount, 10000, 50));
+
+            transport.close();
+        }
+
+        assertTrue(!transportErrored);  // Normal shutdown does not trigger the event.
+        assertTrue(exceptions.isEmpty());
+    }
+
+    @Test
+    public void testWriteCompletionsFromOtherThreadsSignaledInOrderByFlush() throws Exception {
+        try (NettyEchoServer server = createEchoServer()) {
+            server.start();
+
+            int port = server.getServerPort();
+
+            Transport transport = createTransport(createTransportOptions(), createSSLOptions());
+            try {
+                transport.connect(HOSTNAME, port, testListener).awaitConnect();
+                LOG.info("Connected to server:{}:{} as expected.", HOSTNAME, port);
+            } catch (Exception e) {
+                fail("Should not have failed to connect to the server at " + HOSTNAME + ":" + port + " but got exception: " + e);
+            }
+
+            assertTrue(transport.isConnected());
+
+            final int writeCount = 5;
+            final CountDownLatch written = new CountDownLatch(writeCount);
+            final List<Integer> completionOrder = Collections.synchronizedList(new ArrayList<>());
+
+            for (int i = 0; i < writeCount; ++i) {
+                final int writeNumber = i;
+                final ProtonBuffer sendBuffer = transport.getBufferAllocator().outputBuffer(SEND_BYTE_COUNT);
+                for (int j = 0; j < SEND_BYTE_COUNT; ++j) {
+                    sendBuffer.writeByte('A');
+                }
+
+                final Runnable onComplete = () -> {
+                    completionOrder.add(writeNumber);
+                    written.countDown();
+                };
+
+                if (i % 2 == 0) {
+                    transport.write(sendBuffer, onComplete);
+                } else {
+                    transport.writeAndFlush(sendBuffer, onComplete);
+                }
+            }
+
+            transport.flush();
+
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4), completionOrder);
+            assertTrue(Wait.waitFor(() -> data.stream().mapToInt(ProtonBuffer::getReadableBytes).sum() == SEND_BYTE_COUNT * writeCount, 10000, 50));
+
+            transport.close();
+        }
+
+        assertTrue(!transportErrored);  // Normal shutdown does not trigger the event.
+        assertTrue(exceptions.isEmpty());
+    }
+
     @Test
     public void testMultipleDataPacketsSentAreReceived() throws Exception {
         doMultipleDataPacketsSentAndReceive(SEND_BYTE_COUNT, 1);
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.client.util.LatencyHistogram.Snapshot;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testEmptySnapshot() {
+        Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0, snapshot.getMean(), 0.0);
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 20; ++i) {
+            histogram.record(i);
+        }
+
+        Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(20, snapshot.getCount());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(20, snapshot.getMax());
+        assertEquals(10.5, snapshot.getMean(), 0.0);
+        assertEquals(1, snapshot.getValueAtPercentile(0));
+        assertEquals(10, snapshot.getValueAtPercentile(50));
+        assertEquals(19, snapshot.getValueAtPercentile(95));
+        assertEquals(20, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testPercentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long i = 1; i <= 100_000; ++i) {
+            histogram.record(i * 1000);
+        }
+
+        Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(100_000_000, snapshot.getMax());
+        assertWithinPrecision(50_000_000, snapshot.getValueAtPercentile(50));
+        assertWithinPrecision(99_000_000, snapshot.getValueAtPercentile(99));
+        assertWithinPrecision(99_900_000, snapshot.getValueAtPercentile(99.9));
+        assertEquals(100_000_000, snapshot.getValueAtPercentile(100));
+        assertEquals(50, snapshot.getValueAtPercentile(50, TimeUnit.MILLISECONDS), 50 / 16);
+    }
+
+    @Test
+    void testBucketBoundsCoverFullRange() {
+        assertEquals(0, LatencyHistogram.bucketIndex(0));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            final int index = LatencyHistogram.bucketIndex(value);
+
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.bucketUpperBound(index - 1) < value);
+        }
+    }
+
+    @Test
+    void testNegativeValuesRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(-10);
+
+        Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1, snapshot.getCount());
+        assertEquals(0, snapshot.getMax());
+    }
+
+    @Test
+    void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(100);
+        histogram.reset();
+
+        assertEquals(0, histogram.snapshot().getCount());
+
+        histogram.record(5);
+
+        assertEquals(5, histogram.snapshot().getMin());
+    }
+
+    @Test
+    void testInvalidPercentile() {
+        Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(-1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(100.1));
+    }
+
+    @Test
+    void testConcurrentRecording() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 4; ++i) {
+            threads.add(new Thread(() -> {
+                for (int j = 1; j <= 10_000; ++j) {
+                    histogram.record(j);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(40_000, snapshot.getCount());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(10_000, snapshot.getMax());
+        assertEquals(5000.5, snapshot.getMean(), 0.0);
+    }
+
+    @Test
+    void testSnapshotDuringRecordingReportsConsistentMinAndMax() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final Thread recorder = new Thread(() -> {
+            for (int i = 1; i <= 100_000; ++i) {
+                histogram.record(i);
+                if (i % 100 == 0) {
+                    histogram.reset();
+                }
+            }
+        });
+
+        recorder.start();
+        while (recorder.isAlive()) {
+            Snapshot snapshot = histogram.snapshot();
+
+            if (snapshot.getCount() > 0) {
+                assertTrue(snapshot.getMin() <= snapshot.getMax(), "Min " + snapshot.getMin() + " exceeds max " + snapshot.getMax());
+                assertTrue(snapshot.getMax() <= LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(100_000)));
+            }
+        }
+        recorder.join();
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / 16, "Expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.engine.impl.ProtonDeliveryTagGenerator;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Base for benchmarks that run a sending engine and a receiving engine back to back in memory,
+ * the output of each engine is queued and fed into the other one when the benchmark pumps the
+ * pair so every operation covers the full frame encode, decode and session window path of both
+ * ends without any network or threading involved.
+ * <p>
+ * Results are reported as operations per second, run with the GC profiler (as {@link #runBenchmark(Class)}
+ * does) to see the normalized allocation rate which is the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public abstract class EngineLoopbackBenchmarkBase {
+
+    public static final int DEFAULT_MAX_FRAME_SIZE = 16 * 1024;
+    public static final int DEFAULT_LINK_CREDIT = 1000;
+
+    private final Queue<ProtonBuffer> senderToReceiver = new ArrayDeque<>();
+    private final Queue<ProtonBuffer> receiverToSender = new ArrayDeque<>();
+
+    protected Engine senderEngine;
+    protected Engine receiverEngine;
+    protected Connection connection;
+    protected Session session;
+
+    /**
+     * Creates both engines and opens the connection and a session between them, receivers are
+     * opened with credit by the receiving engine as the sending engine attaches senders.
+     */
+    protected void initEngines() {
+        senderEngine = EngineFactory.PROTON.createNonSaslEngine();
+        receiverEngine = EngineFactory.PROTON.createNonSaslEngine();
+
+        senderEngine.outputHandler((buffer, ioComplete) -> {
+            senderToReceiver.add(buffer);
+            if (ioComplete != null) {
+                ioComplete.run();
+            }
+        });
+        receiverEngine.outputHandler((buffer, ioComplete) -> {
+            receiverToSender.add(buffer);
+            if (ioComplete != null) {
+                ioComplete.run();
+            }
+        });
+
+        final Connection remoteConnection = receiverEngine.start().setMaxFrameSize(maxFrameSize());
+
+        remoteConnection.openHandler(connection -> connection.open());
+        remoteConnection.sessionOpenHandler(session -> session.open());
+        remoteConnection.receiverOpenHandler(receiver -> {
+            receiver.deliveryReadHandler(this::handleDeliveryRead);
+            receiver.open().addCredit(linkCredit());
+        });
+
+        connection = senderEngine.start().setMaxFrameSize(maxFrameSize()).open();
+        session = connection.session().open();
+
+        pump();
+    }
+
+    /**
+     * Opens a new sender on the benchmark session that settles its deliveries locally once the
+     * receiving end has settled them.
+     *
+     * @param name
+     *      The name to give the new sender.
+     *
+     * @return the opened sender which has been granted credit by the receiving end.
+     */
+    protected Sender openSender(String name) {
+        final Sender sender = session.sender(name)
+                                     .setDeliveryTagGenerator(ProtonDeliveryTagGenerator.BUILTIN.POOLED.createGenerator())
+                                     .deliveryStateUpdatedHandler(delivery -> {
+                                         if (delivery.isRemotelySettled()) {
+                                             delivery.settle();
+                                         }
+                                     })
+                                     .open();
+
+        pump();
+
+        return sender;
+    }
+
+    /**
+     * Sends the payload as a single delivery on the given sender without pumping the engines.
+     *
+     * @param sender
+     *      The sender to write the delivery to.
+     * @param payload
+     *      The payload which is rewound before it is written.
+     * @param settled
+     *      Should the delivery be sent presettled.
+     */
+    protected static void send(Sender sender, ProtonBuffer payload, boolean settled) {
+        final OutgoingDelivery delivery = sender.next();
+
+        if (settled) {
+            delivery.settle();
+        }
+
+        payload.setReadIndex(0);
+        delivery.writeBytes(payload);
+    }
+
+    /**
+     * Called on the receiving engine for each incoming transfer, by default the payload is read
+     * and once the delivery is complete it is accepted and settled unless sent presettled.  Link
+     * credit is topped up as it runs low.
+     *
+     * @param delivery
+     *      The delivery that was updated by an incoming transfer.
+     */
+    protected void handleDeliveryRead(IncomingDelivery delivery) {
+        delivery.readAll();
+
+        if (!delivery.isPartial()) {
+            if (!delivery.isRemotelySettled()) {
+                delivery.disposition(Accepted.getInstance(), true);
+            }
+
+            replenishCredit(delivery.getLink());
+        }
+    }
+
+    protected void replenishCredit(Receiver receiver) {
+        if (receiver.getCredit() < linkCredit() / 2) {
+            receiver.addCredit(linkCredit() - receiver.getCredit());
+        }
+    }
+
+    /**
+     * Moves all pending output of each engine into the other until neither has anything left
+     * to write.
+     */
+    protected void pump() {
+        while (!senderToReceiver.isEmpty() || !receiverToSender.isEmpty()) {
+            while (!senderToReceiver.isEmpty()) {
+                receiverEngine.accept(senderToReceiver.poll());
+            }
+            while (!receiverToSender.isEmpty()) {
+                senderEngine.accept(receiverToSender.poll());
+            }
+        }
+    }
+
+    protected int maxFrameSize() {
+        return DEFAULT_MAX_FRAME_SIZE;
+    }
+
+    protected int linkCredit() {
+        return DEFAULT_LINK_CREDIT;
+    }
+
+    protected static ProtonBuffer createPayload(int size) {
+        final byte[] payload = new byte[size];
+
+        for (int i = 0; i < size; ++i) {
+            payload[i] = (byte) i;
+        }
+
+        return ProtonByteBufferAllocator.DEFAULT.wrap(payload);
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(benchmarkClass.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .shouldDoGC(true)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures the settlement of deliveries by the receiving engine.  The receiver holds on to the
+ * deliveries that arrive and each operation settles them after the sends have been pumped, either
+ * one at a time or after a batch of deliveries is outstanding, the results are per delivery.
+ */
+public class LoopbackDispositionBenchmark extends EngineLoopbackBenchmarkBase {
+
+    public static final int PAYLOAD_SIZE = 64;
+    public static final int BATCH_SIZE = 100;
+
+    private final Queue<IncomingDelivery> received = new ArrayDeque<>();
+
+    private ProtonBuffer payload;
+    private Sender sender;
+
+    @Setup
+    public void init() {
+        initEngines();
+
+        payload = createPayload(PAYLOAD_SIZE);
+        sender = openSender("sender");
+    }
+
+    @Override
+    protected void handleDeliveryRead(IncomingDelivery delivery) {
+        delivery.readAll();
+
+        if (!delivery.isPartial()) {
+            received.add(delivery);
+        }
+    }
+
+    @Benchmark
+    public Sender settleEach() {
+        send(sender, payload, false);
+        pump();
+        settleReceived();
+
+        return sender;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Sender settleBatch() {
+        for (int i = 0; i < BATCH_SIZE; ++i) {
+            send(sender, payload, false);
+        }
+
+        pump();
+        settleReceived();
+
+        return sender;
+    }
+
+    private void settleReceived() {
+        IncomingDelivery delivery;
+
+        while ((delivery = received.poll()) != null) {
+            delivery.disposition(Accepted.getInstance(), true);
+            replenishCredit(delivery.getLink());
+        }
+
+        pump();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(LoopbackDispositionBenchmark.class);
+    }
+}
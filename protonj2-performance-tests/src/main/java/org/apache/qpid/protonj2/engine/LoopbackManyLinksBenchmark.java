@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures messages per second sent from one engine to another when the session carries many
+ * links, each operation sends one unsettled message on the next sender in turn which exercises
+ * the channel and handle lookups and the per link state of both engines.
+ */
+public class LoopbackManyLinksBenchmark extends EngineLoopbackBenchmarkBase {
+
+    public static final int PAYLOAD_SIZE = 256;
+
+    @Param({"1", "100", "1000"})
+    public int linkCount;
+
+    private ProtonBuffer payload;
+    private Sender[] senders;
+    private int nextSender;
+
+    @Setup
+    public void init() {
+        initEngines();
+
+        payload = createPayload(PAYLOAD_SIZE);
+        senders = new Sender[linkCount];
+
+        for (int i = 0; i < linkCount; ++i) {
+            senders[i] = openSender("sender-" + i);
+        }
+    }
+
+    @Benchmark
+    public Sender sendAndReceive() {
+        final Sender sender = senders[nextSender];
+
+        nextSender = ++nextSender == senders.length ? 0 : nextSender;
+
+        send(sender, payload, false);
+        pump();
+
+        return sender;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(LoopbackManyLinksBenchmark.class);
+    }
+}
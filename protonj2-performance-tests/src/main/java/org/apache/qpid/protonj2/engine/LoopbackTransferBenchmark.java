@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures messages per second sent from one engine to another over a single link, each
+ * operation sends one message and runs both engines until the receiving end has consumed it
+ * and, for unsettled sends, the sending end has seen it settled.  Payloads larger than the
+ * {@link #DEFAULT_MAX_FRAME_SIZE} are split over multiple transfer frames.
+ */
+public class LoopbackTransferBenchmark extends EngineLoopbackBenchmarkBase {
+
+    @Param({"true", "false"})
+    public boolean presettled;
+
+    @Param({"64", "1024", "65536"})
+    public int payloadSize;
+
+    private ProtonBuffer payload;
+    private Sender sender;
+
+    @Setup
+    public void init() {
+        initEngines();
+
+        payload = createPayload(payloadSize);
+        sender = openSender("sender");
+    }
+
+    @Benchmark
+    public Sender sendAndReceive() {
+        send(sender, payload, presettled);
+        pump();
+
+        return sender;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(LoopbackTransferBenchmark.class);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.engine.impl.ProtonDeliveryTagGenerator;
+import org.apache.qpid.protonj2.engine.impl.ProtonSenderScheduler;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures sends on a session with many senders whose outgoing capacity only allows a single
+ * pending frame, so every send closes the session window and every completed write opens it
+ * again which triggers notification of the senders that are blocked on session capacity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+public class SessionSenderNotificationBenchmark {
+
+    public static final int MAX_FRAME_SIZE = 1024;
+    public static final int LINK_CREDIT = 1000;
+
+    @Param({"1", "64", "512"})
+    public int senderCount;
+
+    @Param({"ROUND_ROBIN", "DEFICIT_ROUND_ROBIN"})
+    public String scheduler;
+
+    private final Queue<ProtonBuffer> localToRemote = new ArrayDeque<>();
+    private final Queue<ProtonBuffer> remoteToLocal = new ArrayDeque<>();
+    private final Queue<Runnable> pendingWrites = new ArrayDeque<>();
+
+    private final ProtonBuffer payload = ProtonByteBufferAllocator.DEFAULT.wrap(new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+
+    private Engine localEngine;
+    private Engine remoteEngine;
+    private Sender[] senders;
+    private int nextSender;
+
+    @Setup
+    public void init() {
+        localEngine = EngineFactory.PROTON.createNonSaslEngine();
+        remoteEngine = EngineFactory.PROTON.createNonSaslEngine();
+
+        localEngine.outputHandler((buffer, ioComplete) -> {
+            localToRemote.add(buffer);
+            if (ioComplete != null) {
+                pendingWrites.add(ioComplete);
+            }
+        });
+        remoteEngine.outputHandler((buffer, ioComplete) -> {
+            remoteToLocal.add(buffer);
+            if (ioComplete != null) {
+                ioComplete.run();
+            }
+        });
+
+        final Connection remoteConnection = remoteEngine.start().setMaxFrameSize(MAX_FRAME_SIZE);
+
+        remoteConnection.openHandler(connection -> connection.open());
+        remoteConnection.sessionOpenHandler(session -> session.open());
+        remoteConnection.receiverOpenHandler(receiver -> {
+            receiver.deliveryReadHandler(delivery -> {
+                delivery.readAll();
+                delivery.disposition(Accepted.getInstance(), true);
+
+                if (receiver.getCredit() < LINK_CREDIT / 2) {
+                    receiver.addCredit(LINK_CREDIT - receiver.getCredit());
+                }
+            });
+            receiver.open().addCredit(LINK_CREDIT);
+        });
+
+        final Connection connection = localEngine.start().setMaxFrameSize(MAX_FRAME_SIZE).open();
+        final Session session = connection.session().setOutgoingCapacity(MAX_FRAME_SIZE)
+                                                    .setSenderScheduler(ProtonSenderScheduler.BUILTIN.valueOf(scheduler).createScheduler())
+                                                    .open();
+
+        senders = new Sender[senderCount];
+        for (int i = 0; i < senderCount; ++i) {
+            senders[i] = session.sender("sender-" + i)
+                                .setDeliveryTagGenerator(ProtonDeliveryTagGenerator.BUILTIN.POOLED.createGenerator())
+                                .open();
+        }
+
+        pumpAndCompleteWrites();
+    }
+
+    @Benchmark
+    public Sender sendThenCompleteWrite() {
+        final Sender sender = senders[nextSender];
+
+        nextSender = ++nextSender == senders.length ? 0 : nextSender;
+
+        payload.setReadIndex(0);
+        sender.next().writeBytes(payload);
+
+        pumpAndCompleteWrites();
+
+        return sender;
+    }
+
+    private void pumpAndCompleteWrites() {
+        while (!localToRemote.isEmpty() || !remoteToLocal.isEmpty() || !pendingWrites.isEmpty()) {
+            while (!pendingWrites.isEmpty()) {
+                pendingWrites.poll().run();
+            }
+            while (!localToRemote.isEmpty()) {
+                remoteEngine.accept(localToRemote.poll());
+            }
+            while (!remoteToLocal.isEmpty()) {
+                localEngine.accept(remoteToLocal.poll());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(SessionSenderNotificationBenchmark.class);
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(benchmarkClass.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .shouldDoGC(true)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Tests for performance characteristics of the {@link IntObjectMap} implementation compared to
+ * the {@link SplayMap} primitive accessors and a boxed {@link HashMap} performing the same work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+public class IntObjectMapBenchmark {
+
+    public static final int DEFAULT_MAP_VALUE_RANGE = MapBenchmarkBase.DEFAULT_MAP_VALUE_RANGE;
+
+    protected final String DUMMY_STRING = "ASDFGHJ";
+    protected final Random random = new Random();
+
+    private IntObjectMap<String> map;
+    private IntObjectMap<String> filledMap;
+    private SplayMap<String> filledSplayMap;
+    private Map<Integer, String> filledHashMap;
+
+    public static void main(String[] args) throws RunnerException {
+        MapBenchmarkBase.runBenchmark(IntObjectMapBenchmark.class);
+    }
+
+    @Setup
+    public void init() {
+        this.random.setSeed(System.currentTimeMillis());
+        this.map = new IntObjectMap<>();
+        this.filledMap = new IntObjectMap<>();
+        this.filledSplayMap = new SplayMap<>();
+        this.filledHashMap = new HashMap<>();
+
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            filledMap.put(i, DUMMY_STRING);
+            filledSplayMap.put(i, DUMMY_STRING);
+            filledHashMap.put(i, DUMMY_STRING);
+        }
+    }
+
+    @Benchmark
+    public void put() {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            map.put(i, DUMMY_STRING);
+        }
+    }
+
+    @Benchmark
+    public void get(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            blackHole.consume(filledMap.get(i));
+        }
+    }
+
+    @Benchmark
+    public void getFromSplayMap(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            blackHole.consume(filledSplayMap.get(i));
+        }
+    }
+
+    @Benchmark
+    public void getFromHashMap(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            blackHole.consume(filledHashMap.get(i));
+        }
+    }
+
+    @Benchmark
+    public void randomGet(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            blackHole.consume(filledMap.get(random.nextInt(DEFAULT_MAP_VALUE_RANGE)));
+        }
+    }
+
+    @Benchmark
+    public void randomGetFromSplayMap(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            blackHole.consume(filledSplayMap.get(random.nextInt(DEFAULT_MAP_VALUE_RANGE)));
+        }
+    }
+
+    @Benchmark
+    public void randomGetFromHashMap(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            blackHole.consume(filledHashMap.get(random.nextInt(DEFAULT_MAP_VALUE_RANGE)));
+        }
+    }
+
+    @Benchmark
+    public void remove(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            blackHole.consume(filledMap.remove(i));
+        }
+    }
+
+    @Benchmark
+    public void produceAndConsume(Blackhole blackHole) {
+        for (int i = 0; i < 32; ++i) {
+            map.put(i, DUMMY_STRING);
+        }
+
+        for (int p = 0, c = map.size(); p < DEFAULT_MAP_VALUE_RANGE; ++p, ++c) {
+            blackHole.consume(filledMap.put(p, DUMMY_STRING));
+            blackHole.consume(filledMap.remove(c));
+        }
+    }
+
+    @Benchmark
+    public void randomProduceAndConsume(Blackhole blackHole) {
+        for (int i = 0; i < 32; ++i) {
+            map.put(i, DUMMY_STRING);
+        }
+
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            int p = random.nextInt(DEFAULT_MAP_VALUE_RANGE);
+            int c = random.nextInt(DEFAULT_MAP_VALUE_RANGE);
+
+            blackHole.consume(filledMap.put(p, DUMMY_STRING));
+            blackHole.consume(filledMap.remove(c));
+        }
+    }
+}
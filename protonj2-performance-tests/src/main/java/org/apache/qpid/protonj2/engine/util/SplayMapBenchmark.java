@@ -33,6 +33,9 @@ public class SplayMapBenchmark extends MapBenchmarkBase {
         runBenchmark(SplayMapBenchmark.class);
     }
 
+    private static final int SPARSE_RANGE_SPAN = DEFAULT_MAP_VALUE_RANGE * 16;
+    private static final int SPARSE_RANGE_STRIDE = 64;
+
     private SplayMap<String> sqMap;
     private SplayMap<String> sqFilledMap;
 
@@ -66,6 +69,46 @@ public class SplayMapBenchmark extends MapBenchmarkBase {
         }
     }
 
+    @Benchmark
+    public void putAndRemoveRangeWithPrimitive(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            sqMap.put(i, DUMMY_STRING);
+        }
+
+        blackHole.consume(sqMap.removeRange(0, DEFAULT_MAP_VALUE_RANGE - 1, blackHole::consume));
+    }
+
+    @Benchmark
+    public void putAndRemoveEachInRangeWithPrimitive(Blackhole blackHole) {
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            sqMap.put(i, DUMMY_STRING);
+        }
+
+        for (int i = 0; i < DEFAULT_MAP_VALUE_RANGE; ++i) {
+            blackHole.consume(sqMap.remove(i));
+        }
+    }
+
+    @Benchmark
+    public void putAndRemoveSparseRangeWithPrimitive(Blackhole blackHole) {
+        for (int i = 0; i < SPARSE_RANGE_SPAN; i += SPARSE_RANGE_STRIDE) {
+            sqMap.put(i, DUMMY_STRING);
+        }
+
+        blackHole.consume(sqMap.removeRange(0, SPARSE_RANGE_SPAN - 1, blackHole::consume));
+    }
+
+    @Benchmark
+    public void putAndRemoveEachInSparseRangeWithPrimitive(Blackhole blackHole) {
+        for (int i = 0; i < SPARSE_RANGE_SPAN; i += SPARSE_RANGE_STRIDE) {
+            sqMap.put(i, DUMMY_STRING);
+        }
+
+        for (int i = 0; i < SPARSE_RANGE_SPAN; ++i) {
+            blackHole.consume(sqMap.remove(i));
+        }
+    }
+
     @Override
     protected Map<UnsignedInteger, String> createMap() {
         return new SplayMap<>();
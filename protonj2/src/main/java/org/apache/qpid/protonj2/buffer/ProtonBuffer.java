@@ -37,6 +37,50 @@ public interface ProtonBuffer extends Comparable<ProtonBuffer> {
      */
     default Object unwrap() { return null; }
 
+    /**
+     * Returns true if the lifetime of this buffer is controlled by reference counting, in which
+     * case each call to {@link #retain()} must be balanced by a call to {@link #release()} before
+     * the backing resources can be reclaimed.  Buffers that are not reference counted treat the
+     * retain and release operations as no-ops.
+     *
+     * @return true if this buffer is backed by a reference counted resource.
+     */
+    default boolean isReferenceCounted() { return false; }
+
+    /**
+     * Increments the reference count of the resources backing this buffer, for buffer types that
+     * are not reference counted this method does nothing.
+     *
+     * @return this buffer for using in call chaining.
+     */
+    default ProtonBuffer retain() { return this; }
+
+    /**
+     * Decrements the reference count of the resources backing this buffer and frees them if the
+     * count reaches zero, for buffer types that are not reference counted this method does nothing.
+     *
+     * @return true if the reference count reached zero and the backing resources were freed.
+     */
+    default boolean release() { return false; }
+
+    /**
+     * Create a new ProtonBuffer whose contents are a subsequence of the contents of this
+     * {@link ProtonBuffer} and which holds its own reference to the backing resources of this
+     * buffer.  The returned slice must be released independently of this buffer, which allows
+     * the original buffer to be released once the slice has been handed off.  For buffer types
+     * that are not reference counted this is equivalent to calling {@link #slice(int, int)}.
+     *
+     * @param index
+     *      The index in this buffer where the slice should begin.
+     * @param length
+     *      The number of bytes to make visible to the new buffer from this one.
+     *
+     * @return a new {@link ProtonBuffer} whose contents are a subsequence of this buffer.
+     */
+    default ProtonBuffer retainedSlice(int index, int length) {
+        return retain().slice(index, length);
+    }
+
     /**
      * @return true if this buffer has a backing byte array that can be accessed.
      */
@@ -22,6 +22,10 @@ import java.util.function.Consumer;
 
 /**
  * A composite of 1 or more ProtonBuffer instances used when aggregating buffer views.
+ * <p>
+ * The composite takes ownership of any reference counted buffer that is appended to it,
+ * such buffers are released when the composite discards them in {@link #reclaimRead()} or
+ * when the composite itself is released.
  */
 public final class ProtonCompositeBuffer extends ProtonAbstractBuffer {
 
@@ -122,7 +126,8 @@ public final class ProtonCompositeBuffer extends ProtonAbstractBuffer {
 
     /**
      * Appends the given {@link ProtonBuffer} to the end of the buffer segments that comprise this composite
-     * {@link ProtonBuffer} instance.
+     * {@link ProtonBuffer} instance.  If the given buffer is reference counted this composite assumes
+     * ownership of the reference held by the caller.
      *
      * @param buffer
      *      The {@link ProtonBuffer} instance to append.
@@ -133,6 +138,7 @@ public final class ProtonCompositeBuffer extends ProtonAbstractBuffer {
      */
     public ProtonCompositeBuffer append(ProtonBuffer buffer) {
         if (!buffer.isReadable()) {
+            buffer.release();
             return this;
         }
 
@@ -211,6 +217,7 @@ public final class ProtonCompositeBuffer extends ProtonAbstractBuffer {
 
         final int writeIndex = this.writeIndex;
         if (readIndex == writeIndex && writeIndex == capacity()) {
+            releaseChunks();
             capacity = 0;
             totalChunks = 0;
             lastAccessedChunk = head;
@@ -228,6 +235,7 @@ public final class ProtonCompositeBuffer extends ProtonAbstractBuffer {
 
                 totalChunks--;
                 removedSize += head.next.length;
+                head.next.buffer.release();
 
                 head.next = head.next.next;
                 head.next.prev = head;
@@ -259,6 +267,35 @@ public final class ProtonCompositeBuffer extends ProtonAbstractBuffer {
 
     //----- ProtonAbstractBuffer API implementation
 
+    @Override
+    public boolean isReferenceCounted() {
+        Chunk current = head.next;
+        while (current != tail) {
+            if (current.buffer.isReferenceCounted()) {
+                return true;
+            }
+            current = current.next;
+        }
+
+        return false;
+    }
+
+    @Override
+    public ProtonBuffer retain() {
+        Chunk current = head.next;
+        while (current != tail) {
+            current.buffer.retain();
+            current = current.next;
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return releaseChunks();
+    }
+
     @Override
     public boolean hasArray() {
         switch (totalChunks) {
@@ -637,6 +674,29 @@ public final class ProtonCompositeBuffer extends ProtonAbstractBuffer {
         return this;
     }
 
+    /*
+     * Releases each chunk buffer and returns true if at least one was reference counted and
+     * every reference counted chunk was freed as a result.
+     */
+    private boolean releaseChunks() {
+        boolean released = false;
+        boolean retained = false;
+
+        Chunk current = head.next;
+        while (current != tail) {
+            if (current.buffer.isReferenceCounted()) {
+                if (current.buffer.release()) {
+                    released = true;
+                } else {
+                    retained = true;
+                }
+            }
+            current = current.next;
+        }
+
+        return released && !retained;
+    }
+
     // TODO: Need to validate access of individual buffer chunks if API is added for that.
     @SuppressWarnings("unused")
     private void checkBufferIndex(int index) {
@@ -49,6 +49,22 @@ public class ProtonDuplicatedBuffer extends ProtonAbstractBuffer {
         markWriteIndex();
     }
 
+    @Override
+    public boolean isReferenceCounted() {
+        return buffer.isReferenceCounted();
+    }
+
+    @Override
+    public ProtonBuffer retain() {
+        buffer.retain();
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return buffer.release();
+    }
+
     @Override
     public boolean hasArray() {
         return buffer.hasArray();
@@ -55,6 +55,27 @@ public final class ProtonNettyByteBuffer implements ProtonBuffer {
         return wrapped;
     }
 
+    @Override
+    public boolean isReferenceCounted() {
+        return true;
+    }
+
+    @Override
+    public ProtonBuffer retain() {
+        wrapped.retain();
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return wrapped.release();
+    }
+
+    @Override
+    public ProtonBuffer retainedSlice(int index, int length) {
+        return new ProtonNettyByteBuffer(wrapped.retainedSlice(index, length));
+    }
+
     @Override
     public int capacity() {
         return wrapped.capacity();
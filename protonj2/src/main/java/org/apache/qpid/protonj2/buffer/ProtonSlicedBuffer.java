@@ -57,6 +57,22 @@ public class ProtonSlicedBuffer extends ProtonAbstractBuffer {
         setWriteIndex(capacity);
     }
 
+    @Override
+    public boolean isReferenceCounted() {
+        return buffer.isReferenceCounted();
+    }
+
+    @Override
+    public ProtonBuffer retain() {
+        buffer.retain();
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return buffer.release();
+    }
+
     @Override
     public boolean hasArray() {
         return buffer.hasArray();
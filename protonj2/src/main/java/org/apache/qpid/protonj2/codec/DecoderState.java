@@ -50,4 +50,15 @@ public interface DecoderState {
      */
     String decodeUTF8(ProtonBuffer buffer, int length) throws DecodeException;
 
+    /**
+     * Indicates if Binary values (and the Data sections that carry them) should be decoded as slices
+     * of the buffer being decoded instead of copies of the encoded bytes.  A sliced value shares its
+     * content with the source buffer, it is only valid for as long as the source buffer is and should
+     * be treated as read-only.
+     *
+     * @return true if Binary values are decoded as slices of the source buffer.
+     */
+    default boolean isSlicingBinaryValues() {
+        return false;
+    }
 }
@@ -1018,4 +1018,24 @@ public interface Encoder {
      */
     TypeEncoder<?> getTypeEncoder(Class<?> typeClass);
 
+    /**
+     * Computes the number of bytes that {@link #writeObject(ProtonBuffer, EncoderState, Object)}
+     * would write for the given value without encoding it.  The default implementation returns -1
+     * to indicate that the size is not known.
+     *
+     * @param state
+     *      The {@link EncoderState} to use when computing the size.
+     * @param value
+     *      The value whose encoded size is to be computed, null values are allowed.
+     *
+     * @return the encoded size of the value in bytes or -1 if it cannot be computed.
+     *
+     * @throws EncodeException if an error occurs while computing the size of the given value.
+     *
+     * @see TypeEncoder#getEncodedSize(EncoderState, Object)
+     */
+    default int getEncodedSize(EncoderState state, Object value) throws EncodeException {
+        return -1;
+    }
+
 }
@@ -49,4 +49,48 @@ public interface EncoderState {
      */
     ProtonBuffer encodeUTF8(ProtonBuffer buffer, CharSequence sequence) throws EncodeException;
 
+    /**
+     * Computes the number of bytes that encoding the given sequence of characters in UTF8 with
+     * {@link #encodeUTF8(ProtonBuffer, CharSequence)} would write.  The default implementation
+     * returns -1 as the length produced by a custom encoding is not known.
+     *
+     * @param sequence
+     *      A {@link CharSequence} whose UTF-8 encoded length is to be computed.
+     *
+     * @return the number of UTF-8 bytes or -1 if the length is not known until the sequence is encoded.
+     */
+    default int getUTF8Length(CharSequence sequence) {
+        return -1;
+    }
+
+    /**
+     * Retains the size a {@link TypeEncoder} computed for the given value while computing its encoded size
+     * so that a write of the same value using this state can use it instead of computing it again.  The value
+     * must not be modified between computing its size and writing it.  The default implementation does not
+     * retain the size.
+     *
+     * @param value
+     *      The value whose computed size is to be retained.
+     * @param size
+     *      The size that was computed for the value.
+     *
+     * @return this {@link EncoderState} instance.
+     */
+    default EncoderState cacheEncodedSize(Object value, int size) {
+        return this;
+    }
+
+    /**
+     * Removes and returns a size previously retained for the given value by a call to
+     * {@link #cacheEncodedSize(Object, int)}.  The default implementation returns -1.
+     *
+     * @param value
+     *      The value whose retained size is requested.
+     *
+     * @return the retained size or -1 if no size was retained for the given value.
+     */
+    default int removeCachedEncodedSize(Object value) {
+        return -1;
+    }
+
 }
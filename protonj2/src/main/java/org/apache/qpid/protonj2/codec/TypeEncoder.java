@@ -87,4 +87,24 @@ public interface TypeEncoder<V> {
      */
     void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) throws EncodeException;
 
+    /**
+     * Computes the number of bytes that {@link #writeType(ProtonBuffer, EncoderState, Object)} would
+     * write for the given value without encoding it.
+     * <p>
+     * The size can be used to allocate an output buffer of the right size up front.  Encoders for
+     * which the size cannot be computed without doing most of the work of encoding the value return
+     * a negative size in which case the caller must allow the buffer to grow as the value is written.
+     *
+     * @param state
+     *      The current encoder state
+     * @param value
+     *      The value whose encoded size is to be computed.
+     *
+     * @return the encoded size of the value in bytes or -1 if not computed by this encoder.
+     *
+     * @throws EncodeException if an error occurs while computing the size of the given value.
+     */
+    default int getEncodedSize(EncoderState state, V value) throws EncodeException {
+        return -1;
+    }
 }
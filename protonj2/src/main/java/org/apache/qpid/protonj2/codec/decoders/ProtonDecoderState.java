@@ -40,6 +40,7 @@ public final class ProtonDecoderState implements DecoderState {
     private final char[] decodeCache = new char[MAX_CHAR_BUFFER_CAHCE_SIZE];
 
     private UTF8Decoder stringDecoder;
+    private boolean slicingBinaryValues;
 
     /**
      * Create a new {@link DecoderState} instance that is joined forever to the given {@link Decoder}.
@@ -84,6 +85,27 @@ public final class ProtonDecoderState implements DecoderState {
         return this;
     }
 
+    @Override
+    public boolean isSlicingBinaryValues() {
+        return slicingBinaryValues;
+    }
+
+    /**
+     * Controls if Binary values and Data sections are decoded as slices of the buffer being decoded
+     * or as copies of the encoded bytes (the default).  Slicing avoids copying large payloads but the
+     * decoded values then share their content with the source buffer, they must not outlive it or be
+     * written to.  This setting is not affected by a call to {@link #reset()}.
+     *
+     * @param slicingBinaryValues
+     * 		should Binary values be decoded as slices of the source buffer.
+     *
+     * @return this {@link DecoderState} instance.
+     */
+    public ProtonDecoderState setSlicingBinaryValues(boolean slicingBinaryValues) {
+        this.slicingBinaryValues = slicingBinaryValues;
+        return this;
+    }
+
     @Override
     public String decodeUTF8(ProtonBuffer buffer, int length) throws DecodeException {
         if (stringDecoder == null) {
@@ -29,6 +29,7 @@ import org.apache.qpid.protonj2.codec.TypeDecoder;
 import org.apache.qpid.protonj2.codec.decoders.AbstractDescribedTypeDecoder;
 import org.apache.qpid.protonj2.codec.decoders.ProtonStreamUtils;
 import org.apache.qpid.protonj2.codec.decoders.primitives.BinaryTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.primitives.NullTypeDecoder;
 import org.apache.qpid.protonj2.types.Binary;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.UnsignedLong;
@@ -80,10 +81,16 @@ public final class DataTypeDecoder extends AbstractDescribedTypeDecoder<Data> {
         }
 
         final int position = buffer.getReadIndex();
-        final ProtonBuffer data = ProtonByteBufferAllocator.DEFAULT.allocate(size, size);
+        final ProtonBuffer data;
+
+        if (state.isSlicingBinaryValues()) {
+            data = buffer.slice(position, size);
+        } else {
+            data = ProtonByteBufferAllocator.DEFAULT.allocate(size, size);
+            buffer.getBytes(position, data.getArray(), data.getArrayOffset(), size);
+            data.setWriteIndex(size);
+        }
 
-        buffer.getBytes(position, data.getArray(), data.getArrayOffset(), size);
-        data.setWriteIndex(size);
         buffer.setReadIndex(position + size);
 
         return new Data(new Binary(data));
@@ -107,9 +114,10 @@ public final class DataTypeDecoder extends AbstractDescribedTypeDecoder<Data> {
     public void skipValue(ProtonBuffer buffer, DecoderState state) throws DecodeException {
         final TypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(buffer, state);
 
-        checkIsExpectedType(BinaryTypeDecoder.class, decoder);
-
-        decoder.skipValue(buffer, state);
+        if (!(decoder instanceof NullTypeDecoder)) {
+            checkIsExpectedType(BinaryTypeDecoder.class, decoder);
+            decoder.skipValue(buffer, state);
+        }
     }
 
     @Override
@@ -151,8 +159,9 @@ public final class DataTypeDecoder extends AbstractDescribedTypeDecoder<Data> {
     public void skipValue(InputStream stream, StreamDecoderState state) throws DecodeException {
         final StreamTypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(stream, state);
 
-        checkIsExpectedType(BinaryTypeDecoder.class, decoder);
-
-        decoder.skipValue(stream, state);
+        if (!(decoder instanceof NullTypeDecoder)) {
+            checkIsExpectedType(BinaryTypeDecoder.class, decoder);
+            decoder.skipValue(stream, state);
+        }
     }
 }
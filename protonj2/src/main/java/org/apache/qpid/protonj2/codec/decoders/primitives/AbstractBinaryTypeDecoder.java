@@ -46,7 +46,8 @@ public abstract class AbstractBinaryTypeDecoder extends AbstractPrimitiveTypeDec
      * @param state
      * 		The {@link EncoderState} that can be used when reading the encoded value.
      *
-     * @return the bytes that comprise the encoded Binary wrapped in a {@link ProtonBuffer} instance.
+     * @return the bytes that comprise the encoded Binary wrapped in a {@link ProtonBuffer} instance, or a
+     *         slice of the source buffer if the {@link DecoderState} is slicing Binary values.
      *
      * @throws DecodeException if an error occurs while reading the Binary value.
      */
@@ -59,9 +60,15 @@ public abstract class AbstractBinaryTypeDecoder extends AbstractPrimitiveTypeDec
                               "of data available (%d)", length, buffer.getReadableBytes()));
         }
 
-        final ProtonBuffer payload = ProtonByteBufferAllocator.DEFAULT.allocate(length, length);
+        final ProtonBuffer payload;
 
-        buffer.readBytes(payload);
+        if (state.isSlicingBinaryValues()) {
+            payload = buffer.slice(buffer.getReadIndex(), length);
+            buffer.skipBytes(length);
+        } else {
+            payload = ProtonByteBufferAllocator.DEFAULT.allocate(length, length);
+            buffer.readBytes(payload);
+        }
 
         return payload;
     }
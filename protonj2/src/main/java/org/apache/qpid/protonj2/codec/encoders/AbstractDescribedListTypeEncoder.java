@@ -35,7 +35,9 @@ public abstract class AbstractDescribedListTypeEncoder<V> extends AbstractDescri
      * <p>
      * Most encoders will return LIST32 but for cases where the type is known to
      * be encoded to LIST8 or always encodes an empty list (LIST0) the encoder can
-     * optimize the encode step and not compute sizes.
+     * optimize the encode step and not compute sizes.  A type whose encoder returns
+     * LIST32 is still written as a LIST8 when the encoder computes the sizes of its
+     * elements and they fit.
      *
      * @param value
      *      The value that is to be encoded.
@@ -60,6 +62,27 @@ public abstract class AbstractDescribedListTypeEncoder<V> extends AbstractDescri
      */
     public abstract void writeElement(V source, int index, ProtonBuffer buffer, EncoderState state);
 
+    /**
+     * Computes the number of bytes that writing the element identified with the given index would
+     * produce.
+     * <p>
+     * Encoders that compute the size of their elements allow the encoded size of the type to be
+     * known before it is written and allow a type whose list encoding is LIST32 to be written as
+     * a LIST8 when the elements fit, by default the element sizes are not computed.
+     *
+     * @param source
+     *      the source of the list elements to size
+     * @param index
+     *      the element index whose encoded size is needed
+     * @param state
+     *      the current EncoderState value to use.
+     *
+     * @return the encoded size of the element or -1 if not computed by this encoder.
+     */
+    public int getElementEncodedSize(V source, int index, EncoderState state) {
+        return -1;
+    }
+
     /**
      * Gets the number of elements that will result when this type is encoded
      * into an AMQP List type.
@@ -87,12 +110,24 @@ public abstract class AbstractDescribedListTypeEncoder<V> extends AbstractDescri
         state.getEncoder().writeUnsignedLong(buffer, state, getDescriptorCode().byteValue());
 
         final int count = getElementCount(value);
-        final byte encodingCode = getListEncoding(value);
 
         if (count < getMinElementCount()) {
             throw new EncodeException("Incomplete Type cannot be encoded");
         }
 
+        byte encodingCode = getListEncoding(value);
+
+        if (encodingCode == EncodingCodes.LIST32) {
+            // Use the element sizes computed when the encoded size of this value was requested
+            // ahead of the write instead of walking the elements a second time.
+            int elementsSize = state.removeCachedEncodedSize(value);
+            if (elementsSize < 0) {
+                elementsSize = getElementsEncodedSize(value, count, state);
+            }
+
+            encodingCode = selectListEncoding(count, elementsSize);
+        }
+
         buffer.writeByte(encodingCode);
 
         switch (encodingCode) {
@@ -105,6 +140,61 @@ public abstract class AbstractDescribedListTypeEncoder<V> extends AbstractDescri
         }
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, V value) {
+        final int count = getElementCount(value);
+        final int elementsSize = getElementsEncodedSize(value, count, state);
+
+        if (elementsSize < 0) {
+            return -1;
+        }
+
+        state.cacheEncodedSize(value, elementsSize);
+
+        // Described type indicator and descriptor code followed by the list encoding.
+        final int descriptorSize = 1 + (getDescriptorCode().byteValue() == 0 ? 1 : 2);
+
+        byte encodingCode = getListEncoding(value);
+
+        if (encodingCode == EncodingCodes.LIST32) {
+            encodingCode = selectListEncoding(count, elementsSize);
+        }
+
+        switch (encodingCode) {
+            case EncodingCodes.LIST0:
+                return descriptorSize + 1;
+            case EncodingCodes.LIST8:
+                return descriptorSize + 3 + elementsSize;
+            default:
+                return descriptorSize + 9 + elementsSize;
+        }
+    }
+
+    private static byte selectListEncoding(int count, int elementsSize) {
+        // The LIST8 size covers the element count byte and the elements which must be known
+        if (count <= 255 && elementsSize >= 0 && elementsSize + Byte.BYTES <= 255) {
+            return EncodingCodes.LIST8;
+        } else {
+            return EncodingCodes.LIST32;
+        }
+    }
+
+    private int getElementsEncodedSize(V value, int count, EncoderState state) {
+        int size = 0;
+
+        for (int i = 0; i < count; ++i) {
+            final int elementSize = getElementEncodedSize(value, i, state);
+
+            if (elementSize < 0) {
+                return -1;
+            }
+
+            size += elementSize;
+        }
+
+        return size;
+    }
+
     private void writeSmallType(ProtonBuffer buffer, EncoderState state, V value, int elementCount) {
         final int startIndex = buffer.getWriteIndex();
 
@@ -120,6 +210,10 @@ public abstract class AbstractDescribedListTypeEncoder<V> extends AbstractDescri
         // Move back and write the size
         final int writeSize = buffer.getWriteIndex() - startIndex - Byte.BYTES;
 
+        if (writeSize > 255) {
+            throw new EncodeException("Encoded list elements exceed the size computed before the write: " + writeSize);
+        }
+
         buffer.setByte(startIndex, writeSize);
     }
 
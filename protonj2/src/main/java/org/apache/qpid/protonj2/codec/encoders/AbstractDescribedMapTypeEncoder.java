@@ -69,6 +69,22 @@ public abstract class AbstractDescribedMapTypeEncoder<K, V, M> extends AbstractD
      */
     public abstract int getMapSize(M value);
 
+    /**
+     * Computes the number of bytes that writing the Map entries with
+     * {@link #writeMapEntries(ProtonBuffer, EncoderState, Object)} would produce, by default
+     * the size is not computed.
+     *
+     * @param state
+     *      the current EncoderState value to use.
+     * @param value
+     *      the value whose Map entries are to be sized.
+     *
+     * @return the encoded size of the Map entries or -1 if not computed by this encoder.
+     */
+    public int getMapEntriesEncodedSize(EncoderState state, M value) {
+        return -1;
+    }
+
     /**
      * Performs the write of the Map entries to the given buffer, the caller
      * takes care of writing the Map preamble and tracking the final size of
@@ -107,6 +123,26 @@ public abstract class AbstractDescribedMapTypeEncoder<K, V, M> extends AbstractD
         }
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, M value) {
+        // Described type indicator and descriptor code followed by the map or a null.
+        final int descriptorSize = 1 + (getDescriptorCode().byteValue() == 0 ? 1 : 2);
+
+        if (hasMap(value)) {
+            final int entriesSize = getMapEntriesEncodedSize(state, value);
+
+            if (entriesSize < 0) {
+                return -1;
+            } else if (getMapEncoding(value) == EncodingCodes.MAP8) {
+                return descriptorSize + 3 + entriesSize;
+            } else {
+                return descriptorSize + 9 + entriesSize;
+            }
+        } else {
+            return descriptorSize + 1;
+        }
+    }
+
     private void writeSmallType(ProtonBuffer buffer, EncoderState state, M value, int elementCount) {
         final int startIndex = buffer.getWriteIndex();
 
@@ -726,6 +726,18 @@ public final class ProtonEncoder implements Encoder {
         return getTypeEncoder(typeClass, null);
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public int getEncodedSize(EncoderState state, Object value) throws EncodeException {
+        final TypeEncoder encoder = getTypeEncoder(value);
+
+        if (encoder == null) {
+            return -1;
+        } else {
+            return encoder.getEncodedSize(state, value);
+        }
+    }
+
     /**
      * Lookup a {@link TypeEncoder} by first checking the given type {@link Class} and then
      * if none found to deduce a valid TypeEncoder from the {@link Object} specified.
@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.codec.encoders;
 
+import java.util.Arrays;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
@@ -25,10 +27,16 @@ import org.apache.qpid.protonj2.codec.EncoderState;
  */
 public final class ProtonEncoderState implements EncoderState {
 
+    // Only a few described list sections are sized ahead of being written in a single encode.
+    private static final int MAX_CACHED_SIZES = 4;
+
     private final ProtonEncoder encoder;
 
     private UTF8Encoder utf8Encoder;
 
+    private final Object[] cachedSizeValues = new Object[MAX_CACHED_SIZES];
+    private final int[] cachedSizes = new int[MAX_CACHED_SIZES];
+
     /**
      * Creates a new {@link ProtonEncoderState} that is linked to the given {@link ProtonEncoder}.
      *
@@ -67,10 +75,35 @@ public final class ProtonEncoderState implements EncoderState {
 
     @Override
     public ProtonEncoderState reset() {
-        // No intermediate state to reset
+        Arrays.fill(cachedSizeValues, null);
         return this;
     }
 
+    @Override
+    public ProtonEncoderState cacheEncodedSize(Object value, int size) {
+        for (int i = 0; i < MAX_CACHED_SIZES; ++i) {
+            if (cachedSizeValues[i] == null || cachedSizeValues[i] == value) {
+                cachedSizeValues[i] = value;
+                cachedSizes[i] = size;
+                break;
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public int removeCachedEncodedSize(Object value) {
+        for (int i = 0; i < MAX_CACHED_SIZES; ++i) {
+            if (cachedSizeValues[i] == value) {
+                cachedSizeValues[i] = null;
+                return cachedSizes[i];
+            }
+        }
+
+        return -1;
+    }
+
     @Override
     public ProtonBuffer encodeUTF8(ProtonBuffer buffer, CharSequence sequence) {
         if (utf8Encoder == null) {
@@ -82,6 +115,15 @@ public final class ProtonEncoderState implements EncoderState {
         return buffer;
     }
 
+    @Override
+    public int getUTF8Length(CharSequence sequence) {
+        if (utf8Encoder == null) {
+            return calculateUTF8Length(0, sequence);
+        } else {
+            return -1;
+        }
+    }
+
     private static void encodeUTF8Sequence(ProtonBuffer buffer, CharSequence sequence) {
         final int length = sequence.length();
 
@@ -57,6 +57,13 @@ public final class AmqpSequenceTypeEncoder extends AbstractDescribedTypeEncoder<
         state.getEncoder().writeList(buffer, state, value.getValue());
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, AmqpSequence value) {
+        final int valueSize = state.getEncoder().getEncodedSize(state, value.getValue());
+
+        return valueSize < 0 ? -1 : 3 + valueSize;
+    }
+
     @Override
     public void writeArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         // Write the Array Type encoding code, we don't optimize here.
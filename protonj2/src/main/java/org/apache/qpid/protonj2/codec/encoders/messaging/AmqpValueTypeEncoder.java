@@ -55,6 +55,13 @@ public final class AmqpValueTypeEncoder extends AbstractDescribedTypeEncoder<Amq
         state.getEncoder().writeObject(buffer, state, value.getValue());
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, AmqpValue value) {
+        final int valueSize = state.getEncoder().getEncodedSize(state, value.getValue());
+
+        return valueSize < 0 ? -1 : 3 + valueSize;
+    }
+
     @Override
     public void writeArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         // Write the Array Type encoding code, we don't optimize here.
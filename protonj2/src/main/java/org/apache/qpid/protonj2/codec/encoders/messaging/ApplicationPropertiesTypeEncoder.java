@@ -59,6 +59,24 @@ public final class ApplicationPropertiesTypeEncoder extends AbstractDescribedMap
         }
     }
 
+    @Override
+    public int getMapEntriesEncodedSize(EncoderState state, ApplicationProperties value) {
+        int size = 0;
+
+        for (Map.Entry<String, Object> entry : value.getValue().entrySet()) {
+            final int keySize = state.getEncoder().getEncodedSize(state, entry.getKey());
+            final int valueSize = state.getEncoder().getEncodedSize(state, entry.getValue());
+
+            if (keySize < 0 || valueSize < 0) {
+                return -1;
+            }
+
+            size += keySize + valueSize;
+        }
+
+        return size;
+    }
+
     @Override
     public void writeMapEntries(ProtonBuffer buffer, EncoderState state, ApplicationProperties value) {
         // Write the Map elements and then compute total size written.
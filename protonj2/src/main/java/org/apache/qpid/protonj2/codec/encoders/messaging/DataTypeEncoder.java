@@ -54,6 +54,11 @@ public final class DataTypeEncoder extends AbstractDescribedTypeEncoder<Data> {
         state.getEncoder().writeBinary(buffer, state, value.getValue());
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Data value) {
+        return 3 + state.getEncoder().getEncodedSize(state, value.getBinary());
+    }
+
     @Override
     public void writeArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         // Write the Array Type encoding code, we don't optimize here.
@@ -59,6 +59,24 @@ public final class FooterTypeEncoder extends AbstractDescribedMapTypeEncoder<Obj
         }
     }
 
+    @Override
+    public int getMapEntriesEncodedSize(EncoderState state, Footer value) {
+        int size = 0;
+
+        for (Map.Entry<Symbol, Object> entry : value.getValue().entrySet()) {
+            final int keySize = state.getEncoder().getEncodedSize(state, entry.getKey());
+            final int valueSize = state.getEncoder().getEncodedSize(state, entry.getValue());
+
+            if (keySize < 0 || valueSize < 0) {
+                return -1;
+            }
+
+            size += keySize + valueSize;
+        }
+
+        return size;
+    }
+
     @Override
     public void writeMapEntries(ProtonBuffer buffer, EncoderState state, Footer value) {
         // Write the Map elements and then compute total size written.
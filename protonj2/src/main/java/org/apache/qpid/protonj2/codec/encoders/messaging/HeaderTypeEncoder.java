@@ -95,8 +95,35 @@ public final class HeaderTypeEncoder extends AbstractDescribedListTypeEncoder<He
         }
     }
 
+    @Override
+    public int getElementEncodedSize(Header header, int index, EncoderState state) {
+        switch (index) {
+            case 0:
+            case 3:
+                return 1;
+            case 1:
+                return header.hasPriority() ? 2 : 1;
+            case 2:
+                return header.hasTimeToLive() ? getUnsignedIntegerEncodedSize(header.getTimeToLive()) : 1;
+            case 4:
+                return header.hasDeliveryCount() ? getUnsignedIntegerEncodedSize(header.getDeliveryCount()) : 1;
+            default:
+                throw new IllegalArgumentException("Unknown Header value index: " + index);
+        }
+    }
+
     @Override
     public int getElementCount(Header header) {
         return header.getElementCount();
     }
+
+    private static int getUnsignedIntegerEncodedSize(long value) {
+        if (value <= 0) {
+            return 1; // Null or UINT0
+        } else if (value <= 255) {
+            return 2;
+        } else {
+            return 5;
+        }
+    }
 }
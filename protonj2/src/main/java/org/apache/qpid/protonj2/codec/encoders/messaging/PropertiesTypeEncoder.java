@@ -103,6 +103,40 @@ public final class PropertiesTypeEncoder extends AbstractDescribedListTypeEncode
         }
     }
 
+    @Override
+    public int getElementEncodedSize(Properties properties, int index, EncoderState state) {
+        switch (index) {
+            case 0:
+                return state.getEncoder().getEncodedSize(state, properties.getMessageId());
+            case 1:
+                return state.getEncoder().getEncodedSize(state, properties.getUserId());
+            case 2:
+                return state.getEncoder().getEncodedSize(state, properties.getTo());
+            case 3:
+                return state.getEncoder().getEncodedSize(state, properties.getSubject());
+            case 4:
+                return state.getEncoder().getEncodedSize(state, properties.getReplyTo());
+            case 5:
+                return state.getEncoder().getEncodedSize(state, properties.getCorrelationId());
+            case 6:
+                return getSymbolEncodedSize(state, properties.getContentType());
+            case 7:
+                return getSymbolEncodedSize(state, properties.getContentEncoding());
+            case 8:
+                return properties.hasAbsoluteExpiryTime() ? 9 : 1;
+            case 9:
+                return properties.hasCreationTime() ? 9 : 1;
+            case 10:
+                return state.getEncoder().getEncodedSize(state, properties.getGroupId());
+            case 11:
+                return properties.hasGroupSequence() ? getUnsignedIntegerEncodedSize(properties.getGroupSequence()) : 1;
+            case 12:
+                return state.getEncoder().getEncodedSize(state, properties.getReplyToGroupId());
+            default:
+                throw new IllegalArgumentException("Unknown Properties value index: " + index);
+        }
+    }
+
     @Override
     public byte getListEncoding(Properties value) {
         return EncodingCodes.LIST32;
@@ -112,4 +146,18 @@ public final class PropertiesTypeEncoder extends AbstractDescribedListTypeEncode
     public int getElementCount(Properties properties) {
         return properties.getElementCount();
     }
+
+    private static int getSymbolEncodedSize(EncoderState state, String value) {
+        return value == null ? 1 : state.getEncoder().getEncodedSize(state, Symbol.valueOf(value));
+    }
+
+    private static int getUnsignedIntegerEncodedSize(long value) {
+        if (value <= 0) {
+            return 1; // Null or UINT0
+        } else if (value <= 255) {
+            return 2;
+        } else {
+            return 5;
+        }
+    }
 }
@@ -89,6 +89,13 @@ public final class BinaryTypeEncoder extends AbstractPrimitiveTypeEncoder<Binary
         }
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Binary value) {
+        final int length = value.getLength();
+
+        return (length > 255 ? 5 : 2) + length;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.VBIN32);
@@ -53,6 +53,11 @@ public final class BooleanTypeEncoder extends AbstractPrimitiveTypeEncoder<Boole
         buffer.writeByte(value == true ? EncodingCodes.BOOLEAN_TRUE : EncodingCodes.BOOLEAN_FALSE);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Boolean value) {
+        return 1;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         // Write the array elements after writing the array length
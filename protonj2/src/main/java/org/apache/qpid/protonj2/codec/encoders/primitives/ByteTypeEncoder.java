@@ -55,6 +55,11 @@ public final class ByteTypeEncoder extends AbstractPrimitiveTypeEncoder<Byte> {
         buffer.writeByte(value);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Byte value) {
+        return 2;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.BYTE);
@@ -39,6 +39,11 @@ public final class Decimal128TypeEncoder extends AbstractPrimitiveTypeEncoder<De
         buffer.writeLong(value.getLeastSignificantBits());
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Decimal128 value) {
+        return 17;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.DECIMAL128);
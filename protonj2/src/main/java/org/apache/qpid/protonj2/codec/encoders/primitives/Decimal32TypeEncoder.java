@@ -38,6 +38,11 @@ public final class Decimal32TypeEncoder extends AbstractPrimitiveTypeEncoder<Dec
         buffer.writeInt(value.getBits());
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Decimal32 value) {
+        return 5;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.DECIMAL32);
@@ -38,6 +38,11 @@ public final class Decimal64TypeEncoder extends AbstractPrimitiveTypeEncoder<Dec
         buffer.writeLong(value.getBits());
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Decimal64 value) {
+        return 9;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.DECIMAL64);
@@ -55,6 +55,11 @@ public final class DoubleTypeEncoder extends AbstractPrimitiveTypeEncoder<Double
         buffer.writeDouble(value);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Double value) {
+        return 9;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.DOUBLE);
@@ -55,6 +55,11 @@ public final class FloatTypeEncoder extends AbstractPrimitiveTypeEncoder<Float>
         buffer.writeFloat(value);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Float value) {
+        return 5;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.FLOAT);
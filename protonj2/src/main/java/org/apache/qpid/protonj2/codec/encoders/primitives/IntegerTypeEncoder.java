@@ -59,6 +59,17 @@ public final class IntegerTypeEncoder extends AbstractPrimitiveTypeEncoder<Integ
         }
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Integer value) {
+        final int intValue = value.intValue();
+
+        if (intValue >= -128 && intValue <= 127) {
+            return 2;
+        } else {
+            return 5;
+        }
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.INT);
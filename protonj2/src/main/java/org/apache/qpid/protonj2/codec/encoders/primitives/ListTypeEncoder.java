@@ -46,6 +46,28 @@ public final class ListTypeEncoder extends AbstractPrimitiveTypeEncoder<List> {
         }
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, List value) {
+        if (value.isEmpty()) {
+            return 1;
+        }
+
+        // Encoding code, size and element count followed by each element.
+        int size = 9;
+
+        for (int i = 0; i < value.size(); ++i) {
+            final int elementSize = state.getEncoder().getEncodedSize(state, value.get(i));
+
+            if (elementSize < 0) {
+                return -1;
+            }
+
+            size += elementSize;
+        }
+
+        return size;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.LIST32);
@@ -59,6 +59,17 @@ public final class LongTypeEncoder extends AbstractPrimitiveTypeEncoder<Long> {
         }
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Long value) {
+        final long longValue = value.longValue();
+
+        if (longValue >= -128 && longValue <= 127) {
+            return 2;
+        } else {
+            return 9;
+        }
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.LONG);
@@ -44,6 +44,26 @@ public final class MapTypeEncoder extends AbstractPrimitiveTypeEncoder<Map> {
         writeValue(buffer, state, value);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Map value) {
+        // Encoding code, size and element count followed by each key and value.
+        int size = 9;
+
+        Set<Map.Entry> entries = value.entrySet();
+        for (Entry entry : entries) {
+            final int keySize = state.getEncoder().getEncodedSize(state, entry.getKey());
+            final int valueSize = state.getEncoder().getEncodedSize(state, entry.getValue());
+
+            if (keySize < 0 || valueSize < 0) {
+                return -1;
+            }
+
+            size += keySize + valueSize;
+        }
+
+        return size;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.MAP32);
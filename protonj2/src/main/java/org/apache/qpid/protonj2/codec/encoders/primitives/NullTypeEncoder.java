@@ -41,6 +41,11 @@ public final class NullTypeEncoder extends AbstractPrimitiveTypeEncoder<Void> {
         throw new IllegalArgumentException("Cannot write an array of nulls");
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Void value) {
+        return 1;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         throw new IllegalArgumentException("Cannot write an array of nulls");
@@ -55,6 +55,11 @@ public final class ShortTypeEncoder extends AbstractPrimitiveTypeEncoder<Short>
         buffer.writeShort(value);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Short value) {
+        return 3;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.SHORT);
@@ -68,6 +68,17 @@ public final class StringTypeEncoder extends AbstractPrimitiveTypeEncoder<String
         buffer.setInt(startIndex - Integer.BYTES, buffer.getWriteIndex() - startIndex);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, String value) {
+        final int length = state.getUTF8Length(value);
+
+        if (length < 0) {
+            return -1;
+        } else {
+            return (value.length() > 64 ? 5 : 2) + length;
+        }
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.STR32);
@@ -47,6 +47,13 @@ public final class SymbolTypeEncoder extends AbstractPrimitiveTypeEncoder<Symbol
         value.writeTo(buffer);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Symbol value) {
+        final int length = value.getLength();
+
+        return (length <= 255 ? 2 : 5) + length;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.SYM32);
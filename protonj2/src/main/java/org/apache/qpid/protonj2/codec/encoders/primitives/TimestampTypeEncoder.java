@@ -57,6 +57,11 @@ public final class TimestampTypeEncoder extends AbstractPrimitiveTypeEncoder<Dat
         buffer.writeLong(value);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, Date value) {
+        return 9;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.LONG);
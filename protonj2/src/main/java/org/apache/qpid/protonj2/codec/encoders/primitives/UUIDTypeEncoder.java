@@ -40,6 +40,11 @@ public final class UUIDTypeEncoder extends AbstractPrimitiveTypeEncoder<UUID> {
         buffer.writeLong(value.getLeastSignificantBits());
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, UUID value) {
+        return 17;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.UUID);
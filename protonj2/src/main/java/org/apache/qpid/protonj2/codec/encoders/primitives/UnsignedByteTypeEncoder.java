@@ -56,6 +56,11 @@ public final class UnsignedByteTypeEncoder extends AbstractPrimitiveTypeEncoder<
         buffer.writeByte(value);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, UnsignedByte value) {
+        return 2;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.UBYTE);
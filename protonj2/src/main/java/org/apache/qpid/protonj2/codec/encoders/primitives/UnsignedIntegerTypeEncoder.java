@@ -125,6 +125,19 @@ public final class UnsignedIntegerTypeEncoder extends AbstractPrimitiveTypeEncod
         }
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, UnsignedInteger value) {
+        final int intValue = value.intValue();
+
+        if (intValue == 0) {
+            return 1;
+        } else if (intValue > 0 && intValue <= 255) {
+            return 2;
+        } else {
+            return 5;
+        }
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.UINT);
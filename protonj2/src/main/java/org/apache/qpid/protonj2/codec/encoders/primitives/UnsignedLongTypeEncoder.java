@@ -84,6 +84,19 @@ public final class UnsignedLongTypeEncoder extends AbstractPrimitiveTypeEncoder<
         }
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, UnsignedLong value) {
+        final long longValue = value.longValue();
+
+        if (longValue == 0) {
+            return 1;
+        } else if (longValue > 0 && longValue <= 255) {
+            return 2;
+        } else {
+            return 9;
+        }
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.ULONG);
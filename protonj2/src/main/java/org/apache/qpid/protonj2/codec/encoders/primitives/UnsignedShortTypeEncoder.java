@@ -77,6 +77,11 @@ public final class UnsignedShortTypeEncoder extends AbstractPrimitiveTypeEncoder
         writeType(buffer, state, (short) value);
     }
 
+    @Override
+    public int getEncodedSize(EncoderState state, UnsignedShort value) {
+        return 3;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.USHORT);
@@ -152,6 +152,36 @@ public interface Engine extends Consumer<ProtonBuffer> {
         ingest(input);
     }
 
+    /**
+     * Opens a write batching scope on this {@link Engine}.  While a scope is open the engine encodes
+     * small frames such as flows, dispositions and small transfers back to back into a shared output
+     * buffer which is handed to the output handler as a single buffer when the outermost scope is
+     * closed, when the shared buffer fills or before a frame that cannot be packed is written.  Frame
+     * ordering is always preserved.  Scopes may be nested and when enabled by
+     * {@link EngineConfiguration#setIngestWriteBatching(boolean)} the engine implicitly opens one around
+     * each call to {@link #ingest(ProtonBuffer)}.  Engines that do not support write batching write
+     * each frame as it is produced and this method has no effect.
+     *
+     * @return this {@link Engine}
+     */
+    default Engine beginWriteBatch() {
+        return this;
+    }
+
+    /**
+     * Closes a write batching scope previously opened with {@link #beginWriteBatch()}, if this closes
+     * the outermost scope any dispositions that sessions are holding for coalescing are written and
+     * any output batched while it was open is written to the output handler.
+     * Calling this method when no scope is open has no effect.
+     *
+     * @return this {@link Engine}
+     *
+     * @throws EngineStateException if an error occurs while writing the batched output.
+     */
+    default Engine endWriteBatch() throws EngineStateException {
+        return this;
+    }
+
     /**
      * Prompt the engine to perform idle-timeout/heartbeat handling, and return an absolute
      * deadline in milliseconds that tick must again be called by/at, based on the provided
@@ -60,4 +60,75 @@ public interface EngineConfiguration {
      */
     boolean isTraceFrames();
 
+    /**
+     * Controls whether the engine opens a write batching scope around each call to
+     * {@link Engine#ingest(org.apache.qpid.protonj2.buffer.ProtonBuffer)} so that the frames
+     * written in response to the input are packed together into shared output buffers.  By
+     * default ingest does not batch its writes and each frame is handed to the output handler
+     * as it is written.  Engines that do not support write batching ignore this setting and
+     * {@link #isIngestWriteBatching()} will return false.
+     *
+     * @param ingestWriteBatching
+     *      true to batch the writes performed while ingesting input, false to disable it.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    default EngineConfiguration setIngestWriteBatching(boolean ingestWriteBatching) {
+        return this;
+    }
+
+    /**
+     * @return true if the engine batches the writes performed while ingesting input.
+     */
+    default boolean isIngestWriteBatching() {
+        return false;
+    }
+
+    /**
+     * Controls whether the engine hands out retained views of the reference counted I/O buffers it
+     * reads incoming transfer payloads from instead of copying them.  When enabled the buffers returned
+     * from {@link IncomingDelivery#readAll()} may be reference counted and the caller must release them,
+     * and the unread bytes of a delivery that is settled without being read continue to pin the I/O
+     * buffers until the link is freed.  By default incoming payloads are copied and the caller owns a
+     * plain heap buffer.  Engines that do not support retained payloads ignore this setting and
+     * {@link #isRetainIncomingPayloads()} will return false.
+     *
+     * @param retainIncomingPayloads
+     *      true to retain incoming payloads from reference counted input, false to copy them.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    default EngineConfiguration setRetainIncomingPayloads(boolean retainIncomingPayloads) {
+        return this;
+    }
+
+    /**
+     * @return true if the engine retains incoming payloads from reference counted input instead of copying.
+     */
+    default boolean isRetainIncomingPayloads() {
+        return false;
+    }
+
+    /**
+     * Assigns the {@link EngineMetrics} instance that the engine reports the work it performs to,
+     * by default no metrics are assigned and the engine performs no metrics reporting at all.
+     * Engines that do not support metrics reporting ignore this setting and
+     * {@link #getEngineMetrics()} will return null.
+     *
+     * @param metrics
+     *      The {@link EngineMetrics} instance to report to or null to disable metrics reporting.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    default EngineConfiguration setEngineMetrics(EngineMetrics metrics) {
+        return this;
+    }
+
+    /**
+     * @return the currently assigned {@link EngineMetrics} or null if metrics reporting is disabled.
+     */
+    default EngineMetrics getEngineMetrics() {
+        return null;
+    }
+
 }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+/**
+ * Service provider interface through which an {@link Engine} reports the work it performs so that
+ * counters can be kept for the connection and each of its sessions and links.
+ * <p>
+ * An {@link EngineMetrics} instance is assigned using {@link EngineConfiguration#setEngineMetrics(EngineMetrics)}
+ * and when none is assigned the engine skips all metrics reporting.  Every method is called from the
+ * thread that is driving the engine, in line with the work being reported, so implementations must be
+ * cheap and must not throw.  All methods have a default no-op implementation so an implementation need
+ * only override the events it wishes to record.
+ */
+public interface EngineMetrics {
+
+    /**
+     * Called for each frame read by the engine including the frame header bytes.
+     *
+     * @param frameSize
+     *      The total size in bytes of the frame that was read.
+     */
+    default void frameRead(int frameSize) {}
+
+    /**
+     * Called for each frame written by the engine including the frame header bytes.
+     *
+     * @param frameSize
+     *      The total size in bytes of the frame that was written.
+     */
+    default void frameWritten(int frameSize) {}
+
+    /**
+     * Called when the engine fails due to an error in the pipeline or a protocol violation.
+     *
+     * @param cause
+     *      The error that caused the engine to fail.
+     */
+    default void engineFailed(Throwable cause) {}
+
+    /**
+     * Called when a session can no longer send transfers because its outgoing window has been
+     * exhausted or too many of its frames are waiting to be written.
+     *
+     * @param session
+     *      The session whose outgoing window has stalled.
+     */
+    default void sessionWindowStalled(Session session) {}
+
+    /**
+     * Called for each transfer frame a sender writes.
+     *
+     * @param sender
+     *      The sender that wrote the transfer.
+     * @param payloadBytes
+     *      The number of delivery payload bytes carried in the transfer.
+     */
+    default void transferSent(Sender sender, int payloadBytes) {}
+
+    /**
+     * Called for each transfer frame a receiver reads.
+     *
+     * @param receiver
+     *      The receiver that read the transfer.
+     * @param payloadBytes
+     *      The number of delivery payload bytes carried in the transfer.
+     */
+    default void transferReceived(Receiver receiver, int payloadBytes) {}
+
+    /**
+     * Called for each delivery whose state or settlement is sent to the remote.
+     *
+     * @param link
+     *      The link the delivery belongs to.
+     * @param settled
+     *      true if the delivery was settled by the disposition.
+     */
+    default void dispositionSent(Link<?> link, boolean settled) {}
+
+    /**
+     * Called for each delivery whose state or settlement is updated by the remote.
+     *
+     * @param link
+     *      The link the delivery belongs to.
+     * @param settled
+     *      true if the delivery was settled by the disposition.
+     */
+    default void dispositionReceived(Link<?> link, boolean settled) {}
+
+    /**
+     * Called when a link gains credit, for a receiver when credit is granted locally and for a
+     * sender when the remote grants it more credit.
+     *
+     * @param link
+     *      The link that gained credit.
+     * @param credit
+     *      The amount of credit gained.
+     */
+    default void creditGranted(Link<?> link, int credit) {}
+
+    /**
+     * Called each time a completed delivery consumes a unit of link credit.
+     *
+     * @param link
+     *      The link whose credit was consumed.
+     * @param remainingCredit
+     *      The credit remaining on the link, a value of zero indicates the credit is exhausted.
+     */
+    default void creditConsumed(Link<?> link, int remainingCredit) {}
+
+    /**
+     * Called when the session begins tracking a delivery that is not yet settled by the remote.
+     *
+     * @param link
+     *      The link the delivery belongs to.
+     */
+    default void deliveryUnsettled(Link<?> link) {}
+
+    /**
+     * Called when the session stops tracking a delivery previously reported as unsettled.
+     *
+     * @param link
+     *      The link the delivery belongs to.
+     */
+    default void deliverySettled(Link<?> link) {}
+
+    /**
+     * Called once a link has been detached by both the local and remote ends, no further events
+     * are reported for the link afterwards.
+     *
+     * @param link
+     *      The link that has been freed.
+     */
+    default void linkFreed(Link<?> link) {}
+
+    /**
+     * Called once a session has been ended by both the local and remote ends, no further events
+     * are reported for the session afterwards.
+     *
+     * @param session
+     *      The session that has been freed.
+     */
+    default void sessionFreed(Session session) {}
+
+}
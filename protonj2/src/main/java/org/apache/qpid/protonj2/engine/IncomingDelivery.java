@@ -62,8 +62,16 @@ public interface IncomingDelivery {
     /**
      * Returns the current read buffer without copying it effectively consuming all currently available
      * bytes from this delivery.  If no data is available then this method returns <code>null</code>.
+     * <p>
+     * When the engine has been configured to retain incoming payloads the returned buffer may be a retained
+     * view of the I/O buffers the engine read the incoming frames from, ownership passes to the caller which
+     * must call {@link ProtonBuffer#release()} once it is done with the bytes so that any pooled resources
+     * can be reclaimed.  Otherwise the payload bytes were copied as they arrived and releasing the returned
+     * buffer has no effect.
      *
      * @return the currently available read bytes for this delivery.
+     *
+     * @see EngineConfiguration#setRetainIncomingPayloads(boolean)
      */
     ProtonBuffer readAll();
 
@@ -33,8 +33,14 @@ public class OutgoingAMQPEnvelope extends PerformativeEnvelope<Performative> {
 
     private AMQPPerformativeEnvelopePool<OutgoingAMQPEnvelope> pool;
 
-    private Consumer<Performative> payloadToLargeHandler = this::defaultPayloadToLargeHandler;
+    // Created once per envelope so that resetting or completing a pooled envelope never allocates.
+    private final Consumer<Performative> defaultPayloadToLargeHandler = this::defaultPayloadToLargeHandler;
+    private final Runnable frameWriteCompletion = this::handleOutgoingFrameWriteComplete;
+
+    private Consumer<Performative> payloadToLargeHandler = defaultPayloadToLargeHandler;
     private Runnable frameWriteCompleteHandler;
+    private int payloadHeadroom;
+    private boolean payloadRetainable;
 
     OutgoingAMQPEnvelope() {
         this(null);
@@ -60,12 +66,55 @@ public class OutgoingAMQPEnvelope extends PerformativeEnvelope<Performative> {
         if (payloadToLargeHandler != null) {
             this.payloadToLargeHandler = payloadToLargeHandler;
         } else {
-            this.payloadToLargeHandler = this::defaultPayloadToLargeHandler;
+            this.payloadToLargeHandler = defaultPayloadToLargeHandler;
         }
 
         return this;
     }
 
+    /**
+     * Sets the number of unused bytes that precede the read index of the payload which the encoder
+     * is allowed to overwrite in order to encode the frame in place within the payload buffer.
+     *
+     * @param payloadHeadroom
+     *      The number of bytes ahead of the payload read index that are free for the encoder to use.
+     *
+     * @return this {@link OutgoingAMQPEnvelope} instance.
+     */
+    public OutgoingAMQPEnvelope setPayloadHeadroom(int payloadHeadroom) {
+        this.payloadHeadroom = payloadHeadroom;
+        return this;
+    }
+
+    /**
+     * @return the number of bytes ahead of the payload read index that are free for the encoder to use.
+     */
+    public int getPayloadHeadroom() {
+        return payloadHeadroom;
+    }
+
+    /**
+     * Sets whether the encoder may hand a retained view of the payload to the I/O layer instead
+     * of copying the payload bytes into the frame buffer.  This is only safe when the payload bytes
+     * are not modified after the write, the view can outlive the write call.
+     *
+     * @param payloadRetainable
+     *      true if the payload bytes may be referenced rather than copied by the encoder.
+     *
+     * @return this {@link OutgoingAMQPEnvelope} instance.
+     */
+    public OutgoingAMQPEnvelope setPayloadRetainable(boolean payloadRetainable) {
+        this.payloadRetainable = payloadRetainable;
+        return this;
+    }
+
+    /**
+     * @return true if the payload bytes may be referenced rather than copied by the encoder.
+     */
+    public boolean isPayloadRetainable() {
+        return payloadRetainable;
+    }
+
     /**
      * Called when the encoder determines that the encoding of the {@link Performative} plus any
      * payload value is to large for a single AMQP frame.  The configured handler should update
@@ -92,6 +141,24 @@ public class OutgoingAMQPEnvelope extends PerformativeEnvelope<Performative> {
         return this;
     }
 
+    /**
+     * @return true if a handler was configured that must be notified when the frame write has completed.
+     */
+    public boolean hasFrameWriteCompletionHandler() {
+        return frameWriteCompleteHandler != null;
+    }
+
+    /**
+     * Returns a {@link Runnable} that calls {@link #handleOutgoingFrameWriteComplete()} when run.  The
+     * instance is created once per envelope which allows the encoder to hand it to the IO layer as the
+     * write completion callback without allocating a new callback for every frame written.
+     *
+     * @return a {@link Runnable} that completes the write of this {@link OutgoingAMQPEnvelope}.
+     */
+    public Runnable getFrameWriteCompletion() {
+        return frameWriteCompletion;
+    }
+
     /**
      * Called by the encoder when the write of a frame that comprises the transfer of the AMQP {@link Performative}
      * plus any assigned payload has completed.  If the transfer comprises multiple frame writes this handler should
@@ -118,8 +185,10 @@ public class OutgoingAMQPEnvelope extends PerformativeEnvelope<Performative> {
     public void release() {
         initialize(null, -1, null);
 
-        payloadToLargeHandler = this::defaultPayloadToLargeHandler;
+        payloadToLargeHandler = defaultPayloadToLargeHandler;
         frameWriteCompleteHandler = null;
+        payloadHeadroom = 0;
+        payloadRetainable = false;
 
         if (pool != null) {
             pool.release(this);
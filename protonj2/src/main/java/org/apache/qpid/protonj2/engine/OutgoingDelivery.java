@@ -27,6 +27,12 @@ import org.apache.qpid.protonj2.types.transport.Transfer;
  */
 public interface OutgoingDelivery {
 
+    /**
+     * The number of bytes a payload buffer must leave unused ahead of its read index when written to a
+     * delivery that has been configured with {@link #setFrameHeaderReserved(boolean)}.
+     */
+    int RESERVED_FRAME_HEADER_SIZE = 128;
+
     /**
      * @return the link that this {@link OutgoingDelivery} is bound to.
      */
@@ -111,6 +117,33 @@ public interface OutgoingDelivery {
      */
     OutgoingDelivery setMessageFormat(int messageFormat);
 
+    /**
+     * @return true if payload buffers written to this delivery reserve space for the frame header.
+     */
+    default boolean isFrameHeaderReserved() {
+        return false;
+    }
+
+    /**
+     * Indicates that every payload buffer written to this delivery leaves {@link #RESERVED_FRAME_HEADER_SIZE}
+     * unused bytes ahead of its read index.  When a write fits within a single frame the engine encodes the
+     * frame header and {@link Transfer} performative into that space and hands a view of the payload buffer
+     * to the I/O layer instead of copying the payload into a newly allocated frame buffer.  Writes that span
+     * more than one frame are emitted as a small frame header buffer followed by a view of the payload which
+     * the I/O layer can gather into a single write.  The bytes ahead of the read index are overwritten and a
+     * retained view of the buffer may outlive the write call so the caller must not modify the payload buffer
+     * once it has been written.  A delivery that does not support writing into reserved space ignores this
+     * setting, the reserved bytes are left unused and {@link #isFrameHeaderReserved()} will return false.
+     *
+     * @param reserved
+     *      true if payload buffers written to this delivery reserve space for the frame header.
+     *
+     * @return this {@link OutgoingDelivery} instance.
+     */
+    default OutgoingDelivery setFrameHeaderReserved(boolean reserved) {
+        return this;
+    }
+
     /**
      * @return the {@link DeliveryTag} assigned to this Delivery.
      */
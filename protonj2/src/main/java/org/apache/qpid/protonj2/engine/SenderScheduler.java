@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+/**
+ * Sender schedulers are assigned to a {@link Session} in order to decide the order in which
+ * {@link Sender} links that were stopped by the session outgoing capacity are notified once
+ * that capacity is restored.  The session offers restored capacity to the senders returned
+ * from {@link #nextSender()} one at a time until one of them uses it up again, a scheduler
+ * therefore controls how the session outgoing capacity is shared among its senders.
+ * <p>
+ * A scheduler is only ever accessed from the thread that drives the engine and is owned by
+ * a single session, implementations need not be thread safe.
+ */
+public interface SenderScheduler {
+
+    /**
+     * Called when a {@link Sender} that has credit is unable to send because the session
+     * outgoing capacity has been used up.  A sender is only added once for each time that
+     * it becomes blocked and it will not be added again until returned from {@link #nextSender()}.
+     *
+     * @param sender
+     *      The {@link Sender} that is waiting for the session outgoing capacity to be restored.
+     */
+    void senderBlocked(Sender sender);
+
+    /**
+     * Called each time a {@link Sender} has written transfer payload bytes, schedulers that
+     * share capacity by the amount written account for the sender usage here.
+     *
+     * @param sender
+     *      The {@link Sender} that wrote the bytes.
+     * @param bytesWritten
+     *      The number of payload bytes the sender has written.
+     */
+    void senderWrote(Sender sender, int bytesWritten);
+
+    /**
+     * Returns and removes the next blocked {@link Sender} that should be notified that the session
+     * outgoing capacity has been restored.
+     *
+     * @return the next {@link Sender} that should be offered capacity or null if none are blocked.
+     */
+    Sender nextSender();
+
+    /**
+     * @return the number of senders currently waiting for session outgoing capacity to be restored.
+     */
+    int getBlockedCount();
+
+}
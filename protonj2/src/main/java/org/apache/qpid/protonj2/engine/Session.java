@@ -18,6 +18,8 @@ package org.apache.qpid.protonj2.engine;
 
 import java.util.Set;
 
+import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
+
 /**
  * AMQP Session interface
  */
@@ -148,6 +150,81 @@ public interface Session extends Endpoint<Session> {
      */
     int getRemainingOutgoingCapacity();
 
+    /**
+     * Sets the maximum number of dispositions that this session will coalesce into a single
+     * ranged disposition frame.  When enabled, dispositions for contiguous delivery-ids that
+     * carry the same state and settlement value are held and written as one frame once the
+     * range is broken, the limit is reached, the current ingest cycle or outermost engine write
+     * batch completes, another frame is written or {@link #flushDispositions()} is called.  Dispositions
+     * applied outside of an ingest cycle or write batch are held until one of those occurs, so code
+     * that applies them from its own tasks should do so within {@link Engine#beginWriteBatch()} and
+     * {@link Engine#endWriteBatch()}.  A value of zero or one (the default) disables batching and each
+     * disposition is written as soon as it is applied.  A session that does not support batching
+     * ignores the limit and always writes each disposition as it is applied.
+     *
+     * @param batchLimit
+     *      the maximum number of dispositions that will be coalesced into one frame.
+     *
+     * @return this {@link Session} instance.
+     *
+     * @throws IllegalArgumentException if the given limit is negative.
+     */
+    default Session setDispositionBatchLimit(int batchLimit) throws IllegalArgumentException {
+        if (batchLimit < 0) {
+            throw new IllegalArgumentException("Disposition batch limit cannot be negative");
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the maximum number of dispositions that will be coalesced into one frame.
+     */
+    default int getDispositionBatchLimit() {
+        return 0;
+    }
+
+    /**
+     * Writes any dispositions that are currently held by this session pending the completion
+     * of a ranged disposition batch.  If disposition batching is not enabled this method has
+     * no effect.
+     *
+     * @return this {@link Session} instance.
+     *
+     * @throws EngineStateException if the engine is shutdown or failed.
+     */
+    default Session flushDispositions() throws EngineStateException {
+        return this;
+    }
+
+    /**
+     * Sets the {@link SenderScheduler} that decides the order in which senders stopped by the session
+     * outgoing capacity are notified once that capacity is restored.  By default senders are notified
+     * in round robin order, see {@link org.apache.qpid.protonj2.engine.impl.ProtonSenderScheduler} for
+     * the built in alternatives.
+     *
+     * The scheduler can only be modified prior to a call to {@link Session#open()}, once the session has
+     * been opened locally an error will be thrown if this method is called.  A session that does not support
+     * pluggable sender scheduling ignores the scheduler and {@link #getSenderScheduler()} will return null.
+     *
+     * @param scheduler
+     *      The {@link SenderScheduler} to use or null to restore the default round robin scheduling.
+     *
+     * @return this {@link Session} instance.
+     *
+     * @throws IllegalStateException if the Session has already been opened.
+     */
+    default Session setSenderScheduler(SenderScheduler scheduler) throws IllegalStateException {
+        return this;
+    }
+
+    /**
+     * @return the currently configured {@link SenderScheduler} for this {@link Session}.
+     */
+    default SenderScheduler getSenderScheduler() {
+        return null;
+    }
+
     /**
      * Set the handle max value for this Session.
      *
@@ -19,7 +19,6 @@ package org.apache.qpid.protonj2.engine.impl;
 import java.lang.ref.SoftReference;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -30,6 +29,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.engine.Connection;
 import org.apache.qpid.protonj2.engine.ConnectionState;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.EventHandler;
 import org.apache.qpid.protonj2.engine.HeaderEnvelope;
 import org.apache.qpid.protonj2.engine.Receiver;
@@ -40,6 +40,7 @@ import org.apache.qpid.protonj2.engine.TransactionManager;
 import org.apache.qpid.protonj2.engine.exceptions.EngineFailedException;
 import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
 import org.apache.qpid.protonj2.engine.exceptions.ProtocolViolationException;
+import org.apache.qpid.protonj2.engine.util.IntObjectMap;
 import org.apache.qpid.protonj2.logging.ProtonLogger;
 import org.apache.qpid.protonj2.logging.ProtonLoggerFactory;
 import org.apache.qpid.protonj2.types.Symbol;
@@ -69,13 +70,13 @@ public class ProtonConnection extends ProtonEndpoint<Connection> implements Conn
     private Open remoteOpen;
     private AMQPHeader remoteHeader;
 
-    private Map<Integer, ProtonSession> localSessions = new HashMap<>();
-    private Map<Integer, ProtonSession> remoteSessions = new HashMap<>();
+    private final IntObjectMap<ProtonSession> localSessions = new IntObjectMap<>();
+    private final IntObjectMap<ProtonSession> remoteSessions = new IntObjectMap<>();
 
     // These would be sessions that were begun and ended before the remote ever
     // responded with a matching being and end.  The remote is required to complete
     // these before answering a new begin sequence on the same local channel.
-    private Map<Integer, SoftReference<ProtonSession>> zombieSessions = new LinkedHashMap<>();
+    private final IntObjectMap<SoftReference<ProtonSession>> zombieSessions = new IntObjectMap<>();
 
     private ConnectionState localState = ConnectionState.IDLE;
     private ConnectionState remoteState = ConnectionState.IDLE;
@@ -512,11 +513,21 @@ public class ProtonConnection extends ProtonEndpoint<Connection> implements Conn
             // Check that we don't have a lingering session that was opened and closed locally for
             // which the remote is finally getting round to ending but we lost the session instance
             // due to it being cleaned up by GC,
-            if (zombieSessions.remove(channel) == null) {
+            final SoftReference<ProtonSession> zombie = zombieSessions.remove(channel);
+            if (zombie == null) {
                 engine.engineFailed(new ProtocolViolationException("Received uncorrelated channel on End from remote: " + channel));
+            } else {
+                final ProtonSession zombieSession = zombie.get();
+                if (zombieSession != null) {
+                    recordSessionFreed(zombieSession);
+                }
             }
         } else {
             session.remoteEnd(end, channel);
+
+            if (session.wasLocalEndSent()) {
+                recordSessionFreed(session);
+            }
         }
     }
 
@@ -554,6 +565,9 @@ public class ProtonConnection extends ProtonEndpoint<Connection> implements Conn
     public void handleTransfer(Transfer transfer, ProtonBuffer payload, int channel, ProtonEngine context) {
         final ProtonSession session = remoteSessions.get(channel);
         if (session == null) {
+            if (payload != null) {
+                payload.release();
+            }
             engine.engineFailed(new ProtocolViolationException("Received uncorrelated channel on Transfer from remote: " + channel));
         } else {
             session.remoteTransfer(transfer, payload, channel);
@@ -743,6 +757,15 @@ public class ProtonConnection extends ProtonEndpoint<Connection> implements Conn
             // The remote hasn't answered our begin yet so we need to hold onto this information
             // and process the eventual begin that must be provided per specification.
             zombieSessions.put(localChannel, new SoftReference<>(session));
+        } else if (session.getRemoteState() == SessionState.CLOSED) {
+            recordSessionFreed(session);
+        }
+    }
+
+    private void recordSessionFreed(ProtonSession session) {
+        final EngineMetrics metrics = engine.metrics();
+        if (metrics != null) {
+            metrics.sessionFreed(session);
         }
     }
 
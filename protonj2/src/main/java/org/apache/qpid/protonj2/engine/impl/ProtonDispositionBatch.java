@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import java.util.Objects;
+
+import org.apache.qpid.protonj2.types.transport.DeliveryState;
+import org.apache.qpid.protonj2.types.transport.Disposition;
+import org.apache.qpid.protonj2.types.transport.Role;
+
+/**
+ * Accumulates outgoing dispositions for one side of a session and coalesces runs of
+ * contiguous delivery-ids that share the same state and settled flag into a single
+ * ranged {@link Disposition} frame.
+ * <p>
+ * A pending range is written when the next disposition cannot extend it, when the
+ * configured batch limit is reached, or when the engine flushes all pending batches
+ * which happens at the end of an ingest cycle, when the outermost write batch is closed
+ * and before any other frame is written.
+ * Delivery states are compared using their equals method so that equal outcomes carried by
+ * separate instances, such as two Modified states with the same fields, can share a range.
+ */
+final class ProtonDispositionBatch {
+
+    private final ProtonSession session;
+    private final ProtonEngine engine;
+    private final Role role;
+    private final Disposition cachedDisposition = new Disposition();
+
+    private int batchLimit;
+
+    private int first;
+    private int last;
+    private int count;
+    private boolean settled;
+    private DeliveryState state;
+    private boolean registered;
+
+    ProtonDispositionBatch(ProtonSession session, Role role) {
+        this.session = session;
+        this.engine = session.getEngine();
+        this.role = role;
+    }
+
+    /**
+     * @return true if dispositions are being batched instead of written individually.
+     */
+    boolean isEnabled() {
+        return batchLimit > 1;
+    }
+
+    int getBatchLimit() {
+        return batchLimit;
+    }
+
+    void setBatchLimit(int batchLimit) {
+        this.batchLimit = batchLimit;
+
+        if (count > 0 && (!isEnabled() || count >= batchLimit)) {
+            flush();
+        }
+    }
+
+    boolean isPending() {
+        return count > 0;
+    }
+
+    /**
+     * Adds the disposition of the given delivery to the batch, flushing any current range
+     * that cannot be extended to include it.
+     *
+     * @param deliveryId
+     *      The delivery-id of the delivery whose disposition is being written.
+     * @param state
+     *      The {@link DeliveryState} to convey to the remote.
+     * @param settled
+     *      The settlement state to convey to the remote.
+     */
+    void append(int deliveryId, DeliveryState state, boolean settled) {
+        if (count > 0) {
+            if (deliveryId == last + 1 && Objects.equals(this.state, state) && this.settled == settled) {
+                last = deliveryId;
+                if (++count >= batchLimit) {
+                    flush();
+                }
+
+                return;
+            }
+
+            flush();
+        }
+
+        this.first = deliveryId;
+        this.last = deliveryId;
+        this.state = state;
+        this.settled = settled;
+        this.count = 1;
+
+        if (!registered) {
+            registered = true;
+            engine.registerPendingDispositions(this);
+        }
+    }
+
+    /**
+     * Writes any pending range of dispositions, does nothing if none are pending.
+     */
+    void flush() {
+        if (count > 0) {
+            cachedDisposition.setRole(role);
+            cachedDisposition.setFirst(first);
+            if (first != last) {
+                cachedDisposition.setLast(last);
+            }
+            cachedDisposition.setSettled(settled);
+            cachedDisposition.setState(state);
+
+            count = 0;
+            state = null;
+
+            try {
+                engine.fireDispositionWrite(cachedDisposition, session.getLocalChannel());
+            } finally {
+                cachedDisposition.reset();
+            }
+        }
+    }
+
+    /**
+     * Called from the engine when it flushes all registered batches.
+     */
+    void flushRegistered() {
+        registered = false;
+        flush();
+    }
+
+    /**
+     * Called from the engine to drop any pending dispositions without writing them.
+     */
+    void discardRegistered() {
+        registered = false;
+        count = 0;
+        state = null;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import java.util.ArrayDeque;
 import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -27,6 +28,7 @@ import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
 import org.apache.qpid.protonj2.engine.AMQPPerformativeEnvelopePool;
 import org.apache.qpid.protonj2.engine.ConnectionState;
 import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.EnginePipeline;
 import org.apache.qpid.protonj2.engine.EngineSaslDriver;
 import org.apache.qpid.protonj2.engine.EngineState;
@@ -44,6 +46,7 @@ import org.apache.qpid.protonj2.engine.exceptions.ProtonExceptionSupport;
 import org.apache.qpid.protonj2.logging.ProtonLogger;
 import org.apache.qpid.protonj2.logging.ProtonLoggerFactory;
 import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.transport.Disposition;
 import org.apache.qpid.protonj2.types.transport.ErrorCondition;
 import org.apache.qpid.protonj2.types.transport.Performative;
 
@@ -62,6 +65,7 @@ public class ProtonEngine implements Engine {
     private final ProtonEngineConfiguration configuration = new ProtonEngineConfiguration(this);
     private final ProtonConnection connection = new ProtonConnection(this);
     private final AMQPPerformativeEnvelopePool<OutgoingAMQPEnvelope> framePool = AMQPPerformativeEnvelopePool.outgoingEnvelopePool();
+    private final ArrayDeque<ProtonDispositionBatch> pendingDispositions = new ArrayDeque<>();
 
     private EngineSaslDriver saslDriver = new ProtonEngineNoOpSaslDriver();
 
@@ -70,6 +74,8 @@ public class ProtonEngine implements Engine {
     private Throwable failureCause;
     private int inputSequence;
     private int outputSequence;
+    private int writeBatchDepth;
+    private ProtonFrameEncodingHandler frameEncoder;
 
     // Idle Timeout Check data
     private ScheduledFuture<?> nextIdleTimeoutCheck;
@@ -143,9 +149,21 @@ public class ProtonEngine implements Engine {
     @Override
     public ProtonEngine shutdown() {
         if (state.ordinal() < EngineState.SHUTTING_DOWN.ordinal()) {
+            // Frames already written into an open batch are sent before the engine goes quiet
+            if (frameEncoder != null && state != EngineState.FAILED) {
+                try {
+                    frameEncoder.flushWriteBatch();
+                } catch (Exception ignored) {
+                } finally {
+                    frameEncoder.discardWriteBatch();
+                }
+            }
+
             state = EngineState.SHUTDOWN;
             writable = false;
 
+            discardPendingDispositions();
+
             if (nextIdleTimeoutCheck != null) {
                 LOG.trace("Canceling scheduled Idle Timeout Check");
                 nextIdleTimeoutCheck.cancel(false);
@@ -222,14 +240,60 @@ public class ProtonEngine implements Engine {
             throw new EngineNotWritableException("Engine is currently not accepting new input");
         }
 
+        // When configured any frames written in response to this input are packed together where possible
+        final boolean batching = configuration.isIngestWriteBatching();
+        if (batching) {
+            beginWriteBatch();
+        }
+
+        EngineStateException failure = null;
+
         try {
             int startIndex = input.getReadIndex();
             pipeline.fireRead(input);
             if (input.getReadIndex() != startIndex) {
                 inputSequence++;
             }
+
+            flushPendingDispositions();
         } catch (Exception error) {
-            throw engineFailed(error);
+            failure = engineFailed(error);
+            throw failure;
+        } finally {
+            if (batching) {
+                try {
+                    endWriteBatch();
+                } catch (RuntimeException batchError) {
+                    // An error writing the batch must not hide the cause of an engine failure
+                    if (failure == null) {
+                        throw batchError;
+                    }
+
+                    failure.addSuppressed(batchError);
+                }
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public ProtonEngine beginWriteBatch() {
+        writeBatchDepth++;
+        return this;
+    }
+
+    @Override
+    public ProtonEngine endWriteBatch() throws EngineStateException {
+        if (writeBatchDepth > 0 && --writeBatchDepth == 0) {
+            // Dispositions held back for coalescing belong to the batch that is now closing
+            if (isRunning()) {
+                flushPendingDispositions();
+            }
+
+            if (frameEncoder != null) {
+                frameEncoder.flushWriteBatch();
+            }
         }
 
         return this;
@@ -244,6 +308,23 @@ public class ProtonEngine implements Engine {
             failureCause = cause;
             writable = false;
 
+            discardPendingDispositions();
+
+            final EngineMetrics metrics = configuration.getEngineMetrics();
+            if (metrics != null) {
+                metrics.engineFailed(cause);
+            }
+
+            // Frames batched ahead of the failure, such as a Close carrying the error, still go out
+            if (frameEncoder != null) {
+                try {
+                    frameEncoder.flushWriteBatch();
+                } catch (Exception ignored) {
+                } finally {
+                    frameEncoder.discardWriteBatch();
+                }
+            }
+
             if (nextIdleTimeoutCheck != null) {
                 LOG.trace("Canceling scheduled Idle Timeout Check");
                 nextIdleTimeoutCheck.cancel(false);
@@ -315,6 +396,13 @@ public class ProtonEngine implements Engine {
         return configuration;
     }
 
+    /**
+     * @return the {@link EngineMetrics} assigned in the engine configuration or null if metrics are disabled.
+     */
+    EngineMetrics metrics() {
+        return configuration.getEngineMetrics();
+    }
+
     @Override
     public EngineSaslDriver saslDriver() {
         return saslDriver;
@@ -347,20 +435,60 @@ public class ProtonEngine implements Engine {
     }
 
     ProtonEngine fireWrite(OutgoingAMQPEnvelope frame) {
+        flushPendingDispositions();
         pipeline.fireWrite(frame);
         return this;
     }
 
     ProtonEngine fireWrite(Performative performative, int channel) {
+        flushPendingDispositions();
         pipeline.fireWrite(framePool.take(performative, channel, null));
         return this;
     }
 
     ProtonEngine fireWrite(Performative performative, int channel, ProtonBuffer payload) {
+        flushPendingDispositions();
         pipeline.fireWrite(framePool.take(performative, channel, payload));
         return this;
     }
 
+    ProtonEngine fireDispositionWrite(Disposition disposition, int channel) {
+        pipeline.fireWrite(framePool.take(disposition, channel, null));
+        return this;
+    }
+
+    boolean isWriteBatching() {
+        // Once failed or shutdown any last frames written must go straight to the output
+        return writeBatchDepth > 0 && isRunning();
+    }
+
+    void registerFrameEncoder(ProtonFrameEncodingHandler encoder) {
+        this.frameEncoder = encoder;
+    }
+
+    void registerPendingDispositions(ProtonDispositionBatch batch) {
+        pendingDispositions.add(batch);
+    }
+
+    /**
+     * Writes any batched dispositions that are still pending, this is called at the end of each
+     * ingest cycle, when the outermost write batch is closed and before any other frame is written
+     * so that frame ordering is preserved.
+     */
+    void flushPendingDispositions() {
+        ProtonDispositionBatch batch;
+        while ((batch = pendingDispositions.poll()) != null) {
+            batch.flushRegistered();
+        }
+    }
+
+    private void discardPendingDispositions() {
+        ProtonDispositionBatch batch;
+        while ((batch = pendingDispositions.poll()) != null) {
+            batch.discardRegistered();
+        }
+    }
+
     OutgoingAMQPEnvelope wrap(Performative performative, int channel, ProtonBuffer payload) {
         return framePool.take(performative, channel, payload);
     }
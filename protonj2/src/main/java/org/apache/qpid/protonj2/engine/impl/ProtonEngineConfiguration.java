@@ -20,6 +20,7 @@ import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
 import org.apache.qpid.protonj2.engine.EngineConfiguration;
 import org.apache.qpid.protonj2.engine.EngineHandler;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.EngineSaslDriver.SaslState;
 import org.apache.qpid.protonj2.logging.ProtonLogger;
 import org.apache.qpid.protonj2.logging.ProtonLoggerFactory;
@@ -35,6 +36,9 @@ public class ProtonEngineConfiguration implements EngineConfiguration {
     private final ProtonEngine engine;
 
     private ProtonBufferAllocator allocator = ProtonByteBufferAllocator.DEFAULT;
+    private EngineMetrics metrics;
+    private boolean ingestWriteBatching;
+    private boolean retainIncomingPayloads;
 
     private long effectiveMaxInboundFrameSize = ProtonConstants.MIN_MAX_AMQP_FRAME_SIZE;
     private long effectiveMaxOutboundFrameSize = ProtonConstants.MIN_MAX_AMQP_FRAME_SIZE;
@@ -79,6 +83,39 @@ public class ProtonEngineConfiguration implements EngineConfiguration {
         }
     }
 
+    @Override
+    public ProtonEngineConfiguration setIngestWriteBatching(boolean ingestWriteBatching) {
+        this.ingestWriteBatching = ingestWriteBatching;
+        return this;
+    }
+
+    @Override
+    public boolean isIngestWriteBatching() {
+        return ingestWriteBatching;
+    }
+
+    @Override
+    public ProtonEngineConfiguration setRetainIncomingPayloads(boolean retainIncomingPayloads) {
+        this.retainIncomingPayloads = retainIncomingPayloads;
+        return this;
+    }
+
+    @Override
+    public boolean isRetainIncomingPayloads() {
+        return retainIncomingPayloads;
+    }
+
+    @Override
+    public ProtonEngineConfiguration setEngineMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    @Override
+    public EngineMetrics getEngineMetrics() {
+        return metrics;
+    }
+
     //---- proton specific APIs
 
     void recomputeEffectiveFrameSizeLimits() {
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events emitted by the engine.
+ * <p>
+ * All events are disabled by default and must be enabled in the recording settings using their
+ * names, for example {@code org.apache.qpid.protonj2.FrameDecoded#enabled=true}.  When an event is
+ * not enabled the emitting code reduces to a check of the enabled state of its event type and no
+ * event is allocated, and when the JDK has no flight recorder the events are never touched at all.
+ */
+final class ProtonEngineEvents {
+
+    static final String EVENT_PREFIX = "org.apache.qpid.protonj2.";
+    static final String CATEGORY = "Apache Qpid ProtonJ2";
+
+    /**
+     * Indicates the flight recorder API is present, when it is not (for instance when running in an
+     * OSGi container that doesn't expose it) no event class is ever loaded.
+     */
+    static final boolean FLIGHT_RECORDER_AVAILABLE = isFlightRecorderAvailable();
+
+    private ProtonEngineEvents() {
+    }
+
+    static void frameDecoded(Object body, int channel, int frameSize) {
+        if (FLIGHT_RECORDER_AVAILABLE && FrameDecoded.TYPE.isEnabled()) {
+            final FrameDecoded event = new FrameDecoded();
+            event.frameType = frameTypeName(body);
+            event.channel = channel;
+            event.frameSize = frameSize;
+            event.commit();
+        }
+    }
+
+    static void frameEncoded(Object body, int channel, int frameSize) {
+        if (FLIGHT_RECORDER_AVAILABLE && FrameEncoded.TYPE.isEnabled()) {
+            final FrameEncoded event = new FrameEncoded();
+            event.frameType = frameTypeName(body);
+            event.channel = channel;
+            event.frameSize = frameSize;
+            event.commit();
+        }
+    }
+
+    /**
+     * Emits the delivery created event and starts timing the settlement of the new delivery.
+     *
+     * @return an event to pass to {@link #deliverySettled(Object, boolean)} or null if not enabled.
+     */
+    static Object deliveryCreated(ProtonLink<?> link) {
+        if (FLIGHT_RECORDER_AVAILABLE) {
+            if (DeliveryCreated.TYPE.isEnabled()) {
+                final DeliveryCreated event = new DeliveryCreated();
+                event.linkName = link.getName();
+                event.role = link.getRole().name();
+                event.commit();
+            }
+
+            if (DeliverySettled.TYPE.isEnabled()) {
+                final DeliverySettled settled = new DeliverySettled();
+                settled.linkName = link.getName();
+                settled.role = link.getRole().name();
+                settled.begin();
+                return settled;
+            }
+        }
+
+        return null;
+    }
+
+    static void deliverySettled(Object settlementEvent, boolean remotelySettled) {
+        final DeliverySettled event = (DeliverySettled) settlementEvent;
+
+        event.remotelySettled = remotelySettled;
+        event.commit();
+    }
+
+    static void creditExhausted(ProtonLink<?> link) {
+        if (FLIGHT_RECORDER_AVAILABLE && CreditExhausted.TYPE.isEnabled()) {
+            final CreditExhausted event = new CreditExhausted();
+            event.linkName = link.getName();
+            event.role = link.getRole().name();
+            event.commit();
+        }
+    }
+
+    static void creditReplenished(ProtonLink<?> link, int credit) {
+        if (FLIGHT_RECORDER_AVAILABLE && CreditReplenished.TYPE.isEnabled()) {
+            final CreditReplenished event = new CreditReplenished();
+            event.linkName = link.getName();
+            event.role = link.getRole().name();
+            event.credit = credit;
+            event.commit();
+        }
+    }
+
+    static void sessionWindowBlocked(ProtonSession session) {
+        if (FLIGHT_RECORDER_AVAILABLE && SessionWindowBlocked.TYPE.isEnabled()) {
+            final SessionWindowBlocked event = new SessionWindowBlocked();
+            event.channel = session.getLocalChannel();
+            event.commit();
+        }
+    }
+
+    static void sessionWindowUnblocked(ProtonSession session) {
+        if (FLIGHT_RECORDER_AVAILABLE && SessionWindowUnblocked.TYPE.isEnabled()) {
+            final SessionWindowUnblocked event = new SessionWindowUnblocked();
+            event.channel = session.getLocalChannel();
+            event.commit();
+        }
+    }
+
+    private static String frameTypeName(Object body) {
+        return body != null ? body.getClass().getSimpleName() : "Empty";
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, ProtonEngineEvents.class.getClassLoader());
+            return FlightRecorder.isAvailable();
+        } catch (Throwable error) {
+            return false;
+        }
+    }
+
+    //----- Event types
+
+    @Name(EVENT_PREFIX + "FrameDecoded")
+    @Label("Frame Decoded")
+    @Description("An AMQP or SASL frame was read and decoded by the engine")
+    @Category({ CATEGORY, "Engine" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class FrameDecoded extends Event {
+
+        static final EventType TYPE = EventType.getEventType(FrameDecoded.class);
+
+        @Label("Frame Type")
+        String frameType;
+
+        @Label("Channel")
+        int channel;
+
+        @Label("Frame Size")
+        @DataAmount
+        int frameSize;
+
+    }
+
+    @Name(EVENT_PREFIX + "FrameEncoded")
+    @Label("Frame Encoded")
+    @Description("An AMQP or SASL frame was encoded by the engine for writing")
+    @Category({ CATEGORY, "Engine" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class FrameEncoded extends Event {
+
+        static final EventType TYPE = EventType.getEventType(FrameEncoded.class);
+
+        @Label("Frame Type")
+        String frameType;
+
+        @Label("Channel")
+        int channel;
+
+        @Label("Frame Size")
+        @DataAmount
+        int frameSize;
+
+    }
+
+    @Name(EVENT_PREFIX + "DeliveryCreated")
+    @Label("Delivery Created")
+    @Description("A new delivery was started by a sender or arrived at a receiver")
+    @Category({ CATEGORY, "Engine" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class DeliveryCreated extends Event {
+
+        static final EventType TYPE = EventType.getEventType(DeliveryCreated.class);
+
+        @Label("Link Name")
+        String linkName;
+
+        @Label("Link Role")
+        String role;
+
+    }
+
+    @Name(EVENT_PREFIX + "DeliverySettled")
+    @Label("Delivery Settled")
+    @Description("A delivery was first settled by either end, the duration spans from the delivery being created")
+    @Category({ CATEGORY, "Engine" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class DeliverySettled extends Event {
+
+        static final EventType TYPE = EventType.getEventType(DeliverySettled.class);
+
+        @Label("Link Name")
+        String linkName;
+
+        @Label("Link Role")
+        String role;
+
+        @Label("Remotely Settled")
+        boolean remotelySettled;
+
+    }
+
+    @Name(EVENT_PREFIX + "CreditExhausted")
+    @Label("Credit Exhausted")
+    @Description("A delivery consumed the last of the link credit")
+    @Category({ CATEGORY, "Engine" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class CreditExhausted extends Event {
+
+        static final EventType TYPE = EventType.getEventType(CreditExhausted.class);
+
+        @Label("Link Name")
+        String linkName;
+
+        @Label("Link Role")
+        String role;
+
+    }
+
+    @Name(EVENT_PREFIX + "CreditReplenished")
+    @Label("Credit Replenished")
+    @Description("A link that had no credit was granted more")
+    @Category({ CATEGORY, "Engine" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class CreditReplenished extends Event {
+
+        static final EventType TYPE = EventType.getEventType(CreditReplenished.class);
+
+        @Label("Link Name")
+        String linkName;
+
+        @Label("Link Role")
+        String role;
+
+        @Label("Credit")
+        int credit;
+
+    }
+
+    @Name(EVENT_PREFIX + "SessionWindowBlocked")
+    @Label("Session Window Blocked")
+    @Description("A session can send no further transfers until its outgoing window opens again")
+    @Category({ CATEGORY, "Engine" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SessionWindowBlocked extends Event {
+
+        static final EventType TYPE = EventType.getEventType(SessionWindowBlocked.class);
+
+        @Label("Local Channel")
+        int channel;
+
+    }
+
+    @Name(EVENT_PREFIX + "SessionWindowUnblocked")
+    @Label("Session Window Unblocked")
+    @Description("A session outgoing window opened again allowing blocked senders to resume")
+    @Category({ CATEGORY, "Engine" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SessionWindowUnblocked extends Event {
+
+        static final EventType TYPE = EventType.getEventType(SessionWindowUnblocked.class);
+
+        @Label("Local Channel")
+        int channel;
+
+    }
+}
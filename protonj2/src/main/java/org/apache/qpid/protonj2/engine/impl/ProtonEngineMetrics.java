@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.qpid.protonj2.engine.Endpoint;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
+import org.apache.qpid.protonj2.engine.Link;
+import org.apache.qpid.protonj2.engine.Receiver;
+import org.apache.qpid.protonj2.engine.Sender;
+import org.apache.qpid.protonj2.engine.Session;
+
+/**
+ * Proton provided {@link EngineMetrics} implementation that counts the work done by the engine for
+ * the connection as a whole and for each session and link that is currently in use.
+ * <p>
+ * Counters are only ever updated by the engine thread and are written without locking or atomic read
+ * modify write operations, they can be read at any time from any other thread which will observe a
+ * recent value of each individual counter although not a consistent view across counters.  Session
+ * and link counters are dropped once the engine reports the endpoint as freed.
+ */
+public final class ProtonEngineMetrics implements EngineMetrics {
+
+    /**
+     * The counters kept by the {@link ProtonEngineMetrics}, each is tracked for the connection as a
+     * whole and for the sessions and links it applies to.
+     */
+    public enum Counter {
+        /** Number of frames read, connection only */
+        FRAMES_READ,
+        /** Number of bytes read in frames, connection only */
+        BYTES_READ,
+        /** Number of frames written, connection only */
+        FRAMES_WRITTEN,
+        /** Number of bytes written in frames, connection only */
+        BYTES_WRITTEN,
+        /** Number of times the engine failed, connection only */
+        ENGINE_FAILURES,
+        /** Number of times a session outgoing window stalled, connection and session */
+        SESSION_WINDOW_STALLS,
+        /** Number of transfer frames sent */
+        TRANSFERS_SENT,
+        /** Number of delivery payload bytes sent in transfer frames */
+        TRANSFER_BYTES_SENT,
+        /** Number of transfer frames received */
+        TRANSFERS_RECEIVED,
+        /** Number of delivery payload bytes received in transfer frames */
+        TRANSFER_BYTES_RECEIVED,
+        /** Number of delivery dispositions sent */
+        DISPOSITIONS_SENT,
+        /** Number of delivery dispositions received */
+        DISPOSITIONS_RECEIVED,
+        /** Amount of link credit granted */
+        CREDIT_GRANTED,
+        /** Amount of link credit consumed by deliveries */
+        CREDIT_CONSUMED,
+        /** Number of times link credit was consumed down to zero */
+        CREDIT_EXHAUSTED,
+        /** Number of deliveries currently tracked as unsettled */
+        UNSETTLED_DELIVERIES
+    }
+
+    private static final VarHandle COUNTERS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final int COUNTER_COUNT = Counter.values().length;
+
+    private final Counters<Endpoint<?>> connectionCounters = new Counters<>(null, null);
+    private final Map<Session, Counters<Session>> sessionCounters = new ConcurrentHashMap<>();
+    private final Map<Link<?>, Counters<Link<?>>> linkCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Reads the current connection wide value of the given counter, safe to call from any thread.
+     *
+     * @param counter
+     *      The counter whose value should be returned.
+     *
+     * @return the current value of the connection wide counter.
+     */
+    public long get(Counter counter) {
+        return connectionCounters.get(counter);
+    }
+
+    /**
+     * Returns a copy of the current set of session counters, safe to call from any thread.
+     *
+     * @return a {@link Collection} containing the counters of each session that is in use.
+     */
+    public Collection<Counters<Session>> sessionCounters() {
+        return new ArrayList<>(sessionCounters.values());
+    }
+
+    /**
+     * Returns a copy of the current set of link counters, safe to call from any thread.
+     *
+     * @return a {@link Collection} containing the counters of each link that is in use.
+     */
+    public Collection<Counters<Link<?>>> linkCounters() {
+        return new ArrayList<>(linkCounters.values());
+    }
+
+    @Override
+    public void frameRead(int frameSize) {
+        connectionCounters.increment(Counter.FRAMES_READ);
+        connectionCounters.add(Counter.BYTES_READ, frameSize);
+    }
+
+    @Override
+    public void frameWritten(int frameSize) {
+        connectionCounters.increment(Counter.FRAMES_WRITTEN);
+        connectionCounters.add(Counter.BYTES_WRITTEN, frameSize);
+    }
+
+    @Override
+    public void engineFailed(Throwable cause) {
+        connectionCounters.increment(Counter.ENGINE_FAILURES);
+    }
+
+    @Override
+    public void sessionWindowStalled(Session session) {
+        counters(session).increment(Counter.SESSION_WINDOW_STALLS);
+    }
+
+    @Override
+    public void transferSent(Sender sender, int payloadBytes) {
+        final Counters<?> counters = counters(sender);
+        counters.increment(Counter.TRANSFERS_SENT);
+        counters.add(Counter.TRANSFER_BYTES_SENT, payloadBytes);
+    }
+
+    @Override
+    public void transferReceived(Receiver receiver, int payloadBytes) {
+        final Counters<?> counters = counters(receiver);
+        counters.increment(Counter.TRANSFERS_RECEIVED);
+        counters.add(Counter.TRANSFER_BYTES_RECEIVED, payloadBytes);
+    }
+
+    @Override
+    public void dispositionSent(Link<?> link, boolean settled) {
+        counters(link).increment(Counter.DISPOSITIONS_SENT);
+    }
+
+    @Override
+    public void dispositionReceived(Link<?> link, boolean settled) {
+        counters(link).increment(Counter.DISPOSITIONS_RECEIVED);
+    }
+
+    @Override
+    public void creditGranted(Link<?> link, int credit) {
+        counters(link).add(Counter.CREDIT_GRANTED, credit);
+    }
+
+    @Override
+    public void creditConsumed(Link<?> link, int remainingCredit) {
+        final Counters<?> counters = counters(link);
+        counters.increment(Counter.CREDIT_CONSUMED);
+        if (remainingCredit == 0) {
+            counters.increment(Counter.CREDIT_EXHAUSTED);
+        }
+    }
+
+    @Override
+    public void deliveryUnsettled(Link<?> link) {
+        counters(link).add(Counter.UNSETTLED_DELIVERIES, 1);
+    }
+
+    @Override
+    public void deliverySettled(Link<?> link) {
+        counters(link).add(Counter.UNSETTLED_DELIVERIES, -1);
+    }
+
+    @Override
+    public void linkFreed(Link<?> link) {
+        linkCounters.remove(link);
+    }
+
+    @Override
+    public void sessionFreed(Session session) {
+        sessionCounters.remove(session);
+    }
+
+    private Counters<Session> counters(Session session) {
+        final Counters<Session> counters = sessionCounters.get(session);
+        return counters != null ? counters :
+            sessionCounters.computeIfAbsent(session, key -> new Counters<>(key, connectionCounters));
+    }
+
+    private Counters<Link<?>> counters(Link<?> link) {
+        final Counters<Link<?>> counters = linkCounters.get(link);
+        return counters != null ? counters :
+            linkCounters.computeIfAbsent(link, key -> new Counters<>(key, counters(key.getSession())));
+    }
+
+    /**
+     * The set of counters kept for a single endpoint, values added to an endpoint's counters are also
+     * added to the counters of its parent so session counters include the work of their links and the
+     * connection counters include everything.
+     *
+     * @param <E> The type of endpoint the counters are kept for.
+     */
+    public static final class Counters<E extends Endpoint<?>> {
+
+        private final E endpoint;
+        private final Counters<?> parent;
+        private final long[] values = new long[COUNTER_COUNT];
+
+        Counters(E endpoint, Counters<?> parent) {
+            this.endpoint = endpoint;
+            this.parent = parent;
+        }
+
+        /**
+         * @return the endpoint these counters are kept for.
+         */
+        public E getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Reads the current value of the given counter, safe to call from any thread.
+         *
+         * @param counter
+         *      The counter whose value should be returned.
+         *
+         * @return the current value of the counter.
+         */
+        public long get(Counter counter) {
+            return (long) COUNTERS.getOpaque(values, counter.ordinal());
+        }
+
+        void increment(Counter counter) {
+            add(counter, 1);
+        }
+
+        void add(Counter counter, long amount) {
+            Counters<?> counters = this;
+            final int index = counter.ordinal();
+
+            // Only the engine thread writes so a plain read is current, the opaque write keeps
+            // the value whole and visible to readers on other threads.
+            do {
+                COUNTERS.setOpaque(counters.values, index, counters.values[index] + amount);
+            } while ((counters = counters.parent) != null);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder("Counters{");
+
+            for (Counter counter : Counter.values()) {
+                if (counter.ordinal() > 0) {
+                    builder.append(", ");
+                }
+                builder.append(counter).append('=').append(get(counter));
+            }
+
+            return builder.append('}').toString();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.qpid.protonj2.engine.AMQPPerformativeEnvelopePool;
 import org.apache.qpid.protonj2.engine.EmptyEnvelope;
 import org.apache.qpid.protonj2.engine.EngineHandler;
 import org.apache.qpid.protonj2.engine.EngineHandlerContext;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.HeaderEnvelope;
 import org.apache.qpid.protonj2.engine.IncomingAMQPEnvelope;
 import org.apache.qpid.protonj2.engine.SASLEnvelope;
@@ -319,6 +320,11 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
 
             validateDataOffset(dataOffset, frameSize);
 
+            final EngineMetrics metrics = configuration.getEngineMetrics();
+            if (metrics != null) {
+                metrics.frameRead(frameSize);
+            }
+
             int type = input.readByte() & 0xFF;
             short channel = input.readShort();
 
@@ -336,25 +342,22 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
                 int startReadIndex = input.getReadIndex();
                 val = decoder.readObject(input, decoderState);
 
-                // Copy the payload portion of the incoming bytes for now as the incoming may be
-                // from a wrapped pooled buffer and for now we have no way of retaining or otherwise
-                // ensuring that the buffer remains ours.  Since we might want to store received
-                // data at a client level and decode later we could end up losing the data to reuse
-                // if it was pooled.
                 if (input.isReadable()) {
                     int payloadSize = frameBodySize - (input.getReadIndex() - startReadIndex);
                     // Check that the remaining bytes aren't part of another frame.
                     if (payloadSize > 0) {
-                        payload = configuration.getBufferAllocator().allocate(payloadSize, payloadSize);
-                        payload.writeBytes(input, payloadSize);
+                        payload = readPayload(input, payloadSize);
                     }
                 }
             } else {
+                ProtonEngineEvents.frameDecoded(null, channel & 0xFFFF, frameSize);
                 transitionToFrameSizeParsingStage();
                 context.fireRead(EmptyEnvelope.INSTANCE);
                 return;
             }
 
+            ProtonEngineEvents.frameDecoded(val, channel & 0xFFFF, frameSize);
+
             if (type == AMQP_FRAME_TYPE) {
                 Performative performative = (Performative) val;
                 IncomingAMQPEnvelope frame = framePool.take(performative, channel, payload);
@@ -371,6 +374,28 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
             }
         }
 
+        private ProtonBuffer readPayload(ProtonBuffer input, int payloadSize) {
+            final ProtonBuffer payload;
+
+            // Reference counted input (pooled I/O buffers) is retained and sliced so the payload
+            // survives the caller releasing its reference when the engine user has opted in to
+            // releasing the payloads it reads, a frame we buffered ourselves is never reused and
+            // can be sliced directly.  Any other input is owned by the caller and may be reused
+            // once ingest returns so the payload bytes must be copied.
+            if (input.isReferenceCounted() && configuration.isRetainIncomingPayloads()) {
+                payload = input.retainedSlice(input.getReadIndex(), payloadSize);
+                input.skipBytes(payloadSize);
+            } else if (input == frameBufferingStage.buffer) {
+                payload = input.slice(input.getReadIndex(), payloadSize);
+                input.skipBytes(payloadSize);
+            } else {
+                payload = configuration.getBufferAllocator().allocate(payloadSize, payloadSize);
+                payload.writeBytes(input, payloadSize);
+            }
+
+            return payload;
+        }
+
         private void validateDataOffset(int dataOffset, int frameSize) throws FrameDecodingException {
             if (dataOffset < 8) {
                 throw new FrameDecodingException(String.format(
@@ -16,14 +16,18 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import java.util.ArrayList;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonCompositeBuffer;
 import org.apache.qpid.protonj2.codec.CodecFactory;
 import org.apache.qpid.protonj2.codec.EncodeException;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.engine.EngineHandler;
 import org.apache.qpid.protonj2.engine.EngineHandlerContext;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.HeaderEnvelope;
 import org.apache.qpid.protonj2.engine.OutgoingAMQPEnvelope;
 import org.apache.qpid.protonj2.engine.SASLEnvelope;
@@ -54,6 +58,10 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
     private static final int FRAME_TYPE_BYTE = 5;
     private static final int FRAME_CHANNEL_BYTE = 6;
 
+    private static final int WRITE_BATCH_BUFFER_SIZE = 16384;
+    private static final int WRITE_BATCH_INITIAL_SIZE = 1024;
+    private static final int MAX_BATCHED_PAYLOAD_SIZE = 1024;
+
     private static final byte[] SASL_FRAME_HEADER = new byte[] { 0, 0, 0, 0, FRAME_DOFF_SIZE, SASL_FRAME_TYPE, 0, 0 };
 
     private static final ProtonBuffer EMPTY_BUFFER = ProtonByteBufferAllocator.DEFAULT.wrap(new byte[0]);
@@ -63,24 +71,48 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
     private final Encoder amqpEncoder = CodecFactory.getEncoder();
     private final EncoderState amqpEncoderState = amqpEncoder.newEncoderState();
 
+    private final ProtonBuffer frameHeaderScratch = ProtonByteBufferAllocator.DEFAULT.allocate(AMQP_PERFORMATIVE_PAD);
+
+    private final ArrayList<Runnable> writeBatchCompletions = new ArrayList<>();
+
     private ProtonEngine engine;
     private ProtonEngineConfiguration configuration;
+    private EngineHandlerContext context;
+    private ProtonBuffer writeBatch;
 
     @Override
     public void handlerAdded(EngineHandlerContext context) {
-        engine = (ProtonEngine) context.engine();
-        configuration = engine.configuration();
+        this.engine = (ProtonEngine) context.engine();
+        this.configuration = engine.configuration();
+        this.context = context;
+
+        engine.registerFrameEncoder(this);
 
         ((ProtonEngineHandlerContext) context).interestMask(ProtonEngineHandlerContext.HANDLER_WRITES);
     }
 
+    @Override
+    public void handlerRemoved(EngineHandlerContext context) {
+        discardWriteBatch();
+        engine.registerFrameEncoder(null);
+    }
+
     @Override
     public void handleWrite(EngineHandlerContext context, HeaderEnvelope envelope) {
+        flushWriteBatch();
         context.fireWrite(envelope.getBody().getBuffer(), null);
     }
 
+    @Override
+    public void handleWrite(EngineHandlerContext context, ProtonBuffer buffer, Runnable ioComplete) {
+        flushWriteBatch();
+        context.fireWrite(buffer, ioComplete);
+    }
+
     @Override
     public void handleWrite(EngineHandlerContext context, SASLEnvelope envelope) {
+        flushWriteBatch();
+
         ProtonBuffer output = configuration.getBufferAllocator().outputBuffer(AMQP_PERFORMATIVE_PAD, (int) configuration.getOutboundMaxFrameSize());
 
         output.setWriteIndex(FRAME_HEADER_SIZE);
@@ -94,13 +126,32 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
             saslEncoderState.reset();
         }
 
-        context.fireWrite(output.setInt(FRAME_START_BYTE, output.getReadableBytes()), null);
+        output.setInt(FRAME_START_BYTE, output.getReadableBytes());
+
+        recordFrameWritten(envelope.getBody(), 0, output.getReadableBytes());
+
+        context.fireWrite(output, null);
     }
 
     @Override
     public void handleWrite(EngineHandlerContext context, OutgoingAMQPEnvelope envelope) {
         final ProtonBuffer payload = envelope.getPayload() == null ? EMPTY_BUFFER : envelope.getPayload();
         final int maxFrameSize = (int) configuration.getOutboundMaxFrameSize();
+
+        if (engine.isWriteBatching() && payload.getReadableBytes() <= MAX_BATCHED_PAYLOAD_SIZE &&
+            tryWriteBatched(envelope, payload, maxFrameSize)) {
+            return;
+        }
+
+        flushWriteBatch();
+
+        if (envelope.getPayloadHeadroom() > 0 && tryWriteInPlace(context, envelope, payload, maxFrameSize)) {
+            return;
+        } else if (envelope.isPayloadRetainable() && payload.isReadable()) {
+            writeGathered(context, envelope, payload, maxFrameSize);
+            return;
+        }
+
         final int outputBufferSize = Math.min(maxFrameSize, AMQP_PERFORMATIVE_PAD + payload.getReadableBytes());
         final ProtonBuffer output = configuration.getBufferAllocator().outputBuffer(outputBufferSize, maxFrameSize);
 
@@ -122,11 +173,215 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
         output.setByte(FRAME_TYPE_BYTE, AMQP_FRAME_TYPE);
         output.setShort(FRAME_CHANNEL_BYTE, (short) envelope.getChannel());
 
-        context.fireWrite(output, envelope::handleOutgoingFrameWriteComplete);
+        recordFrameWritten(envelope.getBody(), envelope.getChannel(), output.getReadableBytes());
+
+        context.fireWrite(output, writeCompletion(envelope));
+    }
+
+    /**
+     * Writes any frames packed into the current write batch to the I/O layer as one buffer whose
+     * completion runs the write completion callbacks of each packed frame in order.
+     */
+    void flushWriteBatch() {
+        if (writeBatch != null && writeBatch.isReadable()) {
+            final ProtonBuffer output = writeBatch;
+            final Runnable ioComplete;
+
+            if (writeBatchCompletions.isEmpty()) {
+                ioComplete = null;
+            } else if (writeBatchCompletions.size() == 1) {
+                ioComplete = writeBatchCompletions.get(0);
+            } else {
+                final Runnable[] completions = writeBatchCompletions.toArray(new Runnable[writeBatchCompletions.size()]);
+                ioComplete = () -> {
+                    for (Runnable completion : completions) {
+                        completion.run();
+                    }
+                };
+            }
+
+            writeBatch = null;
+            writeBatchCompletions.clear();
+
+            context.fireWrite(output, ioComplete);
+        }
+    }
+
+    /**
+     * Drops any frames packed into the current write batch without writing them and releases the
+     * batch buffer, used once the engine has failed and no further output is possible.
+     */
+    void discardWriteBatch() {
+        if (writeBatch != null) {
+            writeBatch.release();
+            writeBatch = null;
+        }
+
+        writeBatchCompletions.clear();
+    }
+
+    /*
+     * Encodes the frame directly after any frames already packed into the current write batch, the
+     * batch is written before the frame if the remaining space cannot hold it and after the frame
+     * once it has grown beyond the target batch size.  Frames that turn out to exceed the max frame
+     * size are backed out and left to the normal write path.
+     */
+    private boolean tryWriteBatched(OutgoingAMQPEnvelope envelope, ProtonBuffer payload, int maxFrameSize) {
+        if (writeBatch != null && WRITE_BATCH_BUFFER_SIZE - writeBatch.getWriteIndex() < AMQP_PERFORMATIVE_PAD + payload.getReadableBytes()) {
+            flushWriteBatch();
+        }
+
+        // Start small and let the batch grow as frames are packed, a batch is frequently flushed
+        // holding a single small frame and the buffer is handed off to the I/O layer each time.
+        if (writeBatch == null) {
+            writeBatch = configuration.getBufferAllocator().outputBuffer(WRITE_BATCH_INITIAL_SIZE);
+        }
+
+        final int frameStart = writeBatch.getWriteIndex();
+        final int payloadStart = payload.getReadIndex();
+
+        try {
+            writePerformative(writeBatch, frameStart, amqpEncoder, amqpEncoderState, envelope.getBody());
+            writeBatch.writeBytes(payload);
+        } catch (Throwable error) {
+            writeBatch.setWriteIndex(frameStart);
+            throw error;
+        }
+
+        final int frameSize = writeBatch.getWriteIndex() - frameStart;
+
+        if (frameSize > maxFrameSize) {
+            writeBatch.setWriteIndex(frameStart);
+            payload.setReadIndex(payloadStart);
+            return false;
+        }
+
+        writeBatch.setInt(frameStart + FRAME_START_BYTE, frameSize);
+        writeBatch.setByte(frameStart + FRAME_DOFF_BYTE, FRAME_DOFF_SIZE);
+        writeBatch.setByte(frameStart + FRAME_TYPE_BYTE, AMQP_FRAME_TYPE);
+        writeBatch.setShort(frameStart + FRAME_CHANNEL_BYTE, (short) envelope.getChannel());
+
+        recordFrameWritten(envelope.getBody(), envelope.getChannel(), frameSize);
+
+        final Runnable ioComplete = writeCompletion(envelope);
+        if (ioComplete != null) {
+            writeBatchCompletions.add(ioComplete);
+        }
+
+        if (writeBatch.getReadableBytes() >= WRITE_BATCH_BUFFER_SIZE) {
+            flushWriteBatch();
+        }
+
+        return true;
+    }
+
+    /*
+     * Encodes the frame header and performative into the space reserved ahead of the payload and
+     * hands a retained view of the payload buffer to the I/O layer.  Only done when the full payload
+     * fits in a single frame, otherwise the caller falls back to copying into frame sized buffers.
+     */
+    private boolean tryWriteInPlace(EngineHandlerContext context, OutgoingAMQPEnvelope envelope, ProtonBuffer payload, int maxFrameSize) {
+        final int headroom = Math.min(envelope.getPayloadHeadroom(), payload.getReadIndex());
+
+        if (headroom < FRAME_HEADER_SIZE || payload.getReadableBytes() > maxFrameSize - FRAME_HEADER_SIZE) {
+            return false;
+        }
+
+        final ProtonBuffer header = frameHeaderScratch;
+
+        writePerformative(header, amqpEncoder, amqpEncoderState, envelope.getBody());
+
+        final int headerSize = header.getWriteIndex();
+        final int frameSize = headerSize + payload.getReadableBytes();
+
+        if (headerSize > headroom || frameSize > maxFrameSize) {
+            return false;
+        }
+
+        final int frameStart = payload.getReadIndex() - headerSize;
+
+        payload.setBytes(frameStart, header, 0, headerSize);
+        payload.setInt(frameStart + FRAME_START_BYTE, frameSize);
+        payload.setByte(frameStart + FRAME_DOFF_BYTE, FRAME_DOFF_SIZE);
+        payload.setByte(frameStart + FRAME_TYPE_BYTE, AMQP_FRAME_TYPE);
+        payload.setShort(frameStart + FRAME_CHANNEL_BYTE, (short) envelope.getChannel());
+
+        final ProtonBuffer output = payload.retainedSlice(frameStart, frameSize);
+
+        payload.setReadIndex(payload.getWriteIndex());
+
+        recordFrameWritten(envelope.getBody(), envelope.getChannel(), frameSize);
+
+        context.fireWrite(output, writeCompletion(envelope));
+
+        return true;
+    }
+
+    /*
+     * Encodes the frame header and performative into a small buffer and appends a retained slice
+     * of the payload after it so the I/O layer can gather both into a single write without the
+     * payload bytes ever being copied into a frame sized buffer.
+     */
+    private void writeGathered(EngineHandlerContext context, OutgoingAMQPEnvelope envelope, ProtonBuffer payload, int maxFrameSize) {
+        final ProtonBuffer header = configuration.getBufferAllocator().outputBuffer(AMQP_PERFORMATIVE_PAD, maxFrameSize);
+
+        writePerformative(header, amqpEncoder, amqpEncoderState, envelope.getBody());
+
+        if (payload.getReadableBytes() > header.getMaxWritableBytes()) {
+            envelope.handlePayloadToLarge();
+
+            writePerformative(header, amqpEncoder, amqpEncoderState, envelope.getBody());
+        }
+
+        final int payloadSize = Math.min(payload.getReadableBytes(), header.getMaxWritableBytes());
+
+        header.setInt(FRAME_START_BYTE, header.getReadableBytes() + payloadSize);
+        header.setByte(FRAME_DOFF_BYTE, FRAME_DOFF_SIZE);
+        header.setByte(FRAME_TYPE_BYTE, AMQP_FRAME_TYPE);
+        header.setShort(FRAME_CHANNEL_BYTE, (short) envelope.getChannel());
+
+        final ProtonCompositeBuffer output = new ProtonCompositeBuffer(maxFrameSize);
+
+        output.append(header);
+        output.append(payload.retainedSlice(payload.getReadIndex(), payloadSize));
+
+        payload.skipBytes(payloadSize);
+
+        recordFrameWritten(envelope.getBody(), envelope.getChannel(), output.getReadableBytes());
+
+        context.fireWrite(output, writeCompletion(envelope));
+    }
+
+    private void recordFrameWritten(Object body, int channel, int frameSize) {
+        final EngineMetrics metrics = configuration.getEngineMetrics();
+        if (metrics != null) {
+            metrics.frameWritten(frameSize);
+        }
+
+        ProtonEngineEvents.frameEncoded(body, channel, frameSize);
+    }
+
+    /*
+     * Frames that nobody is waiting on are done with once encoded, the payload bytes have already been
+     * copied or retained, so they are released now and no completion callback is handed to the I/O layer
+     * at all.  Otherwise the envelope's own preallocated completion callback is used, releasing it after
+     * the registered handler has been told that the write finished.
+     */
+    private static Runnable writeCompletion(OutgoingAMQPEnvelope envelope) {
+        if (envelope.hasFrameWriteCompletionHandler()) {
+            return envelope.getFrameWriteCompletion();
+        } else {
+            envelope.release();
+            return null;
+        }
     }
 
     private static void writePerformative(ProtonBuffer target, Encoder encoder, EncoderState state, Performative performative) {
-        target.setWriteIndex(FRAME_HEADER_SIZE);
+        writePerformative(target, 0, encoder, state, performative);
+    }
+
+    private static void writePerformative(ProtonBuffer target, int frameStart, Encoder encoder, EncoderState state, Performative performative) {
+        target.setWriteIndex(frameStart + FRAME_HEADER_SIZE);
 
         try {
             encoder.writeObject(target, state, performative);
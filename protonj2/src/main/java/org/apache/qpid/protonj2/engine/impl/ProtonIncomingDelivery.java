@@ -46,6 +46,9 @@ public class ProtonIncomingDelivery implements IncomingDelivery {
     private DeliveryState remoteState;
     private boolean remotelySettled;
 
+    // Flight recorder event timing settlement, only present while recording with it enabled
+    private Object settlementEvent;
+
     private ProtonBuffer payload;
     private ProtonCompositeBuffer aggregate;
 
@@ -68,6 +71,7 @@ public class ProtonIncomingDelivery implements IncomingDelivery {
         this.deliveryId = deliveryId;
         this.deliveryTag = deliveryTag;
         this.link = link;
+        this.settlementEvent = ProtonEngineEvents.deliveryCreated(link);
     }
 
     @Override
@@ -170,6 +174,10 @@ public class ProtonIncomingDelivery implements IncomingDelivery {
 
         this.locallySettled = settle;
         this.localState = state;
+
+        if (settle) {
+            recordSettled(false);
+        }
         this.link.disposition(this);
 
         return this;
@@ -211,6 +219,7 @@ public class ProtonIncomingDelivery implements IncomingDelivery {
             payload.readBytes(buffer);
             bytesRead -= payload.getReadableBytes();
             if (!payload.isReadable()) {
+                payload.release();
                 payload = null;
                 aggregate = null;
             }
@@ -231,6 +240,7 @@ public class ProtonIncomingDelivery implements IncomingDelivery {
             payload.readBytes(array, offset, length);
             bytesRead -= payload.getReadableBytes();
             if (!payload.isReadable()) {
+                payload.release();
                 payload = null;
                 aggregate = null;
             }
@@ -312,6 +322,7 @@ public class ProtonIncomingDelivery implements IncomingDelivery {
         if (payload != null) {
             final int bytesRead = payload.getReadableBytes();
 
+            payload.release();
             payload = null;
             aggregate = null;
 
@@ -322,13 +333,39 @@ public class ProtonIncomingDelivery implements IncomingDelivery {
         return this;
     }
 
+    ProtonIncomingDelivery releasePayload() {
+        if (payload != null) {
+            final int bytesRead = claimedBytes - payload.getReadableBytes();
+
+            payload.release();
+            payload = null;
+            aggregate = null;
+            claimedBytes = 0;
+
+            // Discarded bytes must not keep counting against the session incoming window
+            if (bytesRead < 0) {
+                link.deliveryRead(this, -bytesRead);
+            }
+        }
+
+        return this;
+    }
+
     ProtonIncomingDelivery completed() {
         this.complete = true;
         return this;
     }
 
+    private void recordSettled(boolean remotely) {
+        if (settlementEvent != null) {
+            ProtonEngineEvents.deliverySettled(settlementEvent, remotely);
+            settlementEvent = null;
+        }
+    }
+
     ProtonIncomingDelivery remotelySettled() {
         this.remotelySettled = true;
+        recordSettled(true);
         return this;
     }
 
@@ -339,6 +376,7 @@ public class ProtonIncomingDelivery implements IncomingDelivery {
 
     ProtonIncomingDelivery locallySettled() {
         this.locallySettled = true;
+        recordSettled(false);
         return this;
     }
 
@@ -554,6 +554,14 @@ public abstract class ProtonLink<L extends Link<L>> extends ProtonEndpoint<L> im
         // Nothing currently updated on this state change.
     }
 
+    protected void transitionToFreed() {
+        // Nothing currently updated on this state change.
+    }
+
+    protected void transitionToEngineShutdown() {
+        // Nothing currently updated on this state change.
+    }
+
     //----- Process local events from the parent session and connection
 
     final void handleSessionLocallyClosed(ProtonSession session) {
@@ -614,6 +622,8 @@ public abstract class ProtonLink<L extends Link<L>> extends ProtonEndpoint<L> im
         try {
             fireEngineShutdown();
         } catch (Throwable ignore) {}
+
+        transitionToEngineShutdown();
     }
 
     //----- Handle incoming performatives
@@ -39,6 +39,7 @@ public class ProtonOutgoingDelivery implements OutgoingDelivery {
 
     private boolean complete;
     private int messageFormat;
+    private boolean frameHeaderReserved;
     private boolean aborted;
     private int transferCount;
 
@@ -48,6 +49,9 @@ public class ProtonOutgoingDelivery implements OutgoingDelivery {
     private DeliveryState remoteState;
     private boolean remotelySettled;
 
+    // Flight recorder event timing settlement, only present while recording with it enabled
+    private Object settlementEvent;
+
     private ProtonAttachments attachments;
     private Object linkedResource;
 
@@ -62,6 +66,7 @@ public class ProtonOutgoingDelivery implements OutgoingDelivery {
      */
     public ProtonOutgoingDelivery(ProtonSender link) {
         this.link = link;
+        this.settlementEvent = ProtonEngineEvents.deliveryCreated(link);
     }
 
     @Override
@@ -143,6 +148,17 @@ public class ProtonOutgoingDelivery implements OutgoingDelivery {
         return this;
     }
 
+    @Override
+    public boolean isFrameHeaderReserved() {
+        return frameHeaderReserved;
+    }
+
+    @Override
+    public OutgoingDelivery setFrameHeaderReserved(boolean reserved) {
+        this.frameHeaderReserved = reserved;
+        return this;
+    }
+
     @Override
     public boolean isPartial() {
         return !complete && !aborted;
@@ -183,6 +199,10 @@ public class ProtonOutgoingDelivery implements OutgoingDelivery {
         this.locallySettled = settle;
         this.localState = state;
 
+        if (settle) {
+            recordSettled(false);
+        }
+
         // If no transfers initiated yet we just store the state and transmit in the first transfer
         // and if no work actually requested we don't emit a useless frame.  After complete send we
         // must send a disposition instead for this transfer until it is settled.
@@ -237,6 +257,7 @@ public class ProtonOutgoingDelivery implements OutgoingDelivery {
         if (deliveryId != DELIVERY_ABORTED) {
             locallySettled = true;
             aborted = true;
+            recordSettled(false);
             try {
                 link.abort(this);
             } finally {
@@ -283,8 +304,16 @@ public class ProtonOutgoingDelivery implements OutgoingDelivery {
         transferCount++;
     }
 
+    private void recordSettled(boolean remotely) {
+        if (settlementEvent != null) {
+            ProtonEngineEvents.deliverySettled(settlementEvent, remotely);
+            settlementEvent = null;
+        }
+    }
+
     ProtonOutgoingDelivery remotelySettled() {
         this.remotelySettled = true;
+        recordSettled(true);
         return this;
     }
 
@@ -295,6 +324,7 @@ public class ProtonOutgoingDelivery implements OutgoingDelivery {
 
     ProtonOutgoingDelivery locallySettled() {
         this.locallySettled = true;
+        recordSettled(false);
         return this;
     }
 
@@ -24,6 +24,7 @@ import java.util.Objects;
 import java.util.function.Predicate;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.EventHandler;
 import org.apache.qpid.protonj2.engine.IncomingDelivery;
 import org.apache.qpid.protonj2.engine.LinkCreditState;
@@ -109,6 +110,7 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
 
         if (credit > 0) {
             getCreditState().incrementCredit(credit);
+            recordCreditGranted(credit);
             if (isLocallyOpen() && wasLocalAttachSent()) {
                 sessionWindow.writeFlow(this);
             }
@@ -155,6 +157,7 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
         }
 
         getCreditState().incrementCredit(credits - currentCredit);
+        recordCreditGranted(credits - currentCredit);
 
         if (getCredit() > 0) {
             drainStateSnapshot = getCreditState().snapshot();
@@ -409,6 +412,15 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
         if (done) {
             getCreditState().decrementCredit();
             getCreditState().incrementDeliveryCount();
+
+            final EngineMetrics metrics = engine.metrics();
+            if (metrics != null) {
+                metrics.creditConsumed(this, getCredit());
+            }
+
+            if (getCredit() == 0) {
+                ProtonEngineEvents.creditExhausted(this);
+            }
             currentDeliveryId.reset();
 
             if (transfer.getAborted()) {
@@ -432,6 +444,21 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
         return delivery;
     }
 
+    @Override
+    protected void transitionToFreed() {
+        releaseDeliveryPayloads();
+    }
+
+    @Override
+    protected void transitionToEngineShutdown() {
+        releaseDeliveryPayloads();
+    }
+
+    private void releaseDeliveryPayloads() {
+        // No more bytes can be read from the link so unread bytes must not keep pinning pooled I/O buffers
+        unsettled.forEach((deliveryId, delivery) -> delivery.releasePayload());
+    }
+
     @Override
     protected ProtonReceiver decorateOutgoingFlow(Flow flow) {
         flow.setLinkCredit(getCredit());
@@ -458,4 +485,15 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
                                                currentDeliveryId + " and " + transfer.getDeliveryId()));
         }
     }
+
+    private void recordCreditGranted(int credit) {
+        final EngineMetrics metrics = engine.metrics();
+        if (metrics != null && credit > 0) {
+            metrics.creditGranted(this, credit);
+        }
+
+        if (credit > 0 && credit == getCredit()) {
+            ProtonEngineEvents.creditReplenished(this, credit);
+        }
+    }
 }
@@ -25,6 +25,7 @@ import java.util.function.Predicate;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.engine.DeliveryTagGenerator;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.EventHandler;
 import org.apache.qpid.protonj2.engine.OutgoingDelivery;
 import org.apache.qpid.protonj2.engine.Sender;
@@ -54,6 +55,7 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
     private EventHandler<Sender> linkCreditUpdatedHandler = null;
 
     private boolean sendable;
+    private boolean awaitingSessionCapacity;
     private DeliveryTagGenerator autoTagGenerator;
     private OutgoingDelivery current;
 
@@ -243,6 +245,7 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
     @Override
     protected final ProtonSender handleRemoteFlow(Flow flow) {
         ProtonLinkCreditState creditState = getCreditState();
+        final int previousCredit = creditState.getCredit();
 
         creditState.remoteFlow(flow);
 
@@ -260,9 +263,19 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
             creditState.updateCredit(0);
         }
 
+        final EngineMetrics metrics = engine.metrics();
+        if (metrics != null && creditState.getCredit() > previousCredit) {
+            metrics.creditGranted(this, creditState.getCredit() - previousCredit);
+        }
+
+        if (previousCredit == 0 && creditState.getCredit() > 0) {
+            ProtonEngineEvents.creditReplenished(this, creditState.getCredit());
+        }
+
         if (isLocallyOpen()) {
             sendable = getCredit() > 0 && sessionWindow.isSendable();
 
+            awaitSessionCapacityIfBlocked();
             signalLinkCreditStateUpdated();
         }
 
@@ -274,6 +287,8 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
 
         sendable = getCredit() > 0 && sessionWindow.isSendable();
 
+        awaitSessionCapacityIfBlocked();
+
         if (previousSendable != sendable) {
             signalLinkCreditStateUpdated();
         }
@@ -281,6 +296,26 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
         return this;
     }
 
+    void handleSessionCapacityRestored(ProtonSessionOutgoingWindow protonSessionOutgoingWindow) {
+        awaitingSessionCapacity = false;
+
+        // Closed or detached senders are not woken and simply drop out of the blocked senders queue.
+        if (isLocallyOpen()) {
+            handleSessionCreditStateUpdate(protonSessionOutgoingWindow);
+        }
+    }
+
+    /*
+     * A sender that has credit but was stopped by the session outgoing window queues itself with the
+     * window so that only blocked senders need to be visited when the window reopens.
+     */
+    private void awaitSessionCapacityIfBlocked() {
+        if (!sendable && !awaitingSessionCapacity && getCredit() > 0 && !sessionWindow.isSendable()) {
+            awaitingSessionCapacity = true;
+            sessionWindow.awaitSessionCapacity(this);
+        }
+    }
+
     @Override
     protected final ProtonSender decorateOutgoingFlow(Flow flow) {
         flow.setLinkCredit(getCredit());
@@ -317,11 +352,19 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
                     getCreditState().incrementDeliveryCount();
                     getCreditState().decrementCredit();
 
+                    final EngineMetrics metrics = engine.metrics();
+                    if (metrics != null) {
+                        metrics.creditConsumed(this, getCredit());
+                    }
+
                     if (getCredit() == 0) {
+                        ProtonEngineEvents.creditExhausted(this);
                         sendable = false;
                         getCreditState().clearDrain();
                     }
                 }
+
+                awaitSessionCapacityIfBlocked();
             }
         }
     }
@@ -392,6 +435,7 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
     protected void transitionedToLocallyOpened() {
         localAttach.setInitialDeliveryCount(currentDeliveryId.longValue());
         sendable = getCredit() > 0 && sessionWindow.isSendable();
+        awaitSessionCapacityIfBlocked();
     }
 
     @Override
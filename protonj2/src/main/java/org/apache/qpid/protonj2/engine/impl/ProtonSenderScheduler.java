@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import org.apache.qpid.protonj2.engine.Sender;
+import org.apache.qpid.protonj2.engine.SenderScheduler;
+
+/**
+ * Proton provided {@link SenderScheduler} utility.
+ */
+public abstract class ProtonSenderScheduler implements SenderScheduler {
+
+    /**
+     * The default number of payload bytes a sender of weight one may write in each round
+     * of a {@link BUILTIN#DEFICIT_ROUND_ROBIN} scheduler.
+     */
+    public static final int DEFAULT_QUANTUM = 64 * 1024;
+
+    /**
+     * An enumeration of the Proton provided {@link SenderScheduler} implementations.
+     */
+    public enum BUILTIN {
+        /**
+         * Provides a {@link SenderScheduler} that notifies blocked senders in the order that they
+         * became blocked, a sender that blocks again after being notified waits behind all others
+         * and notification resumes from the first sender not reached by the previous pass.
+         */
+        ROUND_ROBIN {
+
+            @Override
+            public SenderScheduler createScheduler() {
+                return new ProtonRoundRobinScheduler();
+            }
+        },
+        /**
+         * Provides a {@link SenderScheduler} that shares the session outgoing capacity among blocked
+         * senders by the number of payload bytes each has written.  In each round every sender earns
+         * a quantum of {@link ProtonSenderScheduler#DEFAULT_QUANTUM} bytes and keeps its place at the
+         * head of the schedule until it has written that amount, which prevents senders of large
+         * messages from taking a larger share than senders of small ones.
+         */
+        DEFICIT_ROUND_ROBIN {
+
+            @Override
+            public SenderScheduler createScheduler() {
+                return new ProtonDeficitRoundRobinScheduler(DEFAULT_QUANTUM, sender -> 1);
+            }
+        };
+
+        /**
+         * @return a new {@link SenderScheduler} instance as requested from the built in types.
+         */
+        public abstract SenderScheduler createScheduler();
+
+    }
+
+    /**
+     * Creates a deficit round robin {@link SenderScheduler} where each sender earns the given quantum
+     * multiplied by its weight in payload bytes on each round, a sender of weight two is therefore able
+     * to write twice the number of bytes as a sender of weight one when both are constantly blocked.
+     *
+     * @param quantum
+     *      The number of payload bytes a sender of weight one may write in each round.
+     * @param weights
+     *      A function that returns the weight of a given sender, the value must be at least one.
+     *
+     * @return a new deficit round robin {@link SenderScheduler} instance.
+     */
+    public static SenderScheduler deficitRoundRobin(int quantum, ToIntFunction<Sender> weights) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("The scheduler quantum must be greater than zero");
+        }
+
+        return new ProtonDeficitRoundRobinScheduler(quantum, weights);
+    }
+
+    private static final class ProtonRoundRobinScheduler extends ProtonSenderScheduler {
+
+        private final ArrayDeque<Sender> blocked = new ArrayDeque<>();
+
+        @Override
+        public void senderBlocked(Sender sender) {
+            blocked.addLast(sender);
+        }
+
+        @Override
+        public void senderWrote(Sender sender, int bytesWritten) {
+            // Round robin offers capacity by turns and ignores the amount written.
+        }
+
+        @Override
+        public Sender nextSender() {
+            return blocked.pollFirst();
+        }
+
+        @Override
+        public int getBlockedCount() {
+            return blocked.size();
+        }
+    }
+
+    private static final class ProtonDeficitRoundRobinScheduler extends ProtonSenderScheduler {
+
+        private final int quantum;
+        private final ToIntFunction<Sender> weights;
+        private final ArrayDeque<Sender> blocked = new ArrayDeque<>();
+
+        // Tracks senders that are blocked or in their turn, a sender that is not blocked again by
+        // the end of its turn has nothing left to send and is dropped which resets its deficit.
+        private final Map<Sender, SchedulerState> states = new IdentityHashMap<>();
+
+        private Sender current;
+        private SchedulerState currentState;
+
+        ProtonDeficitRoundRobinScheduler(int quantum, ToIntFunction<Sender> weights) {
+            this.quantum = quantum;
+            this.weights = weights;
+        }
+
+        @Override
+        public void senderBlocked(Sender sender) {
+            if (sender == current) {
+                current = null;
+
+                // Senders that have not used up their share of the round keep their place at the head
+                if (currentState.deficit > 0) {
+                    blocked.addFirst(sender);
+                } else {
+                    currentState.inTurn = false;
+                    blocked.addLast(sender);
+                }
+            } else {
+                states.computeIfAbsent(sender, key -> new SchedulerState());
+                blocked.addLast(sender);
+            }
+        }
+
+        @Override
+        public void senderWrote(Sender sender, int bytesWritten) {
+            final SchedulerState state = sender == current ? currentState : states.get(sender);
+
+            if (state != null) {
+                state.deficit -= bytesWritten;
+            }
+        }
+
+        @Override
+        public Sender nextSender() {
+            if (current != null) {
+                states.remove(current);
+                current = null;
+            }
+
+            Sender sender;
+
+            while ((sender = blocked.pollFirst()) != null) {
+                final SchedulerState state = states.get(sender);
+
+                if (!state.inTurn) {
+                    state.deficit += quantum * Math.max(1, weights.applyAsInt(sender));
+                    state.inTurn = true;
+
+                    // A sender still paying off writes from earlier rounds sits this one out.
+                    if (state.deficit <= 0) {
+                        state.inTurn = false;
+                        blocked.addLast(sender);
+                        continue;
+                    }
+                }
+
+                current = sender;
+                currentState = state;
+                break;
+            }
+
+            return sender;
+        }
+
+        @Override
+        public int getBlockedCount() {
+            return blocked.size();
+        }
+
+        private static final class SchedulerState {
+
+            private int deficit;
+            private boolean inTurn;
+
+        }
+    }
+}
@@ -26,11 +26,13 @@ import java.util.Set;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.engine.ConnectionState;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.EventHandler;
 import org.apache.qpid.protonj2.engine.Link;
 import org.apache.qpid.protonj2.engine.LinkState;
 import org.apache.qpid.protonj2.engine.Receiver;
 import org.apache.qpid.protonj2.engine.Sender;
+import org.apache.qpid.protonj2.engine.SenderScheduler;
 import org.apache.qpid.protonj2.engine.Session;
 import org.apache.qpid.protonj2.engine.SessionState;
 import org.apache.qpid.protonj2.engine.TransactionController;
@@ -38,7 +40,7 @@ import org.apache.qpid.protonj2.engine.TransactionManager;
 import org.apache.qpid.protonj2.engine.exceptions.EngineFailedException;
 import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
 import org.apache.qpid.protonj2.engine.exceptions.ProtocolViolationException;
-import org.apache.qpid.protonj2.engine.util.SplayMap;
+import org.apache.qpid.protonj2.engine.util.IntObjectMap;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.transport.Attach;
 import org.apache.qpid.protonj2.types.transport.Begin;
@@ -68,8 +70,8 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
     private final Map<String, ProtonSender> senderByNameMap = new HashMap<>();
     private final Map<String, ProtonReceiver> receiverByNameMap = new HashMap<>();
 
-    private final SplayMap<ProtonLink<?>> localLinks = new SplayMap<>();
-    private final SplayMap<ProtonLink<?>> remoteLinks = new SplayMap<>();
+    private final IntObjectMap<ProtonLink<?>> localLinks = new IntObjectMap<>();
+    private final IntObjectMap<ProtonLink<?>> remoteLinks = new IntObjectMap<>();
 
     private final Flow cachedFlow = new Flow();
 
@@ -222,6 +224,51 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
         return outgoingWindow.getRemainingOutgoingCapacity();
     }
 
+    @Override
+    public Session setDispositionBatchLimit(int batchLimit) throws IllegalArgumentException {
+        if (batchLimit < 0) {
+            throw new IllegalArgumentException("Disposition batch limit cannot be negative");
+        }
+
+        incomingWindow.getDispositionBatch().setBatchLimit(batchLimit);
+        outgoingWindow.getDispositionBatch().setBatchLimit(batchLimit);
+
+        return this;
+    }
+
+    @Override
+    public int getDispositionBatchLimit() {
+        return incomingWindow.getDispositionBatch().getBatchLimit();
+    }
+
+    @Override
+    public Session flushDispositions() throws EngineStateException {
+        engine.checkShutdownOrFailed("Cannot flush dispositions when the Engine is shutdown or failed.");
+
+        incomingWindow.getDispositionBatch().flush();
+        outgoingWindow.getDispositionBatch().flush();
+
+        return this;
+    }
+
+    @Override
+    public Session setSenderScheduler(SenderScheduler scheduler) throws IllegalStateException {
+        checkNotOpened("Cannot set sender scheduler on already opened Session");
+
+        if (scheduler != null) {
+            outgoingWindow.setSenderScheduler(scheduler);
+        } else {
+            outgoingWindow.setSenderScheduler(ProtonSenderScheduler.BUILTIN.ROUND_ROBIN.createScheduler());
+        }
+
+        return this;
+    }
+
+    @Override
+    public SenderScheduler getSenderScheduler() {
+        return outgoingWindow.getSenderScheduler();
+    }
+
     @Override
     public Session setHandleMax(long handleMax) throws IllegalStateException {
         checkNotOpened("Cannot set handle max on already opened Session");
@@ -528,6 +575,8 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
             } else {
                 senderByNameMap.remove(link.getName());
             }
+
+            recordLinkFreed(link);
          }
 
         link.remoteDetach(detach);
@@ -555,7 +604,9 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
     }
 
     private void handleSessionOnlyFlow(Flow flow, boolean previousSessionWritable) {
-        if (previousSessionWritable != outgoingWindow.isSendable()) {
+        if (!previousSessionWritable && outgoingWindow.isSendable()) {
+            outgoingWindow.notifyBlockedSenders();
+        } else if (previousSessionWritable != outgoingWindow.isSendable()) {
             for (ProtonSender sender : senders()) {
                 sender.handleSessionCreditStateUpdate(outgoingWindow);
 
@@ -575,15 +626,23 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
     void remoteTransfer(Transfer transfer, ProtonBuffer payload, int channel) {
         final ProtonLink<?> link = remoteLinks.get((int) transfer.getHandle());
         if (link == null) {
+            releasePayload(payload);
             getEngine().engineFailed(new ProtocolViolationException(
                 "Received uncorrelated handle on Transfer from remote: " + channel));
         } else if (!link.isRemotelyOpen()) {
+            releasePayload(payload);
             getEngine().engineFailed(new ProtocolViolationException("Received Transfer for detached Receiver: " + link));
         } else {
             incomingWindow.handleTransfer(link, transfer, payload);
         }
     }
 
+    private static void releasePayload(ProtonBuffer payload) {
+        if (payload != null) {
+            payload.release();
+        }
+    }
+
     void remoteDisposition(Disposition disposition, int channel) {
         if (disposition.getRole() == Role.RECEIVER) {
             outgoingWindow.handleDisposition(disposition);
@@ -619,6 +678,17 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
             } else {
                 senderByNameMap.remove(linkToFree.getName());
             }
+
+            recordLinkFreed(linkToFree);
+        }
+    }
+
+    private void recordLinkFreed(ProtonLink<?> link) {
+        link.transitionToFreed();
+
+        final EngineMetrics metrics = getEngine().metrics();
+        if (metrics != null) {
+            metrics.linkFreed(link);
         }
     }
 
@@ -16,7 +16,11 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.exceptions.ProtocolViolationException;
 import org.apache.qpid.protonj2.engine.util.SequenceNumber;
 import org.apache.qpid.protonj2.engine.util.SplayMap;
@@ -58,11 +62,16 @@ public class ProtonSessionIncomingWindow {
     private long incomingBytes;
 
     private SplayMap<ProtonIncomingDelivery> unsettled = new SplayMap<>();
+    private final ArrayList<ProtonIncomingDelivery> rangedDispositionDeliveries = new ArrayList<>();
+    private final Consumer<ProtonIncomingDelivery> rangedDispositionCollector = rangedDispositionDeliveries::add;
+
+    private final ProtonDispositionBatch dispositionBatch;
 
     public ProtonSessionIncomingWindow(ProtonSession session) {
         this.session = session;
         this.engine = session.getConnection().getEngine();
         this.maxFrameSize = session.getConnection().getMaxFrameSize();
+        this.dispositionBatch = new ProtonDispositionBatch(session, Role.RECEIVER);
     }
 
     public void setIncomingCapaity(int incomingCapacity) {
@@ -73,6 +82,10 @@ public class ProtonSessionIncomingWindow {
         return incomingCapacity;
     }
 
+    ProtonDispositionBatch getDispositionBatch() {
+        return dispositionBatch;
+    }
+
     public int getRemainingIncomingCapacity() {
         // TODO: This is linked to below update of capacity which also needs more attention.
         if (incomingCapacity <= 0 || maxFrameSize == UnsignedInteger.MAX_VALUE.longValue()) {
@@ -132,13 +145,23 @@ public class ProtonSessionIncomingWindow {
      *      the payload that was transmitted with the incoming {@link Transfer}
      */
     Transfer handleTransfer(ProtonLink<?> link, Transfer transfer, ProtonBuffer payload) {
-        incomingBytes += payload != null ? payload.getReadableBytes() : 0;
+        final int payloadBytes = payload != null ? payload.getReadableBytes() : 0;
+        final EngineMetrics metrics = engine.metrics();
+
+        incomingBytes += payloadBytes;
         incomingWindow--;
         nextIncomingId++;
 
         ProtonIncomingDelivery delivery = link.remoteTransfer(transfer, payload);
-        if (!delivery.isRemotelySettled() && delivery.isFirstTransfer()) {
+        if (metrics != null) {
+            metrics.transferReceived(delivery.getLink(), payloadBytes);
+        }
+        // Deliveries settled from within the read handler are already done with and need no tracking
+        if (!delivery.isRemotelySettled() && !delivery.isSettled() && delivery.isFirstTransfer()) {
             unsettled.put((int) delivery.getDeliveryId(), delivery);
+            if (metrics != null) {
+                metrics.deliveryUnsettled(delivery.getLink());
+            }
         }
 
         return transfer;
@@ -163,6 +186,7 @@ public class ProtonSessionIncomingWindow {
                 unsettled.remove(first) : unsettled.get(first);
 
             if (delivery != null) {
+                recordDispositionReceived(delivery, disposition.getSettled());
                 delivery.getLink().remoteDisposition(disposition, delivery);
             }
         }
@@ -173,20 +197,34 @@ public class ProtonSessionIncomingWindow {
     private void handleRangedDisposition(Disposition disposition) {
         final int first = (int) disposition.getFirst();
         final int last = (int) disposition.getLast();
-        final boolean settled = disposition.getSettled();
-
-        int index = first;
-        ProtonIncomingDelivery delivery;
 
-        // TODO: If SplayMap gets a subMap that works we could get the ranged view which would
-        //       be more efficient.
-        do {
-            delivery = settled ? unsettled.remove(index) : unsettled.get(index);
+        // Gather the affected deliveries before signaling any of them as the event handlers
+        // triggered from the remote disposition processing could alter the unsettled map.
+        if (disposition.getSettled()) {
+            unsettled.removeRange(first, last, rangedDispositionCollector);
+        } else {
+            unsettled.forEachInRange(first, last, rangedDispositionCollector);
+        }
 
-            if (delivery != null) {
+        try {
+            for (int i = 0; i < rangedDispositionDeliveries.size(); ++i) {
+                final ProtonIncomingDelivery delivery = rangedDispositionDeliveries.get(i);
+                recordDispositionReceived(delivery, disposition.getSettled());
                 delivery.getLink().remoteDisposition(disposition, delivery);
             }
-        } while (index++ != last);
+        } finally {
+            rangedDispositionDeliveries.clear();
+        }
+    }
+
+    private void recordDispositionReceived(ProtonIncomingDelivery delivery, boolean settled) {
+        final EngineMetrics metrics = engine.metrics();
+        if (metrics != null) {
+            metrics.dispositionReceived(delivery.getLink(), settled);
+            if (settled) {
+                metrics.deliverySettled(delivery.getLink());
+            }
+        }
     }
 
     long updateIncomingWindow() {
@@ -226,9 +264,22 @@ public class ProtonSessionIncomingWindow {
 
     void processDisposition(ProtonReceiver receiver, ProtonIncomingDelivery delivery) {
         if (!delivery.isRemotelySettled()) {
+            final EngineMetrics metrics = engine.metrics();
+
             // Would only be tracked if not already remotely settled.
             if (delivery.isSettled()) {
-                unsettled.remove((int) delivery.getDeliveryId());
+                if (unsettled.remove((int) delivery.getDeliveryId()) != null && metrics != null) {
+                    metrics.deliverySettled(receiver);
+                }
+            }
+
+            if (metrics != null) {
+                metrics.dispositionSent(receiver, delivery.isSettled());
+            }
+
+            if (dispositionBatch.isEnabled()) {
+                dispositionBatch.append((int) delivery.getDeliveryId(), delivery.getState(), delivery.isSettled());
+                return;
             }
 
             cachedDisposition.reset();
@@ -16,10 +16,14 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.function.Consumer;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.engine.EngineMetrics;
 import org.apache.qpid.protonj2.engine.OutgoingAMQPEnvelope;
+import org.apache.qpid.protonj2.engine.OutgoingDelivery;
+import org.apache.qpid.protonj2.engine.SenderScheduler;
 import org.apache.qpid.protonj2.engine.util.SplayMap;
 import org.apache.qpid.protonj2.types.DeliveryTag;
 import org.apache.qpid.protonj2.types.transport.Begin;
@@ -59,11 +63,19 @@ public class ProtonSessionOutgoingWindow {
     private int remoteNextIncomingId = nextOutgoingId;
 
     private final SplayMap<ProtonOutgoingDelivery> unsettled = new SplayMap<>();
+    private final ArrayList<ProtonOutgoingDelivery> rangedDispositionDeliveries = new ArrayList<>();
+    private final Consumer<ProtonOutgoingDelivery> rangedDispositionCollector = rangedDispositionDeliveries::add;
+
+    private final ProtonDispositionBatch dispositionBatch;
+
+    // Decides the order in which senders with credit that were stopped by this window are woken.
+    private SenderScheduler senderScheduler = ProtonSenderScheduler.BUILTIN.ROUND_ROBIN.createScheduler();
 
     public ProtonSessionOutgoingWindow(ProtonSession session) {
         this.session = session;
         this.engine = session.getConnection().getEngine();
         this.localChannel = session.getLocalChannel();
+        this.dispositionBatch = new ProtonDispositionBatch(session, Role.SENDER);
     }
 
     /**
@@ -83,6 +95,10 @@ public class ProtonSessionOutgoingWindow {
         return begin;
     }
 
+    ProtonDispositionBatch getDispositionBatch() {
+        return dispositionBatch;
+    }
+
     int getAndIncrementNextDeliveryId() {
         return outgoingDeliveryId++;
     }
@@ -137,13 +153,7 @@ public class ProtonSessionOutgoingWindow {
         }
 
         if (!oldWritable && writeable) {
-            Set<ProtonSender> senders = session.senders();
-            for (ProtonSender sender : senders) {
-                sender.handleSessionCreditStateUpdate(this);
-                if (!writeable) {
-                    break;
-                }
-            }
+            notifyBlockedSenders();
         }
     }
 
@@ -151,16 +161,51 @@ public class ProtonSessionOutgoingWindow {
         pendingOutgoingWrites = Math.max(0, --pendingOutgoingWrites);
 
         if (!writeable && (writeable = pendingOutgoingWrites <= outgoingWindowLowWaterMark && remoteIncomingWindow > 0)) {
-            Set<ProtonSender> senders = session.senders();
-            for (ProtonSender sender : senders) {
-                sender.handleSessionCreditStateUpdate(this);
-                if (!writeable) {
-                    break;
-                }
+            notifyBlockedSenders();
+        }
+    }
+
+    /**
+     * Registers a sender that has credit but was unable to send because this window is not currently
+     * writable, the sender is notified once the window opens again.  Each sender should only register
+     * once per wait as it will not be removed until notified.
+     *
+     * @param sender
+     *      The sender that is waiting on session capacity to be restored.
+     */
+    void awaitSessionCapacity(ProtonSender sender) {
+        senderScheduler.senderBlocked(sender);
+    }
+
+    /**
+     * Notifies the senders that were blocked on session capacity that the window is writable again in the
+     * order given by the configured {@link SenderScheduler}, stopping as soon as one of them consumes the
+     * restored capacity which leaves the rest waiting for the next time.
+     */
+    void notifyBlockedSenders() {
+        ProtonEngineEvents.sessionWindowUnblocked(session);
+
+        // Senders that block again while being notified must wait for the next opening
+        int remaining = senderScheduler.getBlockedCount();
+
+        while (writeable && remaining-- > 0) {
+            final ProtonSender sender = (ProtonSender) senderScheduler.nextSender();
+            if (sender == null) {
+                break;
             }
+
+            sender.handleSessionCapacityRestored(this);
         }
     }
 
+    void setSenderScheduler(SenderScheduler senderScheduler) {
+        this.senderScheduler = senderScheduler;
+    }
+
+    SenderScheduler getSenderScheduler() {
+        return senderScheduler;
+    }
+
     //----- Handle incoming performatives relevant to the session.
 
     /**
@@ -224,6 +269,7 @@ public class ProtonSessionOutgoingWindow {
                 unsettled.remove(first) : unsettled.get(first);
 
             if (delivery != null) {
+                recordDispositionReceived(delivery, disposition.getSettled());
                 delivery.getLink().remoteDisposition(disposition, delivery);
             }
         }
@@ -234,20 +280,34 @@ public class ProtonSessionOutgoingWindow {
     private void handleRangedDisposition(Disposition disposition) {
         final int first = (int) disposition.getFirst();
         final int last = (int) disposition.getLast();
-        final boolean settled = disposition.getSettled();
 
-        int index = first;
-        ProtonOutgoingDelivery delivery;
-
-        // TODO: If SplayMap gets a subMap that works we could get the ranged view which would
-        //       be more efficient.
-        do {
-            delivery = settled ? unsettled.remove(index) : unsettled.get(index);
+        // Gather the affected deliveries before signaling any of them as the event handlers
+        // triggered from the remote disposition processing could alter the unsettled map.
+        if (disposition.getSettled()) {
+            unsettled.removeRange(first, last, rangedDispositionCollector);
+        } else {
+            unsettled.forEachInRange(first, last, rangedDispositionCollector);
+        }
 
-            if (delivery != null) {
+        try {
+            for (int i = 0; i < rangedDispositionDeliveries.size(); ++i) {
+                final ProtonOutgoingDelivery delivery = rangedDispositionDeliveries.get(i);
+                recordDispositionReceived(delivery, disposition.getSettled());
                 delivery.getLink().remoteDisposition(disposition, delivery);
             }
-        } while (index++ != last);
+        } finally {
+            rangedDispositionDeliveries.clear();
+        }
+    }
+
+    private void recordDispositionReceived(ProtonOutgoingDelivery delivery, boolean settled) {
+        final EngineMetrics metrics = engine.metrics();
+        if (metrics != null) {
+            metrics.dispositionReceived(delivery.getLink(), settled);
+            if (settled) {
+                metrics.deliverySettled(delivery.getLink());
+            }
+        }
     }
 
     //----- Handle sender link actions in the session window context
@@ -255,6 +315,10 @@ public class ProtonSessionOutgoingWindow {
     private final Disposition cachedDisposition = new Disposition();
     private final Transfer cachedTransfer = new Transfer();
 
+    // Handlers are assigned to every outgoing transfer frame so they are created once up front
+    private final Consumer<Performative> payloadToLargeHandler = this::handlePayloadToLargeRequiresSplitFrames;
+    private final Runnable frameWriteCompleteHandler = this::handleOutgoingFrameWriteComplete;
+
     private void handlePayloadToLargeRequiresSplitFrames(Performative performative) {
         cachedTransfer.setMore(true);
     }
@@ -263,10 +327,16 @@ public class ProtonSessionOutgoingWindow {
         // For a transfer that hasn't completed but has no bytes in the final transfer write we want
         // to allow a transfer to go out with the more flag as false.
 
+        final EngineMetrics metrics = engine.metrics();
+
         if (!delivery.isSettled()) {
-            unsettled.put((int) delivery.getDeliveryId(), delivery);
+            if (unsettled.put((int) delivery.getDeliveryId(), delivery) == null && metrics != null) {
+                metrics.deliveryUnsettled(sender);
+            }
         }
 
+        final int payloadBytes = payload != null ? payload.getReadableBytes() : 0;
+
         try {
             cachedTransfer.setDeliveryId(delivery.getDeliveryId());
             if (delivery.getMessageFormat() != 0) {
@@ -296,27 +366,67 @@ public class ProtonSessionOutgoingWindow {
 
                 OutgoingAMQPEnvelope frame = engine.wrap(cachedTransfer, localChannel, payload);
 
-                frame.setPayloadToLargeHandler(this::handlePayloadToLargeRequiresSplitFrames);
-                frame.setFrameWriteCompletionHandler(this::handleOutgoingFrameWriteComplete);
+                frame.setPayloadToLargeHandler(payloadToLargeHandler);
+                frame.setFrameWriteCompletionHandler(frameWriteCompleteHandler);
+
+                // Only the first transfer of the delivery can claim the reserved space, later ones
+                // would overwrite payload bytes still referenced by frames that are not yet written.
+                if (delivery.isFrameHeaderReserved()) {
+                    frame.setPayloadRetainable(true);
+                    if (delivery.getTransferCount() == 0) {
+                        frame.setPayloadHeadroom(OutgoingDelivery.RESERVED_FRAME_HEADER_SIZE);
+                    }
+                }
+
+                final int frameStartBytes = payload != null ? payload.getReadableBytes() : 0;
 
                 engine.fireWrite(frame);
 
                 delivery.afterTransferWritten();
+
+                if (metrics != null) {
+                    metrics.transferSent(sender, frameStartBytes - (payload != null ? payload.getReadableBytes() : 0));
+                }
             } while (payload != null && payload.isReadable() && isSendable());
+
+            if (!writeable) {
+                if (metrics != null) {
+                    metrics.sessionWindowStalled(session);
+                }
+
+                ProtonEngineEvents.sessionWindowBlocked(session);
+            }
         } finally {
             cachedTransfer.reset();
+
+            if (payload != null) {
+                senderScheduler.senderWrote(sender, payloadBytes - payload.getReadableBytes());
+            }
         }
 
         return isSendable();
     }
 
     void processDisposition(ProtonSender sender, ProtonOutgoingDelivery delivery) {
+        final EngineMetrics metrics = engine.metrics();
+
         // Would only be tracked if not already remotely settled.
         if (delivery.isSettled() && !delivery.isRemotelySettled()) {
-            unsettled.remove((int) delivery.getDeliveryId());
+            if (unsettled.remove((int) delivery.getDeliveryId()) != null && metrics != null) {
+                metrics.deliverySettled(sender);
+            }
         }
 
         if (!delivery.isRemotelySettled()) {
+            if (metrics != null) {
+                metrics.dispositionSent(sender, delivery.isSettled());
+            }
+
+            if (dispositionBatch.isEnabled()) {
+                dispositionBatch.append((int) delivery.getDeliveryId(), delivery.getState(), delivery.isSettled());
+                return;
+            }
+
             cachedDisposition.setFirst(delivery.getDeliveryId());
             cachedDisposition.setRole(Role.SENDER);
             cachedDisposition.setSettled(delivery.isSettled());
@@ -338,7 +448,12 @@ public class ProtonSessionOutgoingWindow {
         cachedTransfer.setHandle(sender.getHandle());
 
         // Ensure we don't track the aborted delivery any longer.
-        unsettled.remove((int) delivery.getDeliveryId());
+        if (unsettled.remove((int) delivery.getDeliveryId()) != null) {
+            final EngineMetrics metrics = engine.metrics();
+            if (metrics != null) {
+                metrics.deliverySettled(sender);
+            }
+        }
 
         try {
             engine.fireWrite(cachedTransfer, session.getLocalChannel());
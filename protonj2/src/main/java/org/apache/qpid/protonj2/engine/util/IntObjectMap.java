@@ -0,0 +1,365 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Hash map that uses primitive integers as the keys for the specified value type which avoids
+ * boxing the key on every access.
+ *
+ * The map uses open addressing with linear probing over parallel key and value arrays and removes
+ * entries by shifting later entries of the probe sequence back into the freed slot, so no entry
+ * objects are allocated and lookups never have to skip over deleted markers.  The map is intended
+ * for the small and densely numbered key sets used for channel and handle lookups where access time
+ * matters and ordered iteration does not, null values are not permitted.
+ *
+ * @param <E> The type stored in the map entries
+ */
+public class IntObjectMap<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+    private int modCount;
+
+    private ValuesCollection valuesCollection;
+
+    /**
+     * Creates a new {@link IntObjectMap} with the default initial capacity.
+     */
+    public IntObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@link IntObjectMap} sized to hold the given number of entries before needing
+     * to grow its internal storage.
+     *
+     * @param initialCapacity
+     *      The number of entries the map should be able to hold without resizing.
+     */
+    public IntObjectMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+
+        allocate(tableSizeFor(Math.max(initialCapacity, 1) * 2));
+    }
+
+    /**
+     * @return the number of entries in this {@link IntObjectMap}.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no entries in this {@link IntObjectMap}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the value of the element stored in the {@link IntObjectMap} with the given key.
+     *
+     * @param key
+     *      the integer key value to search for in the {@link IntObjectMap}.
+     *
+     * @return the value stored for the given key if found or null if not in the {@link IntObjectMap}.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : (E) values[index];
+    }
+
+    /**
+     * Checks if the {@link IntObjectMap} contains an entry for the given key.
+     *
+     * @param key
+     *      the integer key value to search for in the {@link IntObjectMap}.
+     *
+     * @return true if an entry is stored for the given key.
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Puts the value into the {@link IntObjectMap} at the entry specified by the given key.
+     *
+     * @param key
+     *      the integer key value to search for and or insert in the {@link IntObjectMap}.
+     * @param value
+     *      the value to assign to the entry accessed via the given key.
+     *
+     * @return the previous value stored for the given key if found or null if not in the {@link IntObjectMap}.
+     */
+    @SuppressWarnings("unchecked")
+    public E put(int key, E value) {
+        Objects.requireNonNull(value, "Null values are not supported");
+
+        int index = hashIndex(key);
+
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                final E oldValue = (E) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        modCount++;
+
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the entry for the given key from the {@link IntObjectMap} if present.
+     *
+     * @param key
+     *      the integer key value to search for and remove from the {@link IntObjectMap}.
+     *
+     * @return the value that was stored for the given key or null if not in the {@link IntObjectMap}.
+     */
+    @SuppressWarnings("unchecked")
+    public E remove(int key) {
+        final int index = indexOf(key);
+
+        if (index < 0) {
+            return null;
+        }
+
+        final E oldValue = (E) values[index];
+
+        removeAt(index);
+
+        return oldValue;
+    }
+
+    /**
+     * Removes all entries from this {@link IntObjectMap}.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, null);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    /**
+     * Visits each value stored in this {@link IntObjectMap}, the map must not be modified by the
+     * given action.
+     *
+     * @param action
+     *      The action to perform for each value in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        final int expectedModCount = modCount;
+
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                action.accept((E) values[i]);
+
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a read only {@link Collection} view of the values stored in this {@link IntObjectMap}.
+     *
+     * @return a {@link Collection} view of the values in this map.
+     */
+    public Collection<E> values() {
+        if (valuesCollection == null) {
+            valuesCollection = new ValuesCollection();
+        }
+
+        return valuesCollection;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+
+        for (int i = 0, count = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                if (count++ > 0) {
+                    builder.append(", ");
+                }
+                builder.append(keys[i]).append('=').append(values[i]);
+            }
+        }
+
+        return builder.append('}').toString();
+    }
+
+    //----- Internal implementation
+
+    private int hashIndex(int key) {
+        // Fibonacci hashing spreads the sequential keys used for channels and handles evenly
+        return (key * 0x9E3779B9) & mask;
+    }
+
+    private int indexOf(int key) {
+        int index = hashIndex(key);
+
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /*
+     * Frees the slot and shifts back any later entries of the probe sequence that would otherwise
+     * no longer be reachable from their home slot.
+     */
+    private void removeAt(int index) {
+        values[index] = null;
+        size--;
+        modCount++;
+
+        int free = index;
+        int next = (index + 1) & mask;
+
+        while (values[next] != null) {
+            final int home = hashIndex(keys[next]);
+
+            // Move the entry only if its home slot does not lie cyclically in (free, next]
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                values[next] = null;
+                free = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity == MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY - 1 : capacity >>> 1;
+    }
+
+    private void rehash(int capacity) {
+        if (capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Map has reached its maximum capacity");
+        }
+
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; ++i) {
+            if (oldValues[i] != null) {
+                int index = hashIndex(oldKeys[i]);
+
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Math.min(MAXIMUM_CAPACITY, Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(capacity - 1) << 1));
+    }
+
+    private final class ValuesCollection extends AbstractCollection<E> {
+
+        @Override
+        public Iterator<E> iterator() {
+            return new ValuesIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class ValuesIterator implements Iterator<E> {
+
+        private final int expectedModCount = modCount;
+        private int nextIndex = -1;
+        private int remaining = size;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            while (values[++nextIndex] == null) {
+            }
+
+            remaining--;
+
+            return (E) values[nextIndex];
+        }
+    }
+}
@@ -51,6 +51,8 @@ public class SplayMap<E> implements NavigableMap<UnsignedInteger, E> {
 
     private static final UnsignedComparator COMPARATOR = new UnsignedComparator();
 
+    private static final int UNSIGNED_MAX_VALUE = 0xFFFFFFFF;
+
     protected final RingQueue<SplayedEntry<E>> entryPool = new RingQueue<>(64);
 
     /**
@@ -285,6 +287,178 @@ public class SplayMap<E> implements NavigableMap<UnsignedInteger, E> {
         return false;
     }
 
+    /**
+     * Performs the given action for each value in the {@link Map} whose key falls within the given
+     * inclusive range of keys.  The keys are treated as unsigned integers and if the first key is
+     * greater than the last key the range wraps around such that the entries from the first key up
+     * to the maximum unsigned value and then from zero up to the last key are visited, in that order.
+     * <p>
+     * The cost of this operation is proportional to the number of entries actually found within the
+     * range and not to the span of the range.  The given action must not modify this {@link Map}.
+     *
+     * @param first
+     *      The first key (inclusive) of the range to visit.
+     * @param last
+     *      The last key (inclusive) of the range to visit.
+     * @param action
+     *      The action to be performed for each of the values in the range.
+     *
+     * @throws ConcurrentModificationException if the action modifies the {@link Map}.
+     */
+    public void forEachInRange(int first, int last, Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+
+        if (compare(first, last) <= 0) {
+            forEachInSpan(ceilingEntry(first), last, action);
+        } else {
+            forEachInSpan(ceilingEntry(first), UNSIGNED_MAX_VALUE, action);
+            forEachInSpan(firstEntry(root), last, action);
+        }
+    }
+
+    /**
+     * Removes all entries in the {@link Map} whose key falls within the given inclusive range of keys
+     * and passes each removed value to the provided action in key order.  The keys are treated as
+     * unsigned integers and if the first key is greater than the last key the range wraps around such
+     * that the entries from the first key up to the maximum unsigned value and then from zero up to
+     * the last key are removed, in that order.
+     * <p>
+     * The range is split out of the tree using a small number of splay operations and then released
+     * in a single walk so the cost is proportional to the number of entries actually removed and not
+     * to the span of the range.  The given action must not modify this {@link Map}.
+     *
+     * @param first
+     *      The first key (inclusive) of the range to remove.
+     * @param last
+     *      The last key (inclusive) of the range to remove.
+     * @param action
+     *      The action to be performed for each of the values removed, can be null if not needed.
+     *
+     * @return the number of entries that were removed from the {@link Map}.
+     *
+     * @throws ConcurrentModificationException if the action modifies the {@link Map}.
+     */
+    public int removeRange(int first, int last, Consumer<? super E> action) {
+        if (compare(first, last) <= 0) {
+            return removeSpan(first, last, action);
+        } else {
+            final int removed = removeSpan(first, UNSIGNED_MAX_VALUE, action);
+            return removed + removeSpan(0, last, action);
+        }
+    }
+
+    private void forEachInSpan(SplayedEntry<E> start, int last, Consumer<? super E> action) {
+        final int expectedModCount = modCount;
+
+        for (SplayedEntry<E> entry = start; entry != null && compare(entry.key, last) <= 0; entry = successor(entry)) {
+            action.accept(entry.value);
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private int removeSpan(int first, int last, Consumer<? super E> action) {
+        if (root == null) {
+            return 0;
+        }
+
+        // Split the tree into the entries below the range and those at or above the first key.
+        SplayedEntry<E> lower;
+        SplayedEntry<E> upper;
+
+        root = splay(root, first);
+        if (compare(root.key, first) < 0) {
+            lower = root;
+            upper = root.right;
+            lower.right = null;
+        } else {
+            lower = root.left;
+            upper = root;
+            upper.left = null;
+        }
+
+        // Split the upper portion into the entries within the range and those above the last key.
+        SplayedEntry<E> removed = null;
+        SplayedEntry<E> higher = null;
+
+        if (upper != null) {
+            upper.parent = null;
+            upper = splay(upper, last);
+            if (compare(upper.key, last) <= 0) {
+                removed = upper;
+                higher = upper.right;
+                removed.right = null;
+            } else {
+                removed = upper.left;
+                higher = upper;
+                higher.left = null;
+            }
+
+            if (higher != null) {
+                higher.parent = null;
+            }
+        }
+
+        // Join what remains, splaying on the first key brings the largest of the lower entries
+        // to the root of that tree leaving its right child free to take the higher entries.
+        if (lower == null) {
+            root = higher;
+        } else {
+            lower.parent = null;
+            lower = splay(lower, first);
+            lower.right = higher;
+            if (higher != null) {
+                higher.parent = lower;
+            }
+            root = lower;
+        }
+
+        if (removed == null) {
+            return 0;
+        }
+
+        removed.parent = null;
+
+        // Release the detached range in key order, rotating any left children up onto the
+        // right spine so the walk needs no additional storage.
+        final int expectedModCount = ++modCount;
+        int count = 0;
+
+        SplayedEntry<E> node = removed;
+        while (node != null) {
+            if (node.left != null) {
+                final SplayedEntry<E> left = node.left;
+                node.left = left.right;
+                left.right = node;
+                node = left;
+            } else {
+                final SplayedEntry<E> next = node.right;
+                final E value = node.value;
+
+                node.left = node.right = node.parent = null;
+                entryPool.offer(node);
+                entryDeleted(node);
+
+                size--;
+                count++;
+
+                if (action != null) {
+                    action.accept(value);
+
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                }
+
+                node = next;
+            }
+        }
+
+        return count;
+    }
+
     //----- Map interface implementation
 
     @Override
@@ -1178,15 +1352,13 @@ public class SplayMap<E> implements NavigableMap<UnsignedInteger, E> {
     private SplayedEntry<E> lowerEntry(int key) {
         root = splay(root, key);
 
-        while (root != null) {
-            if (compare(root.getIntKey(), key) >= 0) {
-                root = predecessor(root);
-            } else {
-                break;
-            }
+        // Walk from the new root without moving it, the root must remain the top of the tree.
+        SplayedEntry<E> result = root;
+        while (result != null && compare(result.getIntKey(), key) >= 0) {
+            result = predecessor(result);
         }
 
-        return root;
+        return result;
     }
 
     @Override
@@ -1204,15 +1376,12 @@ public class SplayMap<E> implements NavigableMap<UnsignedInteger, E> {
     private SplayedEntry<E> higherEntry(int key) {
         root = splay(root, key);
 
-        while (root != null) {
-            if (compare(root.getIntKey(), key) <= 0) {
-                root = successor(root);
-            } else {
-                break;
-            }
+        SplayedEntry<E> result = root;
+        while (result != null && compare(result.getIntKey(), key) <= 0) {
+            result = successor(result);
         }
 
-        return root;
+        return result;
     }
 
     @Override
@@ -1230,15 +1399,12 @@ public class SplayMap<E> implements NavigableMap<UnsignedInteger, E> {
     private SplayedEntry<E> floorEntry(int key) {
         root = splay(root, key);
 
-        while (root != null) {
-            if (compare(root.getIntKey(), key) > 0) {
-                root = predecessor(root);
-            } else {
-                break;
-            }
+        SplayedEntry<E> result = root;
+        while (result != null && compare(result.getIntKey(), key) > 0) {
+            result = predecessor(result);
         }
 
-        return root;
+        return result;
     }
 
     @Override
@@ -1256,15 +1422,12 @@ public class SplayMap<E> implements NavigableMap<UnsignedInteger, E> {
     private SplayedEntry<E> ceilingEntry(int key) {
         root = splay(root, key);
 
-        while (root != null) {
-            if (compare(root.getIntKey(), key) < 0) {
-                root = successor(root);
-            } else {
-                break;
-            }
+        SplayedEntry<E> result = root;
+        while (result != null && compare(result.getIntKey(), key) < 0) {
+            result = successor(result);
         }
 
-        return root;
+        return result;
     }
 
     @Override
@@ -72,6 +72,32 @@ public final class Modified implements DeliveryState, Outcome {
         return this;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        Modified that = (Modified) o;
+
+        if (deliveryFailed != that.deliveryFailed || undeliverableHere != that.undeliverableHere) {
+            return false;
+        }
+
+        return messageAnnotations != null ? messageAnnotations.equals(that.messageAnnotations) : that.messageAnnotations == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = deliveryFailed ? 1 : 0;
+        result = 31 * result + (undeliverableHere ? 1 : 0);
+        result = 31 * result + (messageAnnotations != null ? messageAnnotations.hashCode() : 0);
+        return result;
+    }
+
     @Override
     public String toString() {
         return "Modified{" +
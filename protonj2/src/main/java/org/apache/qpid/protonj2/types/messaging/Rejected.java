@@ -43,6 +43,25 @@ public final class Rejected implements DeliveryState, Outcome {
         return this;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        Rejected that = (Rejected) o;
+
+        return error != null ? error.equals(that.error) : that.error == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return error != null ? error.hashCode() : 0;
+    }
+
     @Override
     public String toString() {
         return "Rejected{" +
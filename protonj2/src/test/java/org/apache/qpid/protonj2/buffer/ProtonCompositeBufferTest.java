@@ -35,6 +35,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * Test the Proton Composite Buffer class
  */
@@ -2068,6 +2071,73 @@ public class ProtonCompositeBufferTest extends ProtonAbstractBufferTest {
         assertEquals(expected, result, "Failed to round trip String correctly: ");
     }
 
+    @Test
+    public void testReleaseReleasesReferenceCountedChunks() {
+        ByteBuf netty1 = Unpooled.buffer(8).writeLong(1);
+        ByteBuf netty2 = Unpooled.buffer(8).writeLong(2);
+
+        ProtonCompositeBuffer composite = new ProtonCompositeBuffer();
+        composite.append(new byte[] { 0, 1, 2, 3 });
+        composite.append(new ProtonNettyByteBuffer(netty1));
+        composite.append(new ProtonNettyByteBuffer(netty2));
+
+        assertTrue(composite.isReferenceCounted());
+
+        composite.retain();
+        assertEquals(2, netty1.refCnt());
+        assertEquals(2, netty2.refCnt());
+        assertFalse(composite.release());
+        assertEquals(1, netty1.refCnt());
+        assertEquals(1, netty2.refCnt());
+        assertTrue(composite.release());
+        assertEquals(0, netty1.refCnt());
+        assertEquals(0, netty2.refCnt());
+    }
+
+    @Test
+    public void testCompositeOfHeapBuffersIsNotReferenceCounted() {
+        ProtonCompositeBuffer composite = new ProtonCompositeBuffer();
+        composite.append(new byte[] { 0, 1, 2, 3 });
+
+        assertFalse(composite.isReferenceCounted());
+        assertFalse(composite.release());
+        assertEquals(4, composite.getReadableBytes());
+    }
+
+    @Test
+    public void testReclaimReadReleasesDiscardedReferenceCountedChunks() {
+        ByteBuf netty1 = Unpooled.buffer(8).writeLong(1);
+        ByteBuf netty2 = Unpooled.buffer(8).writeLong(2);
+
+        ProtonCompositeBuffer composite = new ProtonCompositeBuffer();
+        composite.append(new ProtonNettyByteBuffer(netty1));
+        composite.append(new ProtonNettyByteBuffer(netty2));
+
+        assertEquals(1, composite.readLong());
+        composite.readByte();
+        composite.reclaimRead();
+
+        assertEquals(0, netty1.refCnt());
+        assertEquals(1, netty2.refCnt());
+
+        composite.skipBytes(composite.getReadableBytes());
+        composite.reclaimRead();
+
+        assertEquals(0, netty2.refCnt());
+        assertEquals(0, composite.numberOfBuffers());
+    }
+
+    @Test
+    public void testAppendOfUnreadableReferenceCountedBufferReleasesIt() {
+        ByteBuf netty = Unpooled.buffer(8);
+
+        ProtonCompositeBuffer composite = new ProtonCompositeBuffer();
+        composite.append(new ProtonNettyByteBuffer(netty));
+
+        assertEquals(0, composite.numberOfBuffers());
+        assertEquals(0, netty.refCnt());
+    }
+
     //----- Implement abstract methods from the abstract buffer test base class
 
     @Override
@@ -17,6 +17,7 @@
 package org.apache.qpid.protonj2.buffer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -611,6 +612,45 @@ public class ProtonNettyByteBufferTest extends ProtonAbstractBufferTest {
         assertEquals(CAPACITY / 4 * 2, buffer.getReadIndex());
     }
 
+    @Test
+    public void testRetainAndReleaseMapToWrappedBuffer() {
+        ByteBuf netty = Unpooled.buffer(CAPACITY);
+        ProtonNettyByteBuffer buffer = new ProtonNettyByteBuffer(netty);
+
+        assertTrue(buffer.isReferenceCounted());
+        assertEquals(1, netty.refCnt());
+        assertSame(buffer, buffer.retain());
+        assertEquals(2, netty.refCnt());
+        assertFalse(buffer.release());
+        assertEquals(1, netty.refCnt());
+        assertTrue(buffer.release());
+        assertEquals(0, netty.refCnt());
+    }
+
+    @Test
+    public void testRetainedSliceOutlivesReleaseOfOriginal() {
+        ByteBuf netty = Unpooled.buffer(CAPACITY);
+        ProtonNettyByteBuffer buffer = new ProtonNettyByteBuffer(netty);
+
+        for (int i = 0; i < CAPACITY; ++i) {
+            buffer.writeByte(i);
+        }
+
+        ProtonBuffer slice = buffer.retainedSlice(CAPACITY / 2, CAPACITY / 4);
+
+        assertTrue(slice.isReferenceCounted());
+        assertEquals(2, netty.refCnt());
+        assertFalse(buffer.release());
+
+        assertEquals(CAPACITY / 4, slice.getReadableBytes());
+        for (int i = 0; i < CAPACITY / 4; ++i) {
+            assertEquals((byte) (CAPACITY / 2 + i), slice.readByte());
+        }
+
+        assertTrue(slice.release());
+        assertEquals(0, netty.refCnt());
+    }
+
     //----- Test API implemented for the abstract base class tests
 
     @Override
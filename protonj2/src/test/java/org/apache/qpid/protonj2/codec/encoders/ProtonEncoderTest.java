@@ -19,20 +19,43 @@ package org.apache.qpid.protonj2.codec.encoders;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
 import org.apache.qpid.protonj2.codec.CodecTestSupport;
+import org.apache.qpid.protonj2.codec.Encoder;
+import org.apache.qpid.protonj2.codec.EncodeException;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
+import org.apache.qpid.protonj2.types.Binary;
+import org.apache.qpid.protonj2.types.Decimal128;
+import org.apache.qpid.protonj2.types.Decimal32;
+import org.apache.qpid.protonj2.types.Decimal64;
+import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.UnsignedByte;
 import org.apache.qpid.protonj2.types.UnsignedInteger;
 import org.apache.qpid.protonj2.types.UnsignedLong;
 import org.apache.qpid.protonj2.types.UnsignedShort;
+import org.apache.qpid.protonj2.types.messaging.AmqpSequence;
+import org.apache.qpid.protonj2.types.messaging.AmqpValue;
+import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.Data;
+import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Footer;
+import org.apache.qpid.protonj2.types.messaging.Header;
+import org.apache.qpid.protonj2.types.messaging.MessageAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Properties;
 import org.junit.jupiter.api.Test;
 
 class ProtonEncoderTest extends CodecTestSupport {
@@ -405,4 +428,150 @@ class ProtonEncoderTest extends CodecTestSupport {
         assertEquals(buffer.getByte(5), (byte) 255);
         assertEquals(buffer.getByte(6), (byte) 255);
     }
+
+    @Test
+    public void testEncodedSizeOfPrimitivesMatchesEncoding() throws IOException {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put(Symbol.valueOf("key"), "value");
+        map.put("list", Arrays.asList(1, 2L, "three"));
+
+        final Object[] values = { null, true, false, (byte) 1, (short) 2, 'c', 1, 128, -129, 1L, 1024L,
+                                  1.0f, 2.0d, new Date(), UUID.randomUUID(), new Decimal32(1), new Decimal64(2),
+                                  new Decimal128(3, 4), UnsignedByte.valueOf((byte) 1), UnsignedShort.valueOf((short) 2),
+                                  UnsignedInteger.ZERO, UnsignedInteger.valueOf(255), UnsignedInteger.valueOf(256),
+                                  UnsignedLong.ZERO, UnsignedLong.valueOf(255), UnsignedLong.valueOf(-1),
+                                  new Binary(new byte[255]), new Binary(new byte[256]), Symbol.valueOf("symbol"),
+                                  "", "ascii", "\u00e9\u4e2d\ud83d\ude00", createString(64), createString(65), createString(300),
+                                  Collections.emptyList(), Arrays.asList("a", 1, true), map };
+
+        for (Object value : values) {
+            ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
+
+            encoder.writeObject(buffer, encoderState, value);
+
+            assertEquals(buffer.getReadableBytes(), encoder.getEncodedSize(encoderState, value), "Wrong encoded size for: " + value);
+        }
+    }
+
+    @Test
+    public void testEncodedSizeOfMessageSectionsMatchesEncoding() throws IOException {
+        final Properties properties = new Properties();
+        properties.setMessageId("ID:1");
+        properties.setUserId(new Binary(new byte[] { 1, 2 }));
+        properties.setTo("queue");
+        properties.setContentType("text/plain");
+        properties.setCreationTime(1);
+        properties.setGroupSequence(300);
+
+        final Map<String, Object> applicationProperties = new LinkedHashMap<>();
+        applicationProperties.put("one", 1);
+        applicationProperties.put("two", "two");
+
+        final Object[] values = { new Header().setDurable(true).setTimeToLive(1000).setDeliveryCount(1), new Header(),
+                                  properties, new Properties(),
+                                  new ApplicationProperties(applicationProperties), new ApplicationProperties(null),
+                                  new MessageAnnotations(Collections.singletonMap(Symbol.valueOf("ma"), "value")),
+                                  new DeliveryAnnotations(Collections.singletonMap(Symbol.valueOf("da"), 1)),
+                                  new Footer(Collections.singletonMap(Symbol.valueOf("ft"), true)),
+                                  new Data(new byte[1024]), new AmqpValue<>("body"), new AmqpSequence<>(Arrays.asList(1, 2)) };
+
+        for (Object value : values) {
+            ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
+
+            encoder.writeObject(buffer, encoderState, value);
+
+            assertEquals(buffer.getReadableBytes(), encoder.getEncodedSize(encoderState, value), "Wrong encoded size for: " + value);
+        }
+    }
+
+    @Test
+    public void testEncodedSizeNotComputedForArraysOrCustomUTF8Encoder() throws IOException {
+        assertEquals(-1, encoder.getEncodedSize(encoderState, new int[] { 1, 2 }));
+        assertEquals(-1, encoder.getEncodedSize(encoderState, new AmqpValue<>(new String[] { "a" })));
+
+        ((ProtonEncoderState) encoderState).setUTF8Encoder((buffer, sequence) -> buffer.writeBytes(sequence.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(-1, encoder.getEncodedSize(encoderState, "test"));
+        assertEquals(-1, encoder.getEncodedSize(encoderState, Arrays.asList("test")));
+    }
+
+    @Test
+    public void testEncodedSizeUnknownForEncoderStateWithoutUTF8Length() throws IOException {
+        final EncoderState external = new EncoderState() {
+
+            @Override
+            public Encoder getEncoder() {
+                return encoder;
+            }
+
+            @Override
+            public EncoderState reset() {
+                return this;
+            }
+
+            @Override
+            public ProtonBuffer encodeUTF8(ProtonBuffer buffer, CharSequence sequence) {
+                return encoderState.encodeUTF8(buffer, sequence);
+            }
+        };
+
+        assertEquals(-1, external.getUTF8Length("test"));
+        assertEquals(-1, encoder.getEncodedSize(external, "test"));
+        assertEquals(5, encoder.getEncodedSize(external, 1024));
+        assertEquals(-1, external.cacheEncodedSize("test", 4).removeCachedEncodedSize("test"));
+    }
+
+    @Test
+    public void testEncoderStateCachesEncodedSizesUntilRemoved() throws IOException {
+        final Object first = new Object();
+        final Object second = new Object();
+
+        encoderState.cacheEncodedSize(first, 1).cacheEncodedSize(second, 2);
+
+        assertEquals(2, encoderState.removeCachedEncodedSize(second));
+        assertEquals(-1, encoderState.removeCachedEncodedSize(second));
+        assertEquals(1, encoderState.removeCachedEncodedSize(first));
+
+        encoderState.cacheEncodedSize(first, 1).reset();
+
+        assertEquals(-1, encoderState.removeCachedEncodedSize(first));
+    }
+
+    @Test
+    public void testWriteUsesElementSizesComputedForEncodedSize() throws IOException {
+        final ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
+        final Properties properties = new Properties();
+        properties.setMessageId("ID:1");
+        properties.setTo("queue");
+
+        final int encodedSize = encoder.getEncodedSize(encoderState, properties);
+
+        encoder.writeObject(buffer, encoderState, properties);
+
+        assertEquals(encodedSize, buffer.getReadableBytes());
+        assertEquals(EncodingCodes.LIST8, buffer.getByte(3));
+        assertEquals(-1, encoderState.removeCachedEncodedSize(properties));
+    }
+
+    @Test
+    public void testWriteFailsWhenValueGrowsAfterEncodedSizeComputed() throws IOException {
+        final ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
+        final Properties properties = new Properties();
+        properties.setTo("queue");
+
+        encoder.getEncodedSize(encoderState, properties);
+        properties.setTo(createString(300));
+
+        assertThrows(EncodeException.class, () -> encoder.writeObject(buffer, encoderState, properties));
+    }
+
+    private static String createString(int length) {
+        final StringBuilder builder = new StringBuilder(length);
+
+        for (int i = 0; i < length; ++i) {
+            builder.append((char) ('a' + i % 26));
+        }
+
+        return builder.toString();
+    }
 }
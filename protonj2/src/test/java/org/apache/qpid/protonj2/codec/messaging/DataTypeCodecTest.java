@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -38,6 +39,7 @@ import org.apache.qpid.protonj2.codec.DecodeException;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.StreamTypeDecoder;
 import org.apache.qpid.protonj2.codec.TypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.apache.qpid.protonj2.codec.decoders.messaging.DataTypeDecoder;
 import org.apache.qpid.protonj2.codec.encoders.messaging.DataTypeEncoder;
 import org.apache.qpid.protonj2.codec.util.SimplePojo;
@@ -94,6 +96,31 @@ public class DataTypeCodecTest extends CodecTestSupport {
         doTestDecodeDataSeries(LARGE_SIZE, true);
     }
 
+    @Test
+    public void testDecodeDataAsSliceOfSourceBuffer() throws IOException {
+        ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
+
+        Data data = new Data(new Binary(new byte[] { 1, 2, 3}));
+
+        encoder.writeObject(buffer, encoderState, data);
+        encoder.writeObject(buffer, encoderState, data);
+
+        ((ProtonDecoderState) decoderState).setSlicingBinaryValues(true);
+
+        for (int i = 0; i < 2; ++i) {
+            final Object result = decoder.readObject(buffer, decoderState);
+
+            assertTrue(result instanceof Data);
+
+            Data decoded = (Data) result;
+
+            assertSame(buffer.getArray(), decoded.getBinary().getArray());
+            assertArrayEquals(data.getValue(), decoded.getValue());
+        }
+
+        assertFalse(buffer.isReadable());
+    }
+
     private void doTestDecodeDataSeries(int size, boolean fromStream) throws IOException {
         ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
         InputStream stream = new ProtonBufferInputStream(buffer);
@@ -513,6 +540,43 @@ public class DataTypeCodecTest extends CodecTestSupport {
         assertNull(decoded.getBinary());
     }
 
+    @Test
+    public void testSkipTypeWithNullEncoding() throws IOException {
+        testSkipTypeWithNullEncoding(false);
+    }
+
+    @Test
+    public void testSkipTypeWithNullEncodingFromStream() throws IOException {
+        testSkipTypeWithNullEncoding(true);
+    }
+
+    private void testSkipTypeWithNullEncoding(boolean fromStream) throws IOException {
+        ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
+        InputStream stream = new ProtonBufferInputStream(buffer);
+
+        buffer.writeByte((byte) 0); // Described Type Indicator
+        buffer.writeByte(EncodingCodes.SMALLULONG);
+        buffer.writeByte(Data.DESCRIPTOR_CODE.byteValue());
+        buffer.writeByte(EncodingCodes.NULL);
+
+        encoder.writeObject(buffer, encoderState, new Modified());
+
+        final Object result;
+        if (fromStream) {
+            StreamTypeDecoder<?> typeDecoder = streamDecoder.readNextTypeDecoder(stream, streamDecoderState);
+            assertEquals(Data.class, typeDecoder.getTypeClass());
+            typeDecoder.skipValue(stream, streamDecoderState);
+            result = streamDecoder.readObject(stream, streamDecoderState);
+        } else {
+            TypeDecoder<?> typeDecoder = decoder.readNextTypeDecoder(buffer, decoderState);
+            assertEquals(Data.class, typeDecoder.getTypeClass());
+            typeDecoder.skipValue(buffer, decoderState);
+            result = decoder.readObject(buffer, decoderState);
+        }
+
+        assertTrue(result instanceof Modified);
+    }
+
     @Test
     public void testReadTypeWithOverLargeEncoding() throws IOException {
         ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
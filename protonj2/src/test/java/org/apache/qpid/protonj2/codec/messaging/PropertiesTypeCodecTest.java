@@ -180,6 +180,37 @@ public class PropertiesTypeCodecTest extends CodecTestSupport {
         assertEquals(UnsignedInteger.MAX_VALUE.longValue(), decoded.getGroupSequence());
     }
 
+    @Test
+    public void testSmallPropertiesEncodedAsList8() throws IOException {
+        doTestEncodeAndDecodeSelectsListEncoding("queue:work", EncodingCodes.LIST8);
+    }
+
+    @Test
+    public void testLargePropertiesEncodedAsList32() throws IOException {
+        doTestEncodeAndDecodeSelectsListEncoding(new String(new char[300]).replace('\0', 'a'), EncodingCodes.LIST32);
+    }
+
+    private void doTestEncodeAndDecodeSelectsListEncoding(String to, byte expectedListCode) throws IOException {
+        final ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
+        final Properties properties = new Properties();
+
+        properties.setMessageId("ID:Message-1:1:1:0");
+        properties.setTo(to);
+        properties.setGroupSequence(255);
+
+        encoder.writeObject(buffer, encoderState, properties);
+
+        assertEquals(buffer.getReadableBytes(), encoder.getEncodedSize(encoderState, properties));
+        assertEquals(expectedListCode, buffer.getByte(3));
+
+        final Properties decoded = (Properties) decoder.readObject(buffer, decoderState);
+
+        assertEquals("ID:Message-1:1:1:0", decoded.getMessageId());
+        assertEquals(to, decoded.getTo());
+        assertEquals(255, decoded.getGroupSequence());
+        assertFalse(buffer.isReadable());
+    }
+
     @Test
     public void testSkipValue() throws IOException {
         doTestSkipValue(false);
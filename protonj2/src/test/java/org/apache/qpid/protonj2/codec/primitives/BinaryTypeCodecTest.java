@@ -21,6 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -38,6 +39,7 @@ import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.StreamTypeDecoder;
 import org.apache.qpid.protonj2.codec.TypeDecoder;
 import org.apache.qpid.protonj2.codec.decoders.PrimitiveTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.apache.qpid.protonj2.codec.decoders.primitives.BinaryTypeDecoder;
 import org.apache.qpid.protonj2.types.Binary;
 import org.junit.jupiter.api.Test;
@@ -145,6 +147,38 @@ public class BinaryTypeCodecTest extends CodecTestSupport {
         testEncodeDecodeBinary(true);
     }
 
+    @Test
+    public void testDecodeBinaryAsSliceOfSourceBuffer() throws Exception {
+        ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
+        Binary input = new Binary(new byte[] {0, 1, 2, 3, 4});
+
+        encoder.writeString(buffer, encoderState, "before");
+        encoder.writeBinary(buffer, encoderState, input);
+        encoder.writeBinary(buffer, encoderState, input);
+        encoder.writeString(buffer, encoderState, "after");
+
+        ((ProtonDecoderState) decoderState).setSlicingBinaryValues(true);
+
+        assertEquals("before", decoder.readString(buffer, decoderState));
+
+        Binary output = decoder.readBinary(buffer, decoderState);
+        ProtonBuffer outputBuffer = decoder.readBinaryAsBuffer(buffer, decoderState);
+
+        assertEquals("after", decoder.readString(buffer, decoderState));
+        assertFalse(buffer.isReadable());
+
+        assertEquals(input, output);
+        assertEquals(5, output.getLength());
+        assertSame(buffer.getArray(), output.getArray());
+        assertTrue(output.getArrayOffset() > 0);
+
+        assertEquals(input.asProtonBuffer(), outputBuffer);
+        assertSame(buffer.getArray(), outputBuffer.getArray());
+
+        // Slicing state is kept across a reset of the decoder state
+        assertTrue(decoderState.reset().isSlicingBinaryValues());
+    }
+
     private void testEncodeDecodeBinary(boolean fromStream) throws Exception {
         ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate();
         InputStream stream = new ProtonBufferInputStream(buffer);
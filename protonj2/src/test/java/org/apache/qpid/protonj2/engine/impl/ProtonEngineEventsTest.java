@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.engine.Connection;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineFactory;
+import org.apache.qpid.protonj2.engine.Sender;
+import org.apache.qpid.protonj2.engine.Session;
+import org.apache.qpid.protonj2.test.driver.ProtonTestConnector;
+import org.apache.qpid.protonj2.types.transport.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests for the flight recorder events emitted by the engine.
+ */
+@Timeout(20)
+public class ProtonEngineEventsTest extends ProtonEngineTestSupport {
+
+    @Test
+    public void testEventsAreNotRecordedUnlessEnabled() throws Exception {
+        final List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.start();
+            sendOneSettledDelivery();
+            recording.stop();
+
+            events = readEvents(recording);
+        }
+
+        assertFalse(events.stream().anyMatch(event -> event.getEventType().getName().startsWith(ProtonEngineEvents.EVENT_PREFIX)));
+    }
+
+    @Test
+    public void testFrameDeliveryAndCreditEventsRecordedWhenEnabled() throws Exception {
+        final List<RecordedEvent> events;
+
+        try (Recording recording = new Recording()) {
+            recording.enable(ProtonEngineEvents.EVENT_PREFIX + "FrameDecoded");
+            recording.enable(ProtonEngineEvents.EVENT_PREFIX + "FrameEncoded");
+            recording.enable(ProtonEngineEvents.EVENT_PREFIX + "DeliveryCreated");
+            recording.enable(ProtonEngineEvents.EVENT_PREFIX + "DeliverySettled");
+            recording.enable(ProtonEngineEvents.EVENT_PREFIX + "CreditReplenished");
+            recording.enable(ProtonEngineEvents.EVENT_PREFIX + "CreditExhausted");
+            recording.start();
+            sendOneSettledDelivery();
+            recording.stop();
+
+            events = readEvents(recording);
+        }
+
+        // Open, Begin, Attach, Flow and Disposition frames
+        final List<RecordedEvent> decoded = eventsNamed(events, "FrameDecoded");
+        assertEquals(5, decoded.size());
+        assertTrue(decoded.stream().anyMatch(event -> "Flow".equals(event.getString("frameType"))));
+
+        // Open, Begin, Attach and Transfer frames
+        final List<RecordedEvent> encoded = eventsNamed(events, "FrameEncoded");
+        assertEquals(4, encoded.size());
+        assertTrue(encoded.stream().anyMatch(event -> "Transfer".equals(event.getString("frameType"))));
+
+        final List<RecordedEvent> created = eventsNamed(events, "DeliveryCreated");
+        assertEquals(1, created.size());
+        assertEquals("sender-1", created.get(0).getString("linkName"));
+        assertEquals("SENDER", created.get(0).getString("role"));
+
+        final List<RecordedEvent> settled = eventsNamed(events, "DeliverySettled");
+        assertEquals(1, settled.size());
+        assertTrue(settled.get(0).getBoolean("remotelySettled"));
+
+        final List<RecordedEvent> replenished = eventsNamed(events, "CreditReplenished");
+        assertEquals(1, replenished.size());
+        assertEquals(1, replenished.get(0).getInt("credit"));
+
+        assertEquals(1, eventsNamed(events, "CreditExhausted").size());
+    }
+
+    private void sendOneSettledDelivery() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        byte[] payload = new byte[] {0, 1, 2, 3, 4};
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().withRole(Role.SENDER.getValue()).respond();
+        peer.remoteFlow().withDeliveryCount(0)
+                         .withLinkCredit(1)
+                         .withIncomingWindow(1024)
+                         .withOutgoingWindow(10)
+                         .withNextIncomingId(0)
+                         .withNextOutgoingId(1).queue();
+        peer.expectTransfer().withHandle(0)
+                             .withSettled(false)
+                             .withDeliveryId(0)
+                             .withPayload(payload);
+
+        Connection connection = engine.start();
+
+        connection.open();
+        Session session = connection.session();
+        session.open();
+
+        Sender sender = session.sender("sender-1");
+        sender.creditStateUpdateHandler(handler -> {
+            if (handler.isSendable()) {
+                handler.next().setTag(new byte[] {0}).writeBytes(ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+            }
+        });
+        sender.open();
+
+        peer.waitForScriptToComplete();
+
+        peer.remoteDisposition().withSettled(true)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted()
+                                .withFirst(0).now();
+
+        assertNull(failure);
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws Exception {
+        final Path dump = Files.createTempFile("protonj2-events", ".jfr");
+
+        try {
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(ProtonEngineEvents.EVENT_PREFIX + name))
+                              .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.engine.Connection;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineFactory;
+import org.apache.qpid.protonj2.engine.Link;
+import org.apache.qpid.protonj2.engine.Receiver;
+import org.apache.qpid.protonj2.engine.Sender;
+import org.apache.qpid.protonj2.engine.Session;
+import org.apache.qpid.protonj2.engine.impl.ProtonEngineMetrics.Counter;
+import org.apache.qpid.protonj2.engine.impl.ProtonEngineMetrics.Counters;
+import org.apache.qpid.protonj2.test.driver.ProtonTestConnector;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.apache.qpid.protonj2.types.transport.Role;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests for the {@link ProtonEngineMetrics} and the engine reporting into it.
+ */
+@Timeout(20)
+public class ProtonEngineMetricsTest extends ProtonEngineTestSupport {
+
+    @Test
+    public void testEngineHasNoMetricsByDefault() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+
+        assertNull(engine.configuration().getEngineMetrics());
+    }
+
+    @Test
+    public void testSenderCountsTransfersCreditAndSettlement() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        ProtonEngineMetrics metrics = new ProtonEngineMetrics();
+        engine.configuration().setEngineMetrics(metrics);
+
+        byte[] payload = new byte[] {0, 1, 2, 3, 4};
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().withRole(Role.SENDER.getValue()).respond();
+        peer.remoteFlow().withDeliveryCount(0)
+                         .withLinkCredit(1)
+                         .withIncomingWindow(1024)
+                         .withOutgoingWindow(10)
+                         .withNextIncomingId(0)
+                         .withNextOutgoingId(1).queue();
+        peer.expectTransfer().withHandle(0)
+                             .withSettled(false)
+                             .withDeliveryId(0)
+                             .withPayload(payload);
+
+        Connection connection = engine.start();
+
+        connection.open();
+        Session session = connection.session();
+        session.open();
+
+        Sender sender = session.sender("sender-1");
+        sender.creditStateUpdateHandler(handler -> {
+            if (handler.isSendable()) {
+                handler.next().setTag(new byte[] {0}).writeBytes(ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+            }
+        });
+        sender.open();
+
+        peer.waitForScriptToComplete();
+
+        Counters<Link<?>> linkCounters = findLinkCounters(metrics, sender);
+
+        assertEquals(1, linkCounters.get(Counter.TRANSFERS_SENT));
+        assertEquals(payload.length, linkCounters.get(Counter.TRANSFER_BYTES_SENT));
+        assertEquals(1, linkCounters.get(Counter.CREDIT_GRANTED));
+        assertEquals(1, linkCounters.get(Counter.CREDIT_CONSUMED));
+        assertEquals(1, linkCounters.get(Counter.CREDIT_EXHAUSTED));
+        assertEquals(1, linkCounters.get(Counter.UNSETTLED_DELIVERIES));
+
+        peer.remoteDisposition().withSettled(true)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted()
+                                .withFirst(0).now();
+
+        assertEquals(1, linkCounters.get(Counter.DISPOSITIONS_RECEIVED));
+        assertEquals(0, linkCounters.get(Counter.UNSETTLED_DELIVERIES));
+
+        // Session and connection counters include the work of the link
+        assertEquals(1, metrics.sessionCounters().iterator().next().get(Counter.TRANSFERS_SENT));
+        assertEquals(1, metrics.get(Counter.TRANSFERS_SENT));
+        assertEquals(payload.length, metrics.get(Counter.TRANSFER_BYTES_SENT));
+
+        // Open, Begin, Attach, Flow and Disposition frames
+        assertEquals(5, metrics.get(Counter.FRAMES_READ));
+        // Open, Begin, Attach and Transfer frames
+        assertEquals(4, metrics.get(Counter.FRAMES_WRITTEN));
+        assertTrue(metrics.get(Counter.BYTES_WRITTEN) > payload.length);
+
+        peer.expectDetach().respond();
+        peer.expectEnd().respond();
+
+        sender.close();
+
+        assertTrue(metrics.linkCounters().isEmpty());
+
+        session.close();
+
+        assertTrue(metrics.sessionCounters().isEmpty());
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testReceiverCountsTransfersCreditAndDispositions() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        ProtonEngineMetrics metrics = new ProtonEngineMetrics();
+        engine.configuration().setEngineMetrics(metrics);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(100);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] {0, 1, 2}).queue();
+        peer.expectDisposition().withFirst(0)
+                                .withSettled(true)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted();
+
+        Connection connection = engine.start();
+
+        connection.open();
+        Session session = connection.session();
+        session.open();
+        Receiver receiver = session.receiver("test");
+        receiver.deliveryReadHandler(delivery -> delivery.disposition(Accepted.getInstance(), true));
+        receiver.open();
+        receiver.addCredit(100);
+
+        peer.waitForScriptToComplete();
+
+        Counters<Link<?>> linkCounters = findLinkCounters(metrics, receiver);
+
+        assertEquals(1, linkCounters.get(Counter.TRANSFERS_RECEIVED));
+        assertEquals(3, linkCounters.get(Counter.TRANSFER_BYTES_RECEIVED));
+        assertEquals(100, linkCounters.get(Counter.CREDIT_GRANTED));
+        assertEquals(1, linkCounters.get(Counter.CREDIT_CONSUMED));
+        assertEquals(0, linkCounters.get(Counter.CREDIT_EXHAUSTED));
+        assertEquals(1, linkCounters.get(Counter.DISPOSITIONS_SENT));
+        assertEquals(0, linkCounters.get(Counter.UNSETTLED_DELIVERIES));
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testEngineFailureIsCounted() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+
+        ProtonEngineMetrics metrics = new ProtonEngineMetrics();
+        engine.configuration().setEngineMetrics(metrics);
+
+        engine.start();
+        engine.engineFailed(new IOException("test"));
+
+        assertEquals(1, metrics.get(Counter.ENGINE_FAILURES));
+    }
+
+    private static Counters<Link<?>> findLinkCounters(ProtonEngineMetrics metrics, Link<?> link) {
+        final Collection<Counters<Link<?>>> linkCounters = metrics.linkCounters();
+
+        assertEquals(1, linkCounters.size());
+
+        final Counters<Link<?>> counters = linkCounters.iterator().next();
+
+        assertSame(link, counters.getEndpoint());
+
+        return counters;
+    }
+}
@@ -32,12 +32,16 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.security.sasl.SaslException;
 
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonByteBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
 import org.apache.qpid.protonj2.engine.AMQPPerformativeEnvelopePool;
 import org.apache.qpid.protonj2.engine.Connection;
 import org.apache.qpid.protonj2.engine.ConnectionState;
 import org.apache.qpid.protonj2.engine.Engine;
 import org.apache.qpid.protonj2.engine.EngineFactory;
+import org.apache.qpid.protonj2.engine.EngineHandler;
+import org.apache.qpid.protonj2.engine.EngineHandlerContext;
 import org.apache.qpid.protonj2.engine.EngineState;
 import org.apache.qpid.protonj2.engine.HeaderEnvelope;
 import org.apache.qpid.protonj2.engine.SASLEnvelope;
@@ -1346,6 +1350,72 @@ public class ProtonEngineTest extends ProtonEngineTestSupport {
         assertNull(failure);
     }
 
+    @Test
+    public void testIngestFailureCauseKeptWhenEndingWriteBatchAlsoFails() {
+        final IllegalStateException readError = new IllegalStateException("read failed");
+        final IllegalStateException batchError = new IllegalStateException("batch write failed");
+
+        ProtonEngine engine = new ProtonEngine() {
+
+            @Override
+            public ProtonEngine endWriteBatch() throws EngineStateException {
+                super.endWriteBatch();
+                if (isFailed()) {
+                    throw batchError;
+                }
+                return this;
+            }
+        };
+
+        engine.configuration().setIngestWriteBatching(true);
+        engine.errorHandler(result -> failure = result.failureCause());
+        engine.pipeline().addLast("read-failure", new EngineHandler() {
+
+            @Override
+            public void handleRead(EngineHandlerContext context, ProtonBuffer buffer) {
+                throw readError;
+            }
+        });
+
+        engine.start();
+
+        EngineFailedException error = assertThrows(EngineFailedException.class,
+            () -> engine.ingest(ProtonByteBufferAllocator.DEFAULT.wrap(new byte[] { 1 })));
+
+        assertSame(readError, error.getCause());
+        assertEquals(1, error.getSuppressed().length);
+        assertSame(batchError, error.getSuppressed()[0]);
+        assertSame(readError, failure);
+    }
+
+    @Test
+    public void testIngestDoesNotBatchWritesUnlessConfigured() {
+        final ProtonEngine engine = new ProtonEngine();
+        final AtomicBoolean batched = new AtomicBoolean();
+
+        assertFalse(engine.configuration().isIngestWriteBatching());
+
+        engine.pipeline().addLast("batch-check", new EngineHandler() {
+
+            @Override
+            public void handleRead(EngineHandlerContext context, ProtonBuffer buffer) {
+                buffer.setReadIndex(buffer.getWriteIndex());
+                batched.set(engine.isWriteBatching());
+            }
+        });
+
+        engine.start();
+        engine.ingest(ProtonByteBufferAllocator.DEFAULT.wrap(new byte[] { 1 }));
+
+        assertFalse(batched.get());
+
+        engine.configuration().setIngestWriteBatching(true);
+        engine.ingest(ProtonByteBufferAllocator.DEFAULT.wrap(new byte[] { 1 }));
+
+        assertTrue(batched.get());
+        assertFalse(engine.isWriteBatching());
+    }
+
     @Test
     public void testEnginePipelineProtectsFromExternalUserMischief() {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
@@ -18,11 +18,13 @@ package org.apache.qpid.protonj2.engine.impl;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Random;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonNettyByteBuffer;
 import org.apache.qpid.protonj2.codec.CodecFactory;
 import org.apache.qpid.protonj2.codec.Decoder;
 import org.apache.qpid.protonj2.codec.DecoderState;
@@ -38,6 +40,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInfo;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * Base class for Proton Engine and its components.
  */
@@ -162,6 +167,31 @@ public abstract class ProtonEngineTestSupport {
         return peer;
     }
 
+    /**
+     * Creates a test peer whose frames reach the engine in reference counted buffers as they would from
+     * a pooled I/O layer, each input buffer is recorded so a test can check none remain retained.
+     */
+    protected ProtonTestConnector createPooledInputTestPeer(Engine engine, List<ByteBuf> inputBuffers) {
+        ProtonTestConnector peer = new ProtonTestConnector(buffer -> {
+            final ByteBuf input = Unpooled.directBuffer(buffer.remaining()).writeBytes(buffer);
+            inputBuffers.add(input);
+            try {
+                engine.accept(new ProtonNettyByteBuffer(input));
+            } finally {
+                input.release();
+            }
+        });
+        engine.outputConsumer(buffer -> {
+            peer.accept(buffer.toByteBuffer());
+        });
+
+        return peer;
+    }
+
+    protected static long countRetained(List<ByteBuf> buffers) {
+        return buffers.stream().filter(buffer -> buffer.refCnt() > 0).count();
+    }
+
     protected String getTestName() {
         return getClass().getSimpleName() + "." + testName;
     }
@@ -21,12 +21,17 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.List;
 
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonNettyByteBuffer;
+import org.apache.qpid.protonj2.codec.CodecFactory;
+import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.engine.EmptyEnvelope;
 import org.apache.qpid.protonj2.engine.Engine;
 import org.apache.qpid.protonj2.engine.EngineHandlerContext;
@@ -38,11 +43,15 @@ import org.apache.qpid.protonj2.engine.util.FrameRecordingTransportHandler;
 import org.apache.qpid.protonj2.engine.util.FrameWriteSinkTransportHandler;
 import org.apache.qpid.protonj2.types.transport.AMQPHeader;
 import org.apache.qpid.protonj2.types.transport.Open;
+import org.apache.qpid.protonj2.types.transport.Transfer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 public class ProtonFrameDecodingHandlerTest {
 
     private FrameRecordingTransportHandler testHandler;
@@ -425,9 +434,169 @@ public class ProtonFrameDecodingHandlerTest {
         Mockito.verifyNoMoreInteractions(context);
     }
 
+    @Test
+    public void testDecodeTransferFromReferenceCountedInputRetainsSliceOfPayload() throws Exception {
+        final byte[] payload = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        final ByteBuf netty = Unpooled.buffer();
+
+        encodeTransferFrame(new ProtonNettyByteBuffer(netty), payload);
+
+        ArgumentCaptor<IncomingAMQPEnvelope> argument = ArgumentCaptor.forClass(IncomingAMQPEnvelope.class);
+
+        ProtonFrameDecodingHandler handler = createFrameDecoder(true);
+        EngineHandlerContext context = Mockito.mock(EngineHandlerContext.class);
+
+        handler.handleRead(context, AMQPHeader.getAMQPHeader().getBuffer());
+        handler.handleRead(context, new ProtonNettyByteBuffer(netty));
+
+        Mockito.verify(context).fireRead(Mockito.any(HeaderEnvelope.class));
+        Mockito.verify(context).fireRead(argument.capture());
+        Mockito.verifyNoMoreInteractions(context);
+
+        assertTrue(argument.getValue().getBody() instanceof Transfer);
+
+        final ProtonBuffer received = argument.getValue().getPayload();
+
+        assertNotNull(received);
+        assertTrue(received.isReferenceCounted());
+        assertEquals(2, netty.refCnt());
+        assertSame(netty, ((ByteBuf) received.unwrap()).unwrap());
+
+        // Caller releases its reference to the I/O buffer and payload remains intact
+        assertFalse(netty.release());
+
+        assertEquals(payload.length, received.getReadableBytes());
+        for (int i = 0; i < payload.length; ++i) {
+            assertEquals(payload[i], received.readByte());
+        }
+
+        assertTrue(received.release());
+        assertEquals(0, netty.refCnt());
+    }
+
+    @Test
+    public void testDecodeTransferFromReferenceCountedInputCopiesPayloadUnlessConfigured() throws Exception {
+        final byte[] payload = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        final ByteBuf netty = Unpooled.buffer();
+
+        encodeTransferFrame(new ProtonNettyByteBuffer(netty), payload);
+
+        ArgumentCaptor<IncomingAMQPEnvelope> argument = ArgumentCaptor.forClass(IncomingAMQPEnvelope.class);
+
+        ProtonFrameDecodingHandler handler = createFrameDecoder();
+        EngineHandlerContext context = Mockito.mock(EngineHandlerContext.class);
+
+        handler.handleRead(context, AMQPHeader.getAMQPHeader().getBuffer());
+        handler.handleRead(context, new ProtonNettyByteBuffer(netty));
+
+        Mockito.verify(context).fireRead(Mockito.any(HeaderEnvelope.class));
+        Mockito.verify(context).fireRead(argument.capture());
+        Mockito.verifyNoMoreInteractions(context);
+
+        final ProtonBuffer received = argument.getValue().getPayload();
+
+        assertNotNull(received);
+        assertFalse(received.isReferenceCounted());
+        assertEquals(1, netty.refCnt());
+        assertTrue(netty.release());
+
+        assertEquals(payload.length, received.getReadableBytes());
+        for (int i = 0; i < payload.length; ++i) {
+            assertEquals(payload[i], received.readByte());
+        }
+    }
+
+    @Test
+    public void testDecodeTransferFromCallerOwnedInputCopiesPayload() throws Exception {
+        final byte[] payload = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        final ProtonBuffer input = ProtonByteBufferAllocator.DEFAULT.allocate();
+
+        encodeTransferFrame(input, payload);
+
+        ArgumentCaptor<IncomingAMQPEnvelope> argument = ArgumentCaptor.forClass(IncomingAMQPEnvelope.class);
+
+        ProtonFrameDecodingHandler handler = createFrameDecoder();
+        EngineHandlerContext context = Mockito.mock(EngineHandlerContext.class);
+
+        handler.handleRead(context, AMQPHeader.getAMQPHeader().getBuffer());
+        handler.handleRead(context, input);
+
+        Mockito.verify(context).fireRead(Mockito.any(HeaderEnvelope.class));
+        Mockito.verify(context).fireRead(argument.capture());
+        Mockito.verifyNoMoreInteractions(context);
+
+        final ProtonBuffer received = argument.getValue().getPayload();
+
+        // Caller is free to reuse its buffer once the read completes
+        input.setIndex(0, 0);
+        for (int i = 0; i < input.capacity(); ++i) {
+            input.writeByte(-1);
+        }
+
+        assertEquals(payload.length, received.getReadableBytes());
+        for (int i = 0; i < payload.length; ++i) {
+            assertEquals(payload[i], received.readByte());
+        }
+    }
+
+    @Test
+    public void testDecodeTransferSplitAcrossReadsProducesPayload() throws Exception {
+        final byte[] payload = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        final ProtonBuffer encoded = ProtonByteBufferAllocator.DEFAULT.allocate();
+
+        encodeTransferFrame(encoded, payload);
+
+        ArgumentCaptor<IncomingAMQPEnvelope> argument = ArgumentCaptor.forClass(IncomingAMQPEnvelope.class);
+
+        ProtonFrameDecodingHandler handler = createFrameDecoder();
+        EngineHandlerContext context = Mockito.mock(EngineHandlerContext.class);
+
+        handler.handleRead(context, AMQPHeader.getAMQPHeader().getBuffer());
+        handler.handleRead(context, encoded.copy(0, 12));
+        handler.handleRead(context, encoded.copy(12, encoded.getReadableBytes() - 12));
+
+        Mockito.verify(context).fireRead(Mockito.any(HeaderEnvelope.class));
+        Mockito.verify(context).fireRead(argument.capture());
+        Mockito.verifyNoMoreInteractions(context);
+
+        final ProtonBuffer received = argument.getValue().getPayload();
+
+        assertEquals(payload.length, received.getReadableBytes());
+        for (int i = 0; i < payload.length; ++i) {
+            assertEquals(payload[i], received.readByte());
+        }
+    }
+
+    private static void encodeTransferFrame(ProtonBuffer target, byte[] payload) {
+        final Encoder encoder = CodecFactory.getEncoder();
+        final Transfer transfer = new Transfer();
+
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] { 0 });
+
+        final int frameStart = target.getWriteIndex();
+
+        target.writeInt(0);
+        target.writeByte(2);
+        target.writeByte(ProtonFrameDecodingHandler.AMQP_FRAME_TYPE);
+        target.writeShort((short) 0);
+
+        encoder.writeObject(target, encoder.newEncoderState(), transfer);
+
+        target.writeBytes(payload);
+        target.setInt(frameStart, target.getWriteIndex() - frameStart);
+    }
+
     private ProtonFrameDecodingHandler createFrameDecoder() {
+        return createFrameDecoder(false);
+    }
+
+    private ProtonFrameDecodingHandler createFrameDecoder(boolean retainIncomingPayloads) {
         ProtonEngineConfiguration configuration = Mockito.mock(ProtonEngineConfiguration.class);
         Mockito.when(configuration.getInboundMaxFrameSize()).thenReturn(Long.valueOf(65535));
+        Mockito.when(configuration.getBufferAllocator()).thenReturn(ProtonByteBufferAllocator.DEFAULT);
+        Mockito.when(configuration.isRetainIncomingPayloads()).thenReturn(retainIncomingPayloads);
         ProtonEngine engine = Mockito.mock(ProtonEngine.class);
         Mockito.when(engine.configuration()).thenReturn(configuration);
         Mockito.when(engine.isWritable()).thenReturn(Boolean.TRUE);
@@ -16,21 +16,28 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonByteBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonCompositeBuffer;
 import org.apache.qpid.protonj2.codec.CodecFactory;
 import org.apache.qpid.protonj2.codec.Decoder;
 import org.apache.qpid.protonj2.codec.DecoderState;
 import org.apache.qpid.protonj2.engine.AMQPPerformativeEnvelopePool;
 import org.apache.qpid.protonj2.engine.EngineHandlerContext;
 import org.apache.qpid.protonj2.engine.OutgoingAMQPEnvelope;
+import org.apache.qpid.protonj2.engine.OutgoingDelivery;
 import org.apache.qpid.protonj2.types.transport.Transfer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -85,7 +92,7 @@ class ProtonFrameEncodingHandlerTest {
         handler.handleWrite(context, frame);
 
         ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
-        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any());
 
         ProtonBuffer output = argument.getValue();
 
@@ -125,7 +132,7 @@ class ProtonFrameEncodingHandlerTest {
         handler.handleWrite(context, frame);
 
         ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
-        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any());
 
         ProtonBuffer output = argument.getValue();
 
@@ -170,7 +177,7 @@ class ProtonFrameEncodingHandlerTest {
         handler.handleWrite(context, frame);
 
         ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
-        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any());
 
         ProtonBuffer output = argument.getValue();
 
@@ -207,13 +214,21 @@ class ProtonFrameEncodingHandlerTest {
 
         random.nextBytes(payload);
 
-        OutgoingAMQPEnvelope frame = Mockito.spy(framePool.take(transfer, 32, ProtonByteBufferAllocator.DEFAULT.wrap(payload)));
+        final AtomicBoolean writeCompleted = new AtomicBoolean();
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+        frame.setFrameWriteCompletionHandler(() -> writeCompleted.set(true));
 
         handler.handleWrite(context, frame);
 
         ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
-        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
-        Mockito.verify(frame, Mockito.never()).release();
+        ArgumentCaptor<Runnable> completion = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(context).fireWrite(argument.capture(), completion.capture());
+
+        // Frame must remain valid until the I/O layer signals the write completed
+        assertSame(completion.getValue(), frame.getFrameWriteCompletion());
+        assertSame(transfer, frame.getBody());
+        assertFalse(writeCompleted.get());
 
         ProtonBuffer output = argument.getValue();
 
@@ -232,6 +247,330 @@ class ProtonFrameEncodingHandlerTest {
         assertEquals(transfer.getDeliveryId(), decodedTransfer.getDeliveryId());
         assertEquals(transfer.getDeliveryTag(), decodedTransfer.getDeliveryTag());
         assertEquals(transfer.getMore(), decodedTransfer.getMore());
+
+        completion.getValue().run();
+
+        assertTrue(writeCompleted.get());
+        assertNull(frame.getBody());
+    }
+
+    @Test
+    void testOutgoingFrameWithoutCompletionHandlerIsReleasedOnceEncoded() {
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, null);
+
+        handler.handleWrite(context, frame);
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.isNull());
+
+        assertNull(frame.getBody());
+
+        ProtonBuffer output = argument.getValue();
+        output.skipBytes(8);
+        assertEquals(transfer.getDeliveryId(), decode(output).getDeliveryId());
+    }
+
+    @Test
+    void testEncodeTransferInPlaceWhenPayloadReservesFrameHeader() {
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        final byte[] payload = new byte[64];
+
+        random.nextBytes(payload);
+
+        final ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.allocate(OutgoingDelivery.RESERVED_FRAME_HEADER_SIZE + payload.length);
+        buffer.setIndex(OutgoingDelivery.RESERVED_FRAME_HEADER_SIZE, OutgoingDelivery.RESERVED_FRAME_HEADER_SIZE);
+        buffer.writeBytes(payload);
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, buffer);
+        frame.setPayloadHeadroom(OutgoingDelivery.RESERVED_FRAME_HEADER_SIZE);
+
+        handler.handleWrite(context, frame);
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any());
+
+        ProtonBuffer output = argument.getValue();
+
+        assertNotNull(output);
+        assertFalse(buffer.isReadable());
+
+        // Writes into the output must land in the original payload buffer
+        output.setByte(output.getReadableBytes() - 1, (byte) (payload[payload.length - 1] + 1));
+        assertEquals((byte) (payload[payload.length - 1] + 1), buffer.getByte(buffer.getWriteIndex() - 1));
+        output.setByte(output.getReadableBytes() - 1, payload[payload.length - 1]);
+
+        final int bufferSize = output.getReadableBytes();
+
+        assertEquals(bufferSize, output.readInt());
+        assertEquals(FRAME_DOFF_SIZE, output.readByte());
+        assertEquals(AMQP_FRAME_TYPE, output.readByte());
+        assertEquals(32, output.readShort());
+
+        final Transfer decodedTransfer = decode(output);
+        assertEquals(transfer.getHandle(), decodedTransfer.getHandle());
+        assertEquals(transfer.getDeliveryId(), decodedTransfer.getDeliveryId());
+        assertEquals(transfer.getDeliveryTag(), decodedTransfer.getDeliveryTag());
+        assertEquals(transfer.getMore(), decodedTransfer.getMore());
+
+        final byte[] written = new byte[payload.length];
+        output.readBytes(written);
+
+        assertArrayEquals(payload, written);
+        assertFalse(output.isReadable());
+    }
+
+    @Test
+    void testEncodeTransferCopiesPayloadWhenReservedHeadroomIsMissing() {
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        final byte[] payload = new byte[64];
+
+        random.nextBytes(payload);
+
+        final ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.wrap(payload);
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, buffer);
+        frame.setPayloadHeadroom(OutgoingDelivery.RESERVED_FRAME_HEADER_SIZE);
+
+        handler.handleWrite(context, frame);
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any());
+
+        ProtonBuffer output = argument.getValue();
+
+        assertNotNull(output);
+        assertFalse(buffer.isReadable());
+        assertEquals(output.getReadableBytes(), output.readInt());
+        assertEquals(FRAME_DOFF_SIZE, output.readByte());
+        assertEquals(AMQP_FRAME_TYPE, output.readByte());
+        assertEquals(32, output.readShort());
+
+        decode(output);
+
+        final byte[] written = new byte[payload.length];
+        output.readBytes(written);
+
+        assertArrayEquals(payload, written);
+
+        // The original payload bytes must be untouched by the encoder
+        assertArrayEquals(payload, buffer.getArray());
+    }
+
+    @Test
+    void testEncodeTransferWithRetainablePayloadThatDoesNotFitIntoFrameGathersPayloadSlice() {
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        final int maxFrameSize = (int) configuration.getOutboundMaxFrameSize();
+        final byte[] payload = new byte[maxFrameSize * 2];
+        final AtomicBoolean toLargeHandlerCalled = new AtomicBoolean();
+
+        random.nextBytes(payload);
+
+        final ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.wrap(payload);
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, buffer);
+        frame.setPayloadRetainable(true);
+        frame.setPayloadToLargeHandler((performative) -> {
+            transfer.setMore(true);
+            toLargeHandlerCalled.set(true);
+        });
+
+        handler.handleWrite(context, frame);
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any());
+
+        ProtonBuffer output = argument.getValue();
+
+        assertTrue(toLargeHandlerCalled.get());
+        assertTrue(output instanceof ProtonCompositeBuffer);
+        assertEquals(2, ((ProtonCompositeBuffer) output).numberOfBuffers());
+        assertEquals(maxFrameSize, output.getReadableBytes());
+
+        final int bufferSize = output.getReadableBytes();
+
+        assertEquals(bufferSize, output.readInt());
+        assertEquals(FRAME_DOFF_SIZE, output.readByte());
+        assertEquals(AMQP_FRAME_TYPE, output.readByte());
+        assertEquals(32, output.readShort());
+
+        final Transfer decodedTransfer = decode(output);
+        assertTrue(decodedTransfer.getMore());
+
+        final int payloadWritten = output.getReadableBytes();
+
+        assertEquals(payloadWritten, buffer.getReadIndex());
+
+        for (int i = 0; i < payloadWritten; ++i) {
+            assertEquals(payload[i], output.readByte());
+        }
+    }
+
+    @Test
+    void testEncodeTransferWithRetainablePayloadThatFitsIntoFrameGathersPayloadSlice() {
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        final byte[] payload = new byte[64];
+
+        random.nextBytes(payload);
+
+        final ProtonBuffer buffer = ProtonByteBufferAllocator.DEFAULT.wrap(payload);
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, buffer);
+        frame.setPayloadRetainable(true);
+
+        handler.handleWrite(context, frame);
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any());
+
+        ProtonBuffer output = argument.getValue();
+
+        assertTrue(output instanceof ProtonCompositeBuffer);
+        assertFalse(buffer.isReadable());
+        assertEquals(output.getReadableBytes(), output.readInt());
+        assertEquals(FRAME_DOFF_SIZE, output.readByte());
+        assertEquals(AMQP_FRAME_TYPE, output.readByte());
+        assertEquals(32, output.readShort());
+
+        decode(output);
+
+        final byte[] written = new byte[payload.length];
+        output.readBytes(written);
+
+        assertArrayEquals(payload, written);
+        assertFalse(output.isReadable());
+    }
+
+    @Test
+    void testEncodeTransfersIntoSharedBufferWhileWriteBatching() {
+        Mockito.when(engine.isWriteBatching()).thenReturn(Boolean.TRUE);
+
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+
+        final OutgoingAMQPEnvelope[] frames = new OutgoingAMQPEnvelope[3];
+        final AtomicInteger writesCompleted = new AtomicInteger();
+
+        for (int i = 0; i < frames.length; ++i) {
+            Transfer transfer = new Transfer();
+            transfer.setHandle(0);
+            transfer.setDeliveryId(i);
+            transfer.setDeliveryTag(new byte[] {(byte) i});
+
+            final byte[] payload = new byte[64];
+            random.nextBytes(payload);
+
+            frames[i] = framePool.take(transfer, 32, ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+            frames[i].setFrameWriteCompletionHandler(() -> writesCompleted.incrementAndGet());
+
+            handler.handleWrite(context, frames[i]);
+        }
+
+        Mockito.verify(context, Mockito.never()).fireWrite(Mockito.any(ProtonBuffer.class), Mockito.any());
+
+        handler.flushWriteBatch();
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        ArgumentCaptor<Runnable> completion = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(context).fireWrite(argument.capture(), completion.capture());
+
+        ProtonBuffer output = argument.getValue();
+
+        for (int i = 0; i < frames.length; ++i) {
+            final int frameStart = output.getReadIndex();
+            final int frameSize = output.readInt();
+
+            assertEquals(FRAME_DOFF_SIZE, output.readByte());
+            assertEquals(AMQP_FRAME_TYPE, output.readByte());
+            assertEquals(32, output.readShort());
+
+            final Transfer decodedTransfer = decode(output);
+            assertEquals(i, decodedTransfer.getDeliveryId());
+
+            output.setReadIndex(frameStart + frameSize);
+        }
+
+        assertFalse(output.isReadable());
+
+        assertEquals(0, writesCompleted.get());
+
+        completion.getValue().run();
+
+        assertEquals(frames.length, writesCompleted.get());
+
+        // Nothing left to write once the batch has been flushed
+        handler.flushWriteBatch();
+        Mockito.verify(context).fireWrite(Mockito.any(ProtonBuffer.class), Mockito.any());
+    }
+
+    @Test
+    void testWriteBatchIsFlushedBeforeFrameThatCannotBePacked() {
+        Mockito.when(engine.isWriteBatching()).thenReturn(Boolean.TRUE);
+
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+
+        Transfer small = new Transfer();
+        small.setHandle(0);
+        small.setDeliveryId(0);
+        small.setDeliveryTag(new byte[] {0});
+
+        Transfer large = new Transfer();
+        large.setHandle(0);
+        large.setDeliveryId(1);
+        large.setDeliveryTag(new byte[] {1});
+
+        final byte[] payload = new byte[4096];
+        random.nextBytes(payload);
+
+        handler.handleWrite(context, framePool.take(small, 32, null));
+        handler.handleWrite(context, framePool.take(large, 32, ProtonByteBufferAllocator.DEFAULT.wrap(payload)));
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context, Mockito.times(2)).fireWrite(argument.capture(), Mockito.any());
+
+        ProtonBuffer first = argument.getAllValues().get(0);
+        first.skipBytes(8);
+        assertEquals(0, decode(first).getDeliveryId());
+
+        ProtonBuffer second = argument.getAllValues().get(1);
+        second.skipBytes(8);
+        assertEquals(1, decode(second).getDeliveryId());
     }
 
     private Transfer decode(ProtonBuffer encoded) {
@@ -38,6 +38,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -81,6 +82,8 @@ import org.hamcrest.Matcher;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Test the {@link ProtonReceiver}
  */
@@ -4592,4 +4595,585 @@ public class ProtonReceiverTest extends ProtonEngineTestSupport {
 
         assertNull(failure);
     }
+
+    @Test
+    public void testBatchedDispositionsCoalescedIntoRangeAcrossUnsignedIntDeliveryIdRange() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        final byte[] payload = new byte[] { 1 };
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond().withNextOutgoingId(UnsignedInteger.MAX_VALUE.intValue());
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(3);
+        peer.remoteTransfer().withDeliveryId(UnsignedInteger.MAX_VALUE.intValue())
+                             .withDeliveryTag(new byte[] {1})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(payload).queue();
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {2})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(payload).queue();
+        peer.remoteTransfer().withDeliveryId(1)
+                             .withDeliveryTag(new byte[] {3})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(payload).queue();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().setDispositionBatchLimit(16).open();
+        Receiver receiver = session.receiver("receiver");
+
+        assertEquals(16, session.getDispositionBatchLimit());
+
+        receiver.addCredit(3);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+        peer.expectDisposition().withFirst(UnsignedInteger.MAX_VALUE.intValue())
+                                .withLast(1)
+                                .withSettled(true)
+                                .withState().accepted();
+        peer.expectDetach().respond();
+        peer.expectEnd().respond();
+        peer.expectClose().respond();
+
+        assertEquals(3, receiver.unsettled().size());
+        receiver.disposition((delivery) -> true, Accepted.getInstance(), true);
+        assertFalse(receiver.hasUnsettled());
+
+        receiver.close();
+        session.close();
+        connection.close();
+
+        // Check post conditions and done.
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testBatchedDispositionsWrittenWhenStateOrSettlementChanges() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        final byte[] payload = new byte[] { 1 };
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(4);
+        for (int i = 0; i < 4; ++i) {
+            peer.remoteTransfer().withDeliveryId(i)
+                                 .withDeliveryTag(new byte[] {(byte) i})
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+        }
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().setDispositionBatchLimit(16).open();
+        Receiver receiver = session.receiver("receiver");
+
+        final ArrayList<IncomingDelivery> deliveries = new ArrayList<>();
+        receiver.deliveryReadHandler(deliveries::add);
+        receiver.addCredit(4);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+        peer.expectDisposition().withFirst(0)
+                                .withLast(1)
+                                .withSettled(true)
+                                .withState().accepted();
+        peer.expectDisposition().withFirst(2)
+                                .withLast(nullValue())
+                                .withSettled(true)
+                                .withState().released();
+        peer.expectDisposition().withFirst(3)
+                                .withLast(nullValue())
+                                .withSettled(false)
+                                .withState().released();
+
+        assertEquals(4, deliveries.size());
+
+        deliveries.get(0).disposition(Accepted.getInstance(), true);
+        deliveries.get(1).disposition(Accepted.getInstance(), true);
+        deliveries.get(2).disposition(Released.getInstance(), true);
+        deliveries.get(3).disposition(Released.getInstance(), false);
+
+        session.flushDispositions();
+
+        peer.waitForScriptToComplete();
+        peer.expectDetach().respond();
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testBatchedDispositionsWrittenWhenBatchLimitReached() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        final byte[] payload = new byte[] { 1 };
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(3);
+        for (int i = 0; i < 3; ++i) {
+            peer.remoteTransfer().withDeliveryId(i)
+                                 .withDeliveryTag(new byte[] {(byte) i})
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+        }
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().setDispositionBatchLimit(2).open();
+        Receiver receiver = session.receiver("receiver");
+
+        final ArrayList<IncomingDelivery> deliveries = new ArrayList<>();
+        receiver.deliveryReadHandler(deliveries::add);
+        receiver.addCredit(3);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+        peer.expectDisposition().withFirst(0)
+                                .withLast(1)
+                                .withSettled(true)
+                                .withState().accepted();
+
+        assertEquals(3, deliveries.size());
+
+        deliveries.get(0).disposition(Accepted.getInstance(), true);
+        deliveries.get(1).disposition(Accepted.getInstance(), true);
+        deliveries.get(2).disposition(Accepted.getInstance(), true);
+
+        peer.waitForScriptToComplete();
+        peer.expectDisposition().withFirst(2)
+                                .withLast(nullValue())
+                                .withSettled(true)
+                                .withState().accepted();
+
+        session.setDispositionBatchLimit(0);
+
+        peer.waitForScriptToComplete();
+        peer.expectDetach().respond();
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testBatchedDispositionsCoalescedForEqualStateInstances() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        final byte[] payload = new byte[] { 1 };
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(2);
+        for (int i = 0; i < 2; ++i) {
+            peer.remoteTransfer().withDeliveryId(i)
+                                 .withDeliveryTag(new byte[] {(byte) i})
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(payload).queue();
+        }
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().setDispositionBatchLimit(2).open();
+        Receiver receiver = session.receiver("receiver");
+
+        final ArrayList<IncomingDelivery> deliveries = new ArrayList<>();
+        receiver.deliveryReadHandler(deliveries::add);
+        receiver.addCredit(2);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+        peer.expectDisposition().withFirst(0)
+                                .withLast(1)
+                                .withSettled(true)
+                                .withState(new org.apache.qpid.protonj2.test.driver.codec.messaging.Modified().setDeliveryFailed(true));
+
+        assertEquals(2, deliveries.size());
+
+        deliveries.get(0).disposition(new Modified(true, false), true);
+        deliveries.get(1).disposition(new Modified(true, false), true);
+
+        peer.waitForScriptToComplete();
+        peer.expectDetach().respond();
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testBatchedDispositionsWrittenAtEndOfIngest() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(1);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] { 1 }).queue();
+        peer.expectDisposition().withFirst(0)
+                                .withSettled(true)
+                                .withState().accepted();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().setDispositionBatchLimit(16).open();
+        Receiver receiver = session.receiver("receiver");
+
+        receiver.deliveryReadHandler(delivery -> delivery.disposition(Accepted.getInstance(), true));
+        receiver.addCredit(1);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+        assertFalse(receiver.hasUnsettled());
+        assertNull(failure);
+    }
+
+    @Test
+    public void testBatchedDispositionsWrittenWhenWriteBatchEndsWithoutIngest() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(3);
+        for (int i = 0; i < 3; ++i) {
+            peer.remoteTransfer().withDeliveryId(i)
+                                 .withDeliveryTag(new byte[] {(byte) i})
+                                 .withMore(false)
+                                 .withMessageFormat(0)
+                                 .withPayload(new byte[] { 1 }).queue();
+        }
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().setDispositionBatchLimit(16).open();
+        Receiver receiver = session.receiver("receiver");
+
+        final ArrayList<IncomingDelivery> deliveries = new ArrayList<>();
+        receiver.deliveryReadHandler(deliveries::add);
+        receiver.addCredit(3);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+        peer.expectDisposition().withFirst(0)
+                                .withLast(2)
+                                .withSettled(true)
+                                .withState().accepted();
+
+        assertEquals(3, deliveries.size());
+
+        final int performatives = peer.getPerformativeCount();
+
+        // Dispositions applied outside of any ingest cycle, as from a task run by the application
+        engine.beginWriteBatch();
+        engine.beginWriteBatch();
+        deliveries.forEach(delivery -> delivery.disposition(Accepted.getInstance(), true));
+        engine.endWriteBatch();
+
+        assertEquals(performatives, peer.getPerformativeCount(), "Nested batch end should not write dispositions");
+
+        engine.endWriteBatch();
+
+        peer.waitForScriptToComplete();
+        assertEquals(performatives + 1, peer.getPerformativeCount());
+        assertFalse(receiver.hasUnsettled());
+        peer.expectDetach().respond();
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testSettledDeliveryHandsOutPooledPayloadWithoutCopy() {
+        final List<ByteBuf> inputBuffers = new ArrayList<>();
+
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        engine.configuration().setRetainIncomingPayloads(true);
+        ProtonTestConnector peer = createPooledInputTestPeer(engine, inputBuffers);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(1);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] { 1, 2, 3 }).queue();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("receiver");
+
+        final AtomicReference<IncomingDelivery> received = new AtomicReference<>();
+        receiver.deliveryReadHandler(received::set);
+        receiver.addCredit(1);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+        peer.expectDisposition().withFirst(0).withSettled(true).withState().accepted();
+
+        assertNotNull(received.get());
+        assertEquals(3, received.get().available());
+        assertEquals(1, countRetained(inputBuffers));
+
+        received.get().disposition(Accepted.getInstance(), true);
+
+        // Settled deliveries remain readable from the I/O buffer until the bytes are read
+        assertEquals(1, countRetained(inputBuffers));
+
+        final ProtonBuffer payload = received.get().readAll();
+        assertTrue(payload.isReferenceCounted());
+        assertEquals(3, payload.getReadableBytes());
+        assertEquals(1, payload.getByte(0));
+
+        payload.release();
+
+        assertEquals(0, countRetained(inputBuffers));
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testPooledPayloadCopiedUnlessRetainingIncomingPayloads() {
+        final List<ByteBuf> inputBuffers = new ArrayList<>();
+
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createPooledInputTestPeer(engine, inputBuffers);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(1);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(false)
+                             .withSettled(true)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] { 1, 2, 3 }).queue();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("receiver");
+
+        final AtomicReference<IncomingDelivery> received = new AtomicReference<>();
+        receiver.deliveryReadHandler(received::set);
+        receiver.addCredit(1);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+
+        assertNotNull(received.get());
+        assertTrue(received.get().isRemotelySettled());
+        assertEquals(0, countRetained(inputBuffers));
+
+        final ProtonBuffer payload = received.get().readAll();
+        assertFalse(payload.isReferenceCounted());
+        assertEquals(3, payload.getReadableBytes());
+        assertEquals(1, payload.getByte(0));
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testFreeingReceiverReleasesPooledPayloadOfUnsettledDeliveries() {
+        final List<ByteBuf> inputBuffers = new ArrayList<>();
+
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        engine.configuration().setRetainIncomingPayloads(true);
+        ProtonTestConnector peer = createPooledInputTestPeer(engine, inputBuffers);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(2);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] { 1, 2, 3 }).queue();
+        peer.remoteTransfer().withDeliveryId(1)
+                             .withDeliveryTag(new byte[] {1})
+                             .withMore(true)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] { 4, 5, 6 }).queue();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("receiver");
+
+        final AtomicInteger deliveries = new AtomicInteger();
+        receiver.deliveryReadHandler(delivery -> deliveries.incrementAndGet());
+        receiver.addCredit(2);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+        peer.expectDetach().respond();
+
+        assertEquals(2, deliveries.get());
+        assertEquals(2, countRetained(inputBuffers));
+
+        receiver.close();
+
+        assertEquals(0, countRetained(inputBuffers));
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testEngineShutdownReleasesPooledPayloadOfUnsettledDeliveries() {
+        final List<ByteBuf> inputBuffers = new ArrayList<>();
+
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        engine.configuration().setRetainIncomingPayloads(true);
+        ProtonTestConnector peer = createPooledInputTestPeer(engine, inputBuffers);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(2);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] { 1, 2, 3 }).queue();
+        peer.remoteTransfer().withDeliveryId(1)
+                             .withDeliveryTag(new byte[] {1})
+                             .withMore(true)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] { 4, 5, 6 }).queue();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("receiver");
+
+        final List<IncomingDelivery> deliveries = new ArrayList<>();
+        receiver.deliveryReadHandler(deliveries::add);
+        receiver.addCredit(2);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+
+        assertEquals(2, deliveries.size());
+        assertEquals(2, countRetained(inputBuffers));
+
+        engine.shutdown();
+
+        assertEquals(0, countRetained(inputBuffers));
+
+        assertEquals(0, deliveries.get(1).available());
+        assertEquals(0, deliveries.get(0).available());
+        assertNull(failure);
+    }
+
+    @Test
+    public void testSetNegativeDispositionBatchLimitFails() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+
+        Connection connection = engine.start().open();
+        Session session = connection.session();
+
+        assertEquals(0, session.getDispositionBatchLimit());
+        assertThrows(IllegalArgumentException.class, () -> session.setDispositionBatchLimit(-1));
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testDeliverySettledInReadHandlerIsNotTrackedAsUnsettled() {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(1);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] { 1 }).queue();
+        peer.expectDisposition().withFirst(0)
+                                .withSettled(true)
+                                .withState().accepted();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("receiver");
+
+        final AtomicInteger stateUpdates = new AtomicInteger();
+
+        receiver.deliveryReadHandler(delivery -> delivery.disposition(Accepted.getInstance(), true));
+        receiver.deliveryStateUpdatedHandler(delivery -> stateUpdates.incrementAndGet());
+        receiver.addCredit(1);
+        receiver.open();
+
+        peer.waitForScriptToComplete();
+
+        // The delivery is settled and forgotten so a late disposition from the remote is ignored
+        peer.remoteDisposition().withRole(Role.SENDER.getValue())
+                                .withFirst(0)
+                                .withSettled(true)
+                                .withState().accepted().now();
+
+        assertEquals(0, stateUpdates.get());
+        assertFalse(receiver.hasUnsettled());
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.qpid.protonj2.engine.Sender;
+import org.apache.qpid.protonj2.engine.SenderScheduler;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests for the built in {@link SenderScheduler} implementations
+ */
+public class ProtonSenderSchedulerTest {
+
+    @Test
+    public void testRoundRobinNotifiesInBlockedOrder() {
+        SenderScheduler scheduler = ProtonSenderScheduler.BUILTIN.ROUND_ROBIN.createScheduler();
+
+        Sender sender1 = Mockito.mock(Sender.class);
+        Sender sender2 = Mockito.mock(Sender.class);
+        Sender sender3 = Mockito.mock(Sender.class);
+
+        scheduler.senderBlocked(sender1);
+        scheduler.senderBlocked(sender2);
+        scheduler.senderBlocked(sender3);
+
+        assertEquals(3, scheduler.getBlockedCount());
+
+        assertSame(sender1, scheduler.nextSender());
+        scheduler.senderWrote(sender1, 1024);
+        scheduler.senderBlocked(sender1);
+
+        // The sender that blocked again waits behind the others
+        assertSame(sender2, scheduler.nextSender());
+        assertSame(sender3, scheduler.nextSender());
+        assertSame(sender1, scheduler.nextSender());
+        assertNull(scheduler.nextSender());
+        assertEquals(0, scheduler.getBlockedCount());
+    }
+
+    @Test
+    public void testDeficitRoundRobinSharesByWeight() {
+        final Sender sender1 = Mockito.mock(Sender.class);
+        final Sender sender2 = Mockito.mock(Sender.class);
+
+        SenderScheduler scheduler = ProtonSenderScheduler.deficitRoundRobin(100, sender -> sender == sender2 ? 2 : 1);
+
+        scheduler.senderBlocked(sender1);
+        scheduler.senderBlocked(sender2);
+
+        for (int round = 0; round < 3; ++round) {
+            assertSame(sender1, doSchedulerTurn(scheduler, 100));
+            assertSame(sender2, doSchedulerTurn(scheduler, 100));
+            assertSame(sender2, doSchedulerTurn(scheduler, 100));
+        }
+    }
+
+    @Test
+    public void testDeficitRoundRobinSenderInDebtSkipsRounds() {
+        final Sender sender1 = Mockito.mock(Sender.class);
+        final Sender sender2 = Mockito.mock(Sender.class);
+
+        SenderScheduler scheduler = ProtonSenderScheduler.deficitRoundRobin(100, sender -> 1);
+
+        scheduler.senderBlocked(sender1);
+        scheduler.senderBlocked(sender2);
+
+        // First sender overruns its quantum by two full rounds worth of bytes
+        assertSame(sender1, doSchedulerTurn(scheduler, 300));
+        assertSame(sender2, doSchedulerTurn(scheduler, 100));
+        assertSame(sender2, doSchedulerTurn(scheduler, 100));
+        assertSame(sender2, doSchedulerTurn(scheduler, 100));
+        assertSame(sender1, doSchedulerTurn(scheduler, 100));
+        assertSame(sender2, doSchedulerTurn(scheduler, 100));
+    }
+
+    @Test
+    public void testDeficitRoundRobinDropsSendersThatDoNotBlockAgain() {
+        final Sender sender1 = Mockito.mock(Sender.class);
+        final Sender sender2 = Mockito.mock(Sender.class);
+
+        SenderScheduler scheduler = ProtonSenderScheduler.deficitRoundRobin(100, sender -> 1);
+
+        scheduler.senderBlocked(sender1);
+        scheduler.senderBlocked(sender2);
+
+        assertSame(sender1, scheduler.nextSender());
+        scheduler.senderWrote(sender1, 50);
+        // First sender has nothing more to send and does not block
+        assertSame(sender2, scheduler.nextSender());
+        assertNull(scheduler.nextSender());
+        assertEquals(0, scheduler.getBlockedCount());
+
+        // Blocking later starts over with a fresh quantum
+        scheduler.senderBlocked(sender1);
+        assertSame(sender1, doSchedulerTurn(scheduler, 100));
+        assertSame(sender1, doSchedulerTurn(scheduler, 100));
+    }
+
+    @Test
+    public void testDeficitRoundRobinRequiresPositiveQuantum() {
+        assertThrows(IllegalArgumentException.class, () -> ProtonSenderScheduler.deficitRoundRobin(0, sender -> 1));
+    }
+
+    private static Sender doSchedulerTurn(SenderScheduler scheduler, int bytesWritten) {
+        final Sender sender = scheduler.nextSender();
+
+        scheduler.senderWrote(sender, bytesWritten);
+        scheduler.senderBlocked(sender);
+
+        return sender;
+    }
+}
@@ -2333,6 +2333,55 @@ public class ProtonSenderTest extends ProtonEngineTestSupport {
         doTestSettleTransferWithSpecifiedOutcome(state, matcher, true);
     }
 
+    @Test
+    public void testSenderBatchesDispositionsForContiguousDeliveries() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().withRole(Role.SENDER.getValue()).respond();
+        peer.remoteFlow().withDeliveryCount(0)
+                         .withLinkCredit(10)
+                         .withIncomingWindow(1024)
+                         .withOutgoingWindow(10)
+                         .withNextIncomingId(0)
+                         .withNextOutgoingId(1).queue();
+        peer.expectTransfer().withDeliveryId(0);
+        peer.expectTransfer().withDeliveryId(1);
+        peer.expectTransfer().withDeliveryId(2);
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().setDispositionBatchLimit(8).open();
+        Sender sender = session.sender("sender-1").open();
+
+        final ArrayList<OutgoingDelivery> deliveries = new ArrayList<>();
+        for (byte i = 0; i < 3; ++i) {
+            deliveries.add(sender.next().setTag(new byte[] {i}).writeBytes(
+                ProtonByteBufferAllocator.DEFAULT.wrap(new byte[] {0, 1, 2, 3, 4})));
+        }
+
+        peer.waitForScriptToComplete();
+        peer.expectDisposition().withFirst(0)
+                                .withLast(2)
+                                .withRole(Role.SENDER.getValue())
+                                .withSettled(true)
+                                .withState().accepted();
+        peer.expectDetach().withHandle(0).respond();
+
+        deliveries.forEach(delivery -> delivery.disposition(Accepted.getInstance(), true));
+
+        assertFalse(sender.hasUnsettled());
+
+        sender.close();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
     private void doTestSettleTransferWithSpecifiedOutcome(DeliveryState state, Matcher<?> stateMatcher, boolean settled) throws Exception {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
         engine.errorHandler(result -> failure = result.failureCause());
@@ -4087,6 +4136,86 @@ public class ProtonSenderTest extends ProtonEngineTestSupport {
         peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testUnsettledRangedDispositionThenSettledRangedDisposition() throws Exception {
+        final Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        final ProtonTestConnector peer = createTestPeer(engine);
+        final byte[] payload = new byte[] {0, 1, 2, 3, 4};
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.remoteFlow().withLinkCredit(6).queue();
+        for (int i = 0; i < 6; ++i) {
+            peer.expectTransfer().withDeliveryId(i).withPayload(payload);
+        }
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Sender sender = session.sender("test");
+
+        final List<OutgoingDelivery> settled = new ArrayList<>();
+        final AtomicInteger updates = new AtomicInteger();
+
+        sender.deliveryStateUpdatedHandler(delivery -> {
+            updates.incrementAndGet();
+            if (delivery.isRemotelySettled()) {
+                settled.add(delivery);
+            }
+        });
+
+        sender.open();
+
+        for (byte i = 0; i < 6; ++i) {
+            sender.next().setTag(new byte[] { i }).writeBytes(ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+        }
+
+        peer.waitForScriptToComplete();
+
+        // Settle the last deliveries so the unsettled range that follows starts beyond every tracked key.
+        peer.remoteDisposition().withSettled(true)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted()
+                                .withFirst(4)
+                                .withLast(5).now();
+        peer.remoteDisposition().withSettled(false)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted()
+                                .withFirst(4)
+                                .withLast(5).now();
+        peer.remoteDisposition().withSettled(false)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted()
+                                .withFirst(1)
+                                .withLast(2).now();
+
+        assertEquals(2, settled.size());
+        assertEquals(4, updates.get());
+
+        peer.remoteDisposition().withSettled(true)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted()
+                                .withFirst(0)
+                                .withLast(5).now();
+
+        assertEquals(6, settled.size(), "Not all deliveries were settled by the ranged disposition");
+
+        byte deliveryTag = 4;
+        for (OutgoingDelivery delivery : settled) {
+            assertEquals(deliveryTag, delivery.getTag().tagBuffer().getByte(0), "Delivery not updated in correct order");
+            deliveryTag = (byte) (deliveryTag == 5 ? 0 : deliveryTag + 1);
+        }
+
+        peer.expectDetach().respond();
+        sender.close();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
     @Test
     public void testSenderReportsDeliveryUpdatedOnDispositionForMultipleTransfers() throws Exception {
         final Engine engine = EngineFactory.PROTON.createNonSaslEngine();
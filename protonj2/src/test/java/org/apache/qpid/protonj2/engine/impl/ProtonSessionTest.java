@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -50,6 +51,7 @@ import org.apache.qpid.protonj2.engine.Link;
 import org.apache.qpid.protonj2.engine.OutgoingDelivery;
 import org.apache.qpid.protonj2.engine.Receiver;
 import org.apache.qpid.protonj2.engine.Sender;
+import org.apache.qpid.protonj2.engine.SenderScheduler;
 import org.apache.qpid.protonj2.engine.Session;
 import org.apache.qpid.protonj2.engine.exceptions.EngineFailedException;
 import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
@@ -68,6 +70,8 @@ import org.apache.qpid.protonj2.types.transport.SessionError;
 import org.hamcrest.Matcher;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
 
 /**
  * Test behaviors of the ProtonSession implementation.
@@ -1922,8 +1926,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender.isSendable());
         assertEquals(2048, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach
-        assertEquals(3, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -1975,8 +1979,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender.isSendable());
         assertEquals(3072, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach
-        assertEquals(3, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -2060,8 +2064,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender.isSendable());
         assertEquals(2048, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach
-        assertEquals(3, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -2127,8 +2131,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender2.isSendable());
         assertEquals(2048, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach, Attach
-        assertEquals(4, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -2192,8 +2196,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender2.isSendable());
         assertEquals(2048, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach, Attach
-        assertEquals(4, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -2223,6 +2227,124 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertNull(failure);
     }
 
+    @Test
+    public void testOnlySendersBlockedOnSessionCapacityAreNotifiedWhenItIsRestored() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        Queue<Runnable> asyncIOCallbacks = new ArrayDeque<>();
+        ProtonTestConnector peer = createTestPeer(engine, asyncIOCallbacks);
+
+        final byte[] payload = new byte[] {0, 1, 2, 3, 4};
+        final DeliveryTagGenerator generator = ProtonDeliveryTagGenerator.BUILTIN.POOLED.createGenerator();
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().withMaxFrameSize(1024).respond();
+        peer.expectBegin().respond();
+        for (int i = 0; i < 3; ++i) {
+            peer.expectAttach().respond();
+            peer.remoteFlow().withHandle(i).withLinkCredit(20).queue();
+        }
+
+        Connection connection = engine.start().setMaxFrameSize(1024).open();
+        Session session = connection.session().setOutgoingCapacity(2048).open();
+        Sender sender1 = session.sender("test1").setDeliveryTagGenerator(generator).open();
+        Sender sender2 = session.sender("test2").setDeliveryTagGenerator(generator).open();
+        Sender sender3 = session.sender("test3").setDeliveryTagGenerator(generator).open();
+
+        peer.waitForScriptToComplete();
+        peer.expectTransfer().withPayload(payload);
+        peer.expectTransfer().withPayload(payload);
+
+        final AtomicInteger sender1CreditStateUpdated = new AtomicInteger();
+        final AtomicInteger otherCreditStateUpdated = new AtomicInteger();
+
+        sender1.creditStateUpdateHandler((self) -> sender1CreditStateUpdated.incrementAndGet());
+        sender2.creditStateUpdateHandler((self) -> otherCreditStateUpdated.incrementAndGet());
+        sender3.creditStateUpdateHandler((self) -> otherCreditStateUpdated.incrementAndGet());
+
+        // Fill the session outgoing window from the first sender only
+        sender1.next().writeBytes(ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+        sender1.next().writeBytes(ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+
+        peer.waitForScriptToComplete();
+
+        assertEquals(2, asyncIOCallbacks.size());
+        assertFalse(sender1.isSendable());
+        assertFalse(sender2.isSendable());
+        assertFalse(sender3.isSendable());
+
+        asyncIOCallbacks.poll().run();
+
+        assertTrue(sender1.isSendable());
+        assertTrue(sender2.isSendable());
+        assertTrue(sender3.isSendable());
+        assertEquals(1, sender1CreditStateUpdated.get());
+        assertEquals(0, otherCreditStateUpdated.get());
+
+        // Blocking again must register the sender for notification again
+        peer.expectTransfer().withPayload(payload);
+        sender1.next().writeBytes(ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+        peer.waitForScriptToComplete();
+
+        assertFalse(sender1.isSendable());
+
+        asyncIOCallbacks.poll().run();
+
+        assertTrue(sender1.isSendable());
+        assertEquals(2, sender1CreditStateUpdated.get());
+        assertEquals(0, otherCreditStateUpdated.get());
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
+    @Test
+    public void testConfiguredSenderSchedulerOrdersBlockedSenderNotification() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        Queue<Runnable> asyncIOCallbacks = new ArrayDeque<>();
+        ProtonTestConnector peer = createTestPeer(engine, asyncIOCallbacks);
+
+        final byte[] payload = new byte[] {0, 1, 2, 3, 4};
+        final DeliveryTagGenerator generator = ProtonDeliveryTagGenerator.BUILTIN.POOLED.createGenerator();
+        final SenderScheduler scheduler = Mockito.mock(SenderScheduler.class,
+            AdditionalAnswers.delegatesTo(ProtonSenderScheduler.BUILTIN.ROUND_ROBIN.createScheduler()));
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().withMaxFrameSize(1024).respond();
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.remoteFlow().withLinkCredit(20).queue();
+
+        Connection connection = engine.start().setMaxFrameSize(1024).open();
+        Session session = connection.session().setOutgoingCapacity(1024).setSenderScheduler(scheduler).open();
+        Sender sender = session.sender("test1").setDeliveryTagGenerator(generator).open();
+
+        assertSame(scheduler, session.getSenderScheduler());
+        assertThrows(IllegalStateException.class, () -> session.setSenderScheduler(null));
+
+        peer.waitForScriptToComplete();
+        peer.expectTransfer().withPayload(payload);
+
+        sender.next().writeBytes(ProtonByteBufferAllocator.DEFAULT.wrap(payload));
+
+        peer.waitForScriptToComplete();
+
+        assertFalse(sender.isSendable());
+        Mockito.verify(scheduler).senderWrote(sender, payload.length);
+        Mockito.verify(scheduler).senderBlocked(sender);
+        assertEquals(1, scheduler.getBlockedCount());
+
+        asyncIOCallbacks.poll().run();
+
+        Mockito.verify(scheduler).nextSender();
+        assertEquals(0, scheduler.getBlockedCount());
+        assertTrue(sender.isSendable());
+
+        peer.waitForScriptToComplete();
+        assertNull(failure);
+    }
+
     @Test
     public void testReduceOutgoingWindowDoesNotStopSenderIfSomeWindowRemaining() throws Exception {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
@@ -2249,8 +2371,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender.isSendable());
         assertEquals(4096, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach
-        assertEquals(3, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -2297,8 +2419,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender.isSendable());
         assertEquals(4096, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach
-        assertEquals(3, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -2345,8 +2467,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender.isSendable());
         assertEquals(4096, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach
-        assertEquals(3, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -2404,8 +2526,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender.isSendable());
         assertEquals(1024, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach
-        assertEquals(3, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
@@ -2475,8 +2597,8 @@ public class ProtonSessionTest extends ProtonEngineTestSupport {
         assertTrue(sender.isSendable());
         assertEquals(1024, session.getRemainingOutgoingCapacity());
 
-        // Open, Begin, Attach
-        assertEquals(3, asyncIOCallbacks.size());
+        // Only transfers request write completion, not the Open, Begin and Attach
+        assertEquals(0, asyncIOCallbacks.size());
         asyncIOCallbacks.forEach(runner -> runner.run());
         asyncIOCallbacks.clear();
 
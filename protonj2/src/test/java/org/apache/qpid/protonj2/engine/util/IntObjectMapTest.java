@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the {@link IntObjectMap} type
+ */
+public class IntObjectMapTest {
+
+    protected long seed;
+    protected Random random;
+
+    @BeforeEach
+    public void setUp() {
+        seed = System.nanoTime();
+        random = new Random();
+        random.setSeed(seed);
+    }
+
+    @Test
+    public void testCreate() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+        assertFalse(map.containsKey(0));
+    }
+
+    @Test
+    public void testCreateWithNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IntObjectMap<>(-1));
+    }
+
+    @Test
+    public void testPutNullValueNotAllowed() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        assertThrows(NullPointerException.class, () -> map.put(0, null));
+    }
+
+    @Test
+    public void testPutAndGet() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(1, "one"));
+        assertNull(map.put(-1, "minus-one"));
+        assertNull(map.put(Integer.MAX_VALUE, "max"));
+
+        assertEquals(4, map.size());
+        assertEquals("zero", map.get(0));
+        assertEquals("one", map.get(1));
+        assertEquals("minus-one", map.get(-1));
+        assertEquals("max", map.get(Integer.MAX_VALUE));
+        assertNull(map.get(2));
+    }
+
+    @Test
+    public void testPutReplacesExistingValue() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        assertNull(map.put(42, "first"));
+        assertEquals("first", map.put(42, "second"));
+
+        assertEquals(1, map.size());
+        assertEquals("second", map.get(42));
+    }
+
+    @Test
+    public void testRemove() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        map.put(1, "one");
+        map.put(2, "two");
+
+        assertEquals("one", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertTrue(map.containsKey(2));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(2);
+
+        for (int i = 0; i < 4096; ++i) {
+            map.put(i, i);
+        }
+
+        assertEquals(4096, map.size());
+
+        for (int i = 0; i < 4096; ++i) {
+            assertEquals(i, map.get(i));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        map.put(1, "one");
+        map.put(2, "two");
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertNull(map.get(2));
+
+        map.put(2, "two");
+        assertEquals("two", map.get(2));
+    }
+
+    @Test
+    public void testForEachVisitsAllValues() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+
+        for (int i = 0; i < 100; ++i) {
+            map.put(i * 7, i);
+        }
+
+        final List<Integer> visited = new ArrayList<>();
+        map.forEach(visited::add);
+
+        assertEquals(100, visited.size());
+        visited.sort(Integer::compare);
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(i, visited.get(i));
+        }
+    }
+
+    @Test
+    public void testForEachDetectsModification() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+
+        map.put(1, 1);
+        map.put(2, 2);
+
+        assertThrows(ConcurrentModificationException.class, () -> map.forEach(value -> map.remove(value)));
+    }
+
+    @Test
+    public void testValuesView() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, i);
+        }
+
+        final List<Integer> values = new ArrayList<>(map.values());
+        values.sort(Integer::compare);
+
+        assertEquals(10, map.values().size());
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(i, values.get(i));
+        }
+
+        Iterator<Integer> iterator = map.values().iterator();
+        for (int i = 0; i < 10; ++i) {
+            iterator.next();
+        }
+
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, () -> iterator.next());
+        assertThrows(UnsupportedOperationException.class, () -> iterator.remove());
+    }
+
+    @Test
+    public void testValuesIteratorDetectsModification() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+
+        map.put(1, 1);
+        map.put(2, 2);
+
+        Iterator<Integer> iterator = map.values().iterator();
+        iterator.next();
+        map.remove(1);
+
+        assertThrows(ConcurrentModificationException.class, () -> iterator.next());
+    }
+
+    @Test
+    public void testRandomPutAndRemoveMatchesHashMap() {
+        final IntObjectMap<Integer> map = new IntObjectMap<>();
+        final Map<Integer, Integer> expected = new HashMap<>();
+
+        // Small key range forces long probe sequences and frequent backward shifts on removal
+        for (int i = 0; i < 100000; ++i) {
+            final int key = random.nextInt(256) * (random.nextBoolean() ? 1 : -1);
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key), "Failed with seed: " + seed);
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i), "Failed with seed: " + seed);
+            }
+
+            assertEquals(expected.size(), map.size(), "Failed with seed: " + seed);
+        }
+
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()), "Failed with seed: " + seed);
+        }
+    }
+
+    @Test
+    public void testToString() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        assertEquals("{}", map.toString());
+
+        map.put(1, "one");
+        assertEquals("{1=one}", map.toString());
+    }
+}
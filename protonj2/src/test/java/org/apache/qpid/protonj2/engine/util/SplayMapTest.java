@@ -21,18 +21,23 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
 
 import org.apache.qpid.protonj2.logging.ProtonLogger;
 import org.apache.qpid.protonj2.logging.ProtonLoggerFactory;
@@ -1448,4 +1453,295 @@ public class SplayMapTest {
             return key;
         }
     }
+
+    @Test
+    public void testForEachInRange() {
+        SplayMap<String> map = createMap();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, String.valueOf(i));
+        }
+
+        final List<String> visited = new ArrayList<>();
+
+        map.forEachInRange(3, 6, visited::add);
+
+        assertEquals(Arrays.asList("3", "4", "5", "6"), visited);
+        assertEquals(10, map.size());
+    }
+
+    @Test
+    public void testForEachInRangeSparseEntries() {
+        SplayMap<String> map = createMap();
+
+        map.put(2, "2");
+        map.put(100, "100");
+        map.put(1000, "1000");
+        map.put(10000, "10000");
+
+        final List<String> visited = new ArrayList<>();
+
+        map.forEachInRange(3, 5000, visited::add);
+        assertEquals(Arrays.asList("100", "1000"), visited);
+
+        visited.clear();
+        map.forEachInRange(10001, Integer.MAX_VALUE, visited::add);
+        assertTrue(visited.isEmpty());
+    }
+
+    @Test
+    public void testForEachInRangeWrapsAroundUnsignedMaxValue() {
+        SplayMap<String> map = createMap();
+
+        map.put(5, "5");
+        map.put(1, "1");
+        map.put(0, "0");
+        map.put(UnsignedInteger.MAX_VALUE.intValue(), "max");
+        map.put(UnsignedInteger.MAX_VALUE.intValue() - 1, "max-1");
+        map.put(Integer.MAX_VALUE, "signed-max");
+
+        final List<String> visited = new ArrayList<>();
+
+        map.forEachInRange(UnsignedInteger.MAX_VALUE.intValue() - 1, 1, visited::add);
+
+        assertEquals(Arrays.asList("max-1", "max", "0", "1"), visited);
+    }
+
+    @Test
+    public void testForEachInRangeFailsWhenActionModifiesMap() {
+        SplayMap<String> map = createMap();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, String.valueOf(i));
+        }
+
+        assertThrows(ConcurrentModificationException.class, () -> map.forEachInRange(0, 9, (value) -> map.put(100, value)));
+    }
+
+    @Test
+    public void testForEachInRangeLeavesMapContentsIntact() {
+        SplayMap<String> map = createMap();
+
+        for (int i = 0; i < 16; ++i) {
+            map.put(i * 2, String.valueOf(i * 2));
+        }
+
+        final List<String> visited = new ArrayList<>();
+
+        // Range with no entries at or above the first key
+        map.forEachInRange(100, 200, visited::add);
+        assertTrue(visited.isEmpty());
+        assertEquals(16, map.size());
+
+        // Wrapping range whose first key is above every entry
+        map.forEachInRange(100, 3, visited::add);
+        assertEquals(Arrays.asList("0", "2"), visited);
+        assertEquals(16, map.size());
+
+        visited.clear();
+        map.forEachInRange(7, 11, visited::add);
+        assertEquals(Arrays.asList("8", "10"), visited);
+        assertEquals(16, map.size());
+
+        for (int i = 0; i < 16; ++i) {
+            assertEquals(String.valueOf(i * 2), map.get(i * 2));
+        }
+    }
+
+    @Test
+    public void testForEachInRangeRandomizedKeepsAllEntries() {
+        for (int iteration = 0; iteration < 500; ++iteration) {
+            SplayMap<Integer> map = createMap();
+            TreeMap<Integer, Integer> expected = new TreeMap<>(Integer::compareUnsigned);
+
+            for (int i = 0; i < 32; ++i) {
+                final int key = random.nextInt(128);
+                map.put(key, key);
+                expected.put(key, key);
+            }
+
+            final int first = random.nextInt(160);
+            final int last = random.nextInt(160);
+            final List<Integer> visited = new ArrayList<>();
+
+            map.forEachInRange(first, last, visited::add);
+
+            final List<Integer> expectedVisits = new ArrayList<>();
+            if (Integer.compareUnsigned(first, last) <= 0) {
+                expectedVisits.addAll(expected.subMap(first, true, last, true).values());
+            } else {
+                expectedVisits.addAll(expected.tailMap(first, true).values());
+                expectedVisits.addAll(expected.headMap(last, true).values());
+            }
+
+            assertEquals(expectedVisits, visited, "Random seed was: " + seed);
+            assertEquals(expected.size(), map.size(), "Random seed was: " + seed);
+            for (Integer key : expected.keySet()) {
+                assertEquals(key, map.get(key.intValue()), "Random seed was: " + seed);
+            }
+        }
+    }
+
+    @Test
+    public void testNavigationMethodsLeaveMapContentsIntact() {
+        SplayMap<String> map = createMap();
+
+        for (int i = 0; i < 16; ++i) {
+            map.put(i * 2, String.valueOf(i * 2));
+        }
+
+        assertNull(map.ceilingKey(UnsignedInteger.valueOf(100)));
+        assertNull(map.higherKey(UnsignedInteger.valueOf(30)));
+        assertNull(map.lowerKey(UnsignedInteger.valueOf(0)));
+        assertEquals(UnsignedInteger.valueOf(30), map.floorKey(UnsignedInteger.valueOf(100)));
+        assertEquals(UnsignedInteger.valueOf(12), map.ceilingKey(UnsignedInteger.valueOf(11)));
+
+        assertEquals(16, map.size());
+        for (int i = 0; i < 16; ++i) {
+            assertEquals(String.valueOf(i * 2), map.get(i * 2));
+        }
+    }
+
+    @Test
+    public void testRemoveRange() {
+        SplayMap<String> map = createMap();
+
+        for (int i = 0; i < 100; ++i) {
+            map.put(i, String.valueOf(i));
+        }
+
+        final List<String> removed = new ArrayList<>();
+
+        assertEquals(10, map.removeRange(10, 19, removed::add));
+        assertEquals(90, map.size());
+        assertEquals(10, removed.size());
+
+        for (int i = 0; i < 100; ++i) {
+            if (i >= 10 && i <= 19) {
+                assertEquals(String.valueOf(i), removed.get(i - 10));
+                assertNull(map.get(i));
+            } else {
+                assertEquals(String.valueOf(i), map.get(i));
+            }
+        }
+
+        int expected = 0;
+        for (UnsignedInteger key : map.keySet()) {
+            if (expected == 10) {
+                expected = 20;
+            }
+            assertEquals(expected++, key.intValue());
+        }
+        assertEquals(100, expected);
+    }
+
+    @Test
+    public void testRemoveRangeWithNullAction() {
+        SplayMap<String> map = createMap();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, String.valueOf(i));
+        }
+
+        assertEquals(10, map.removeRange(0, 9, null));
+        assertTrue(map.isEmpty());
+
+        map.put(1, "1");
+
+        assertEquals(1, map.size());
+        assertEquals("1", map.get(1));
+    }
+
+    @Test
+    public void testRemoveRangeOnEmptyMap() {
+        SplayMap<String> map = createMap();
+
+        assertEquals(0, map.removeRange(0, 100, (value) -> fail("Should not find any values")));
+        assertEquals(0, map.removeRange(100, 0, (value) -> fail("Should not find any values")));
+    }
+
+    @Test
+    public void testRemoveRangeWithNoEntriesInRange() {
+        SplayMap<String> map = createMap();
+
+        map.put(1, "1");
+        map.put(100, "100");
+
+        assertEquals(0, map.removeRange(2, 99, (value) -> fail("Should not find any values")));
+        assertEquals(2, map.size());
+        assertEquals("1", map.get(1));
+        assertEquals("100", map.get(100));
+    }
+
+    @Test
+    public void testRemoveRangeWrapsAroundUnsignedMaxValue() {
+        SplayMap<String> map = createMap();
+
+        map.put(5, "5");
+        map.put(1, "1");
+        map.put(0, "0");
+        map.put(UnsignedInteger.MAX_VALUE.intValue(), "max");
+        map.put(UnsignedInteger.MAX_VALUE.intValue() - 1, "max-1");
+        map.put(Integer.MAX_VALUE, "signed-max");
+
+        final List<String> removed = new ArrayList<>();
+
+        assertEquals(4, map.removeRange(UnsignedInteger.MAX_VALUE.intValue() - 1, 1, removed::add));
+        assertEquals(Arrays.asList("max-1", "max", "0", "1"), removed);
+        assertEquals(2, map.size());
+        assertEquals("5", map.get(5));
+        assertEquals("signed-max", map.get(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testRemoveRangeFailsWhenActionModifiesMap() {
+        SplayMap<String> map = createMap();
+
+        for (int i = 0; i < 10; ++i) {
+            map.put(i, String.valueOf(i));
+        }
+
+        assertThrows(ConcurrentModificationException.class, () -> map.removeRange(0, 9, (value) -> map.put(100, value)));
+    }
+
+    @Test
+    public void testRemoveRangeMatchesReferenceMapWithRandomKeys() {
+        SplayMap<String> map = createMap();
+        TreeMap<Integer, String> reference = new TreeMap<>(Integer::compareUnsigned);
+
+        for (int i = 0; i < 1024; ++i) {
+            final int key = random.nextInt();
+            map.put(key, String.valueOf(key));
+            reference.put(key, String.valueOf(key));
+        }
+
+        for (int i = 0; i < 32; ++i) {
+            final int first = random.nextInt();
+            final int last = random.nextInt();
+
+            final List<String> expected = new ArrayList<>();
+            if (Integer.compareUnsigned(first, last) <= 0) {
+                expected.addAll(reference.subMap(first, true, last, true).values());
+                reference.subMap(first, true, last, true).clear();
+            } else {
+                expected.addAll(reference.tailMap(first, true).values());
+                expected.addAll(reference.headMap(last, true).values());
+                reference.tailMap(first, true).clear();
+                reference.headMap(last, true).clear();
+            }
+
+            final List<String> removed = new ArrayList<>();
+
+            assertEquals(expected.size(), map.removeRange(first, last, removed::add), "Failed using seed: " + seed);
+            assertEquals(expected, removed, "Failed using seed: " + seed);
+            assertEquals(reference.size(), map.size(), "Failed using seed: " + seed);
+        }
+
+        for (Entry<Integer, String> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey().intValue()), "Failed using seed: " + seed);
+        }
+
+        assertEquals(new ArrayList<>(reference.values()).size(), map.values().size());
+        assertTrue(map.values().containsAll(reference.values()), "Failed using seed: " + seed);
+    }
 }